@@ -7,6 +7,9 @@ import android.support.v7.widget.RecyclerView;
 import android.view.View;
 import android.widget.Toast;
 
+import com.example.admin.recyclerviewdemo.rvadapter.BaseRvAdapter;
+import com.example.admin.recyclerviewdemo.rvadapter.BaseRvHolder;
+
 import java.util.ArrayList;
 import java.util.List;
 
@@ -17,7 +20,7 @@ import java.util.List;
  */
 public class MainActivity extends AppCompatActivity {
 
-    private RecyclerAdapter<String> TextAdapter;
+    private BaseRvAdapter<String> TextAdapter;
 
     @Override
     protected void onCreate(Bundle savedInstanceState) {
@@ -27,17 +30,21 @@ public class MainActivity extends AppCompatActivity {
         RecyclerView rv_list = findView(R.id.rv_list);
         rv_list.setLayoutManager(new LinearLayoutManager(this, LinearLayoutManager.VERTICAL, false));
 
-        rv_list.setAdapter(TextAdapter = new RecyclerAdapter<String>(this, getData(), R.layout.recycler_item) {
+        TextAdapter = new BaseRvAdapter<String>(this, getData(), R.layout.recycler_item) {
             @Override
-            public void convert(RecyclerHolder holder, String data, int position) {
-                holder.setText(R.id.tv, data);
-                holder.setImageResource(R.id.image, R.mipmap.ic_launcher);
+            public void convert(BaseRvHolder holder, String data, int position) {
+                //@RvHolder生成的ViewHolder，控件直接通过类型确定的字段访问
+                RecyclerItemHolder itemHolder = (RecyclerItemHolder) holder;
+                itemHolder.getText().setText(data);
+                itemHolder.getImage().setImageResource(R.mipmap.ic_launcher);
             }
-        });
+        };
+        TextAdapter.registerHolderFactory(RecyclerItemHolder.LAYOUT, RecyclerItemHolder.FACTORY);
+        rv_list.setAdapter(TextAdapter);
 
-        TextAdapter.setOnItemClickListener(new RecyclerAdapter.OnItemClickListener() {
+        TextAdapter.setOnItemClickListener(new BaseRvAdapter.OnItemClickListener() {
             @Override
-            public void OnItemClickListener(View view, int position) {
+            public void onItemClick(View view, int position) {
                 ToastShow("点击" + position);
 
             }
@@ -2,10 +2,10 @@ package com.example.admin.recyclerviewdemo;
 
 import android.content.Context;
 import android.support.v7.widget.RecyclerView;
-import android.util.Log;
 import android.view.LayoutInflater;
 import android.view.View;
 import android.view.ViewGroup;
+import android.view.ViewParent;
 import android.widget.Toast;
 
 import java.util.List;
@@ -31,34 +31,60 @@ public abstract class RecyclerAdapter<T> extends RecyclerView.Adapter<RecyclerHo
 
     @Override
     public RecyclerHolder onCreateViewHolder(ViewGroup parent, int viewType) {
-        return new RecyclerHolder(mInflater.inflate(mLayoutId, parent, false));
-    }
-
-    @Override
-    public void onBindViewHolder(final RecyclerHolder holder, int position) {
-        convert(holder, mDatas.get(position), position);
-
-        if (onItemClickListener != null) {
-            Log.i("TAG","点击");
-
-            //设置背景
-            holder.itemView.setBackgroundResource(R.drawable.recycler_bg);
+        final RecyclerHolder holder = new RecyclerHolder(mInflater.inflate(mLayoutId, parent, false));
+
+        /*
+        背景和监听器在创建时设置一次，不在onBindViewHolder()中重复设置。
+        不论当前是否有监听器都设置：之后才调用setOnItemClickListener()，
+        或ViewHolder由共用缓存池中没有监听器的Adapter创建时，子项仍可点击。
+         */
+        holder.itemView.setBackgroundResource(R.drawable.recycler_bg);
+        holder.itemView.setOnClickListener(new View.OnClickListener() {
+            @Override
+            public void onClick(View v) {
+                //共用缓存池时ViewHolder可能由其他Adapter创建，回调当前所在列表的Adapter
+                RecyclerAdapter<?> owner = ownerOf(holder);
+                if (owner.onItemClickListener == null) {
+                    return;
+                }
+                //注意，这里的position不要用onBindViewHolder()参数中的position，会出现位置错乱
+                owner.onItemClickListener.OnItemClickListener(holder.itemView, holder.getLayoutPosition());
 
-            holder.itemView.setOnClickListener(new View.OnClickListener() {
-                @Override
-                public void onClick(View v) {
-                    //注意，这里的position不要用上面参数中的position，会出现位置错乱
-                    onItemClickListener.OnItemClickListener(holder.itemView, holder.getLayoutPosition());
+                Toast.makeText(mContext,"android 21(5.0) ripple水波纹效果",Toast.LENGTH_SHORT).show();
+            }
+        });
+        return holder;
+    }
 
-                    Toast.makeText(mContext,"android 21(5.0) ripple水波纹效果",Toast.LENGTH_SHORT).show();
-                }
-            });
+    private RecyclerAdapter<?> ownerOf(RecyclerHolder holder) {
+        ViewParent parent = holder.itemView.getParent();
+        if (parent instanceof RecyclerView && ((RecyclerView) parent).getAdapter() instanceof RecyclerAdapter) {
+            return (RecyclerAdapter<?>) ((RecyclerView) parent).getAdapter();
         }
+        return this;
+    }
 
+    /**
+     * viewType为布局id，RecyclerAdapter的列表之间可以共用RecycledViewPool，见SharedPoolManager；
+     * 不能与BaseRvAdapter的列表共用，相同布局时ViewHolder的类型不同
+     */
+    @Override
+    public int getItemViewType(int position) {
+        return mLayoutId;
+    }
+
+    @Override
+    public void onBindViewHolder(RecyclerHolder holder, int position) {
+        convert(holder, mDatas.get(position), position);
     }
 
     public abstract void convert(RecyclerHolder holder, T data, int position);
 
+    @Override
+    public void onViewRecycled(RecyclerHolder holder) {
+        holder.cancelImages();
+    }
+
     @Override
     public int getItemCount() {
         return mDatas!=null ? mDatas.size():0;
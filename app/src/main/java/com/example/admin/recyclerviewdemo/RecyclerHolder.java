@@ -7,6 +7,8 @@ import android.view.View;
 import android.widget.ImageView;
 import android.widget.TextView;
 
+import com.example.admin.recyclerviewdemo.rvadapter.image.ImagePipeline;
+
 /**
  * SparseArray
  *
@@ -108,9 +110,21 @@ public class RecyclerHolder extends RecyclerView.ViewHolder {
 
     public RecyclerHolder setImageNet(int viewId, String url) {
         ImageView image = findView(viewId);
+        ImagePipeline.get(itemView.getContext()).load(url, image);
 
-        //使用你所用的网络框架等
         return this;
     }
 
+    /**
+     * 取消未完成的图片加载，被回收时调用
+     */
+    public void cancelImages() {
+        for (int i = 0; i < mViews.size(); i++) {
+            View view = mViews.valueAt(i);
+            if (view instanceof ImageView) {
+                ImagePipeline.get(itemView.getContext()).clear((ImageView) view);
+            }
+        }
+    }
+
 }
@@ -0,0 +1,18 @@
+package com.example.admin.recyclerviewdemo;
+
+import android.widget.ImageView;
+import android.widget.TextView;
+
+import com.example.admin.recyclerviewdemo.rvadapter.annotation.BindView;
+import com.example.admin.recyclerviewdemo.rvadapter.annotation.RvHolder;
+
+/**
+ * recycler_item的控件，编译时生成RecyclerItemHolder
+ */
+@RvHolder(R.layout.recycler_item)
+abstract class RecyclerItemHolderSpec {
+    @BindView(R.id.tv)
+    TextView text;
+    @BindView(R.id.image)
+    ImageView image;
+}
@@ -1,334 +0,0 @@
-package com.example.admin.recyclerviewdemo.rvadapter;
-
-import android.annotation.SuppressLint;
-import android.content.Context;
-import android.graphics.Bitmap;
-import android.graphics.Color;
-import android.graphics.Paint;
-import android.graphics.Typeface;
-import android.graphics.drawable.Drawable;
-import android.net.Uri;
-import android.os.Build;
-import android.support.v4.content.ContextCompat;
-import android.support.v7.widget.RecyclerView;
-import android.text.util.Linkify;
-import android.util.SparseArray;
-import android.view.View;
-import android.view.animation.AlphaAnimation;
-import android.widget.Checkable;
-import android.widget.ImageView;
-import android.widget.ProgressBar;
-import android.widget.RatingBar;
-import android.widget.TextView;
-
-/**
- * Created by Administrator on 2017/12/21.
- *
- * @author Administrator
- *         <p>
- *         万能的RecyclerView的ViewHolder
- */
-public class BaseRvHolder extends RecyclerView.ViewHolder {
-    private Context context;
-    private SparseArray<View> views;
-
-
-    private BaseRvHolder(Context context, View itemView) {
-        super(itemView);
-        this.context = context;
-        views = new SparseArray<>();
-    }
-
-    /**
-     * 取得一个RecyclerHolder对象
-     *
-     * @param context  上下文
-     * @param itemView 子项
-     * @return 返回一个RecyclerHolder对象
-     */
-    public static BaseRvHolder getRvHolder(Context context, View itemView) {
-        return new BaseRvHolder(context, itemView);
-    }
-
-
-    public SparseArray<View> getViews() {
-        return this.views;
-    }
-
-    /**
-     * 通过view的id获取对应的控件，如果没有则加入views中
-     *
-     * @param viewId 控件的id
-     * @return 返回一个控件
-     */
-    @SuppressWarnings("unchecked")
-    public <T extends View> T getView(int viewId) {
-        View view = views.get(viewId);
-        //集合中没有，则从item当中获取，并存入集合当中
-        if (view == null) {
-            view = itemView.findViewById(viewId);
-            views.put(viewId, view);
-        }
-        return (T) view;
-    }
-
-
-    /**
-     * 设置viewholder大小,可以控制隐藏和显示
-     */
-    public void setHolderSize(int width, int height) {
-        RecyclerView.LayoutParams param = (RecyclerView.LayoutParams) itemView.getLayoutParams();
-        param.height = height;
-        param.width = width;
-        itemView.setLayoutParams(param);
-    }
-
-
-    /**
-     * 设置图片
-     */
-    public BaseRvHolder setImageByUrl(int viewId, String url) {
-        //Glide.with(context).load(url).into((ImageView) getView(viewId));
-        //ImageLoader.getInstance().init(ImageLoaderConfiguration.createDefault(context));
-        //ImageLoader.getInstance().displayImage(url, (ImageView) getView(viewId));
-        return this;
-    }
-
-    public BaseRvHolder setImageResource(int viewId, int drawableId) {
-        ImageView iv = getView(viewId);
-        iv.setImageResource(drawableId);
-        return this;
-    }
-
-    public BaseRvHolder setImageBitmap(int viewId, Bitmap bitmap) {
-        ImageView iv = getView(viewId);
-        iv.setImageBitmap(bitmap);
-        return this;
-    }
-
-    public BaseRvHolder setImageDrawable(int viewId, Drawable drawable) {
-        ImageView view = getView(viewId);
-        view.setImageDrawable(drawable);
-        return this;
-    }
-
-    public BaseRvHolder setImageUri(int viewId, Uri uri) {
-        ImageView img = getView(viewId);
-        img.setImageURI(uri);
-        return this;
-    }
-
-
-    /**
-     * 设置背景
-     */
-    public BaseRvHolder setBackgroundColor(int viewId, int color) {
-        View view = getView(viewId);
-        view.setBackgroundColor(color);
-        return this;
-    }
-
-    public BaseRvHolder setBackgroundRes(int viewId, int backgroundRes) {
-        View view = getView(viewId);
-        view.setBackgroundResource(backgroundRes);
-        return this;
-    }
-
-    public BaseRvHolder setBackground(int viewId, Drawable background) {
-        View view = getView(viewId);
-        view.setBackground(background);
-        return this;
-    }
-
-
-    /**
-     * 设置字符串
-     */
-    public BaseRvHolder setText(int viewId, String text) {
-        TextView tv = getView(viewId);
-        tv.setText(text);
-        return this;
-    }
-
-    public BaseRvHolder setText(int viewId, CharSequence text) {
-        TextView tv = getView(viewId);
-        tv.setText(text);
-        return this;
-    }
-
-    public BaseRvHolder setText(int viewId, int resId) {
-        TextView tv = getView(viewId);
-        tv.setText(resId);
-        return this;
-    }
-
-    public BaseRvHolder setTextColor(int viewId, int colorId) {
-        TextView view = getView(viewId);
-        //view.setTextColor(context.getResources().getColor(colorId));
-        view.setTextColor(ContextCompat.getColor(context, colorId));
-        return this;
-    }
-
-    public BaseRvHolder setTextColor(int viewId, String colorValue) {
-        TextView view = getView(viewId);
-        view.setTextColor(Color.parseColor(colorValue));
-        return this;
-    }
-
-
-    /**
-     * 设置字体样式
-     */
-    public BaseRvHolder setTypeface(Typeface typeface, int... viewIds) {
-        for (int viewId : viewIds) {
-            TextView view = getView(viewId);
-            view.setTypeface(typeface);
-            view.setPaintFlags(view.getPaintFlags() | Paint.SUBPIXEL_TEXT_FLAG);
-        }
-        return this;
-    }
-
-
-    /**
-     * 设置TextView下划线
-     */
-    public BaseRvHolder setDeleteLine(int viewId) {
-        TextView view = getView(viewId);
-        view.getPaint().setFlags(Paint.STRIKE_THRU_TEXT_FLAG);
-        return this;
-    }
-
-
-    /**
-     * 设置透明度
-     */
-    @SuppressLint("NewApi")
-    public BaseRvHolder setAlpha(int viewId, float value) {
-        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.HONEYCOMB) {
-            getView(viewId).setAlpha(value);
-        } else {
-            // Pre-honeycomb hack to set Alpha value
-            AlphaAnimation alpha = new AlphaAnimation(value, value);
-            alpha.setDuration(0);
-            alpha.setFillAfter(true);
-            getView(viewId).startAnimation(alpha);
-        }
-        return this;
-    }
-
-
-    /**
-     * 设置可见
-     */
-    public BaseRvHolder setVisible(int viewId, boolean visible) {
-        View view = getView(viewId);
-        view.setVisibility(visible ? View.VISIBLE : View.GONE);
-        return this;
-    }
-
-
-    /**
-     * 设置链接
-     */
-    public BaseRvHolder linkify(int viewId) {
-        TextView view = getView(viewId);
-        Linkify.addLinks(view, Linkify.ALL);
-        return this;
-    }
-
-
-    /**
-     * 设置进度条
-     */
-    public BaseRvHolder setProgress(int viewId, int progress) {
-        ProgressBar view = getView(viewId);
-        view.setProgress(progress);
-        return this;
-    }
-
-    public BaseRvHolder setProgress(int viewId, int progress, int max) {
-        ProgressBar view = getView(viewId);
-        view.setMax(max);
-        view.setProgress(progress);
-        return this;
-    }
-
-    public BaseRvHolder setMax(int viewId, int max) {
-        ProgressBar view = getView(viewId);
-        view.setMax(max);
-        return this;
-    }
-
-
-    /**
-     * 设置旋转
-     */
-    public BaseRvHolder setRating(int viewId, float rating) {
-        RatingBar view = getView(viewId);
-        view.setRating(rating);
-        return this;
-    }
-
-    public BaseRvHolder setRating(int viewId, float rating, int max) {
-        RatingBar view = getView(viewId);
-        view.setMax(max);
-        view.setRating(rating);
-        return this;
-    }
-
-
-    /**
-     * 设置标签
-     */
-    public BaseRvHolder setTag(int viewId, Object tag) {
-        View view = getView(viewId);
-        view.setTag(tag);
-        return this;
-    }
-
-    public BaseRvHolder setTag(int viewId, int key, Object tag) {
-        View view = getView(viewId);
-        view.setTag(key, tag);
-        return this;
-    }
-
-
-    /**
-     * 设置选中
-     */
-    public BaseRvHolder setChecked(int viewId, boolean checked) {
-        Checkable view = (Checkable) getView(viewId);
-        view.setChecked(checked);
-        return this;
-    }
-
-
-    /**
-     * 设置点击
-     */
-    public BaseRvHolder setClicked(int viewId, boolean click) {
-        View view = getView(viewId);
-        view.setEnabled(click);
-        view.setClickable(click);
-        return this;
-    }
-
-    public BaseRvHolder setOnClickListener(int viewId, View.OnClickListener listener) {
-        View view = getView(viewId);
-        view.setOnClickListener(listener);
-        return this;
-    }
-
-    public BaseRvHolder setOnTouchListener(int viewId, View.OnTouchListener listener) {
-        View view = getView(viewId);
-        view.setOnTouchListener(listener);
-        return this;
-    }
-
-    public BaseRvHolder setOnLongClickListener(int viewId, View.OnLongClickListener listener) {
-        View view = getView(viewId);
-        view.setOnLongClickListener(listener);
-        return this;
-    }
-
-}
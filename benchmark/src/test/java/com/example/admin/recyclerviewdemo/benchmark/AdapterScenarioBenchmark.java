@@ -0,0 +1,167 @@
+package com.example.admin.recyclerviewdemo.benchmark;
+
+import android.support.v7.widget.LinearLayoutManager;
+import android.support.v7.widget.RecyclerView;
+import android.view.View;
+
+import com.example.admin.recyclerviewdemo.rvadapter.BaseRvAdapter;
+import com.example.admin.recyclerviewdemo.rvadapter.BaseRvHolder;
+import com.example.admin.recyclerviewdemo.rvadapter.DiffResult;
+import com.example.admin.recyclerviewdemo.rvadapter.ItemDiffCallback;
+import com.example.admin.recyclerviewdemo.rvadapter.ListDiffer;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.annotation.Config;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * 宏基准：绑定1万行、1千次增删、整体刷新、差量计算，一次操作为一个完整场景
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 23)
+public class AdapterScenarioBenchmark {
+    private static final int WIDTH = 1080;
+    private static final int HEIGHT = 1920;
+    private static final int ROWS = 10000;
+    private static final int MUTATIONS = 1000;
+
+    private RecyclerView recyclerView;
+
+    @Before
+    public void setUp() throws Exception {
+        recyclerView = new RecyclerView(RuntimeEnvironment.application);
+        recyclerView.setLayoutManager(new LinearLayoutManager(RuntimeEnvironment.application));
+        //不测量动画
+        recyclerView.setItemAnimator(null);
+    }
+
+    private void layout() {
+        recyclerView.measure(View.MeasureSpec.makeMeasureSpec(WIDTH, View.MeasureSpec.EXACTLY),
+                View.MeasureSpec.makeMeasureSpec(HEIGHT, View.MeasureSpec.EXACTLY));
+        recyclerView.layout(0, 0, WIDTH, HEIGHT);
+    }
+
+    @Test
+    public void bind10kRows() throws Exception {
+        final BenchAdapter adapter = new BenchAdapter(RuntimeEnvironment.application, BenchRow.create(ROWS, 0));
+        //一屏左右的ViewHolder轮流绑定，与滑动时相同
+        final BaseRvHolder[] holders = new BaseRvHolder[30];
+        for (int i = 0; i < holders.length; i++) {
+            holders[i] = adapter.createViewHolder(recyclerView, R.layout.bench_item);
+        }
+        BenchmarkRunner.run("scenario.bind10kRows", new BenchmarkRunner.Body() {
+            @Override
+            public void run(int iterations) {
+                for (int n = 0; n < iterations; n++) {
+                    for (int position = 0; position < ROWS; position++) {
+                        adapter.bindViewHolder(holders[position % holders.length], position);
+                    }
+                }
+            }
+        });
+    }
+
+    @Test
+    public void mutations1k_single() throws Exception {
+        final BenchAdapter adapter = attachAdapter();
+        BenchmarkRunner.run("scenario.mutations1k.single", new BenchmarkRunner.Body() {
+            @Override
+            public void run(int iterations) {
+                for (int n = 0; n < iterations; n++) {
+                    Random random = new Random(n);
+                    for (int i = 0; i < MUTATIONS / 2; i++) {
+                        adapter.addItem(random.nextInt(adapter.getItemCount() + 1), adapter.getData().get(i));
+                        adapter.removeItem(random.nextInt(adapter.getItemCount()));
+                    }
+                    layout();
+                }
+            }
+        });
+    }
+
+    @Test
+    public void mutations1k_batched() throws Exception {
+        final BenchAdapter adapter = attachAdapter();
+        BenchmarkRunner.run("scenario.mutations1k.batched", new BenchmarkRunner.Body() {
+            @Override
+            public void run(int iterations) {
+                for (int n = 0; n < iterations; n++) {
+                    Random random = new Random(n);
+                    BaseRvAdapter<BenchRow>.Editor editor = adapter.edit();
+                    int size = adapter.getItemCount();
+                    for (int i = 0; i < MUTATIONS / 2; i++) {
+                        editor.add(random.nextInt(size + 1), adapter.getData().get(i));
+                        editor.remove(random.nextInt(size + 1));
+                    }
+                    editor.commit();
+                    layout();
+                }
+            }
+        });
+    }
+
+    @Test
+    public void refreshData10k() throws Exception {
+        final BenchAdapter adapter = attachAdapter();
+        final List<BenchRow> rows = BenchRow.create(ROWS, 0);
+        BenchmarkRunner.run("scenario.refreshData10k", new BenchmarkRunner.Body() {
+            @Override
+            public void run(int iterations) {
+                for (int n = 0; n < iterations; n++) {
+                    adapter.refreshData(rows);
+                    layout();
+                }
+            }
+        });
+    }
+
+    @Test
+    public void diff10k_onePercentChanged() throws Exception {
+        final List<BenchRow> oldRows = BenchRow.create(ROWS, 0);
+        final List<BenchRow> newRows = new ArrayList<>(oldRows);
+        Random random = new Random(1);
+        for (int i = 0; i < ROWS / 100; i++) {
+            int position = random.nextInt(newRows.size());
+            if (i % 2 == 0) {
+                newRows.remove(position);
+            } else {
+                newRows.add(position, BenchRow.create(1, ROWS + i).get(0));
+            }
+        }
+        final ItemDiffCallback<BenchRow> callback = new ItemDiffCallback<BenchRow>() {
+            @Override
+            public boolean areItemsTheSame(BenchRow oldItem, BenchRow newItem) {
+                return oldItem.id == newItem.id;
+            }
+
+            @Override
+            public boolean areContentsTheSame(BenchRow oldItem, BenchRow newItem) {
+                return oldItem.title.equals(newItem.title);
+            }
+        };
+        BenchmarkRunner.run("scenario.diff10k.onePercent", new BenchmarkRunner.Body() {
+            @Override
+            public void run(int iterations) {
+                DiffResult result = null;
+                for (int n = 0; n < iterations; n++) {
+                    result = ListDiffer.calculateDiff(oldRows, newRows, callback);
+                }
+                BenchmarkRunner.consume(result);
+            }
+        });
+    }
+
+    private BenchAdapter attachAdapter() {
+        BenchAdapter adapter = new BenchAdapter(RuntimeEnvironment.application, BenchRow.create(ROWS, 0));
+        recyclerView.setAdapter(adapter);
+        layout();
+        return adapter;
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.admin.recyclerviewdemo.benchmark;
+
+import android.content.Context;
+
+import com.example.admin.recyclerviewdemo.rvadapter.BaseRvAdapter;
+import com.example.admin.recyclerviewdemo.rvadapter.BaseRvHolder;
+
+import java.util.List;
+
+/**
+ * 与实际使用方式相同的单布局Adapter
+ */
+class BenchAdapter extends BaseRvAdapter<BenchRow> {
+
+    BenchAdapter(Context context, List<BenchRow> list) {
+        super(context, list, R.layout.bench_item);
+    }
+
+    @Override
+    public void convert(BaseRvHolder holder, BenchRow data, int position) {
+        holder.setText(R.id.bench_title, data.title)
+                .setText(R.id.bench_subtitle, data.subtitle)
+                .setText(R.id.bench_time, data.time)
+                .setChecked(R.id.bench_check, data.checked)
+                .setImageResource(R.id.bench_icon, android.R.drawable.ic_menu_gallery);
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.admin.recyclerviewdemo.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 基准测试用的数据，文字在测试前生成，绑定时不拼接字符串
+ */
+final class BenchRow {
+    final long id;
+    final String title;
+    final String subtitle;
+    final String time;
+    final boolean checked;
+
+    BenchRow(long id, String title, String subtitle, String time, boolean checked) {
+        this.id = id;
+        this.title = title;
+        this.subtitle = subtitle;
+        this.time = time;
+        this.checked = checked;
+    }
+
+    static List<BenchRow> create(int count, long firstId) {
+        List<BenchRow> rows = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            long id = firstId + i;
+            rows.add(new BenchRow(id, "标题" + id, "第" + id + "项的说明文字，通常会占两行的宽度", (id % 60) + "分钟前", id % 3 == 0));
+        }
+        return rows;
+    }
+}
@@ -0,0 +1,198 @@
+package com.example.admin.recyclerviewdemo.benchmark;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Properties;
+
+import static org.junit.Assert.fail;
+
+/**
+ * 简单的基准测试工具，思路同JMH：
+ * 1、预热：批次的迭代次数翻倍，直到一批超过BATCH_NANOS，再继续运行到WARMUP_NANOS；
+ * 2、测量：运行SAMPLES批，取每次操作耗时的中位数；
+ * 3、与基线比较，慢于基线超过容差时报告回归，strict时失败；
+ * 没有基线的项目只输出结果并标明未比较，在CI机器上记录基线后才参与strict检查。
+ * 记录基线时只改写对应的行，文件开头的说明注释保留。
+ * 结果通过consume()交给sink，避免被JIT当作无用代码消除。
+ */
+final class BenchmarkRunner {
+    private static final long BATCH_NANOS = 50000000L;
+    private static final long WARMUP_NANOS = 1000000000L;
+    private static final int SAMPLES = 10;
+
+    private static volatile Object sink;
+
+    /**
+     * 被测代码，一次调用执行iterations次操作
+     */
+    interface Body {
+        void run(int iterations) throws Exception;
+    }
+
+    private BenchmarkRunner() {
+    }
+
+    static void consume(Object value) {
+        sink = value;
+    }
+
+    static void consume(int value) {
+        if (value == Integer.MIN_VALUE + 1) {
+            sink = value;
+        }
+    }
+
+    /**
+     * 运行一项基准测试
+     *
+     * @param name 名称，也是基线文件中的key
+     * @return 每次操作的纳秒数（中位数）
+     */
+    static double run(String name, Body body) throws Exception {
+        int iterations = 1;
+        long start = System.nanoTime();
+        while (true) {
+            long batchStart = System.nanoTime();
+            body.run(iterations);
+            long elapsed = System.nanoTime() - batchStart;
+            if (elapsed >= BATCH_NANOS || iterations >= 1 << 30) {
+                if (System.nanoTime() - start >= WARMUP_NANOS) {
+                    break;
+                }
+            } else {
+                iterations *= 2;
+            }
+        }
+
+        double[] samples = new double[SAMPLES];
+        for (int i = 0; i < SAMPLES; i++) {
+            long batchStart = System.nanoTime();
+            body.run(iterations);
+            samples[i] = (double) (System.nanoTime() - batchStart) / iterations;
+        }
+        Arrays.sort(samples);
+        double median = (samples[SAMPLES / 2 - 1] + samples[SAMPLES / 2]) / 2;
+        report(name, median, samples[0], samples[SAMPLES - 1]);
+        return median;
+    }
+
+    private static synchronized void report(String name, double median, double min, double max) throws IOException {
+        Properties baselines = load(System.getProperty("benchmark.baselineFile"));
+        String baselineValue = baselines.getProperty(name);
+        double tolerance = Double.parseDouble(System.getProperty("benchmark.tolerance", "0.3"));
+
+        StringBuilder line = new StringBuilder();
+        line.append(String.format(Locale.US, "[benchmark] %-40s %14.1f ns/op (min %.1f, max %.1f)", name, median, min, max));
+        boolean regressed = false;
+        boolean record = Boolean.parseBoolean(System.getProperty("benchmark.record"));
+        boolean strict = Boolean.parseBoolean(System.getProperty("benchmark.strict"));
+        if (baselineValue != null) {
+            double baseline = Double.parseDouble(baselineValue);
+            double change = (median - baseline) / baseline;
+            line.append(String.format(Locale.US, "  baseline %.1f  %+.1f%%", baseline, change * 100));
+            if (change > tolerance) {
+                line.append("  REGRESSION");
+                regressed = true;
+            }
+        } else {
+            line.append(strict && !record ? "  no baseline, not checked" : "  no baseline");
+        }
+        System.out.println(line);
+
+        String resultFile = System.getProperty("benchmark.resultFile");
+        if (resultFile != null) {
+            store(resultFile, name, median);
+        }
+        if (record) {
+            store(System.getProperty("benchmark.baselineFile"), name, median);
+        }
+        if (regressed && strict) {
+            fail(line.toString());
+        }
+    }
+
+    private static Properties load(String path) throws IOException {
+        Properties properties = new Properties();
+        if (path == null || !new File(path).exists()) {
+            return properties;
+        }
+        InputStream in = new FileInputStream(path);
+        try {
+            properties.load(in);
+        } finally {
+            in.close();
+        }
+        return properties;
+    }
+
+    private static void store(String path, String name, double value) throws IOException {
+        if (path == null) {
+            return;
+        }
+        File file = new File(path);
+        File parent = file.getParentFile();
+        if (parent != null && !parent.exists() && !parent.mkdirs()) {
+            throw new IOException("无法创建目录：" + parent);
+        }
+        //Properties.store()会丢掉注释并重排，这里逐行改写
+        List<String> lines = new ArrayList<>();
+        if (file.exists()) {
+            BufferedReader reader = new BufferedReader(new InputStreamReader(new FileInputStream(file), "UTF-8"));
+            try {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    lines.add(line);
+                }
+            } finally {
+                reader.close();
+            }
+        }
+        String entry = name + "=" + String.format(Locale.US, "%.1f", value);
+        boolean replaced = false;
+        for (int i = 0; i < lines.size(); i++) {
+            if (keyOf(lines.get(i)).equals(name)) {
+                lines.set(i, entry);
+                replaced = true;
+                break;
+            }
+        }
+        if (!replaced) {
+            lines.add(entry);
+        }
+        Writer out = new OutputStreamWriter(new FileOutputStream(file), "UTF-8");
+        try {
+            for (int i = 0; i < lines.size(); i++) {
+                out.write(lines.get(i));
+                out.write('\n');
+            }
+        } finally {
+            out.close();
+        }
+    }
+
+    /**
+     * 一行的key，注释、空行返回空字符串
+     */
+    private static String keyOf(String line) {
+        String trimmed = line.trim();
+        if (trimmed.isEmpty() || trimmed.charAt(0) == '#' || trimmed.charAt(0) == '!') {
+            return "";
+        }
+        int end = 0;
+        while (end < trimmed.length() && "=: \t".indexOf(trimmed.charAt(end)) < 0) {
+            end++;
+        }
+        return trimmed.substring(0, end);
+    }
+}
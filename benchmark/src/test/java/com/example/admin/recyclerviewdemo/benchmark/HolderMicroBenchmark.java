@@ -0,0 +1,173 @@
+package com.example.admin.recyclerviewdemo.benchmark;
+
+import android.support.v7.widget.LinearLayoutManager;
+import android.support.v7.widget.RecyclerView;
+import android.view.View;
+import android.widget.TextView;
+
+import com.example.admin.recyclerviewdemo.rvadapter.BaseRvAdapter;
+import com.example.admin.recyclerviewdemo.rvadapter.BaseRvHolder;
+import com.example.admin.recyclerviewdemo.rvadapter.ItemViewDelegate;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.annotation.Config;
+
+import java.util.List;
+
+/**
+ * 微基准：ViewHolder和Adapter的单个热点操作
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 23)
+public class HolderMicroBenchmark {
+    private RecyclerView recyclerView;
+    private BenchAdapter adapter;
+    private BaseRvHolder holder;
+
+    @Before
+    public void setUp() throws Exception {
+        recyclerView = new RecyclerView(RuntimeEnvironment.application);
+        recyclerView.setLayoutManager(new LinearLayoutManager(RuntimeEnvironment.application));
+        adapter = new BenchAdapter(RuntimeEnvironment.application, BenchRow.create(100, 0));
+        holder = adapter.createViewHolder(recyclerView, R.layout.bench_item);
+    }
+
+    @Test
+    public void getView_cached() throws Exception {
+        final int[] ids = {R.id.bench_title, R.id.bench_subtitle, R.id.bench_time, R.id.bench_icon};
+        for (int id : ids) {
+            holder.getView(id);
+        }
+        BenchmarkRunner.run("holder.getView.cached", new BenchmarkRunner.Body() {
+            @Override
+            public void run(int iterations) {
+                View view = null;
+                for (int i = 0; i < iterations; i++) {
+                    view = holder.getView(ids[i & 3]);
+                }
+                BenchmarkRunner.consume(view);
+            }
+        });
+    }
+
+    @Test
+    public void setText_unchanged() throws Exception {
+        BenchmarkRunner.run("holder.setText.unchanged", new BenchmarkRunner.Body() {
+            @Override
+            public void run(int iterations) {
+                for (int i = 0; i < iterations; i++) {
+                    holder.setText(R.id.bench_title, "标题");
+                }
+            }
+        });
+    }
+
+    @Test
+    public void setText_changed() throws Exception {
+        final String[] texts = {"标题一", "标题二"};
+        BenchmarkRunner.run("holder.setText.changed", new BenchmarkRunner.Body() {
+            @Override
+            public void run(int iterations) {
+                for (int i = 0; i < iterations; i++) {
+                    holder.setText(R.id.bench_title, texts[i & 1]);
+                }
+            }
+        });
+    }
+
+    @Test
+    public void setText_direct() throws Exception {
+        //对照：直接调用TextView.setText()
+        final TextView title = (TextView) holder.itemView.findViewById(R.id.bench_title);
+        final String[] texts = {"标题一", "标题二"};
+        BenchmarkRunner.run("textView.setText.direct", new BenchmarkRunner.Body() {
+            @Override
+            public void run(int iterations) {
+                for (int i = 0; i < iterations; i++) {
+                    title.setText(texts[i & 1]);
+                }
+            }
+        });
+    }
+
+    @Test
+    public void createViewHolder() throws Exception {
+        //inflate、查找控件、设置监听器
+        BenchmarkRunner.run("adapter.createViewHolder", new BenchmarkRunner.Body() {
+            @Override
+            public void run(int iterations) {
+                BaseRvHolder created = null;
+                for (int i = 0; i < iterations; i++) {
+                    created = adapter.createViewHolder(recyclerView, R.layout.bench_item);
+                }
+                BenchmarkRunner.consume(created);
+            }
+        });
+    }
+
+    @Test
+    public void convertDispatch_singleLayout() throws Exception {
+        final CountingAdapter counting = new CountingAdapter(BenchRow.create(64, 0), 1);
+        BenchmarkRunner.run("adapter.dispatch.single", new BenchmarkRunner.Body() {
+            @Override
+            public void run(int iterations) {
+                for (int i = 0; i < iterations; i++) {
+                    counting.onBindViewHolder(holder, i & 63);
+                }
+                BenchmarkRunner.consume(counting.checksum);
+            }
+        });
+    }
+
+    @Test
+    public void convertDispatch_threeLayouts() throws Exception {
+        final CountingAdapter counting = new CountingAdapter(BenchRow.create(64, 0), 3);
+        BenchmarkRunner.run("adapter.dispatch.threeLayouts", new BenchmarkRunner.Body() {
+            @Override
+            public void run(int iterations) {
+                for (int i = 0; i < iterations; i++) {
+                    counting.onBindViewHolder(holder, i & 63);
+                }
+                BenchmarkRunner.consume(counting.checksum);
+            }
+        });
+    }
+
+
+    /**
+     * convert()只做计数，测量的是委托查找和分发的开销
+     */
+    private static class CountingAdapter extends BaseRvAdapter<BenchRow> {
+        int checksum;
+
+        CountingAdapter(List<BenchRow> rows, int layoutCount) {
+            super(RuntimeEnvironment.application, rows);
+            for (int i = 0; i < layoutCount; i++) {
+                //只用作viewType，不会inflate
+                final int layout = R.layout.bench_item + i;
+                final int remainder = i;
+                final int divisor = layoutCount;
+                addItemViewDelegate(new ItemViewDelegate<BenchRow>() {
+                    @Override
+                    public int getItemLayoutId() {
+                        return layout;
+                    }
+
+                    @Override
+                    public boolean isForViewType(BenchRow item, int position) {
+                        return item.id % divisor == remainder;
+                    }
+
+                    @Override
+                    public void convert(BaseRvHolder holder, BenchRow data, int position) {
+                        checksum += position;
+                    }
+                });
+            }
+        }
+    }
+}
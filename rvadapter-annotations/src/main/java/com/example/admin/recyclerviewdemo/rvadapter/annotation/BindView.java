@@ -0,0 +1,19 @@
+package com.example.admin.recyclerviewdemo.rvadapter.annotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * RvHolder描述类中的控件字段，生成的ViewHolder中有同名同类型的final字段，创建时查找一次，
+ * 通过getXxx()访问（字段title对应getTitle()），不能与BaseRvHolder的无参数方法重名
+ */
+@Retention(RetentionPolicy.CLASS)
+@Target(ElementType.FIELD)
+public @interface BindView {
+    /**
+     * 控件id
+     */
+    int value();
+}
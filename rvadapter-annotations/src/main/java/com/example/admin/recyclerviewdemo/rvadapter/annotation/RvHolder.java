@@ -0,0 +1,33 @@
+package com.example.admin.recyclerviewdemo.rvadapter.annotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 标注一个布局的ViewHolder描述类，编译时生成对应的BaseRvHolder子类：
+ * 描述类名以Spec结尾时去掉Spec，否则加上_RvHolder，如NewsHolderSpec生成NewsHolder。
+ * <pre>
+ * &#64;RvHolder(R.layout.item_news)
+ * abstract class NewsHolderSpec {
+ *     &#64;BindView(R.id.tv_title) TextView title;
+ *     &#64;BindView(R.id.iv_icon) ImageView icon;
+ * }
+ *
+ * adapter.registerHolderFactory(NewsHolder.LAYOUT, NewsHolder.FACTORY);
+ *
+ * public void convert(BaseRvHolder holder, News data, int position) {
+ *     NewsHolder newsHolder = (NewsHolder) holder;
+ *     newsHolder.getTitle().setText(data.title);
+ * }
+ * </pre>
+ */
+@Retention(RetentionPolicy.CLASS)
+@Target(ElementType.TYPE)
+public @interface RvHolder {
+    /**
+     * 布局id
+     */
+    int value();
+}
@@ -0,0 +1,270 @@
+package com.example.admin.recyclerviewdemo.rvadapter.compiler;
+
+import com.example.admin.recyclerviewdemo.rvadapter.annotation.BindView;
+import com.example.admin.recyclerviewdemo.rvadapter.annotation.RvHolder;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.Messager;
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.annotation.processing.RoundEnvironment;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import javax.tools.JavaFileObject;
+
+/**
+ * 处理@RvHolder，为每个布局生成BaseRvHolder子类：
+ * 控件在构造方法中findViewById()一次，保存在类型确定的final字段中，通过getXxx()访问；
+ * convert()中把holder转换成生成的类，直接调用getXxx()，不经过按id的查找。
+ * 重写getView()，按id用switch返回字段，BaseRvHolder原有的setText()等方法不再查SparseArray；
+ * 资源id不连续，switch编译为lookupswitch（二分查找），频繁绑定的控件应使用getXxx()。
+ */
+public class RvHolderProcessor extends AbstractProcessor {
+    private static final String BASE_HOLDER = "com.example.admin.recyclerviewdemo.rvadapter.BaseRvHolder";
+    private static final String HOLDER_FACTORY = "com.example.admin.recyclerviewdemo.rvadapter.RvHolderFactory";
+    private static final String VIEW = "android.view.View";
+    private static final String SPEC_SUFFIX = "Spec";
+
+    private Messager messager;
+
+    @Override
+    public synchronized void init(ProcessingEnvironment processingEnv) {
+        super.init(processingEnv);
+        messager = processingEnv.getMessager();
+    }
+
+    @Override
+    public Set<String> getSupportedAnnotationTypes() {
+        Set<String> types = new LinkedHashSet<>();
+        types.add(RvHolder.class.getCanonicalName());
+        types.add(BindView.class.getCanonicalName());
+        return types;
+    }
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        for (Element element : roundEnv.getElementsAnnotatedWith(RvHolder.class)) {
+            if (element.getKind() != ElementKind.CLASS) {
+                error(element, "@RvHolder只能用于类");
+                continue;
+            }
+            TypeElement spec = (TypeElement) element;
+            List<VariableElement> fields = collectFields(spec);
+            if (fields == null) {
+                continue;
+            }
+            try {
+                write(spec, fields);
+            } catch (IOException e) {
+                error(spec, "生成ViewHolder失败：" + e.getMessage());
+            }
+        }
+        for (Element element : roundEnv.getElementsAnnotatedWith(BindView.class)) {
+            if (element.getEnclosingElement().getAnnotation(RvHolder.class) == null) {
+                error(element, "@BindView只能用于@RvHolder标注的类中的字段");
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 检查并取出描述类中的控件字段，有错误时返回null
+     */
+    private List<VariableElement> collectFields(TypeElement spec) {
+        TypeElement viewType = processingEnv.getElementUtils().getTypeElement(VIEW);
+        List<VariableElement> fields = new ArrayList<>();
+        Set<Integer> ids = new HashSet<>();
+        Set<String> getters = baseGetterNames();
+        boolean valid = true;
+        for (Element member : spec.getEnclosedElements()) {
+            BindView bindView = member.getAnnotation(BindView.class);
+            if (bindView == null) {
+                continue;
+            }
+            VariableElement field = (VariableElement) member;
+            if (field.getModifiers().contains(Modifier.STATIC)) {
+                error(field, "@BindView不能用于static字段");
+                valid = false;
+            } else if (viewType != null
+                    && !processingEnv.getTypeUtils().isAssignable(field.asType(), viewType.asType())) {
+                error(field, "@BindView字段的类型必须是View的子类");
+                valid = false;
+            } else if (!ids.add(bindView.value())) {
+                error(field, "控件id重复：" + bindView.value());
+                valid = false;
+            } else if (!getters.add(getterName(field.getSimpleName().toString()))) {
+                error(field, "生成的" + getterName(field.getSimpleName().toString())
+                        + "()与BaseRvHolder或其他字段的方法重名，请修改字段名");
+                valid = false;
+            } else {
+                fields.add(field);
+            }
+        }
+        return valid ? fields : null;
+    }
+
+    /**
+     * BaseRvHolder中无参数的方法名，生成的getXxx()不能与之重名
+     */
+    private Set<String> baseGetterNames() {
+        Set<String> names = new HashSet<>();
+        TypeElement base = processingEnv.getElementUtils().getTypeElement(BASE_HOLDER);
+        if (base == null) {
+            return names;
+        }
+        for (ExecutableElement method : ElementFilter.methodsIn(processingEnv.getElementUtils().getAllMembers(base))) {
+            if (method.getParameters().isEmpty()) {
+                names.add(method.getSimpleName().toString());
+            }
+        }
+        return names;
+    }
+
+    private void write(TypeElement spec, List<VariableElement> fields) throws IOException {
+        String packageName = getPackageName(spec);
+        String className = getHolderName(spec);
+        String qualifiedName = packageName.isEmpty() ? className : packageName + "." + className;
+
+        JavaFileObject file = processingEnv.getFiler().createSourceFile(qualifiedName, spec);
+        Writer writer = file.openWriter();
+        try {
+            writer.write(generate(packageName, className, spec.getAnnotation(RvHolder.class).value(), fields));
+        } finally {
+            writer.close();
+        }
+    }
+
+    /**
+     * 生成的源码，字段类型使用全名，不需要import
+     */
+    String generate(String packageName, String className, int layoutId, List<VariableElement> fields) {
+        StringBuilder out = new StringBuilder();
+        out.append("// 由RvHolderProcessor生成，不要修改\n");
+        if (!packageName.isEmpty()) {
+            out.append("package ").append(packageName).append(";\n\n");
+        }
+        out.append("public final class ").append(className).append(" extends ").append(BASE_HOLDER).append(" {\n");
+        out.append("    public static final int LAYOUT = ").append(layoutId).append(";\n\n");
+        out.append("    public static final ").append(HOLDER_FACTORY).append(" FACTORY = new ")
+                .append(HOLDER_FACTORY).append("() {\n");
+        out.append("        @Override\n");
+        out.append("        public ").append(BASE_HOLDER).append(" create(android.content.Context context, ")
+                .append(VIEW).append(" itemView) {\n");
+        out.append("            return new ").append(className).append("(context, itemView);\n");
+        out.append("        }\n");
+        out.append("    };\n\n");
+
+        for (VariableElement field : fields) {
+            out.append("    private final ").append(typeName(field.asType())).append(' ')
+                    .append(field.getSimpleName()).append(";\n");
+        }
+        out.append('\n');
+
+        out.append("    public ").append(className).append("(android.content.Context context, ")
+                .append(VIEW).append(" itemView) {\n");
+        out.append("        super(context, itemView);\n");
+        for (VariableElement field : fields) {
+            String type = typeName(field.asType());
+            out.append("        ").append(field.getSimpleName()).append(" = ");
+            //findViewById()返回View，字段就是View时不需要转换
+            if (!VIEW.equals(type)) {
+                out.append('(').append(type).append(") ");
+            }
+            out.append("itemView.findViewById(").append(field.getAnnotation(BindView.class).value()).append(");\n");
+        }
+        out.append("    }\n\n");
+
+        for (VariableElement field : fields) {
+            String name = field.getSimpleName().toString();
+            out.append("    public ").append(typeName(field.asType())).append(' ').append(getterName(name))
+                    .append("() {\n");
+            out.append("        return ").append(name).append(";\n");
+            out.append("    }\n\n");
+        }
+
+        out.append("    @Override\n");
+        out.append("    @SuppressWarnings(\"unchecked\")\n");
+        out.append("    public <T extends ").append(VIEW).append("> T getView(int viewId) {\n");
+        out.append("        switch (viewId) {\n");
+        for (VariableElement field : fields) {
+            out.append("            case ").append(field.getAnnotation(BindView.class).value()).append(":\n");
+            out.append("                return (T) ").append(field.getSimpleName()).append(";\n");
+        }
+        out.append("            default:\n");
+        out.append("                return super.getView(viewId);\n");
+        out.append("        }\n");
+        out.append("    }\n");
+        out.append("}\n");
+        return out.toString();
+    }
+
+    /**
+     * title生成getTitle()
+     */
+    static String getterName(String fieldName) {
+        return "get" + Character.toUpperCase(fieldName.charAt(0)) + fieldName.substring(1);
+    }
+
+    private static String typeName(TypeMirror type) {
+        //泛型控件去掉类型参数，避免生成的强制转换产生警告
+        String name = type.toString();
+        int generic = name.indexOf('<');
+        return generic < 0 ? name : name.substring(0, generic);
+    }
+
+    private String getPackageName(TypeElement spec) {
+        PackageElement packageElement = processingEnv.getElementUtils().getPackageOf(spec);
+        return packageElement.isUnnamed() ? "" : packageElement.getQualifiedName().toString();
+    }
+
+    /**
+     * NewsHolderSpec生成NewsHolder，其他名称加上_RvHolder；嵌套类以外部类名为前缀
+     */
+    private static String getHolderName(TypeElement spec) {
+        List<String> names = new ArrayList<>();
+        Element element = spec;
+        while (element instanceof TypeElement) {
+            names.add(element.getSimpleName().toString());
+            element = element.getEnclosingElement();
+        }
+        Collections.reverse(names);
+        StringBuilder name = new StringBuilder();
+        for (int i = 0; i < names.size(); i++) {
+            if (i > 0) {
+                name.append('_');
+            }
+            name.append(names.get(i));
+        }
+        String simple = name.toString();
+        if (simple.endsWith(SPEC_SUFFIX) && simple.length() > SPEC_SUFFIX.length()) {
+            return simple.substring(0, simple.length() - SPEC_SUFFIX.length());
+        }
+        return simple + "_RvHolder";
+    }
+
+    private void error(Element element, String message) {
+        messager.printMessage(Diagnostic.Kind.ERROR, message, element);
+    }
+}
@@ -0,0 +1,174 @@
+package com.example.admin.recyclerviewdemo.rvadapter.compiler;
+
+import com.google.testing.compile.Compilation;
+import com.google.testing.compile.JavaFileObjects;
+
+import org.junit.Test;
+
+import javax.tools.JavaFileObject;
+
+import static com.google.testing.compile.CompilationSubject.assertThat;
+import static com.google.testing.compile.Compiler.javac;
+import static org.junit.Assert.assertEquals;
+
+/**
+ * 生成的ViewHolder能编译，字段通过类型确定的getXxx()访问；描述类有错误时报告到对应的字段
+ */
+public class RvHolderProcessorTest {
+    /**
+     * 编译时用到的Android类和BaseRvHolder，只需声明生成的代码用到的部分
+     */
+    private static final JavaFileObject CONTEXT = JavaFileObjects.forSourceLines("android.content.Context",
+            "package android.content;",
+            "public class Context {}");
+    private static final JavaFileObject VIEW = JavaFileObjects.forSourceLines("android.view.View",
+            "package android.view;",
+            "public class View {",
+            "    public View findViewById(int id) { return null; }",
+            "}");
+    private static final JavaFileObject TEXT_VIEW = JavaFileObjects.forSourceLines("android.widget.TextView",
+            "package android.widget;",
+            "public class TextView extends android.view.View {}");
+    private static final JavaFileObject BASE_HOLDER = JavaFileObjects.forSourceLines(
+            "com.example.admin.recyclerviewdemo.rvadapter.BaseRvHolder",
+            "package com.example.admin.recyclerviewdemo.rvadapter;",
+            "import android.content.Context;",
+            "import android.view.View;",
+            "public class BaseRvHolder {",
+            "    public BaseRvHolder(Context context, View itemView) {}",
+            "    public <T extends View> T getView(int viewId) { return null; }",
+            "    public int getLayoutId() { return 0; }",
+            "}");
+    private static final JavaFileObject HOLDER_FACTORY = JavaFileObjects.forSourceLines(
+            "com.example.admin.recyclerviewdemo.rvadapter.RvHolderFactory",
+            "package com.example.admin.recyclerviewdemo.rvadapter;",
+            "import android.content.Context;",
+            "import android.view.View;",
+            "public interface RvHolderFactory {",
+            "    BaseRvHolder create(Context context, View itemView);",
+            "}");
+
+    private static Compilation compile(JavaFileObject spec) {
+        return javac().withProcessors(new RvHolderProcessor())
+                .compile(CONTEXT, VIEW, TEXT_VIEW, BASE_HOLDER, HOLDER_FACTORY, spec);
+    }
+
+    @Test
+    public void spec_generatesTypedAccessors() {
+        JavaFileObject spec = JavaFileObjects.forSourceLines("test.NewsHolderSpec",
+                "package test;",
+                "import android.view.View;",
+                "import android.widget.TextView;",
+                "import com.example.admin.recyclerviewdemo.rvadapter.annotation.BindView;",
+                "import com.example.admin.recyclerviewdemo.rvadapter.annotation.RvHolder;",
+                "@RvHolder(10)",
+                "abstract class NewsHolderSpec {",
+                "    @BindView(1) TextView title;",
+                "    @BindView(2) View divider;",
+                "}");
+        JavaFileObject usage = JavaFileObjects.forSourceLines("test.Usage",
+                "package test;",
+                "import android.view.View;",
+                "import android.widget.TextView;",
+                "class Usage {",
+                "    static void bind(NewsHolder holder) {",
+                "        TextView title = holder.getTitle();",
+                "        View divider = holder.getDivider();",
+                "    }",
+                "}");
+
+        Compilation compilation = javac().withProcessors(new RvHolderProcessor())
+                .compile(CONTEXT, VIEW, TEXT_VIEW, BASE_HOLDER, HOLDER_FACTORY, spec, usage);
+
+        assertThat(compilation).succeeded();
+        assertThat(compilation).generatedSourceFile("test.NewsHolder").contentsAsUtf8String()
+                .contains("title = (android.widget.TextView) itemView.findViewById(1);");
+        //View类型的字段不需要转换
+        assertThat(compilation).generatedSourceFile("test.NewsHolder").contentsAsUtf8String()
+                .contains("divider = itemView.findViewById(2);");
+        assertThat(compilation).generatedSourceFile("test.NewsHolder").contentsAsUtf8String()
+                .contains("public android.widget.TextView getTitle() {");
+        assertThat(compilation).generatedSourceFile("test.NewsHolder").contentsAsUtf8String()
+                .contains("case 2:\n                return (T) divider;");
+    }
+
+    @Test
+    public void nestedSpec_prefixedWithOuterName() {
+        JavaFileObject spec = JavaFileObjects.forSourceLines("test.Outer",
+                "package test;",
+                "import android.widget.TextView;",
+                "import com.example.admin.recyclerviewdemo.rvadapter.annotation.BindView;",
+                "import com.example.admin.recyclerviewdemo.rvadapter.annotation.RvHolder;",
+                "class Outer {",
+                "    @RvHolder(10)",
+                "    static abstract class Item {",
+                "        @BindView(1) TextView title;",
+                "    }",
+                "}");
+
+        Compilation compilation = compile(spec);
+
+        assertThat(compilation).succeeded();
+        assertThat(compilation).generatedSourceFile("test.Outer_Item_RvHolder");
+    }
+
+    @Test
+    public void duplicateId_reported() {
+        JavaFileObject spec = JavaFileObjects.forSourceLines("test.DuplicateSpec",
+                "package test;",
+                "import android.widget.TextView;",
+                "import com.example.admin.recyclerviewdemo.rvadapter.annotation.BindView;",
+                "import com.example.admin.recyclerviewdemo.rvadapter.annotation.RvHolder;",
+                "@RvHolder(10)",
+                "abstract class DuplicateSpec {",
+                "    @BindView(1) TextView title;",
+                "    @BindView(1) TextView subtitle;",
+                "}");
+
+        Compilation compilation = compile(spec);
+
+        assertThat(compilation).failed();
+        assertThat(compilation).hadErrorContaining("控件id重复：1").inFile(spec).onLine(8);
+    }
+
+    @Test
+    public void nonViewField_reported() {
+        JavaFileObject spec = JavaFileObjects.forSourceLines("test.WrongTypeSpec",
+                "package test;",
+                "import com.example.admin.recyclerviewdemo.rvadapter.annotation.BindView;",
+                "import com.example.admin.recyclerviewdemo.rvadapter.annotation.RvHolder;",
+                "@RvHolder(10)",
+                "abstract class WrongTypeSpec {",
+                "    @BindView(1) String title;",
+                "}");
+
+        Compilation compilation = compile(spec);
+
+        assertThat(compilation).failed();
+        assertThat(compilation).hadErrorContaining("必须是View的子类").inFile(spec).onLine(6);
+    }
+
+    @Test
+    public void accessorClashingWithBaseHolder_reported() {
+        JavaFileObject spec = JavaFileObjects.forSourceLines("test.ClashSpec",
+                "package test;",
+                "import android.view.View;",
+                "import com.example.admin.recyclerviewdemo.rvadapter.annotation.BindView;",
+                "import com.example.admin.recyclerviewdemo.rvadapter.annotation.RvHolder;",
+                "@RvHolder(10)",
+                "abstract class ClashSpec {",
+                "    @BindView(1) View layoutId;",
+                "}");
+
+        Compilation compilation = compile(spec);
+
+        assertThat(compilation).failed();
+        assertThat(compilation).hadErrorContaining("getLayoutId()").inFile(spec).onLine(7);
+    }
+
+    @Test
+    public void getterName_capitalizesField() {
+        assertEquals("getTitle", RvHolderProcessor.getterName("title"));
+        assertEquals("getIvIcon", RvHolderProcessor.getterName("ivIcon"));
+    }
+}
@@ -0,0 +1,36 @@
+package com.example.admin.recyclerviewdemo.rvadapter;
+
+import android.support.v7.widget.RecyclerView;
+
+/**
+ * 把集合的变化转换为Adapter的局部刷新
+ */
+public class AdapterListUpdateCallback implements ListUpdateCallback {
+    private RecyclerView.Adapter adapter;
+
+
+    public AdapterListUpdateCallback(RecyclerView.Adapter adapter) {
+        this.adapter = adapter;
+    }
+
+    @Override
+    public void onInserted(int position, int count) {
+        adapter.notifyItemRangeInserted(position, count);
+    }
+
+    @Override
+    public void onRemoved(int position, int count) {
+        adapter.notifyItemRangeRemoved(position, count);
+    }
+
+    @Override
+    public void onMoved(int fromPosition, int toPosition) {
+        adapter.notifyItemMoved(fromPosition, toPosition);
+    }
+
+    @Override
+    public void onChanged(int position, int count, Object payload) {
+        adapter.notifyItemRangeChanged(position, count, payload);
+    }
+
+}
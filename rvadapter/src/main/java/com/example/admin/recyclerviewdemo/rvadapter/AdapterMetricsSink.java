@@ -0,0 +1,54 @@
+package com.example.admin.recyclerviewdemo.rvadapter;
+
+/**
+ * BaseRvAdapter的性能数据接收者，通过BaseRvAdapter.setMetricsSink()设置，默认实现见DefaultMetricsSink。
+ * onCreateViewHolder()可能在预创建的后台线程调用，实现需线程安全；
+ * 每次绑定都会调用，实现中不要加锁、创建对象。
+ */
+public interface AdapterMetricsSink {
+    /**
+     * notifyDataSetChanged()
+     */
+    int NOTIFY_FULL = 0;
+    /**
+     * 单项的notifyItemXxx()
+     */
+    int NOTIFY_ITEM = 1;
+    /**
+     * 多项的notifyItemRangeXxx()
+     */
+    int NOTIFY_RANGE = 2;
+
+    /**
+     * 创建了一个ViewHolder（包括inflate）
+     *
+     * @param viewType 布局id
+     * @param nanos    耗时，纳秒
+     */
+    void onCreateViewHolder(int viewType, long nanos);
+
+    /**
+     * 绑定了一个ViewHolder（convert）
+     *
+     * @param viewType 布局id
+     * @param nanos    耗时，纳秒
+     */
+    void onBindViewHolder(int viewType, long nanos);
+
+    /**
+     * 一个ViewHolder开始用于新的子项：取自RecycledViewPool（含预创建的、共用缓存池中其他Adapter回收的）时在绑定前调用，
+     * 缓存池中没有、同步创建时在创建后调用；预创建本身不算
+     *
+     * @param viewType 布局id
+     * @param fromPool true表示取自RecycledViewPool，false表示新创建的
+     */
+    void onHolderAcquired(int viewType, boolean fromPool);
+
+    /**
+     * Adapter发出了一次刷新通知
+     *
+     * @param kind      NOTIFY_FULL、NOTIFY_ITEM或NOTIFY_RANGE
+     * @param itemCount 涉及的子项个数，NOTIFY_FULL时为-1（个数未知）
+     */
+    void onNotify(int kind, int itemCount);
+}
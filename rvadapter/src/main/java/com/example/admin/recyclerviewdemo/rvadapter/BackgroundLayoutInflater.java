@@ -0,0 +1,44 @@
+package com.example.admin.recyclerviewdemo.rvadapter;
+
+import android.content.Context;
+import android.util.AttributeSet;
+import android.view.LayoutInflater;
+import android.view.View;
+
+/**
+ * 后台线程预创建ViewHolder时使用的LayoutInflater，同AsyncLayoutInflater：
+ * 不复制Activity设置的Factory（如AppCompat替换控件的Factory），Factory一般不是线程安全的，也可能访问只能在主线程使用的对象；
+ * 仍使用Activity的Context，主题、样式与主线程创建的一致。
+ * 因此AppCompat的Activity中后台创建的是TextView等原生控件，而不是AppCompatTextView。
+ */
+final class BackgroundLayoutInflater extends LayoutInflater {
+    private static final String[] CLASS_PREFIXES = {
+            "android.widget.",
+            "android.webkit.",
+            "android.app."
+    };
+
+    BackgroundLayoutInflater(Context context) {
+        super(context);
+    }
+
+    @Override
+    public LayoutInflater cloneInContext(Context newContext) {
+        return new BackgroundLayoutInflater(newContext);
+    }
+
+    @Override
+    protected View onCreateView(String name, AttributeSet attrs) throws ClassNotFoundException {
+        for (String prefix : CLASS_PREFIXES) {
+            try {
+                View view = createView(name, prefix, attrs);
+                if (view != null) {
+                    return view;
+                }
+            } catch (ClassNotFoundException e) {
+                //继续尝试下一个包名
+            }
+        }
+        return super.onCreateView(name, attrs);
+    }
+}
@@ -0,0 +1,1477 @@
+package com.example.admin.recyclerviewdemo.rvadapter;
+
+import android.content.Context;
+import android.os.Handler;
+import android.os.Looper;
+import android.support.v7.widget.RecyclerView;
+import android.util.Log;
+import android.util.SparseArray;
+import android.view.LayoutInflater;
+import android.view.View;
+import android.view.ViewGroup;
+import android.view.ViewParent;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Created by Administrator on 2017/12/21.
+ *
+ * @author Administrator
+ *         <p>
+ *         万能的RecyclerView的Adapter
+ */
+public abstract class BaseRvAdapter<T> extends RecyclerView.Adapter<BaseRvHolder> {
+    private static final String TAG = "BaseRvAdapter";
+    /**
+     * 调试日志开关，为false时日志代码在编译时被去掉
+     */
+    private static final boolean DEBUG = false;
+    /**
+     * 快速滑动结束后重新绑定降级子项的payload，按整项刷新处理，
+     * 使用payload是为了让ItemAnimator复用同一个ViewHolder，不做淡入淡出
+     */
+    public static final Object PAYLOAD_SCROLL_SETTLED = new Object();
+    /**
+     * 设置了key提取器时，null子项（占位符）的stable id为该值加position，ItemKeyProvider不应返回这一区间的key
+     */
+    public static final long PLACEHOLDER_ID_BASE = Long.MIN_VALUE;
+
+    /**
+     * 后台计算差量的线程，所有Adapter共用
+     */
+    private static final Executor DIFF_EXECUTOR = Executors.newSingleThreadExecutor(new ThreadFactory() {
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "BaseRvAdapter-diff");
+            thread.setDaemon(true);
+            thread.setPriority(Thread.MIN_PRIORITY);
+            return thread;
+        }
+    });
+
+    /**
+     * 后台准备显示对象的线程，所有Adapter共用
+     */
+    private static final Executor PREPARE_EXECUTOR = Executors.newSingleThreadExecutor(new ThreadFactory() {
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "BaseRvAdapter-prepare");
+            thread.setDaemon(true);
+            thread.setPriority(Thread.MIN_PRIORITY);
+            return thread;
+        }
+    });
+
+    /**
+     * 上下文
+     */
+    private Context context;
+    /**
+     * 数据源
+     */
+    private List<T> list;
+    /**
+     * 布局器
+     */
+    private LayoutInflater inflater;
+    /**
+     * 布局id
+     */
+    private int itemLayoutId;
+    /**
+     * 多布局的委托注册表
+     */
+    private ItemViewDelegateManager<T> delegateManager = new ItemViewDelegateManager<>();
+    /**
+     * 按布局id注册的ViewHolder工厂，未注册的布局使用BaseRvHolder
+     */
+    private SparseArray<RvHolderFactory> holderFactories;
+    /**
+     * 后台预创建ViewHolder，及后台线程使用的布局器（LayoutInflater不是线程安全的，且不使用Activity的Factory）
+     */
+    private HolderPrewarmer prewarmer;
+    private LayoutInflater backgroundInflater;
+    /**
+     * 从预创建的ViewHolder绑定的次数、同步创建ViewHolder的次数
+     */
+    private int warmHitCount;
+    private int coldCreateCount;
+    /**
+     * 性能数据接收者，为null时不统计
+     */
+    private AdapterMetricsSink metricsSink;
+    private MetricsObserver metricsObserver;
+    /**
+     * 分阶段绑定，见BaseRvHolder.defer()
+     */
+    private boolean stagedBinding;
+    /**
+     * 滑动状态，快速滑动时是否暂停图片加载和延后的任务
+     */
+    private ScrollStateTracker scrollTracker = new ScrollStateTracker(new ScrollStateTracker.Callback() {
+        @Override
+        public void onFastScrollChanged(RecyclerView recyclerView, boolean fast) {
+            BaseRvAdapter.this.onFastScrollChanged(recyclerView, fast);
+        }
+    });
+    private boolean scrollThrottling;
+    private Runnable settleRunnable;
+    /**
+     * 两阶段绑定，见setRenderModelBinder()
+     */
+    private RenderModelBinder<T, Object> renderBinder;
+    private RenderModelCache renderCache;
+    /**
+     * 正在后台准备的子项key；显示对象的版本号，更换binder或全部失效后丢弃之前的结果
+     */
+    private LongIntHashMap preparingKeys;
+    private int renderGeneration;
+    /**
+     * 每批后台准备的序号，preparingKeys中记录子项所在的批次
+     */
+    private int prepareTicket;
+    private int prepareAhead;
+    private int renderHitCount;
+    private int renderMissCount;
+    /**
+     * key提取器，不为null时作为stable id
+     */
+    private ItemKeyProvider<T> keyProvider;
+    /**
+     * key到position的索引，数据变化后延迟重建
+     */
+    private LongIntHashMap keyIndex;
+    private boolean keyIndexDirty = true;
+    /**
+     * 差量刷新的比较器
+     */
+    private ItemDiffCallback<T> diffCallback;
+    /**
+     * 数据的版本号，每次修改数据加1，后台算出的差量与当前版本不一致时丢弃
+     */
+    private int dataGeneration;
+    private Handler mainHandler;
+    private ListUpdateCallback updateCallback;
+
+    /**
+     * 点击事件监听器
+     */
+    private OnItemClickListener listener;
+    /**
+     * 长按监听器
+     */
+    private OnItemLongClickListener longClickListener;
+    /**
+     * 作为CompositeRvAdapter的一段时为所在的CompositeRvAdapter
+     */
+    private CompositeRvAdapter composite;
+
+
+    /**
+     * 单布局：子类重写convert()填充数据
+     *
+     * @param itemLayoutId 布局id
+     */
+    public BaseRvAdapter(Context context, List<T> list, int itemLayoutId) {
+        this(context, list);
+        this.itemLayoutId = itemLayoutId;
+        delegateManager.addDelegate(new PayloadItemViewDelegate<T>() {
+            @Override
+            public int getItemLayoutId() {
+                return BaseRvAdapter.this.itemLayoutId;
+            }
+
+            @Override
+            public boolean isForViewType(T item, int position) {
+                return true;
+            }
+
+            @Override
+            public void convert(BaseRvHolder holder, T data, int position) {
+                BaseRvAdapter.this.convert(holder, data, position);
+            }
+
+            @Override
+            public void convert(BaseRvHolder holder, T data, int position, List<Object> payloads) {
+                BaseRvAdapter.this.convert(holder, data, position, payloads);
+            }
+        });
+    }
+
+    /**
+     * 多布局：通过addItemViewDelegate()注册各布局的委托
+     */
+    public BaseRvAdapter(Context context, List<T> list) {
+        this.context = context;
+        this.list = list;
+        inflater = LayoutInflater.from(context);
+    }
+
+
+    /**
+     * 注册多布局的委托，需在setAdapter()之前调用
+     *
+     * @param delegate 委托
+     * @return 该委托的viewType，即布局id
+     */
+    public int addItemViewDelegate(ItemViewDelegate<T> delegate) {
+        return delegateManager.addDelegate(delegate);
+    }
+
+    /**
+     * 为布局指定ViewHolder，一般传入@RvHolder生成的LAYOUT和FACTORY，需在setAdapter()之前调用
+     *
+     * @param layoutId 布局id
+     * @param factory  ViewHolder工厂
+     */
+    public void registerHolderFactory(int layoutId, RvHolderFactory factory) {
+        if (holderFactories == null) {
+            holderFactories = new SparseArray<>();
+        }
+        holderFactories.put(layoutId, factory);
+    }
+
+    /**
+     * viewType的布局id
+     */
+    int getLayoutIdForViewType(int viewType) {
+        return delegateManager.getItemLayoutId(viewType);
+    }
+
+    /**
+     * viewType的ViewHolder种类：注册的RvHolderFactory的类，未注册时为BaseRvHolder。
+     * 种类、布局都相同的ViewHolder可以互相绑定
+     */
+    Object getHolderFamily(int viewType) {
+        RvHolderFactory factory = holderFactories != null
+                ? holderFactories.get(getLayoutIdForViewType(viewType)) : null;
+        return factory != null ? factory.getClass() : BaseRvHolder.class;
+    }
+
+    /**
+     * 单布局时预创建ViewHolder，见prewarm(RecyclerView, int, int)
+     */
+    public void prewarm(RecyclerView recyclerView, int count) {
+        prewarm(recyclerView, itemLayoutId, count);
+    }
+
+    /**
+     * 提前创建count个ViewHolder放入recyclerView的RecycledViewPool，首屏不再同步inflate。
+     * 在后台线程创建，不能在后台创建的布局改为主线程空闲时分片创建。
+     * 需在主线程、setAdapter()之后调用（setAdapter()会清空缓存池，之前预创建的会被丢弃），
+     * count一般为一屏能显示的个数。
+     * 作为CompositeRvAdapter的一段时，viewType仍为本Adapter的布局id，自动换算为CompositeRvAdapter的viewType。
+     *
+     * @param recyclerView 使用本Adapter（或包含本Adapter的CompositeRvAdapter）的RecyclerView
+     * @param viewType     布局id
+     * @param count        个数
+     * @throws IllegalStateException    recyclerView还没有设置Adapter
+     * @throws IllegalArgumentException recyclerView使用的是其他Adapter
+     */
+    public void prewarm(RecyclerView recyclerView, int viewType, int count) {
+        RecyclerView.Adapter<?> attached = recyclerView.getAdapter();
+        if (attached == null) {
+            throw new IllegalStateException("prewarm()需在setAdapter()之后调用，setAdapter()会清空缓存池");
+        }
+        if (prewarmer == null) {
+            prewarmer = new HolderPrewarmer();
+        }
+        if (attached == this) {
+            prewarmer.prewarm(recyclerView, this, viewType, count);
+        } else if (composite != null && attached == composite) {
+            prewarmer.prewarm(recyclerView, composite, composite.getGlobalViewType(this, viewType), count);
+        } else {
+            throw new IllegalArgumentException("recyclerView使用的不是本Adapter");
+        }
+    }
+
+    /**
+     * 取消尚未完成的预创建
+     */
+    public void cancelPrewarm() {
+        if (prewarmer != null) {
+            prewarmer.cancel();
+        }
+    }
+
+    /**
+     * 已放入缓存池的预创建ViewHolder个数
+     */
+    public int getPrewarmedCount() {
+        return prewarmer != null ? prewarmer.getPrewarmedCount() : 0;
+    }
+
+    /**
+     * 使用预创建的ViewHolder的次数
+     */
+    public int getWarmHitCount() {
+        return warmHitCount;
+    }
+
+    /**
+     * 需要时才在主线程同步创建ViewHolder的次数
+     */
+    public int getColdCreateCount() {
+        return coldCreateCount;
+    }
+
+    /**
+     * ViewHolder当前所在列表的Adapter，共用RecycledViewPool时可能不是创建它的Adapter
+     */
+    private BaseRvAdapter<?> ownerOf(BaseRvHolder holder) {
+        ViewParent parent = holder.itemView.getParent();
+        if (parent instanceof RecyclerView) {
+            RecyclerView.Adapter<?> adapter = ((RecyclerView) parent).getAdapter();
+            if (adapter instanceof BaseRvAdapter) {
+                return (BaseRvAdapter<?>) adapter;
+            }
+            if (adapter instanceof CompositeRvAdapter) {
+                BaseRvAdapter<?> section = ((CompositeRvAdapter) adapter).ownerOf(holder);
+                if (section != null) {
+                    return section;
+                }
+            }
+        }
+        return this;
+    }
+
+    void setComposite(CompositeRvAdapter composite) {
+        this.composite = composite;
+    }
+
+    /**
+     * RecyclerView中的position换算为本Adapter中的position：作为CompositeRvAdapter的一段时减去前面各段的子项数
+     */
+    private int toLocalPosition(int adapterPosition) {
+        if (composite == null || adapterPosition == RecyclerView.NO_POSITION) {
+            return adapterPosition;
+        }
+        return composite.getLocalPosition(adapterPosition);
+    }
+
+    /**
+     * 每次绑定前调用：统计预创建的ViewHolder的使用、缓存池的命中
+     */
+    void onHolderBinding(BaseRvHolder holder) {
+        //取自缓存池的（含预创建的、其他Adapter回收的）只看这两个标记；新创建的在onCreateViewHolder()中统计
+        boolean fromPool = holder.isPrewarmed() || holder.isRecycled();
+        if (holder.isPrewarmed()) {
+            holder.setPrewarmed(false);
+            warmHitCount++;
+        }
+        holder.setBoundAdapter(this);
+        holder.setRecycled(false);
+        //上一次绑定延后的任务不再执行
+        holder.cancelDeferred();
+        holder.setDeferEnabled(stagedBinding);
+        holder.setFastScrolling(scrollThrottling && tracker().isFast());
+        if (metricsSink != null && fromPool) {
+            metricsSink.onHolderAcquired(holder.getLayoutId(), true);
+        }
+    }
+
+    /**
+     * 开启分阶段绑定：convert()中通过holder.defer()提交的任务延后到之后的帧执行，不占用当前帧的时间。
+     * 关闭时defer()的任务立即执行，convert()的写法不变。
+     */
+    public void setStagedBinding(boolean stagedBinding) {
+        this.stagedBinding = stagedBinding;
+    }
+
+    public boolean isStagedBinding() {
+        return stagedBinding;
+    }
+
+    /**
+     * 两阶段绑定，缓存100个显示对象，向滑动方向提前准备10个子项，见setRenderModelBinder(RenderModelBinder, int, int)
+     */
+    public <M> void setRenderModelBinder(RenderModelBinder<T, M> binder) {
+        setRenderModelBinder(binder, 100, 10);
+    }
+
+    /**
+     * 两阶段绑定：设置后不再调用convert()。
+     * 绑定时取出已准备的显示对象交给binder.bind()，并在后台为滑动方向上之后的子项调用binder.prepare()；
+     * 未准备好时在主线程同步prepare()。
+     * 显示对象按子项的key缓存（未设置ItemKeyProvider时按position），子项被替换成另一个对象后重新准备；
+     * 直接修改子项的字段后需调用invalidateRenderModel()。
+     * 占位符（子项为null，如PagedRvAdapter未加载的位置）不准备，bind()的model为null。
+     * 需在主线程调用。
+     *
+     * @param binder       为null时恢复convert()
+     * @param cacheSize    缓存的显示对象个数，应大于一屏的子项数与prepareAhead之和
+     * @param prepareAhead 提前准备的子项数
+     */
+    @SuppressWarnings("unchecked")
+    public <M> void setRenderModelBinder(RenderModelBinder<T, M> binder, int cacheSize, int prepareAhead) {
+        renderGeneration++;
+        renderBinder = (RenderModelBinder<T, Object>) binder;
+        this.prepareAhead = prepareAhead;
+        if (binder == null) {
+            renderCache = null;
+            preparingKeys = null;
+            return;
+        }
+        renderCache = new RenderModelCache(cacheSize);
+        preparingKeys = new LongIntHashMap(prepareAhead * 2, 0);
+        if (mainHandler == null) {
+            mainHandler = new Handler(Looper.getMainLooper());
+        }
+        //首屏
+        if (list != null) {
+            prepareAhead(-1, 1);
+        }
+    }
+
+    /**
+     * 子项的字段被直接修改后调用，下次绑定时重新准备
+     */
+    public void invalidateRenderModel(int position) {
+        T item = list.get(position);
+        if (renderCache != null && item != null) {
+            long key = renderKeyOf(position, item);
+            renderCache.invalidate(key);
+            //正在后台准备的是修改前的结果，不再放入缓存
+            preparingKeys.remove(key);
+        }
+    }
+
+    /**
+     * 所有显示对象失效，例如显示依赖的设置（语言、日期格式）变化后
+     */
+    public void invalidateRenderModels() {
+        if (renderCache != null) {
+            renderGeneration++;
+            renderCache.clear();
+            preparingKeys.clear();
+        }
+    }
+
+    /**
+     * 绑定时显示对象已准备好的次数
+     */
+    public int getRenderModelHitCount() {
+        return renderHitCount;
+    }
+
+    /**
+     * 绑定时在主线程同步准备显示对象的次数
+     */
+    public int getRenderModelMissCount() {
+        return renderMissCount;
+    }
+
+    private long renderKeyOf(int position, T item) {
+        return keyProvider != null ? keyProvider.getItemKey(item) : position;
+    }
+
+    private void bindRenderModel(BaseRvHolder holder, T data, int position) {
+        //占位符没有显示对象
+        if (data == null) {
+            renderBinder.bind(holder, null, position);
+            return;
+        }
+        long key = renderKeyOf(position, data);
+        Object model = renderCache.get(key, data);
+        if (model != null) {
+            renderHitCount++;
+        } else {
+            renderMissCount++;
+            model = renderBinder.prepare(data);
+            renderCache.put(key, data, model);
+        }
+        renderBinder.bind(holder, model, position);
+        prepareAhead(position, tracker().getVelocity() < 0 ? -1 : 1);
+    }
+
+    /**
+     * 在后台准备position之后（step为-1时之前）prepareAhead个子项中尚未准备的，都已准备时不分配对象
+     */
+    private void prepareAhead(int position, int step) {
+        Object[] items = null;
+        long[] keys = null;
+        int count = 0;
+        for (int i = 1, size = list.size(); i <= prepareAhead; i++) {
+            int target = position + step * i;
+            if (target < 0 || target >= size) {
+                break;
+            }
+            T item = list.get(target);
+            //占位符没有显示对象
+            if (item == null) {
+                continue;
+            }
+            long key = renderKeyOf(target, item);
+            if (renderCache.contains(key, item) || preparingKeys.contains(key)) {
+                continue;
+            }
+            if (items == null) {
+                items = new Object[prepareAhead];
+                keys = new long[prepareAhead];
+            }
+            items[count] = item;
+            keys[count] = key;
+            if (count == 0) {
+                prepareTicket = prepareTicket == Integer.MAX_VALUE ? 1 : prepareTicket + 1;
+            }
+            count++;
+            preparingKeys.put(key, prepareTicket);
+        }
+        if (count > 0) {
+            PREPARE_EXECUTOR.execute(new PrepareTask(renderGeneration, prepareTicket, renderBinder, keys, items, count));
+        }
+    }
+
+    /**
+     * 只接受仍在等待本批结果的子项：准备期间被invalidateRenderModel()或更新的批次取代的丢弃
+     */
+    private void onModelsPrepared(int generation, int ticket, long[] keys, Object[] items, Object[] models, int count) {
+        if (generation != renderGeneration) {
+            return;
+        }
+        for (int i = 0; i < count; i++) {
+            if (preparingKeys.get(keys[i]) != ticket) {
+                continue;
+            }
+            preparingKeys.remove(keys[i]);
+            if (models[i] != null && !renderCache.contains(keys[i], items[i])) {
+                renderCache.put(keys[i], items[i], models[i]);
+            }
+        }
+    }
+
+    /**
+     * 快速滑动时降级（默认关闭）：
+     * 暂停ImagePipeline的加载（默认实例已创建时），只显示占位图；暂停FrameBudgetScheduler中延后的任务；
+     * 绑定的子项holder.isFastScrolling()为true。
+     * 滑动减速到阈值的一半以下或停止后恢复，仍在显示的降级子项重新绑定。
+     * 作为CompositeRvAdapter的一段时，滑动状态由CompositeRvAdapter统一跟踪，任一段开启时暂停一次、统一重新绑定。
+     */
+    public void setScrollThrottling(boolean scrollThrottling) {
+        if (this.scrollThrottling == scrollThrottling) {
+            return;
+        }
+        RecyclerView recyclerView = scrollTracker.getRecyclerView();
+        boolean fast = scrollTracker.isFast() && recyclerView != null;
+        if (fast && !scrollThrottling) {
+            onFastScrollChanged(recyclerView, false);
+        }
+        this.scrollThrottling = scrollThrottling;
+        if (fast && scrollThrottling) {
+            onFastScrollChanged(recyclerView, true);
+        }
+    }
+
+    public boolean isScrollThrottling() {
+        return scrollThrottling;
+    }
+
+    /**
+     * 快速滑动的阈值，作为CompositeRvAdapter的一段时使用CompositeRvAdapter.setFastScrollThreshold()
+     *
+     * @param screensPerSecond 每秒滑过的屏数（RecyclerView的高度或宽度），默认3
+     */
+    public void setFastScrollThreshold(float screensPerSecond) {
+        scrollTracker.setFastScreensPerSecond(screensPerSecond);
+    }
+
+    /**
+     * 所在RecyclerView的滑动状态，RecyclerView.SCROLL_STATE_IDLE等
+     */
+    public int getScrollState() {
+        return tracker().getScrollState();
+    }
+
+    /**
+     * 估算的滑动速度，像素/秒，向下、向右为正；停止时为0
+     */
+    public float getScrollVelocity() {
+        return tracker().getVelocity();
+    }
+
+    /**
+     * 是否正在快速滑动
+     */
+    public boolean isScrollingFast() {
+        return tracker().isFast();
+    }
+
+    /**
+     * 滑动状态：作为CompositeRvAdapter的一段时为CompositeRvAdapter的，各段不再各自监听
+     */
+    private ScrollStateTracker tracker() {
+        return composite != null ? composite.getScrollTracker() : scrollTracker;
+    }
+
+    @Override
+    public void onAttachedToRecyclerView(RecyclerView recyclerView) {
+        super.onAttachedToRecyclerView(recyclerView);
+        if (composite == null) {
+            scrollTracker.attach(recyclerView);
+        }
+    }
+
+    @Override
+    public void onDetachedFromRecyclerView(RecyclerView recyclerView) {
+        scrollTracker.detach(recyclerView);
+        //不再持有脱离的列表中ViewHolder
+        FrameBudgetScheduler.get().cancel(this);
+        if (settleRunnable != null) {
+            recyclerView.removeCallbacks(settleRunnable);
+        }
+        super.onDetachedFromRecyclerView(recyclerView);
+    }
+
+    /**
+     * 进入或退出快速滑动
+     */
+    void onFastScrollChanged(final RecyclerView recyclerView, boolean fast) {
+        if (!scrollThrottling) {
+            return;
+        }
+        if (fast) {
+            scrollTracker.pauseWork();
+            return;
+        }
+        scrollTracker.resumeWork();
+        //onScrolled()可能在布局过程中回调，此时不能通知刷新，推迟到下一个消息
+        if (settleRunnable == null) {
+            settleRunnable = new Runnable() {
+                @Override
+                public void run() {
+                    rebindFastScrolledHolders(recyclerView);
+                }
+            };
+        }
+        recyclerView.removeCallbacks(settleRunnable);
+        recyclerView.post(settleRunnable);
+    }
+
+    /**
+     * 重新绑定仍在显示的、快速滑动中绑定的子项
+     */
+    private void rebindFastScrolledHolders(RecyclerView recyclerView) {
+        if (scrollTracker.isFast() || recyclerView.getAdapter() != this) {
+            return;
+        }
+        for (int i = 0, count = recyclerView.getChildCount(); i < count; i++) {
+            RecyclerView.ViewHolder viewHolder = recyclerView.getChildViewHolder(recyclerView.getChildAt(i));
+            if (viewHolder instanceof BaseRvHolder && ((BaseRvHolder) viewHolder).isFastScrolling()) {
+                int position = viewHolder.getAdapterPosition();
+                if (position != RecyclerView.NO_POSITION) {
+                    notifyItemChanged(position, PAYLOAD_SCROLL_SETTLED);
+                }
+            }
+        }
+    }
+
+    /**
+     * 设置性能数据接收者：各布局的创建、绑定耗时，缓存池命中，刷新通知。
+     * 为null（默认）时不统计，不调用System.nanoTime()。
+     *
+     * @param metricsSink 一般为DefaultMetricsSink
+     */
+    public void setMetricsSink(AdapterMetricsSink metricsSink) {
+        this.metricsSink = metricsSink;
+        if (metricsSink != null && metricsObserver == null) {
+            metricsObserver = new MetricsObserver();
+            registerAdapterDataObserver(metricsObserver);
+        } else if (metricsSink == null && metricsObserver != null) {
+            unregisterAdapterDataObserver(metricsObserver);
+            metricsObserver = null;
+        }
+    }
+
+    public AdapterMetricsSink getMetricsSink() {
+        return metricsSink;
+    }
+
+    /**
+     * 性能数据的文本快照，用于问题报告；未使用DefaultMetricsSink时返回空字符串
+     */
+    public String dumpMetrics() {
+        return metricsSink instanceof DefaultMetricsSink ? ((DefaultMetricsSink) metricsSink).dump() : "";
+    }
+
+    @Override
+    public BaseRvHolder onCreateViewHolder(ViewGroup parent, int viewType) {
+        //预创建时在后台线程调用，取一次局部变量
+        AdapterMetricsSink sink = metricsSink;
+        long start = sink != null ? System.nanoTime() : 0;
+        //viewType即布局id，同一布局的ViewHolder可以在RecycledViewPool中复用
+        int layoutId = delegateManager.getItemLayoutId(viewType);
+        View view;
+        boolean cold = false;
+        if (Looper.myLooper() == Looper.getMainLooper()) {
+            if (prewarmer == null || !prewarmer.isCreatingOnMain()) {
+                cold = true;
+                coldCreateCount++;
+            }
+            view = inflater.inflate(layoutId, parent, false);
+        } else {
+            //只有预创建会在后台线程调用
+            if (backgroundInflater == null) {
+                backgroundInflater = new BackgroundLayoutInflater(context);
+            }
+            view = backgroundInflater.inflate(layoutId, parent, false);
+        }
+        RvHolderFactory factory = holderFactories != null ? holderFactories.get(layoutId) : null;
+        final BaseRvHolder holder = factory != null
+                ? factory.create(context, view) : BaseRvHolder.getRvHolder(context, view);
+        holder.setLayoutId(layoutId);
+
+        /*
+        监听器在创建ViewHolder时设置一次，点击时再取位置；
+        不在onBindViewHolder()中设置，避免每次绑定都创建新的监听器对象。
+         */
+        holder.itemView.setOnClickListener(new View.OnClickListener() {
+            @Override
+            public void onClick(View view) {
+                int adapterPosition = holder.getAdapterPosition();
+                BaseRvAdapter<?> owner = ownerOf(holder);
+                OnItemClickListener listener = owner.listener;
+                if (listener != null && view != null && adapterPosition != RecyclerView.NO_POSITION) {
+                    /*
+                    holder.getPosition()已过时。
+                    holder.getPosition()=holder.getLayoutPosition()，内部逻辑一样。
+                    getLayoutPosition()和getAdapterPosition()都从0开始；
+                    有未完成布局的刷新通知时两者可能不同，getAdapterPosition()为数据中的位置。
+                     */
+                    if (DEBUG) {
+                        Log.i(TAG, "布局getLayoutPosition()=" + holder.getLayoutPosition() + "，适配器getAdapterPosition()=" + adapterPosition);
+                    }
+
+                    /*
+                    注意：
+                    传入的参数不要用onBindViewHolder()的参数position，否则会出现位置错乱。
+                    Google推荐使用holder.getAdapterPosition()。
+
+                    position从0开始，与集合的索引对应，不需要减1；
+                    作为CompositeRvAdapter的一段时，换算为段内的position。
+                     */
+                    listener.onItemClick(view, owner.toLocalPosition(adapterPosition));
+                }
+            }
+        });
+
+        holder.itemView.setOnLongClickListener(new View.OnLongClickListener() {
+            @Override
+            public boolean onLongClick(View view) {
+                int adapterPosition = holder.getAdapterPosition();
+                BaseRvAdapter<?> owner = ownerOf(holder);
+                OnItemLongClickListener longClickListener = owner.longClickListener;
+                if (longClickListener != null && view != null && adapterPosition != RecyclerView.NO_POSITION) {
+                    longClickListener.onItemLongClick(view, owner.toLocalPosition(adapterPosition));
+                    return true;
+                }
+                return false;
+            }
+        });
+        if (sink != null) {
+            sink.onCreateViewHolder(layoutId, System.nanoTime() - start);
+            //绑定时缓存池中没有可用的，同步创建
+            if (cold) {
+                sink.onHolderAcquired(layoutId, false);
+            }
+        }
+        return holder;
+    }
+
+    @Override
+    public void onBindViewHolder(BaseRvHolder holder, int position) {
+        //position从0开始，即，是集合的索引位置。
+        //滑动时每秒绑定几十次，这里不要创建对象、拼接字符串
+        if (DEBUG) {
+            Log.i(TAG, "BaseRvAdapter.onBindViewHolder()中的position=" + position);
+        }
+
+        onHolderBinding(holder);
+        long start = metricsSink != null ? System.nanoTime() : 0;
+        T data = list.get(position);
+        holder.setDirtyFields(BaseRvHolder.ALL_FIELDS);
+        if (renderBinder != null) {
+            bindRenderModel(holder, data, position);
+        } else {
+            delegateManager.getDelegate(data, position).convert(holder, data, position);
+        }
+        if (metricsSink != null) {
+            metricsSink.onBindViewHolder(holder.getLayoutId(), System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * 局部刷新：payloads不为空时只调用convert(holder, data, position, payloads)；
+     * 两阶段绑定时bind()只是赋值，按整项刷新
+     */
+    @Override
+    public void onBindViewHolder(BaseRvHolder holder, int position, List<Object> payloads) {
+        if (payloads == null || payloads.isEmpty() || isScrollSettled(payloads) || renderBinder != null) {
+            onBindViewHolder(holder, position);
+            return;
+        }
+
+        long start = metricsSink != null ? System.nanoTime() : 0;
+        T data = list.get(position);
+        holder.setDirtyFields(mergeDirtyFields(payloads));
+        ItemViewDelegate<T> delegate = delegateManager.getDelegate(data, position);
+        if (delegate instanceof PayloadItemViewDelegate) {
+            ((PayloadItemViewDelegate<T>) delegate).convert(holder, data, position, payloads);
+        } else {
+            delegate.convert(holder, data, position);
+        }
+        if (metricsSink != null) {
+            metricsSink.onBindViewHolder(holder.getLayoutId(), System.nanoTime() - start);
+        }
+    }
+
+    @Override
+    public void onViewRecycled(BaseRvHolder holder) {
+        holder.setRecycled(true);
+        holder.cancelDeferred();
+        holder.onRecycled();
+    }
+
+    /**
+     * payloads是否只有PAYLOAD_SCROLL_SETTLED
+     */
+    private static boolean isScrollSettled(List<Object> payloads) {
+        for (int i = 0, size = payloads.size(); i < size; i++) {
+            if (payloads.get(i) != PAYLOAD_SCROLL_SETTLED) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 合并payloads中的字段掩码（Integer），没有掩码时视为全部字段变化
+     */
+    private static int mergeDirtyFields(List<Object> payloads) {
+        int fields = 0;
+        boolean hasMask = false;
+        for (int i = 0, size = payloads.size(); i < size; i++) {
+            Object payload = payloads.get(i);
+            if (payload instanceof Integer) {
+                fields |= (Integer) payload;
+                hasMask = true;
+            }
+        }
+        return hasMask ? fields : BaseRvHolder.ALL_FIELDS;
+    }
+
+    @Override
+    public long getItemId(int position) {
+        if (keyProvider != null) {
+            T item = list.get(position);
+            //null为占位符（如PagedRvAdapter未加载的位置），没有key，按位置取id
+            return item != null ? keyProvider.getItemKey(item) : PLACEHOLDER_ID_BASE + position;
+        }
+        return position;
+    }
+
+    /**
+     * 数据源，修改后需调用相应的notify方法
+     */
+    public List<T> getData() {
+        return list;
+    }
+
+    @Override
+    public int getItemCount() {
+        return list == null ? 0 : list.size();
+    }
+
+    @Override
+    public int getItemViewType(int position) {
+        return delegateManager.getItemViewType(list.get(position), position);
+    }
+
+
+    /**
+     * 点击事件接口回调
+     */
+    public interface OnItemClickListener {
+        void onItemClick(View view, int position);
+    }
+
+    /**
+     * 长点击事件接口回调
+     */
+    public interface OnItemLongClickListener {
+        boolean onItemLongClick(View view, int position);
+    }
+
+    /**
+     * 设置点击事件
+     *
+     * @param listener 点击接口
+     */
+    public void setOnItemClickListener(OnItemClickListener listener) {
+        this.listener = listener;
+    }
+
+    /**
+     * 设置长点击事件
+     *
+     * @param longClickListener 长点击接口
+     */
+    public void setOnItemLongClickListener(OnItemLongClickListener longClickListener) {
+        this.longClickListener = longClickListener;
+    }
+
+
+    /**
+     * 设置key提取器，并开启setHasStableIds(true)：
+     * 增删、刷新前后同一子项的id不变，RecyclerView可以保留已绑定的ViewHolder、动画和滚动位置。
+     * setHasStableIds()要求在setAdapter()之前调用。
+     *
+     * @param keyProvider key提取器，为null时关闭stable id
+     */
+    public void setItemKeyProvider(ItemKeyProvider<T> keyProvider) {
+        this.keyProvider = keyProvider;
+        //有观察者时不能调用setHasStableIds()，统计用的观察者先移除
+        if (metricsObserver != null) {
+            unregisterAdapterDataObserver(metricsObserver);
+        }
+        setHasStableIds(keyProvider != null);
+        if (metricsObserver != null) {
+            registerAdapterDataObserver(metricsObserver);
+        }
+        invalidateKeyIndex();
+        //显示对象的key随之改变
+        invalidateRenderModels();
+    }
+
+    public ItemKeyProvider<T> getItemKeyProvider() {
+        return keyProvider;
+    }
+
+    /**
+     * 通过key查找position，O(1)。
+     * 不通过Adapter的方法直接修改数据后需调用invalidateKeyIndex()，否则新加入的子项可能查不到。
+     *
+     * @param key 子项的key
+     * @return position，没有时返回RecyclerView.NO_POSITION
+     */
+    public int getPositionForKey(long key) {
+        if (keyProvider == null || list == null) {
+            return RecyclerView.NO_POSITION;
+        }
+        if (keyIndexDirty) {
+            rebuildKeyIndex();
+        }
+        int position = keyIndex.get(key);
+        //不存在的key直接返回，不重建索引
+        if (position == RecyclerView.NO_POSITION) {
+            return position;
+        }
+        //数据被外部直接修改时索引会失效，命中的位置校验一次
+        if (position >= list.size() || list.get(position) == null
+                || keyProvider.getItemKey(list.get(position)) != key) {
+            rebuildKeyIndex();
+            position = keyIndex.get(key);
+        }
+        return position;
+    }
+
+    /**
+     * 数据变化后使key索引失效，直接修改数据源时需调用
+     */
+    public void invalidateKeyIndex() {
+        keyIndexDirty = true;
+    }
+
+    /**
+     * 数据被修改：key索引失效，正在计算的差量作废
+     */
+    private void onDataChanged() {
+        invalidateKeyIndex();
+        dataGeneration++;
+    }
+
+    private void rebuildKeyIndex() {
+        int size = list.size();
+        if (keyIndex == null) {
+            keyIndex = new LongIntHashMap(size, RecyclerView.NO_POSITION);
+        } else {
+            keyIndex.clear();
+        }
+        for (int i = 0; i < size; i++) {
+            T item = list.get(i);
+            if (item != null) {
+                keyIndex.putIfAbsent(keyProvider.getItemKey(item), i);
+            }
+        }
+        keyIndexDirty = false;
+    }
+
+
+    /**
+     * 刷新:
+     * 注意list是否初始化
+     *
+     * @param mList 请确保mList已初始化并填充数据。
+     */
+    public void refreshData(List<T> mList) {
+        checkWritable();
+        if (mList == null || mList.isEmpty()) {
+            return;
+        }
+        
+        if (null != list) {
+            if (list.size() > 0) {
+                list.clear();
+            }
+
+            list.addAll(mList);
+            onDataChanged();
+            notifyDataSetChanged();
+        }
+        // =表示地址的引用，list可能未初始化
+        //list = mList;
+    }
+
+    /**
+     * 设置差量刷新的比较器
+     *
+     * @param diffCallback 比较器，为null时：设置了ItemKeyProvider则按key判断同一子项，否则按equals()判断
+     */
+    public void setDiffCallback(ItemDiffCallback<T> diffCallback) {
+        this.diffCallback = diffCallback;
+    }
+
+    /**
+     * 异步刷新：
+     * 在后台线程计算新旧集合的差量，再回到主线程只刷新增、删、移动、修改的子项，保留动画。
+     * 连续调用时，只有最后一次的结果生效；期间调用其他修改数据的方法，结果也会作废。
+     * 必须在主线程调用，计算期间不要修改mList。
+     *
+     * @param mList 请确保mList已初始化并填充数据。
+     */
+    public void refreshDataAsync(List<T> mList) {
+        checkWritable();
+        if (mList == null || mList.isEmpty()) {
+            return;
+        }
+        if (null == list) {
+            return;
+        }
+
+        final int generation = ++dataGeneration;
+        final List<T> oldList = new ArrayList<>(list);
+        final List<T> newList = new ArrayList<>(mList);
+        final ItemDiffCallback<T> callback = diffCallback != null ? diffCallback : createDefaultDiffCallback();
+        if (mainHandler == null) {
+            mainHandler = new Handler(Looper.getMainLooper());
+        }
+        DIFF_EXECUTOR.execute(new Runnable() {
+            @Override
+            public void run() {
+                final DiffResult result = ListDiffer.calculateDiff(oldList, newList, callback);
+                mainHandler.post(new Runnable() {
+                    @Override
+                    public void run() {
+                        applyDiffResult(generation, newList, result);
+                    }
+                });
+            }
+        });
+    }
+
+    private void applyDiffResult(int generation, List<T> newList, DiffResult result) {
+        //已有更新的刷新或修改，丢弃过期的结果
+        if (generation != dataGeneration || null == list) {
+            return;
+        }
+        list.clear();
+        list.addAll(newList);
+        invalidateKeyIndex();
+        result.dispatchUpdatesTo(getUpdateCallback());
+    }
+
+    private ItemDiffCallback<T> createDefaultDiffCallback() {
+        final ItemKeyProvider<T> provider = keyProvider;
+        return new ItemDiffCallback<T>() {
+            @Override
+            public boolean areItemsTheSame(T oldItem, T newItem) {
+                if (provider != null) {
+                    return provider.getItemKey(oldItem) == provider.getItemKey(newItem);
+                }
+                return oldItem == null ? newItem == null : oldItem.equals(newItem);
+            }
+
+            @Override
+            public boolean areContentsTheSame(T oldItem, T newItem) {
+                return oldItem == null ? newItem == null : oldItem.equals(newItem);
+            }
+        };
+    }
+
+    /**
+     * 加载：
+     * 注意list是否初始化
+     *
+     * @param mList 请确保mList已初始化并填充数据。
+     */
+    public void loadMoreData(List<T> mList) {
+        checkWritable();
+        if (mList == null || mList.isEmpty()) {
+            return;
+        }
+
+        if (null != list) {
+            list.addAll(mList);
+            onDataChanged();
+            notifyDataSetChanged();
+        }
+    }
+
+
+    /**
+     * 插入：
+     * notifyDataSetChanged()会刷新整个列表，且没有插入、删除动画了。
+     * 只通知插入的位置，后面的子项由RecyclerView自动移位，不需要notifyItemRangeChanged()重新绑定。
+     *
+     * @param position position可为0、list.size()等值。
+     */
+    public void addItem(int position, T item) {
+        checkWritable();
+        if (null != list) {
+            edit().add(position, item).commit();
+        }
+    }
+
+    /**
+     * 删除：
+     * notifyDataSetChanged()会刷新整个列表，且没有插入、删除动画了。
+     * 只通知删除的位置，后面的子项由RecyclerView自动移位，不需要notifyItemRangeChanged()重新绑定。
+     *
+     * @param position 集合的索引，起始值为0。
+     */
+    public void removeItem(int position) {
+        checkWritable();
+        if (null != list && list.size() > 0) {
+            edit().remove(position).commit();
+        }
+    }
+
+    /**
+     * 批量修改：
+     * <pre>
+     * adapter.edit().add(0, a).add(1, b).remove(5).move(3, 8).commit();
+     * </pre>
+     * 所有修改在commit()时一起作用到数据源，相邻的同类修改合并为一次区间通知，未变化的子项不会被重新绑定。
+     *
+     * @return 编辑器
+     */
+    public Editor edit() {
+        checkWritable();
+        if (null == list) {
+            throw new IllegalStateException("数据源未初始化");
+        }
+        return new Editor(list.size());
+    }
+
+    /**
+     * 数据源只读的子类返回原因，refreshData()、addItem()、edit()等修改数据的方法直接抛出异常；
+     * 可修改时返回null
+     */
+    String getReadOnlyMessage() {
+        return null;
+    }
+
+    private void checkWritable() {
+        String message = getReadOnlyMessage();
+        if (message != null) {
+            throw new UnsupportedOperationException(message);
+        }
+    }
+
+    private ListUpdateCallback getUpdateCallback() {
+        if (updateCallback == null) {
+            updateCallback = new AdapterListUpdateCallback(this);
+        }
+        return updateCallback;
+    }
+
+    /**
+     * 批量修改的编辑器，position均为执行前面的修改之后的位置。
+     * 记录时即检查越界，commit()前不会修改数据源。
+     */
+    public final class Editor {
+        private static final int OP_ADD = 1;
+        private static final int OP_REMOVE = 2;
+        private static final int OP_MOVE = 3;
+        private static final int OP_SET = 4;
+
+        private List<Operation<T>> operations = new ArrayList<>();
+        /**
+         * 执行完已记录的修改后集合的大小
+         */
+        private int size;
+        private boolean committed;
+
+        private Editor(int size) {
+            this.size = size;
+        }
+
+        /**
+         * 添加到末尾
+         */
+        public Editor add(T item) {
+            return add(size, item);
+        }
+
+        public Editor add(int position, T item) {
+            List<T> items = new ArrayList<>(1);
+            items.add(item);
+            return addAll(position, items);
+        }
+
+        public Editor addAll(int position, List<? extends T> items) {
+            checkPosition(position, size);
+            if (items == null || items.isEmpty()) {
+                return this;
+            }
+            operations.add(new Operation<T>(OP_ADD, position, items.size(), new ArrayList<T>(items), null));
+            size += items.size();
+            return this;
+        }
+
+        public Editor remove(int position) {
+            return removeRange(position, 1);
+        }
+
+        /**
+         * 删除从position开始的count个子项
+         */
+        public Editor removeRange(int position, int count) {
+            if (count <= 0) {
+                return this;
+            }
+            checkPosition(position, size - 1);
+            checkPosition(position + count - 1, size - 1);
+            operations.add(new Operation<T>(OP_REMOVE, position, count, null, null));
+            size -= count;
+            return this;
+        }
+
+        public Editor move(int fromPosition, int toPosition) {
+            checkPosition(fromPosition, size - 1);
+            checkPosition(toPosition, size - 1);
+            if (fromPosition != toPosition) {
+                operations.add(new Operation<T>(OP_MOVE, fromPosition, toPosition, null, null));
+            }
+            return this;
+        }
+
+        public Editor set(int position, T item) {
+            return set(position, item, null);
+        }
+
+        /**
+         * 替换子项
+         *
+         * @param payload 局部刷新的payload，null表示整项刷新
+         */
+        public Editor set(int position, T item, Object payload) {
+            checkPosition(position, size - 1);
+            List<T> items = new ArrayList<>(1);
+            items.add(item);
+            operations.add(new Operation<T>(OP_SET, position, 1, items, payload));
+            return this;
+        }
+
+        private void checkPosition(int position, int max) {
+            if (position < 0 || position > max) {
+                throw new IndexOutOfBoundsException("position=" + position + "，size=" + size);
+            }
+        }
+
+        /**
+         * 执行所有修改并通知RecyclerView，只能调用一次
+         */
+        public void commit() {
+            if (committed) {
+                throw new IllegalStateException("Editor已提交");
+            }
+            committed = true;
+            if (operations.isEmpty()) {
+                return;
+            }
+
+            BatchingListUpdateCallback callback = new BatchingListUpdateCallback(getUpdateCallback());
+            for (int i = 0, count = operations.size(); i < count; i++) {
+                Operation<T> operation = operations.get(i);
+                switch (operation.type) {
+                    case OP_ADD:
+                        list.addAll(operation.position, operation.items);
+                        callback.onInserted(operation.position, operation.count);
+                        break;
+                    case OP_REMOVE:
+                        if (operation.count == 1) {
+                            list.remove(operation.position);
+                        } else {
+                            list.subList(operation.position, operation.position + operation.count).clear();
+                        }
+                        callback.onRemoved(operation.position, operation.count);
+                        break;
+                    case OP_MOVE:
+                        list.add(operation.count, list.remove(operation.position));
+                        callback.onMoved(operation.position, operation.count);
+                        break;
+                    case OP_SET:
+                        list.set(operation.position, operation.items.get(0));
+                        callback.onChanged(operation.position, 1, operation.payload);
+                        break;
+                    default:
+                        break;
+                }
+            }
+            onDataChanged();
+            callback.dispatchLastEvent();
+        }
+    }
+
+    /**
+     * 统计刷新通知
+     */
+    private class MetricsObserver extends RecyclerView.AdapterDataObserver {
+        @Override
+        public void onChanged() {
+            record(AdapterMetricsSink.NOTIFY_FULL, -1);
+        }
+
+        @Override
+        public void onItemRangeChanged(int positionStart, int itemCount) {
+            record(itemCount);
+        }
+
+        @Override
+        public void onItemRangeChanged(int positionStart, int itemCount, Object payload) {
+            record(itemCount);
+        }
+
+        @Override
+        public void onItemRangeInserted(int positionStart, int itemCount) {
+            record(itemCount);
+        }
+
+        @Override
+        public void onItemRangeRemoved(int positionStart, int itemCount) {
+            record(itemCount);
+        }
+
+        @Override
+        public void onItemRangeMoved(int fromPosition, int toPosition, int itemCount) {
+            record(itemCount);
+        }
+
+        private void record(int itemCount) {
+            record(itemCount == 1 ? AdapterMetricsSink.NOTIFY_ITEM : AdapterMetricsSink.NOTIFY_RANGE, itemCount);
+        }
+
+        private void record(int kind, int itemCount) {
+            AdapterMetricsSink sink = metricsSink;
+            if (sink != null) {
+                sink.onNotify(kind, itemCount);
+            }
+        }
+    }
+
+    /**
+     * 在后台线程准备一批显示对象，结果回到主线程放入缓存。
+     * prepare()抛出异常时跳过，绑定时会在主线程重新准备并抛出。
+     */
+    private class PrepareTask implements Runnable {
+        private final int generation;
+        private final int ticket;
+        private final RenderModelBinder<T, Object> binder;
+        private final long[] keys;
+        private final Object[] items;
+        private final int count;
+
+        PrepareTask(int generation, int ticket, RenderModelBinder<T, Object> binder, long[] keys, Object[] items, int count) {
+            this.generation = generation;
+            this.ticket = ticket;
+            this.binder = binder;
+            this.keys = keys;
+            this.items = items;
+            this.count = count;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public void run() {
+            final Object[] models = new Object[count];
+            for (int i = 0; i < count; i++) {
+                try {
+                    models[i] = binder.prepare((T) items[i]);
+                } catch (RuntimeException e) {
+                    models[i] = null;
+                }
+            }
+            mainHandler.post(new Runnable() {
+                @Override
+                public void run() {
+                    onModelsPrepared(generation, ticket, keys, items, models, count);
+                }
+            });
+        }
+    }
+
+    /**
+     * 一次修改：移动时count为目标位置
+     */
+    private static class Operation<T> {
+        final int type;
+        final int position;
+        final int count;
+        final List<T> items;
+        final Object payload;
+
+        Operation(int type, int position, int count, List<T> items, Object payload) {
+            this.type = type;
+            this.position = position;
+            this.count = count;
+            this.items = items;
+            this.payload = payload;
+        }
+    }
+
+
+    /**
+     * 填充RecyclerView适配器的方法，单布局时子类需要重写；多布局时由ItemViewDelegate填充，不会调用
+     *
+     * @param holder   ViewHolder
+     * @param data     子项
+     * @param position 位置
+     * @throws IllegalStateException 单布局时子类没有重写
+     */
+    public void convert(BaseRvHolder holder, T data, int position) {
+        throw new IllegalStateException(getClass().getName() + "需重写convert()，或使用多布局的构造方法并通过addItemViewDelegate()注册委托");
+    }
+
+    /**
+     * 局部刷新，单布局时子类可重写，只设置holder.isFieldDirty()为true的控件；默认整项刷新。
+     * 例如点赞数变化时：
+     * <pre>
+     * if (holder.isFieldDirty(FIELD_LIKES)) {
+     *     holder.setText(R.id.tv_likes, String.valueOf(data.likes));
+     * }
+     * </pre>
+     *
+     * @param holder   ViewHolder
+     * @param data     子项
+     * @param position 位置
+     * @param payloads 不为空，notifyItemChanged(position, payload)或ItemDiffCallback.getChangePayload()传入的payload
+     */
+    public void convert(BaseRvHolder holder, T data, int position, List<Object> payloads) {
+        convert(holder, data, position);
+    }
+
+}
@@ -0,0 +1,671 @@
+package com.example.admin.recyclerviewdemo.rvadapter;
+
+import android.annotation.SuppressLint;
+import android.content.Context;
+import android.graphics.Bitmap;
+import android.graphics.Color;
+import android.graphics.Paint;
+import android.graphics.Typeface;
+import android.graphics.drawable.Drawable;
+import android.net.Uri;
+import android.os.Build;
+import android.support.v4.content.ContextCompat;
+import android.support.v7.widget.RecyclerView;
+import android.text.util.Linkify;
+import android.util.SparseArray;
+import android.view.View;
+import android.view.animation.AlphaAnimation;
+import android.widget.Checkable;
+import android.widget.ImageView;
+import android.widget.ProgressBar;
+import android.widget.RatingBar;
+import android.widget.TextView;
+
+import com.example.admin.recyclerviewdemo.rvadapter.image.ImagePipeline;
+
+/**
+ * Created by Administrator on 2017/12/21.
+ *
+ * @author Administrator
+ *         <p>
+ *         万能的RecyclerView的ViewHolder
+ */
+public class BaseRvHolder extends RecyclerView.ViewHolder {
+    /**
+     * 全部字段
+     */
+    public static final int ALL_FIELDS = 0xFFFFFFFF;
+
+    private Context context;
+    private SparseArray<View> views;
+    /**
+     * 本次绑定中变化的字段掩码，整项刷新时为ALL_FIELDS
+     */
+    private int dirtyFields = ALL_FIELDS;
+    /**
+     * 通过setImageByUrl()加载过图片的控件id，回收时取消加载
+     */
+    private int[] imageViewIds;
+    private int imageViewCount;
+    /**
+     * 控件属性最后一次设置的值，值不变时跳过对控件的调用，避免重复的requestLayout()。
+     * 可见性、选中、进度等控件自身能读出且可能被用户操作改变的属性，直接与控件的当前值比较；
+     * 可输入的控件（EditText）的文字不记录。回收时清除。
+     */
+    private ViewStateMemo memo = new ViewStateMemo();
+    /**
+     * 预创建后尚未绑定过
+     */
+    private boolean prewarmed;
+    private BaseRvAdapter<?> boundAdapter;
+    /**
+     * 回收到缓存池后是否尚未重新绑定
+     */
+    private boolean recycled;
+    /**
+     * 绑定序号，重新绑定或回收时加1，之前延后的任务不再执行
+     */
+    private int bindGeneration;
+    /**
+     * 是否分阶段绑定，为false时defer()的任务立即执行
+     */
+    private boolean deferEnabled;
+    /**
+     * 本次绑定是否发生在快速滑动中
+     */
+    private boolean fastScrolling;
+    /**
+     * 创建时的布局id，由适配器设置；TextLayoutCache按布局区分同一id的TextView
+     */
+    private int layoutId;
+
+
+    /**
+     * 供@RvHolder生成的子类调用
+     */
+    protected BaseRvHolder(Context context, View itemView) {
+        super(itemView);
+        this.context = context;
+        views = new SparseArray<>();
+    }
+
+    /**
+     * 取得一个RecyclerHolder对象
+     *
+     * @param context  上下文
+     * @param itemView 子项
+     * @return 返回一个RecyclerHolder对象
+     */
+    public static BaseRvHolder getRvHolder(Context context, View itemView) {
+        return new BaseRvHolder(context, itemView);
+    }
+
+
+    void setLayoutId(int layoutId) {
+        this.layoutId = layoutId;
+    }
+
+    public int getLayoutId() {
+        return layoutId;
+    }
+
+    public SparseArray<View> getViews() {
+        return this.views;
+    }
+
+    /**
+     * 通过view的id获取对应的控件，如果没有则加入views中。
+     * 直接修改控件的文字、图片、背景、文字颜色（如getView(id).setText()）后，需调用invalidateViewState(id)，
+     * 否则之后通过setText()等方法设置与上次相同的值时会被跳过，控件仍显示直接修改的内容。
+     *
+     * @param viewId 控件的id
+     * @return 返回一个控件
+     */
+    @SuppressWarnings("unchecked")
+    public <T extends View> T getView(int viewId) {
+        View view = views.get(viewId);
+        //集合中没有，则从item当中获取，并存入集合当中
+        if (view == null) {
+            view = itemView.findViewById(viewId);
+            views.put(viewId, view);
+        }
+        return (T) view;
+    }
+
+
+    /**
+     * 设置本次绑定中变化的字段掩码，由Adapter在绑定前调用
+     *
+     * @param dirtyFields 字段掩码，整项刷新时为ALL_FIELDS
+     */
+    public void setDirtyFields(int dirtyFields) {
+        this.dirtyFields = dirtyFields;
+    }
+
+    public int getDirtyFields() {
+        return dirtyFields;
+    }
+
+    /**
+     * 字段是否变化，未变化的控件可以跳过
+     *
+     * @param fieldMask 字段掩码，如 1 << 0、1 << 1
+     * @return true表示需要刷新
+     */
+    public boolean isFieldDirty(int fieldMask) {
+        return (dirtyFields & fieldMask) != 0;
+    }
+
+
+    /**
+     * 设置viewholder大小,可以控制隐藏和显示
+     */
+    public void setHolderSize(int width, int height) {
+        RecyclerView.LayoutParams param = (RecyclerView.LayoutParams) itemView.getLayoutParams();
+        param.height = height;
+        param.width = width;
+        itemView.setLayoutParams(param);
+    }
+
+
+    void setBoundAdapter(BaseRvAdapter<?> boundAdapter) {
+        this.boundAdapter = boundAdapter;
+    }
+
+    /**
+     * 最近一次绑定本ViewHolder的Adapter，CompositeRvAdapter中相同布局的段共用ViewHolder时据此转发回调
+     */
+    BaseRvAdapter<?> getBoundAdapter() {
+        return boundAdapter;
+    }
+
+    void setPrewarmed(boolean prewarmed) {
+        this.prewarmed = prewarmed;
+    }
+
+    boolean isPrewarmed() {
+        return prewarmed;
+    }
+
+    void setDeferEnabled(boolean deferEnabled) {
+        this.deferEnabled = deferEnabled;
+    }
+
+    int getBindGeneration() {
+        return bindGeneration;
+    }
+
+    /**
+     * 分阶段绑定：convert()中先设置必要的内容，耗时的部分（Span、格式化、linkify()等）通过defer()延后，
+     * 在之后的帧中按剩余时间执行。ViewHolder被重新绑定或回收后，未执行的任务自动取消。
+     * Adapter未开启分阶段绑定（BaseRvAdapter.setStagedBinding()）时立即执行。
+     *
+     * @param task 延后的任务
+     */
+    public BaseRvHolder defer(Runnable task) {
+        if (deferEnabled) {
+            FrameBudgetScheduler.get().post(this, task);
+        } else {
+            task.run();
+        }
+        return this;
+    }
+
+    /**
+     * 取消尚未执行的延后任务
+     */
+    public void cancelDeferred() {
+        bindGeneration++;
+    }
+
+    void setFastScrolling(boolean fastScrolling) {
+        this.fastScrolling = fastScrolling;
+    }
+
+    /**
+     * 本次绑定是否发生在快速滑动中（见BaseRvAdapter.setScrollThrottling()），
+     * convert()中可据此跳过耗时的内容，只显示占位或简化的内容：
+     * <pre>
+     * if (holder.isFastScrolling()) {
+     *     holder.setImageResource(R.id.iv_avatar, R.drawable.placeholder);
+     * } else {
+     *     holder.setImageByUrl(R.id.iv_avatar, data.avatar);
+     * }
+     * </pre>
+     * 滑动减速或停止后，仍在显示的这些子项会被重新绑定，此时返回false。
+     */
+    public boolean isFastScrolling() {
+        return fastScrolling;
+    }
+
+    void setRecycled(boolean recycled) {
+        this.recycled = recycled;
+    }
+
+    boolean isRecycled() {
+        return recycled;
+    }
+
+    /**
+     * 控件被直接修改（没有通过本类的setXxx()方法）后调用，下次设置时不跳过
+     *
+     * @param viewId 控件的id
+     */
+    public void invalidateViewState(int viewId) {
+        memo.invalidateView(viewId);
+    }
+
+    /**
+     * 清除所有控件属性的记录
+     */
+    public void invalidateViewState() {
+        memo.invalidateAll();
+    }
+
+    /**
+     * 因值未变化而跳过的控件调用次数
+     */
+    public long getSkippedWriteCount() {
+        return memo.getSkippedCount();
+    }
+
+    /**
+     * 实际执行的控件调用次数
+     */
+    public long getPerformedWriteCount() {
+        return memo.getWrittenCount();
+    }
+
+    /**
+     * 所有ViewHolder因值未变化而跳过的控件调用次数
+     */
+    public static long getTotalSkippedWriteCount() {
+        return ViewStateMemo.getTotalSkippedCount();
+    }
+
+    /**
+     * 所有ViewHolder实际执行的控件调用次数
+     */
+    public static long getTotalPerformedWriteCount() {
+        return ViewStateMemo.getTotalWrittenCount();
+    }
+
+    public static void resetTotalWriteCounts() {
+        ViewStateMemo.resetTotalCounts();
+    }
+
+
+    /**
+     * 设置图片
+     * <p>
+     * 加载图片，支持http(s)、file、content、android.resource地址，见ImagePipeline
+     */
+    public BaseRvHolder setImageByUrl(int viewId, String url) {
+        return setImageByUrl(viewId, url, null);
+    }
+
+    public BaseRvHolder setImageByUrl(int viewId, String url, Drawable placeholder) {
+        ImageView iv = getView(viewId);
+        trackImageView(viewId);
+        memo.invalidate(viewId, ViewStateMemo.IMAGE);
+        ImagePipeline.get(context).load(url, iv, placeholder);
+        return this;
+    }
+
+    private void trackImageView(int viewId) {
+        for (int i = 0; i < imageViewCount; i++) {
+            if (imageViewIds[i] == viewId) {
+                return;
+            }
+        }
+        if (imageViewIds == null) {
+            imageViewIds = new int[2];
+        } else if (imageViewCount == imageViewIds.length) {
+            int[] grown = new int[imageViewCount * 2];
+            System.arraycopy(imageViewIds, 0, grown, 0, imageViewCount);
+            imageViewIds = grown;
+        }
+        imageViewIds[imageViewCount++] = viewId;
+    }
+
+    /**
+     * 被回收时调用：取消未完成的图片加载并释放图片
+     */
+    public void onRecycled() {
+        for (int i = 0; i < imageViewCount; i++) {
+            ImageView iv = getView(imageViewIds[i]);
+            ImagePipeline.get(context).clear(iv);
+        }
+        //convert()中可能直接修改过控件，回收后重新绑定时全部重新设置
+        memo.invalidateAll();
+    }
+
+    /**
+     * 直接设置图片前调用：该控件通过setImageByUrl()加载过图片时取消未完成的请求，
+     * 否则旧地址的图片加载完成后会覆盖新设置的图片
+     */
+    private void detachImageLoad(int viewId, ImageView view) {
+        for (int i = 0; i < imageViewCount; i++) {
+            if (imageViewIds[i] == viewId) {
+                ImagePipeline.get(context).detach(view);
+                return;
+            }
+        }
+    }
+
+    public BaseRvHolder setImageResource(int viewId, int drawableId) {
+        //setImageByUrl()会使记录失效，跳过写入时不会有未完成的请求
+        if (memo.update(viewId, ViewStateMemo.IMAGE, ViewStateMemo.RESOURCE, drawableId)) {
+            ImageView iv = getView(viewId);
+            detachImageLoad(viewId, iv);
+            iv.setImageResource(drawableId);
+        }
+        return this;
+    }
+
+    public BaseRvHolder setImageBitmap(int viewId, Bitmap bitmap) {
+        ImageView iv = getView(viewId);
+        detachImageLoad(viewId, iv);
+        memo.invalidate(viewId, ViewStateMemo.IMAGE);
+        iv.setImageBitmap(bitmap);
+        return this;
+    }
+
+    public BaseRvHolder setImageDrawable(int viewId, Drawable drawable) {
+        ImageView view = getView(viewId);
+        detachImageLoad(viewId, view);
+        memo.invalidate(viewId, ViewStateMemo.IMAGE);
+        view.setImageDrawable(drawable);
+        return this;
+    }
+
+    public BaseRvHolder setImageUri(int viewId, Uri uri) {
+        ImageView img = getView(viewId);
+        detachImageLoad(viewId, img);
+        memo.invalidate(viewId, ViewStateMemo.IMAGE);
+        img.setImageURI(uri);
+        return this;
+    }
+
+
+    /**
+     * 设置背景
+     */
+    public BaseRvHolder setBackgroundColor(int viewId, int color) {
+        if (memo.update(viewId, ViewStateMemo.BACKGROUND, ViewStateMemo.VALUE, color)) {
+            View view = getView(viewId);
+            view.setBackgroundColor(color);
+        }
+        return this;
+    }
+
+    public BaseRvHolder setBackgroundRes(int viewId, int backgroundRes) {
+        if (memo.update(viewId, ViewStateMemo.BACKGROUND, ViewStateMemo.RESOURCE, backgroundRes)) {
+            View view = getView(viewId);
+            view.setBackgroundResource(backgroundRes);
+        }
+        return this;
+    }
+
+    public BaseRvHolder setBackground(int viewId, Drawable background) {
+        View view = getView(viewId);
+        memo.invalidate(viewId, ViewStateMemo.BACKGROUND);
+        view.setBackground(background);
+        return this;
+    }
+
+
+    /**
+     * 设置字符串
+     */
+    public BaseRvHolder setText(int viewId, String text) {
+        TextView tv = getView(viewId);
+        if (isUserEditable(tv)) {
+            memo.invalidate(viewId, ViewStateMemo.TEXT);
+            tv.setText(text);
+        } else if (memo.update(viewId, ViewStateMemo.TEXT, text)) {
+            tv.setText(text);
+        }
+        return this;
+    }
+
+    public BaseRvHolder setText(int viewId, CharSequence text) {
+        if (text == null || text instanceof String) {
+            return setText(viewId, (String) text);
+        }
+        //Spannable等可变内容无法可靠比较，每次都设置
+        TextView tv = getView(viewId);
+        memo.invalidate(viewId, ViewStateMemo.TEXT);
+        tv.setText(text);
+        return this;
+    }
+
+    /**
+     * 使用预排版结果的setText()，用于文字较多的子项（聊天、日志）：
+     * 绑定时记录该TextView的样式，TextLayoutCache.precompute()按此样式在后台排版后，
+     * 同样的文字在这里直接使用排版结果，主线程测量时不再测量字形。没有结果时与setText()相同。
+     * <pre>
+     * public Message.Model prepare(Message item) {
+     *     TextLayoutCache.get().precompute(R.layout.item_message, R.id.tv_content, item.content);
+     *     ...
+     * }
+     * </pre>
+     */
+    public BaseRvHolder setPrecomputedText(int viewId, String text) {
+        TextView tv = getView(viewId);
+        if (isUserEditable(tv)) {
+            return setText(viewId, text);
+        }
+        if (memo.update(viewId, ViewStateMemo.TEXT, ViewStateMemo.PRECOMPUTED, text)) {
+            CharSequence content = text != null ? TextLayoutCache.get().lookup(layoutId, viewId, tv, text) : null;
+            tv.setText(content);
+        }
+        return this;
+    }
+
+    public BaseRvHolder setText(int viewId, int resId) {
+        TextView tv = getView(viewId);
+        if (isUserEditable(tv)) {
+            memo.invalidate(viewId, ViewStateMemo.TEXT);
+            tv.setText(resId);
+        } else if (memo.update(viewId, ViewStateMemo.TEXT, ViewStateMemo.RESOURCE, resId)) {
+            tv.setText(resId);
+        }
+        return this;
+    }
+
+    /**
+     * 用户可以输入的控件，文字可能被用户修改，不能按上次设置的值跳过
+     */
+    private static boolean isUserEditable(TextView view) {
+        return view.onCheckIsTextEditor();
+    }
+
+    public BaseRvHolder setTextColor(int viewId, int colorId) {
+        if (memo.update(viewId, ViewStateMemo.TEXT_COLOR, ViewStateMemo.RESOURCE, colorId)) {
+            TextView view = getView(viewId);
+            //view.setTextColor(context.getResources().getColor(colorId));
+            view.setTextColor(ContextCompat.getColor(context, colorId));
+        }
+        return this;
+    }
+
+    public BaseRvHolder setTextColor(int viewId, String colorValue) {
+        if (memo.update(viewId, ViewStateMemo.TEXT_COLOR, colorValue)) {
+            TextView view = getView(viewId);
+            view.setTextColor(Color.parseColor(colorValue));
+        }
+        return this;
+    }
+
+
+    /**
+     * 设置字体样式
+     */
+    public BaseRvHolder setTypeface(Typeface typeface, int... viewIds) {
+        for (int viewId : viewIds) {
+            TextView view = getView(viewId);
+            view.setTypeface(typeface);
+            view.setPaintFlags(view.getPaintFlags() | Paint.SUBPIXEL_TEXT_FLAG);
+        }
+        return this;
+    }
+
+
+    /**
+     * 设置TextView下划线
+     */
+    public BaseRvHolder setDeleteLine(int viewId) {
+        TextView view = getView(viewId);
+        view.getPaint().setFlags(Paint.STRIKE_THRU_TEXT_FLAG);
+        return this;
+    }
+
+
+    /**
+     * 设置透明度
+     */
+    @SuppressLint("NewApi")
+    public BaseRvHolder setAlpha(int viewId, float value) {
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.HONEYCOMB) {
+            View view = getView(viewId);
+            if (memo.check(view.getAlpha() != value)) {
+                view.setAlpha(value);
+            }
+        } else {
+            // Pre-honeycomb hack to set Alpha value
+            AlphaAnimation alpha = new AlphaAnimation(value, value);
+            alpha.setDuration(0);
+            alpha.setFillAfter(true);
+            getView(viewId).startAnimation(alpha);
+        }
+        return this;
+    }
+
+
+    /**
+     * 设置可见
+     */
+    public BaseRvHolder setVisible(int viewId, boolean visible) {
+        View view = getView(viewId);
+        int visibility = visible ? View.VISIBLE : View.GONE;
+        if (memo.check(view.getVisibility() != visibility)) {
+            view.setVisibility(visibility);
+        }
+        return this;
+    }
+
+
+    /**
+     * 设置链接
+     */
+    public BaseRvHolder linkify(int viewId) {
+        TextView view = getView(viewId);
+        Linkify.addLinks(view, Linkify.ALL);
+        return this;
+    }
+
+
+    /**
+     * 设置进度条
+     */
+    public BaseRvHolder setProgress(int viewId, int progress) {
+        ProgressBar view = getView(viewId);
+        if (memo.check(view.getProgress() != progress)) {
+            view.setProgress(progress);
+        }
+        return this;
+    }
+
+    public BaseRvHolder setProgress(int viewId, int progress, int max) {
+        setMax(viewId, max);
+        setProgress(viewId, progress);
+        return this;
+    }
+
+    public BaseRvHolder setMax(int viewId, int max) {
+        ProgressBar view = getView(viewId);
+        if (memo.check(view.getMax() != max)) {
+            view.setMax(max);
+        }
+        return this;
+    }
+
+
+    /**
+     * 设置旋转
+     */
+    public BaseRvHolder setRating(int viewId, float rating) {
+        RatingBar view = getView(viewId);
+        if (memo.check(view.getRating() != rating)) {
+            view.setRating(rating);
+        }
+        return this;
+    }
+
+    public BaseRvHolder setRating(int viewId, float rating, int max) {
+        setMax(viewId, max);
+        setRating(viewId, rating);
+        return this;
+    }
+
+
+    /**
+     * 设置标签
+     */
+    public BaseRvHolder setTag(int viewId, Object tag) {
+        View view = getView(viewId);
+        view.setTag(tag);
+        return this;
+    }
+
+    public BaseRvHolder setTag(int viewId, int key, Object tag) {
+        View view = getView(viewId);
+        view.setTag(key, tag);
+        return this;
+    }
+
+
+    /**
+     * 设置选中
+     */
+    public BaseRvHolder setChecked(int viewId, boolean checked) {
+        Checkable view = (Checkable) getView(viewId);
+        if (memo.check(view.isChecked() != checked)) {
+            view.setChecked(checked);
+        }
+        return this;
+    }
+
+
+    /**
+     * 设置点击
+     */
+    public BaseRvHolder setClicked(int viewId, boolean click) {
+        View view = getView(viewId);
+        if (memo.check(view.isEnabled() != click || view.isClickable() != click)) {
+            view.setEnabled(click);
+            view.setClickable(click);
+        }
+        return this;
+    }
+
+    public BaseRvHolder setOnClickListener(int viewId, View.OnClickListener listener) {
+        View view = getView(viewId);
+        view.setOnClickListener(listener);
+        return this;
+    }
+
+    public BaseRvHolder setOnTouchListener(int viewId, View.OnTouchListener listener) {
+        View view = getView(viewId);
+        view.setOnTouchListener(listener);
+        return this;
+    }
+
+    public BaseRvHolder setOnLongClickListener(int viewId, View.OnLongClickListener listener) {
+        View view = getView(viewId);
+        view.setOnLongClickListener(listener);
+        return this;
+    }
+
+}
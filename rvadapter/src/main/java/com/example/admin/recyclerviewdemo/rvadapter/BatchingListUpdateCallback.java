@@ -0,0 +1,100 @@
+package com.example.admin.recyclerviewdemo.rvadapter;
+
+/**
+ * 合并连续的同类操作：相邻的插入、删除、修改合并为一个区间再回调，
+ * 例如在同一位置连续插入50个子项只回调一次onInserted(position, 50)。
+ * 操作结束后必须调用dispatchLastEvent()。
+ */
+public class BatchingListUpdateCallback implements ListUpdateCallback {
+    private static final int TYPE_NONE = 0;
+    private static final int TYPE_ADD = 1;
+    private static final int TYPE_REMOVE = 2;
+    private static final int TYPE_CHANGE = 3;
+
+    private ListUpdateCallback wrapped;
+
+    private int lastEventType = TYPE_NONE;
+    private int lastEventPosition = -1;
+    private int lastEventCount = -1;
+    private Object lastEventPayload;
+
+
+    public BatchingListUpdateCallback(ListUpdateCallback callback) {
+        this.wrapped = callback;
+    }
+
+    /**
+     * 回调尚未回调的操作
+     */
+    public void dispatchLastEvent() {
+        switch (lastEventType) {
+            case TYPE_ADD:
+                wrapped.onInserted(lastEventPosition, lastEventCount);
+                break;
+            case TYPE_REMOVE:
+                wrapped.onRemoved(lastEventPosition, lastEventCount);
+                break;
+            case TYPE_CHANGE:
+                wrapped.onChanged(lastEventPosition, lastEventCount, lastEventPayload);
+                break;
+            default:
+                break;
+        }
+        lastEventType = TYPE_NONE;
+        lastEventPayload = null;
+    }
+
+    @Override
+    public void onInserted(int position, int count) {
+        //插入位置落在上一次插入的区间内或紧邻其后，合并
+        if (lastEventType == TYPE_ADD && position >= lastEventPosition
+                && position <= lastEventPosition + lastEventCount) {
+            lastEventCount += count;
+            return;
+        }
+        dispatchLastEvent();
+        lastEventType = TYPE_ADD;
+        lastEventPosition = position;
+        lastEventCount = count;
+    }
+
+    @Override
+    public void onRemoved(int position, int count) {
+        //在同一位置连续删除，或删除紧邻在前的子项，合并
+        if (lastEventType == TYPE_REMOVE && lastEventPosition >= position
+                && lastEventPosition <= position + count) {
+            lastEventCount += count;
+            lastEventPosition = position;
+            return;
+        }
+        dispatchLastEvent();
+        lastEventType = TYPE_REMOVE;
+        lastEventPosition = position;
+        lastEventCount = count;
+    }
+
+    @Override
+    public void onMoved(int fromPosition, int toPosition) {
+        dispatchLastEvent();
+        wrapped.onMoved(fromPosition, toPosition);
+    }
+
+    @Override
+    public void onChanged(int position, int count, Object payload) {
+        //payload相同且区间重叠或相邻，合并为并集
+        if (lastEventType == TYPE_CHANGE
+                && !(position > lastEventPosition + lastEventCount || position + count < lastEventPosition)
+                && (lastEventPayload == null ? payload == null : lastEventPayload.equals(payload))) {
+            int end = Math.max(lastEventPosition + lastEventCount, position + count);
+            lastEventPosition = Math.min(position, lastEventPosition);
+            lastEventCount = end - lastEventPosition;
+            return;
+        }
+        dispatchLastEvent();
+        lastEventType = TYPE_CHANGE;
+        lastEventPosition = position;
+        lastEventCount = count;
+        lastEventPayload = payload;
+    }
+
+}
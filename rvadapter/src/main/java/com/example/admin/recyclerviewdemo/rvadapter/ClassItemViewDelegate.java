@@ -0,0 +1,32 @@
+package com.example.admin.recyclerviewdemo.rvadapter;
+
+/**
+ * 按子项的类型匹配的委托，子项是itemClass的实例时使用该委托
+ */
+public abstract class ClassItemViewDelegate<T> implements ItemViewDelegate<T> {
+    /**
+     * 匹配的子项类型
+     */
+    private Class<? extends T> itemClass;
+    /**
+     * 布局id
+     */
+    private int itemLayoutId;
+
+
+    public ClassItemViewDelegate(Class<? extends T> itemClass, int itemLayoutId) {
+        this.itemClass = itemClass;
+        this.itemLayoutId = itemLayoutId;
+    }
+
+    @Override
+    public int getItemLayoutId() {
+        return itemLayoutId;
+    }
+
+    @Override
+    public boolean isForViewType(T item, int position) {
+        return itemClass.isInstance(item);
+    }
+
+}
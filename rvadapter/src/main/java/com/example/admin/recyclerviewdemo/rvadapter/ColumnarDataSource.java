@@ -0,0 +1,293 @@
+package com.example.admin.recyclerviewdemo.rvadapter;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * 按列存储的数据源：
+ * 每个字段一个int[]、long[]、float[]数组，字符串去重后存入字符串表，列中只存下标。
+ * 百万行的数据只占几个大数组，不再有百万个小对象，GC停顿和内存都大幅减少。
+ * <p>
+ * 先用addXxxColumn()定义列，再appendRow()后用setXxx()写入。
+ * 只能在一个线程（一般为主线程）中读写。
+ */
+public class ColumnarDataSource {
+    private static final int DEFAULT_CAPACITY = 64;
+
+    private int rowCount;
+    private int capacity;
+    /**
+     * clear()后加1，之前取得的游标失效
+     */
+    private int generation;
+
+    private List<int[]> intColumns = new ArrayList<>();
+    private List<long[]> longColumns = new ArrayList<>();
+    private List<float[]> floatColumns = new ArrayList<>();
+    /**
+     * 字符串列存字符串表的下标，-1表示null
+     */
+    private List<int[]> stringColumns = new ArrayList<>();
+
+    /**
+     * 去重的字符串表
+     */
+    private List<String> strings = new ArrayList<>();
+    private HashMap<String, Integer> stringIndex = new HashMap<>();
+
+
+    public ColumnarDataSource() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * @param initialCapacity 预计的行数，避免扩容
+     */
+    public ColumnarDataSource(int initialCapacity) {
+        this.capacity = Math.max(1, initialCapacity);
+    }
+
+    /**
+     * 定义int列
+     *
+     * @return 列号，读写时使用
+     */
+    public int addIntColumn() {
+        intColumns.add(new int[capacity]);
+        return intColumns.size() - 1;
+    }
+
+    public int addLongColumn() {
+        longColumns.add(new long[capacity]);
+        return longColumns.size() - 1;
+    }
+
+    public int addFloatColumn() {
+        floatColumns.add(new float[capacity]);
+        return floatColumns.size() - 1;
+    }
+
+    public int addStringColumn() {
+        int[] column = new int[capacity];
+        Arrays.fill(column, -1);
+        stringColumns.add(column);
+        return stringColumns.size() - 1;
+    }
+
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    /**
+     * 字符串表的大小，即不同字符串的个数
+     */
+    public int getStringTableSize() {
+        return strings.size();
+    }
+
+    /**
+     * 追加一行，各列为0或null
+     *
+     * @return 行号
+     */
+    public int appendRow() {
+        if (rowCount == capacity) {
+            grow(capacity * 2);
+        }
+        return rowCount++;
+    }
+
+    private void grow(int newCapacity) {
+        for (int i = 0; i < intColumns.size(); i++) {
+            intColumns.set(i, Arrays.copyOf(intColumns.get(i), newCapacity));
+        }
+        for (int i = 0; i < longColumns.size(); i++) {
+            longColumns.set(i, Arrays.copyOf(longColumns.get(i), newCapacity));
+        }
+        for (int i = 0; i < floatColumns.size(); i++) {
+            floatColumns.set(i, Arrays.copyOf(floatColumns.get(i), newCapacity));
+        }
+        for (int i = 0; i < stringColumns.size(); i++) {
+            int[] column = Arrays.copyOf(stringColumns.get(i), newCapacity);
+            Arrays.fill(column, capacity, newCapacity, -1);
+            stringColumns.set(i, column);
+        }
+        capacity = newCapacity;
+    }
+
+    /**
+     * 清空所有行，保留列定义、容量和字符串表
+     */
+    public void clear() {
+        rowCount = 0;
+        generation++;
+        for (int i = 0; i < stringColumns.size(); i++) {
+            Arrays.fill(stringColumns.get(i), -1);
+        }
+    }
+
+    private void checkRow(int row) {
+        if (row < 0 || row >= rowCount) {
+            throw new IndexOutOfBoundsException("row=" + row + "，rowCount=" + rowCount);
+        }
+    }
+
+    public void setInt(int row, int column, int value) {
+        checkRow(row);
+        intColumns.get(column)[row] = value;
+    }
+
+    public void setLong(int row, int column, long value) {
+        checkRow(row);
+        longColumns.get(column)[row] = value;
+    }
+
+    public void setFloat(int row, int column, float value) {
+        checkRow(row);
+        floatColumns.get(column)[row] = value;
+    }
+
+    public void setString(int row, int column, String value) {
+        checkRow(row);
+        stringColumns.get(column)[row] = internString(value);
+    }
+
+    private int internString(String value) {
+        if (value == null) {
+            return -1;
+        }
+        Integer index = stringIndex.get(value);
+        if (index == null) {
+            index = strings.size();
+            strings.add(value);
+            stringIndex.put(value, index);
+        }
+        return index;
+    }
+
+    public int getInt(int row, int column) {
+        checkRow(row);
+        return intColumns.get(column)[row];
+    }
+
+    public long getLong(int row, int column) {
+        checkRow(row);
+        return longColumns.get(column)[row];
+    }
+
+    public float getFloat(int row, int column) {
+        checkRow(row);
+        return floatColumns.get(column)[row];
+    }
+
+    public String getString(int row, int column) {
+        checkRow(row);
+        int index = stringColumns.get(column)[row];
+        return index == -1 ? null : strings.get(index);
+    }
+
+    /**
+     * 取得一行的只读视图
+     */
+    public Cursor cursorAt(int row) {
+        checkRow(row);
+        return new Cursor(row, generation);
+    }
+
+    /**
+     * 把数据源包装成List交给BaseRvAdapter：
+     * get(position)返回绑定在该行的只读游标，可以保存、交给其他对象（如延后的绑定任务）。
+     * 最近取过的行复用同一个游标，绑定时一般不创建对象。
+     * 列表只读，修改数据源后需调用相应的notify方法。
+     *
+     * @return 游标列表
+     */
+    public List<Cursor> asCursorList() {
+        return new CursorList();
+    }
+
+
+    /**
+     * 一行的只读游标：创建后行号不变，读到的是该行当前的值。
+     * clear()后不可再读，即使之后又追加了该行号的行。
+     */
+    public final class Cursor {
+        private final int row;
+        private final int generation;
+
+        private Cursor(int row, int generation) {
+            this.row = row;
+            this.generation = generation;
+        }
+
+        public int getRow() {
+            return row;
+        }
+
+        /**
+         * 所在的行是否仍在（没有被clear()清除）
+         */
+        public boolean isValid() {
+            return generation == ColumnarDataSource.this.generation && row < rowCount;
+        }
+
+        private void checkValid() {
+            if (generation != ColumnarDataSource.this.generation) {
+                throw new IndexOutOfBoundsException("row=" + row + "所在的数据已被clear()清除");
+            }
+            checkRow(row);
+        }
+
+        public int getInt(int column) {
+            checkValid();
+            return intColumns.get(column)[row];
+        }
+
+        public long getLong(int column) {
+            checkValid();
+            return longColumns.get(column)[row];
+        }
+
+        public float getFloat(int column) {
+            checkValid();
+            return floatColumns.get(column)[row];
+        }
+
+        public String getString(int column) {
+            checkValid();
+            int index = stringColumns.get(column)[row];
+            return index == -1 ? null : strings.get(index);
+        }
+    }
+
+    /**
+     * 按行号直接映射的游标缓存：同一行一般返回同一个游标，槽位被其他行占用时创建新的。
+     * 游标不可变，替换槽位不影响已取出的游标。
+     */
+    private class CursorList extends AbstractList<Cursor> implements RandomAccess {
+        private static final int SLOTS = 128;
+        private final Cursor[] cursors = new Cursor[SLOTS];
+
+        @Override
+        public Cursor get(int index) {
+            checkRow(index);
+            int slot = index & (SLOTS - 1);
+            Cursor cursor = cursors[slot];
+            if (cursor == null || cursor.row != index || cursor.generation != generation) {
+                cursor = new Cursor(index, generation);
+                cursors[slot] = cursor;
+            }
+            return cursor;
+        }
+
+        @Override
+        public int size() {
+            return rowCount;
+        }
+    }
+
+}
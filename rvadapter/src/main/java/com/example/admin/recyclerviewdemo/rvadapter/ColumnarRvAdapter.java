@@ -0,0 +1,46 @@
+package com.example.admin.recyclerviewdemo.rvadapter;
+
+import android.content.Context;
+
+/**
+ * 直接绑定ColumnarDataSource的Adapter：
+ * convert()收到的data是绑定在position行的只读游标。
+ * 数据源只读，addItem()、edit()、refreshData()等修改方法抛出UnsupportedOperationException，
+ * 修改ColumnarDataSource后调用notifyItemRangeInserted()等方法。
+ * 数据源只能在主线程读写，两阶段绑定不在后台提前准备，只缓存显示对象；修改某行后需调用invalidateRenderModel()。
+ */
+public abstract class ColumnarRvAdapter extends BaseRvAdapter<ColumnarDataSource.Cursor> {
+    private ColumnarDataSource dataSource;
+
+
+    public ColumnarRvAdapter(Context context, ColumnarDataSource dataSource, int itemLayoutId) {
+        super(context, dataSource.asCursorList(), itemLayoutId);
+        this.dataSource = dataSource;
+    }
+
+    /**
+     * 多布局：通过addItemViewDelegate()注册各布局的委托
+     */
+    public ColumnarRvAdapter(Context context, ColumnarDataSource dataSource) {
+        super(context, dataSource.asCursorList());
+        this.dataSource = dataSource;
+    }
+
+    public ColumnarDataSource getDataSource() {
+        return dataSource;
+    }
+
+    @Override
+    String getReadOnlyMessage() {
+        return "ColumnarRvAdapter的数据源只读，请修改ColumnarDataSource后调用notify方法";
+    }
+
+    /**
+     * prepareAhead无效：游标在后台线程读列会与主线程的写入冲突，显示对象都在绑定时于主线程准备
+     */
+    @Override
+    public <M> void setRenderModelBinder(RenderModelBinder<ColumnarDataSource.Cursor, M> binder, int cacheSize, int prepareAhead) {
+        super.setRenderModelBinder(binder, cacheSize, 0);
+    }
+
+}
@@ -0,0 +1,573 @@
+package com.example.admin.recyclerviewdemo.rvadapter;
+
+import android.content.Context;
+import android.support.v7.widget.RecyclerView;
+import android.util.SparseArray;
+import android.util.SparseIntArray;
+import android.view.ViewGroup;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 把多个BaseRvAdapter依次拼接成一个列表：头部、内容分段、尾部、加载更多。
+ * 1、各段的子项数保存在树状数组中，全局position到分段、分段内position的换算为O(log k)；
+ * 2、各段自己的notify通知换算成全局的区间通知，不会整体刷新；
+ *    某段调用notifyDataSetChanged()时，也只刷新该段的区间；
+ * 3、各段的viewType按（ViewHolder种类、布局id）映射为进程内唯一的负值：
+ *    种类（注册的RvHolderFactory）和布局都相同的段共用ViewHolder，共用缓存池的CompositeRvAdapter之间也共用，
+ *    不会与单独使用的BaseRvAdapter（viewType为布局id）混用；
+ * 4、setHasStableIds(true)时，各段的id混合该段的盐值后转发，不同段的id不会冲突；
+ * 5、滑动状态统一跟踪，快速滑动时只暂停一次图片加载和延后的任务（任一段开启了setScrollThrottling()时），停下后统一重新绑定。
+ * 各段Adapter的点击回调中的position为段内的position。
+ * 段的setItemKeyProvider()需在加入之前调用（已加入的段有观察者，不能再修改hasStableIds）。只在主线程使用。
+ */
+public class CompositeRvAdapter extends RecyclerView.Adapter<BaseRvHolder> {
+    private static final int KIND_HEADER = 0;
+    private static final int KIND_CONTENT = 1;
+    private static final int KIND_FOOTER = 2;
+    private static final int KIND_LOAD_MORE = 3;
+    /**
+     * 段的盐值与id混合用的乘数（黄金分割），盐值相邻的段得到相差很大的掩码
+     */
+    private static final long ID_SALT_MULTIPLIER = 0x9E3779B97F4A7C15L;
+
+    /**
+     * 全局viewType从-2开始递减：-1为RecyclerView.INVALID_TYPE，正值为布局id。
+     * ViewHolder种类 -> (布局id -> 全局viewType)，所有CompositeRvAdapter共用，只在主线程访问
+     */
+    private static final Map<Object, SparseIntArray> GLOBAL_VIEW_TYPES = new HashMap<>();
+    private static int nextViewType = -2;
+
+    private final Context context;
+    private final List<Section> sections = new ArrayList<>();
+    /**
+     * 各段的子项数，下标与sections一致
+     */
+    private FenwickTree counts = new FenwickTree(new int[0]);
+    /**
+     * 全局viewType到创建该类ViewHolder的段（使用该viewType的第一个段）、段内viewType
+     */
+    private final SparseArray<Section> typeOwners = new SparseArray<>();
+    private final SparseIntArray localTypes = new SparseIntArray();
+    private int nextSectionSalt = 1;
+    private final List<RecyclerView> recyclerViews = new ArrayList<>();
+    private SingleItemAdapter loadMore;
+    private final ScrollStateTracker scrollTracker = new ScrollStateTracker(new ScrollStateTracker.Callback() {
+        @Override
+        public void onFastScrollChanged(RecyclerView recyclerView, boolean fast) {
+            CompositeRvAdapter.this.onFastScrollChanged(recyclerView, fast);
+        }
+    });
+    /**
+     * 本次快速滑动是否暂停了图片加载和延后的任务
+     */
+    private boolean throttled;
+    private Runnable settleRunnable;
+
+
+    public CompositeRvAdapter(Context context) {
+        this.context = context;
+    }
+
+    /**
+     * 添加头部，显示在已有的头部之后
+     *
+     * @param layoutId 头部的布局
+     * @return 头部的Adapter，可设置点击事件、重写convert()
+     */
+    public SingleItemAdapter addHeader(int layoutId) {
+        SingleItemAdapter header = new SingleItemAdapter(context, layoutId);
+        addHeader(header);
+        return header;
+    }
+
+    public void addHeader(BaseRvAdapter<?> header) {
+        add(header, KIND_HEADER);
+    }
+
+    /**
+     * 添加内容分段，显示在已有的分段之后、尾部之前
+     */
+    public void addSection(BaseRvAdapter<?> section) {
+        add(section, KIND_CONTENT);
+    }
+
+    public SingleItemAdapter addFooter(int layoutId) {
+        SingleItemAdapter footer = new SingleItemAdapter(context, layoutId);
+        addFooter(footer);
+        return footer;
+    }
+
+    public void addFooter(BaseRvAdapter<?> footer) {
+        add(footer, KIND_FOOTER);
+    }
+
+    /**
+     * 设置加载更多的布局，显示在最后，默认隐藏
+     *
+     * @return 加载更多的Adapter
+     */
+    public SingleItemAdapter setLoadMoreView(int layoutId) {
+        if (loadMore != null) {
+            removeSection(loadMore);
+        }
+        loadMore = new SingleItemAdapter(context, layoutId);
+        loadMore.setVisible(false);
+        add(loadMore, KIND_LOAD_MORE);
+        return loadMore;
+    }
+
+    /**
+     * 显示或隐藏加载更多，以单项插入、删除通知
+     */
+    public void setLoadMoreVisible(boolean visible) {
+        if (loadMore != null) {
+            loadMore.setVisible(visible);
+        }
+    }
+
+    private void add(BaseRvAdapter<?> adapter, int kind) {
+        if (indexOf(adapter) >= 0) {
+            throw new IllegalArgumentException("该Adapter已添加");
+        }
+        //同类的段之后、下一类的段之前
+        int index = sections.size();
+        while (index > 0 && sections.get(index - 1).kind > kind) {
+            index--;
+        }
+        Section section = new Section(adapter, kind, nextSectionSalt++);
+        sections.add(index, section);
+        adapter.setComposite(this);
+        adapter.registerAdapterDataObserver(section);
+        rebuildCounts();
+        for (int i = 0; i < recyclerViews.size(); i++) {
+            adapter.onAttachedToRecyclerView(recyclerViews.get(i));
+        }
+        if (section.count > 0) {
+            notifyItemRangeInserted(offsetOf(index), section.count);
+        }
+    }
+
+    /**
+     * 移除一段，以该段的区间删除通知
+     */
+    public void removeSection(BaseRvAdapter<?> adapter) {
+        int index = indexOf(adapter);
+        if (index < 0) {
+            return;
+        }
+        Section section = sections.get(index);
+        int offset = offsetOf(index);
+        sections.remove(index);
+        adapter.unregisterAdapterDataObserver(section);
+        adapter.setComposite(null);
+        for (int i = 0; i < recyclerViews.size(); i++) {
+            adapter.onDetachedFromRecyclerView(recyclerViews.get(i));
+        }
+        rebuildCounts();
+        rebuildTypeOwners();
+        if (adapter == loadMore) {
+            loadMore = null;
+        }
+        if (section.count > 0) {
+            notifyItemRangeRemoved(offset, section.count);
+        }
+    }
+
+    private int indexOf(BaseRvAdapter<?> adapter) {
+        for (int i = 0; i < sections.size(); i++) {
+            if (sections.get(i).adapter == adapter) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private void rebuildCounts() {
+        int[] values = new int[sections.size()];
+        for (int i = 0; i < values.length; i++) {
+            Section section = sections.get(i);
+            section.index = i;
+            values[i] = section.count;
+        }
+        counts = new FenwickTree(values);
+    }
+
+    /**
+     * 移除段后，它创建的viewType改由仍使用该viewType的段创建
+     */
+    private void rebuildTypeOwners() {
+        typeOwners.clear();
+        localTypes.clear();
+        for (int i = 0; i < sections.size(); i++) {
+            Section section = sections.get(i);
+            for (int j = 0; j < section.viewTypes.size(); j++) {
+                int viewType = section.viewTypes.valueAt(j);
+                if (typeOwners.get(viewType) == null) {
+                    typeOwners.put(viewType, section);
+                    localTypes.put(viewType, section.viewTypes.keyAt(j));
+                }
+            }
+        }
+    }
+
+    /**
+     * ViewHolder种类、布局id对应的全局viewType，第一次出现时分配
+     */
+    private static int globalViewTypeOf(Object holderFamily, int layoutId) {
+        SparseIntArray types = GLOBAL_VIEW_TYPES.get(holderFamily);
+        if (types == null) {
+            types = new SparseIntArray();
+            GLOBAL_VIEW_TYPES.put(holderFamily, types);
+        }
+        int viewType = types.get(layoutId, 0);
+        if (viewType == 0) {
+            viewType = nextViewType--;
+            types.put(layoutId, viewType);
+        }
+        return viewType;
+    }
+
+    private int offsetOf(int sectionIndex) {
+        return counts.prefixSum(sectionIndex);
+    }
+
+    /**
+     * 全局position所在的段，O(log k)
+     */
+    private int sectionIndexAt(int position) {
+        int index = counts.find(position);
+        if (position < 0 || index >= sections.size()) {
+            throw new IndexOutOfBoundsException("position=" + position + "，size=" + getItemCount());
+        }
+        return index;
+    }
+
+    /**
+     * 全局position在所在段中的position
+     */
+    public int getLocalPosition(int position) {
+        return position - offsetOf(sectionIndexAt(position));
+    }
+
+    /**
+     * 全局position所在段的Adapter
+     */
+    public BaseRvAdapter<?> getAdapterAt(int position) {
+        return sections.get(sectionIndexAt(position)).adapter;
+    }
+
+    /**
+     * 段内position换算为全局position
+     *
+     * @return 该Adapter未添加时返回RecyclerView.NO_POSITION
+     */
+    public int getGlobalPosition(BaseRvAdapter<?> adapter, int localPosition) {
+        int index = indexOf(adapter);
+        return index < 0 ? RecyclerView.NO_POSITION : offsetOf(index) + localPosition;
+    }
+
+    /**
+     * 某段的viewType换算为本Adapter的viewType，如为该段预创建ViewHolder、设置缓存池容量时
+     *
+     * @param section       已添加的段
+     * @param localViewType 该段的viewType，即布局id
+     */
+    public int getGlobalViewType(BaseRvAdapter<?> section, int localViewType) {
+        int index = indexOf(section);
+        if (index < 0) {
+            throw new IllegalArgumentException("该Adapter未添加");
+        }
+        return sections.get(index).globalViewType(localViewType);
+    }
+
+    /**
+     * 创建该全局viewType的ViewHolder的段，没有时返回null
+     */
+    BaseRvAdapter<?> getAdapterForViewType(int viewType) {
+        Section section = typeOwners.get(viewType);
+        return section != null ? section.adapter : null;
+    }
+
+    /**
+     * ViewHolder所属的段：最近一次绑定它的段，相同布局的段共用ViewHolder，不能按viewType区分
+     */
+    BaseRvAdapter<?> ownerOf(BaseRvHolder holder) {
+        BaseRvAdapter<?> bound = holder.getBoundAdapter();
+        if (bound != null && indexOf(bound) >= 0) {
+            return bound;
+        }
+        return getAdapterForViewType(holder.getItemViewType());
+    }
+
+    ScrollStateTracker getScrollTracker() {
+        return scrollTracker;
+    }
+
+    /**
+     * 快速滑动的阈值，见BaseRvAdapter.setFastScrollThreshold()
+     */
+    public void setFastScrollThreshold(float screensPerSecond) {
+        scrollTracker.setFastScreensPerSecond(screensPerSecond);
+    }
+
+    /**
+     * 是否正在快速滑动
+     */
+    public boolean isScrollingFast() {
+        return scrollTracker.isFast();
+    }
+
+    @Override
+    public int getItemCount() {
+        return counts.total();
+    }
+
+    /**
+     * 段内的id混合该段的盐值后返回，本Adapter需setHasStableIds(true)才会使用。
+     * 内容分段需setItemKeyProvider()，否则段内的id为position；头部、尾部只有一项，position即稳定的id
+     */
+    @Override
+    public long getItemId(int position) {
+        int index = sectionIndexAt(position);
+        Section section = sections.get(index);
+        return section.adapter.getItemId(position - offsetOf(index)) ^ (section.salt * ID_SALT_MULTIPLIER);
+    }
+
+    @Override
+    public int getItemViewType(int position) {
+        int index = sectionIndexAt(position);
+        Section section = sections.get(index);
+        return section.globalViewType(section.adapter.getItemViewType(position - offsetOf(index)));
+    }
+
+    @Override
+    public BaseRvHolder onCreateViewHolder(ViewGroup parent, int viewType) {
+        return typeOwners.get(viewType).adapter.onCreateViewHolder(parent, localTypes.get(viewType));
+    }
+
+    @Override
+    public void onBindViewHolder(BaseRvHolder holder, int position) {
+        int index = sectionIndexAt(position);
+        sections.get(index).adapter.onBindViewHolder(holder, position - offsetOf(index));
+    }
+
+    @Override
+    public void onBindViewHolder(BaseRvHolder holder, int position, List<Object> payloads) {
+        int index = sectionIndexAt(position);
+        sections.get(index).adapter.onBindViewHolder(holder, position - offsetOf(index), payloads);
+    }
+
+    @Override
+    public void onViewRecycled(BaseRvHolder holder) {
+        BaseRvAdapter<?> owner = ownerOf(holder);
+        if (owner != null) {
+            owner.onViewRecycled(holder);
+        }
+    }
+
+    @Override
+    public boolean onFailedToRecycleView(BaseRvHolder holder) {
+        BaseRvAdapter<?> owner = ownerOf(holder);
+        return owner != null && owner.onFailedToRecycleView(holder);
+    }
+
+    @Override
+    public void onViewAttachedToWindow(BaseRvHolder holder) {
+        BaseRvAdapter<?> owner = ownerOf(holder);
+        if (owner != null) {
+            owner.onViewAttachedToWindow(holder);
+        }
+    }
+
+    @Override
+    public void onViewDetachedFromWindow(BaseRvHolder holder) {
+        BaseRvAdapter<?> owner = ownerOf(holder);
+        if (owner != null) {
+            owner.onViewDetachedFromWindow(holder);
+        }
+    }
+
+    @Override
+    public void onAttachedToRecyclerView(RecyclerView recyclerView) {
+        recyclerViews.add(recyclerView);
+        scrollTracker.attach(recyclerView);
+        for (int i = 0; i < sections.size(); i++) {
+            sections.get(i).adapter.onAttachedToRecyclerView(recyclerView);
+        }
+    }
+
+    @Override
+    public void onDetachedFromRecyclerView(RecyclerView recyclerView) {
+        recyclerViews.remove(recyclerView);
+        scrollTracker.detach(recyclerView);
+        if (settleRunnable != null) {
+            recyclerView.removeCallbacks(settleRunnable);
+        }
+        for (int i = 0; i < sections.size(); i++) {
+            sections.get(i).adapter.onDetachedFromRecyclerView(recyclerView);
+        }
+    }
+
+    /**
+     * 进入或退出快速滑动：任一段开启了setScrollThrottling()时暂停一次，退出后统一重新绑定降级的子项
+     */
+    private void onFastScrollChanged(final RecyclerView recyclerView, boolean fast) {
+        if (fast) {
+            throttled = false;
+            for (int i = 0; i < sections.size() && !throttled; i++) {
+                throttled = sections.get(i).adapter.isScrollThrottling();
+            }
+            if (throttled) {
+                scrollTracker.pauseWork();
+            }
+            return;
+        }
+        if (!throttled) {
+            return;
+        }
+        throttled = false;
+        scrollTracker.resumeWork();
+        //onScrolled()可能在布局过程中回调，此时不能通知刷新，推迟到下一个消息
+        if (settleRunnable == null) {
+            settleRunnable = new Runnable() {
+                @Override
+                public void run() {
+                    rebindFastScrolledHolders(recyclerView);
+                }
+            };
+        }
+        recyclerView.removeCallbacks(settleRunnable);
+        recyclerView.post(settleRunnable);
+    }
+
+    /**
+     * 重新绑定仍在显示的、快速滑动中绑定的子项，由所在的段按PAYLOAD_SCROLL_SETTLED处理
+     */
+    private void rebindFastScrolledHolders(RecyclerView recyclerView) {
+        if (scrollTracker.isFast() || recyclerView.getAdapter() != this) {
+            return;
+        }
+        for (int i = 0, count = recyclerView.getChildCount(); i < count; i++) {
+            RecyclerView.ViewHolder viewHolder = recyclerView.getChildViewHolder(recyclerView.getChildAt(i));
+            if (viewHolder instanceof BaseRvHolder && ((BaseRvHolder) viewHolder).isFastScrolling()) {
+                int position = viewHolder.getAdapterPosition();
+                if (position != RecyclerView.NO_POSITION) {
+                    notifyItemChanged(position, BaseRvAdapter.PAYLOAD_SCROLL_SETTLED);
+                }
+            }
+        }
+    }
+
+
+    /**
+     * 一段：把该段的通知换算为全局区间
+     */
+    private final class Section extends RecyclerView.AdapterDataObserver {
+        final BaseRvAdapter<?> adapter;
+        final int kind;
+        /**
+         * 与段内的id混合，加入时分配，不同段不同
+         */
+        final long salt;
+        /**
+         * 在sections中的下标，rebuildCounts()时更新，通知时不需要查找
+         */
+        int index;
+        /**
+         * 段内viewType到全局viewType
+         */
+        final SparseIntArray viewTypes = new SparseIntArray();
+        /**
+         * 最近一次通知后的子项数
+         */
+        int count;
+
+        Section(BaseRvAdapter<?> adapter, int kind, long salt) {
+            this.adapter = adapter;
+            this.kind = kind;
+            this.salt = salt;
+            this.count = adapter.getItemCount();
+        }
+
+        /**
+         * 段内viewType对应的全局viewType，第一次出现时查找并缓存
+         */
+        int globalViewType(int localType) {
+            int viewType = viewTypes.get(localType, 0);
+            if (viewType == 0) {
+                viewType = globalViewTypeOf(adapter.getHolderFamily(localType), adapter.getLayoutIdForViewType(localType));
+                viewTypes.put(localType, viewType);
+                if (typeOwners.get(viewType) == null) {
+                    typeOwners.put(viewType, this);
+                    localTypes.put(viewType, localType);
+                }
+            }
+            return viewType;
+        }
+
+        private int offset() {
+            return offsetOf(index);
+        }
+
+        private void resize(int delta) {
+            count += delta;
+            counts.add(index, delta);
+        }
+
+        /**
+         * 该段整体变化：重叠部分按修改通知，多出、减少的部分按插入、删除通知
+         */
+        @Override
+        public void onChanged() {
+            int offset = offset();
+            int oldCount = count;
+            int newCount = adapter.getItemCount();
+            int common = Math.min(oldCount, newCount);
+            resize(newCount - oldCount);
+            if (common > 0) {
+                notifyItemRangeChanged(offset, common);
+            }
+            if (newCount > oldCount) {
+                notifyItemRangeInserted(offset + oldCount, newCount - oldCount);
+            } else if (newCount < oldCount) {
+                notifyItemRangeRemoved(offset + newCount, oldCount - newCount);
+            }
+        }
+
+        @Override
+        public void onItemRangeChanged(int positionStart, int itemCount) {
+            notifyItemRangeChanged(offset() + positionStart, itemCount);
+        }
+
+        @Override
+        public void onItemRangeChanged(int positionStart, int itemCount, Object payload) {
+            notifyItemRangeChanged(offset() + positionStart, itemCount, payload);
+        }
+
+        @Override
+        public void onItemRangeInserted(int positionStart, int itemCount) {
+            int offset = offset();
+            resize(itemCount);
+            notifyItemRangeInserted(offset + positionStart, itemCount);
+        }
+
+        @Override
+        public void onItemRangeRemoved(int positionStart, int itemCount) {
+            int offset = offset();
+            resize(-itemCount);
+            notifyItemRangeRemoved(offset + positionStart, itemCount);
+        }
+
+        @Override
+        public void onItemRangeMoved(int fromPosition, int toPosition, int itemCount) {
+            int offset = offset();
+            for (int i = 0; i < itemCount; i++) {
+                notifyItemMoved(offset + fromPosition + i, offset + toPosition + i);
+            }
+        }
+    }
+}
@@ -0,0 +1,253 @@
+package com.example.admin.recyclerviewdemo.rvadapter;
+
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * AdapterMetricsSink的默认实现，无锁：
+ * 耗时按微秒的2的幂次分桶（AtomicLongArray），估算p50、p90、p99；
+ * 各布局的统计放在写时复制的数组中，查找为线性扫描，新布局第一次出现时CAS替换数组。
+ * dump()输出文本，可附在问题报告中或上传到性能面板。
+ */
+public class DefaultMetricsSink implements AdapterMetricsSink {
+    /**
+     * 第i个桶为[2^(i-1), 2^i)微秒，第0个桶为不到1微秒
+     */
+    static final int BUCKET_COUNT = 32;
+
+    private final AtomicReference<TypeMetrics[]> types = new AtomicReference<>(new TypeMetrics[0]);
+    /**
+     * 各种刷新通知的次数、涉及的子项个数（NOTIFY_FULL不计个数）
+     */
+    private final AtomicLongArray notifyCounts = new AtomicLongArray(3);
+    private final AtomicLongArray notifyItemCounts = new AtomicLongArray(3);
+
+    @Override
+    public void onCreateViewHolder(int viewType, long nanos) {
+        metricsFor(viewType).create.record(nanos);
+    }
+
+    @Override
+    public void onBindViewHolder(int viewType, long nanos) {
+        metricsFor(viewType).bind.record(nanos);
+    }
+
+    @Override
+    public void onHolderAcquired(int viewType, boolean fromPool) {
+        TypeMetrics metrics = metricsFor(viewType);
+        if (fromPool) {
+            metrics.poolHits.incrementAndGet();
+        } else {
+            metrics.poolMisses.incrementAndGet();
+        }
+    }
+
+    @Override
+    public void onNotify(int kind, int itemCount) {
+        checkKind(kind);
+        notifyCounts.incrementAndGet(kind);
+        if (itemCount > 0) {
+            notifyItemCounts.addAndGet(kind, itemCount);
+        }
+    }
+
+    private static void checkKind(int kind) {
+        if (kind < NOTIFY_FULL || kind > NOTIFY_RANGE) {
+            throw new IllegalArgumentException("kind须为NOTIFY_FULL、NOTIFY_ITEM或NOTIFY_RANGE：" + kind);
+        }
+    }
+
+    public long getCreateCount(int viewType) {
+        TypeMetrics metrics = find(types.get(), viewType);
+        return metrics != null ? metrics.create.count.get() : 0;
+    }
+
+    public long getBindCount(int viewType) {
+        TypeMetrics metrics = find(types.get(), viewType);
+        return metrics != null ? metrics.bind.count.get() : 0;
+    }
+
+    public long getPoolHitCount(int viewType) {
+        TypeMetrics metrics = find(types.get(), viewType);
+        return metrics != null ? metrics.poolHits.get() : 0;
+    }
+
+    public long getPoolMissCount(int viewType) {
+        TypeMetrics metrics = find(types.get(), viewType);
+        return metrics != null ? metrics.poolMisses.get() : 0;
+    }
+
+    /**
+     * 绑定耗时的百分位数（所在桶的上限），单位微秒
+     *
+     * @param percentile 0~100
+     */
+    public long getBindPercentileMicros(int viewType, double percentile) {
+        TypeMetrics metrics = find(types.get(), viewType);
+        return metrics != null ? metrics.bind.percentileMicros(percentile) : 0;
+    }
+
+    public long getCreatePercentileMicros(int viewType, double percentile) {
+        TypeMetrics metrics = find(types.get(), viewType);
+        return metrics != null ? metrics.create.percentileMicros(percentile) : 0;
+    }
+
+    /**
+     * @param kind NOTIFY_FULL、NOTIFY_ITEM或NOTIFY_RANGE
+     */
+    public long getNotifyCount(int kind) {
+        checkKind(kind);
+        return notifyCounts.get(kind);
+    }
+
+    /**
+     * 某种刷新通知涉及的子项个数合计，NOTIFY_FULL为0
+     *
+     * @param kind NOTIFY_FULL、NOTIFY_ITEM或NOTIFY_RANGE
+     */
+    public long getNotifyItemCount(int kind) {
+        checkKind(kind);
+        return notifyItemCounts.get(kind);
+    }
+
+    /**
+     * 清空统计
+     */
+    public void reset() {
+        types.set(new TypeMetrics[0]);
+        for (int i = 0; i < notifyCounts.length(); i++) {
+            notifyCounts.set(i, 0);
+            notifyItemCounts.set(i, 0);
+        }
+    }
+
+    /**
+     * 当前统计的文本快照
+     */
+    public String dump() {
+        StringBuilder out = new StringBuilder();
+        out.append("notify full=").append(notifyCounts.get(NOTIFY_FULL))
+                .append(" item=").append(notifyCounts.get(NOTIFY_ITEM))
+                .append(" range=").append(notifyCounts.get(NOTIFY_RANGE))
+                .append(" (").append(notifyItemCounts.get(NOTIFY_RANGE)).append(" items)").append('\n');
+        for (TypeMetrics metrics : types.get()) {
+            long hits = metrics.poolHits.get();
+            long misses = metrics.poolMisses.get();
+            out.append("viewType 0x").append(Integer.toHexString(metrics.viewType)).append('\n');
+            out.append("  create ");
+            metrics.create.dump(out);
+            out.append("  bind   ");
+            metrics.bind.dump(out);
+            out.append("  pool hit=").append(hits).append(" miss=").append(misses);
+            if (hits + misses > 0) {
+                out.append(String.format(Locale.US, " hitRate=%.1f%%", hits * 100.0 / (hits + misses)));
+            }
+            out.append('\n');
+        }
+        return out.toString();
+    }
+
+    @Override
+    public String toString() {
+        return dump();
+    }
+
+    private TypeMetrics metricsFor(int viewType) {
+        while (true) {
+            TypeMetrics[] current = types.get();
+            TypeMetrics metrics = find(current, viewType);
+            if (metrics != null) {
+                return metrics;
+            }
+            TypeMetrics[] next = new TypeMetrics[current.length + 1];
+            System.arraycopy(current, 0, next, 0, current.length);
+            next[current.length] = new TypeMetrics(viewType);
+            if (types.compareAndSet(current, next)) {
+                return next[current.length];
+            }
+        }
+    }
+
+    private static TypeMetrics find(TypeMetrics[] array, int viewType) {
+        for (TypeMetrics metrics : array) {
+            if (metrics.viewType == viewType) {
+                return metrics;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 耗时所在的桶
+     */
+    static int bucketOf(long nanos) {
+        long micros = nanos / 1000;
+        int bucket = 64 - Long.numberOfLeadingZeros(micros);
+        return bucket < BUCKET_COUNT ? bucket : BUCKET_COUNT - 1;
+    }
+
+
+    private static class TypeMetrics {
+        final int viewType;
+        final Histogram create = new Histogram();
+        final Histogram bind = new Histogram();
+        final AtomicLong poolHits = new AtomicLong();
+        final AtomicLong poolMisses = new AtomicLong();
+
+        TypeMetrics(int viewType) {
+            this.viewType = viewType;
+        }
+    }
+
+
+    private static class Histogram {
+        final AtomicLongArray buckets = new AtomicLongArray(BUCKET_COUNT);
+        final AtomicLong count = new AtomicLong();
+        final AtomicLong totalNanos = new AtomicLong();
+        final AtomicLong maxNanos = new AtomicLong();
+
+        void record(long nanos) {
+            buckets.incrementAndGet(bucketOf(nanos));
+            count.incrementAndGet();
+            totalNanos.addAndGet(nanos);
+            long max = maxNanos.get();
+            while (nanos > max && !maxNanos.compareAndSet(max, nanos)) {
+                max = maxNanos.get();
+            }
+        }
+
+        long percentileMicros(double percentile) {
+            long total = 0;
+            for (int i = 0; i < BUCKET_COUNT; i++) {
+                total += buckets.get(i);
+            }
+            if (total == 0) {
+                return 0;
+            }
+            long target = (long) Math.ceil(total * percentile / 100);
+            long seen = 0;
+            for (int i = 0; i < BUCKET_COUNT; i++) {
+                seen += buckets.get(i);
+                if (seen >= target && seen > 0) {
+                    return 1L << i;
+                }
+            }
+            return 1L << (BUCKET_COUNT - 1);
+        }
+
+        void dump(StringBuilder out) {
+            long n = count.get();
+            out.append("n=").append(n);
+            if (n > 0) {
+                out.append(" mean=").append(totalNanos.get() / n / 1000).append("us")
+                        .append(" p50<=").append(percentileMicros(50)).append("us")
+                        .append(" p90<=").append(percentileMicros(90)).append("us")
+                        .append(" p99<=").append(percentileMicros(99)).append("us")
+                        .append(" max=").append(maxNanos.get() / 1000).append("us");
+            }
+            out.append('\n');
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.admin.recyclerviewdemo.rvadapter;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * ListDiffer的计算结果：按顺序记录的增、删、移动、修改操作，
+ * 依次回调即可把旧集合变为新集合。
+ */
+public class DiffResult {
+    static final int OP_INSERT = 1;
+    static final int OP_REMOVE = 2;
+    static final int OP_MOVE = 3;
+    static final int OP_CHANGE = 4;
+
+    /**
+     * 每个操作占3个int：类型、position(from)、count(to)
+     */
+    private int[] ops = new int[3 * 8];
+    private int opCount;
+    /**
+     * 修改操作的payload，与操作一一对应，其他操作为null
+     */
+    private List<Object> payloads = new ArrayList<>();
+
+
+    void add(int type, int first, int second) {
+        add(type, first, second, null);
+    }
+
+    void add(int type, int first, int second, Object payload) {
+        if ((opCount + 1) * 3 > ops.length) {
+            ops = Arrays.copyOf(ops, ops.length * 2);
+        }
+        int index = opCount * 3;
+        ops[index] = type;
+        ops[index + 1] = first;
+        ops[index + 2] = second;
+        payloads.add(payload);
+        opCount++;
+    }
+
+    /**
+     * 操作的个数
+     */
+    public int getOperationCount() {
+        return opCount;
+    }
+
+    /**
+     * 按顺序回调所有操作
+     *
+     * @param callback 回调
+     */
+    public void dispatchUpdatesTo(ListUpdateCallback callback) {
+        for (int i = 0; i < opCount; i++) {
+            int index = i * 3;
+            int first = ops[index + 1];
+            int second = ops[index + 2];
+            switch (ops[index]) {
+                case OP_INSERT:
+                    callback.onInserted(first, second);
+                    break;
+                case OP_REMOVE:
+                    callback.onRemoved(first, second);
+                    break;
+                case OP_MOVE:
+                    callback.onMoved(first, second);
+                    break;
+                case OP_CHANGE:
+                    callback.onChanged(first, second, payloads.get(i));
+                    break;
+                default:
+                    break;
+            }
+        }
+    }
+
+}
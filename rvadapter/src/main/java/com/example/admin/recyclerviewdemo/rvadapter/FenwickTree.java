@@ -0,0 +1,70 @@
+package com.example.admin.recyclerviewdemo.rvadapter;
+
+/**
+ * 树状数组：单点修改、前缀和、按前缀和查找下标都是O(log n)。
+ * TreeRvAdapter中每个节点的权重为1（显示）或0（被折叠），前缀和即节点在列表中的position。
+ */
+final class FenwickTree {
+    /**
+     * 从1开始，tree[i]为(i - lowbit(i), i]的和
+     */
+    private final int[] tree;
+    private final int size;
+
+    /**
+     * O(n)建立
+     *
+     * @param weights 各下标的初始值
+     */
+    FenwickTree(int[] weights) {
+        size = weights.length;
+        tree = new int[size + 1];
+        for (int i = 1; i <= size; i++) {
+            tree[i] += weights[i - 1];
+            int parent = i + (i & -i);
+            if (parent <= size) {
+                tree[parent] += tree[i];
+            }
+        }
+    }
+
+    int size() {
+        return size;
+    }
+
+    void add(int index, int delta) {
+        for (int i = index + 1; i <= size; i += i & -i) {
+            tree[i] += delta;
+        }
+    }
+
+    /**
+     * [0, index)的和
+     */
+    int prefixSum(int index) {
+        int sum = 0;
+        for (int i = index; i > 0; i -= i & -i) {
+            sum += tree[i];
+        }
+        return sum;
+    }
+
+    int total() {
+        return prefixSum(size);
+    }
+
+    /**
+     * 前缀和大于k的最小下标，即第k个（从0开始）权重为1的下标；k不小于总和时返回size
+     */
+    int find(int k) {
+        int index = 0;
+        for (int step = Integer.highestOneBit(Math.max(size, 1)); step > 0; step >>= 1) {
+            int next = index + step;
+            if (next <= size && tree[next] <= k) {
+                index = next;
+                k -= tree[next];
+            }
+        }
+        return index;
+    }
+}
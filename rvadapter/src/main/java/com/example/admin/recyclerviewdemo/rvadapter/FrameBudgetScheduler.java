@@ -0,0 +1,253 @@
+package com.example.admin.recyclerviewdemo.rvadapter;
+
+import android.annotation.TargetApi;
+import android.os.Build;
+import android.os.Handler;
+import android.os.Looper;
+import android.os.MessageQueue;
+import android.view.Choreographer;
+
+/**
+ * 分阶段绑定中延后的绑定任务（BaseRvHolder.defer()）的调度：
+ * 每一帧绘制完成后执行任务，接近本帧截止时间时停止，剩下的留到下一帧或主线程空闲时；
+ * 每帧至少执行一个任务，保证快速滑动时也能完成。
+ * 任务所属的ViewHolder被重新绑定或回收后，任务不再执行；Adapter脱离RecyclerView时丢弃它的任务，不再持有其ViewHolder。
+ * 暂时离开屏幕进入缓存的ViewHolder仍执行，它可能不经重新绑定直接显示。
+ * 主线程空闲时执行到预计的下一帧开始前，而不是从空闲时起算一整帧。
+ * API 16以下没有Choreographer，按固定间隔执行。只在主线程使用。
+ */
+public final class FrameBudgetScheduler {
+    private static final long DEFAULT_FRAME_INTERVAL_NANOS = 16666667L;
+    /**
+     * 距本帧截止时间不足此值时停止，留给下一帧的输入、动画处理
+     */
+    private static final long DEFAULT_SAFETY_MARGIN_NANOS = 4000000L;
+    private static final int INITIAL_CAPACITY = 32;
+
+    private static FrameBudgetScheduler instance;
+
+    private final Handler handler = new Handler(Looper.getMainLooper());
+    private long frameIntervalNanos = DEFAULT_FRAME_INTERVAL_NANOS;
+    private long safetyMarginNanos = DEFAULT_SAFETY_MARGIN_NANOS;
+
+    /**
+     * 环形队列：任务、所属的ViewHolder、加入时ViewHolder的绑定序号
+     */
+    private Runnable[] tasks = new Runnable[INITIAL_CAPACITY];
+    private BaseRvHolder[] holders = new BaseRvHolder[INITIAL_CAPACITY];
+    private int[] generations = new int[INITIAL_CAPACITY];
+    private int head;
+    private int size;
+
+    private boolean frameScheduled;
+    private boolean idleScheduled;
+    private int pauseCount;
+    private long frameStartNanos;
+
+    private Object frameCallback;
+    private final Runnable afterFrame = new Runnable() {
+        @Override
+        public void run() {
+            runUntil(frameStartNanos + frameIntervalNanos - safetyMarginNanos);
+        }
+    };
+    private final Runnable legacyFrame = new Runnable() {
+        @Override
+        public void run() {
+            frameScheduled = false;
+            frameStartNanos = System.nanoTime();
+            afterFrame.run();
+        }
+    };
+    private final MessageQueue.IdleHandler idleHandler = new MessageQueue.IdleHandler() {
+        @Override
+        public boolean queueIdle() {
+            idleScheduled = false;
+            long now = System.nanoTime();
+            runUntil(idleDeadline(frameStartNanos, frameIntervalNanos, safetyMarginNanos, now));
+            return false;
+        }
+    };
+
+    public static FrameBudgetScheduler get() {
+        if (instance == null) {
+            instance = new FrameBudgetScheduler();
+        }
+        return instance;
+    }
+
+    private FrameBudgetScheduler() {
+    }
+
+    /**
+     * 屏幕刷新间隔，默认60Hz
+     */
+    public void setFrameIntervalNanos(long frameIntervalNanos) {
+        this.frameIntervalNanos = frameIntervalNanos;
+    }
+
+    public void setSafetyMarginNanos(long safetyMarginNanos) {
+        this.safetyMarginNanos = safetyMarginNanos;
+    }
+
+    /**
+     * 暂停执行延后的任务（任务保留），如快速滑动时。
+     * 多个列表共用一个调度器，可以嵌套调用，需与resume()成对。
+     */
+    public void pause() {
+        pauseCount++;
+    }
+
+    /**
+     * 恢复执行，所有pause()都已配对后才开始调度
+     */
+    public void resume() {
+        if (pauseCount == 0 || --pauseCount > 0) {
+            return;
+        }
+        if (size > 0) {
+            schedule();
+        }
+    }
+
+    public boolean isPaused() {
+        return pauseCount > 0;
+    }
+
+    /**
+     * 尚未执行的任务个数（含已取消但未出队的）
+     */
+    public int getPendingCount() {
+        return size;
+    }
+
+    /**
+     * 立即执行所有任务
+     */
+    public void flush() {
+        int count = pauseCount;
+        pauseCount = 0;
+        runUntil(Long.MAX_VALUE);
+        pauseCount = count;
+    }
+
+    /**
+     * 丢弃adapter绑定的ViewHolder的任务，Adapter脱离RecyclerView时调用
+     */
+    void cancel(BaseRvAdapter<?> adapter) {
+        int kept = 0;
+        for (int i = 0; i < size; i++) {
+            int index = (head + i) % tasks.length;
+            if (holders[index].getBoundAdapter() == adapter) {
+                continue;
+            }
+            int target = (head + kept) % tasks.length;
+            tasks[target] = tasks[index];
+            holders[target] = holders[index];
+            generations[target] = generations[index];
+            kept++;
+        }
+        for (int i = kept; i < size; i++) {
+            int index = (head + i) % tasks.length;
+            tasks[index] = null;
+            holders[index] = null;
+        }
+        size = kept;
+    }
+
+    /**
+     * 主线程空闲时的截止时间：距预计的下一帧开始（上一帧开始时间加整数个间隔）之前safetyMarginNanos
+     *
+     * @param frameStartNanos 上一帧的开始时间，还没有帧时为0
+     */
+    static long idleDeadline(long frameStartNanos, long frameIntervalNanos, long safetyMarginNanos, long now) {
+        long sinceFrame = frameStartNanos > 0 && now > frameStartNanos ? (now - frameStartNanos) % frameIntervalNanos : 0;
+        return now + frameIntervalNanos - sinceFrame - safetyMarginNanos;
+    }
+
+    void post(BaseRvHolder holder, Runnable task) {
+        if (size == tasks.length) {
+            grow();
+        }
+        int index = (head + size) % tasks.length;
+        tasks[index] = task;
+        holders[index] = holder;
+        generations[index] = holder.getBindGeneration();
+        size++;
+        schedule();
+    }
+
+    private void runUntil(long deadlineNanos) {
+        if (pauseCount > 0) {
+            return;
+        }
+        boolean ranOne = false;
+        while (size > 0 && (!ranOne || System.nanoTime() < deadlineNanos)) {
+            Runnable task = tasks[head];
+            BaseRvHolder holder = holders[head];
+            int generation = generations[head];
+            tasks[head] = null;
+            holders[head] = null;
+            head = (head + 1) % tasks.length;
+            size--;
+            if (holder.getBindGeneration() == generation) {
+                task.run();
+                ranOne = true;
+            }
+        }
+        if (size > 0) {
+            schedule();
+        }
+    }
+
+    private void schedule() {
+        if (pauseCount > 0) {
+            return;
+        }
+        if (!frameScheduled) {
+            frameScheduled = true;
+            if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.JELLY_BEAN) {
+                postFrameCallback();
+            } else {
+                handler.postDelayed(legacyFrame, frameIntervalNanos / 1000000);
+            }
+        }
+        if (!idleScheduled) {
+            idleScheduled = true;
+            Looper.myQueue().addIdleHandler(idleHandler);
+        }
+    }
+
+    @TargetApi(Build.VERSION_CODES.JELLY_BEAN)
+    private void postFrameCallback() {
+        if (frameCallback == null) {
+            frameCallback = new Choreographer.FrameCallback() {
+                @Override
+                public void doFrame(long frameTimeNanos) {
+                    frameScheduled = false;
+                    frameStartNanos = frameTimeNanos;
+                    //本帧的布局、绘制在此回调之后执行，发一个消息在绘制完成后再执行任务
+                    handler.post(afterFrame);
+                }
+            };
+        }
+        Choreographer.getInstance().postFrameCallback((Choreographer.FrameCallback) frameCallback);
+    }
+
+    private void grow() {
+        int capacity = tasks.length * 2;
+        Runnable[] newTasks = new Runnable[capacity];
+        BaseRvHolder[] newHolders = new BaseRvHolder[capacity];
+        int[] newGenerations = new int[capacity];
+        for (int i = 0; i < size; i++) {
+            int index = (head + i) % tasks.length;
+            newTasks[i] = tasks[index];
+            newHolders[i] = holders[index];
+            newGenerations[i] = generations[index];
+        }
+        tasks = newTasks;
+        holders = newHolders;
+        generations = newGenerations;
+        head = 0;
+    }
+}
@@ -0,0 +1,210 @@
+package com.example.admin.recyclerviewdemo.rvadapter;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.os.MessageQueue;
+import android.support.v7.widget.RecyclerView;
+import android.util.SparseBooleanArray;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * 提前创建ViewHolder放入RecycledViewPool，首屏和第一次滑动时直接从缓存池取出，不再同步inflate。
+ * 优先在后台线程创建；布局中有不能在后台线程创建的控件（如创建时需要Looper）时，
+ * 改为在主线程空闲时分片创建，每片不超过IDLE_SLICE_NANOS。
+ * 后台创建使用BackgroundLayoutInflater，不经过Activity的Factory。
+ * 缓存池已满时多出的ViewHolder被丢弃，不计入预创建的个数。
+ * 除后台创建外只在主线程使用。
+ */
+final class HolderPrewarmer {
+    /**
+     * RecycledViewPool每种布局默认缓存的个数
+     */
+    private static final int DEFAULT_MAX_SCRAP = 5;
+    /**
+     * 主线程空闲时每片最长的创建时间
+     */
+    private static final long IDLE_SLICE_NANOS = 4000000L;
+
+    /**
+     * 后台创建ViewHolder的线程，所有Adapter共用
+     */
+    private static final Executor EXECUTOR = Executors.newSingleThreadExecutor(new ThreadFactory() {
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "BaseRvAdapter-prewarm");
+            thread.setDaemon(true);
+            thread.setPriority(Thread.NORM_PRIORITY - 1);
+            return thread;
+        }
+    });
+
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+    /**
+     * cancel()后加1，之前的任务不再放入缓存池
+     */
+    private volatile int generation;
+    /**
+     * 在后台线程创建失败过的布局
+     */
+    private SparseBooleanArray mainThreadOnly = new SparseBooleanArray();
+    /**
+     * 正在主线程预创建，onCreateViewHolder()据此区分预创建和同步创建
+     */
+    private boolean creatingOnMain;
+    private int prewarmedCount;
+
+    /**
+     * 创建count个viewType的ViewHolder放入recyclerView的缓存池，需在主线程、setAdapter()之后调用
+     *
+     * @param adapter  recyclerView使用的Adapter，通过它的createViewHolder()创建，ViewHolder的viewType才与缓存池一致；
+     *                 作为CompositeRvAdapter的一段时为CompositeRvAdapter
+     * @param viewType adapter中的viewType
+     */
+    void prewarm(RecyclerView recyclerView, RecyclerView.Adapter<BaseRvHolder> adapter, int viewType, int count) {
+        if (count <= 0) {
+            return;
+        }
+        RecyclerView.RecycledViewPool pool = recyclerView.getRecycledViewPool();
+        SharedPoolManager manager = SharedPoolManager.of(pool);
+        if (manager != null) {
+            //共用的缓存池由SharedPoolManager记录容量，自动调整、收缩时一并处理
+            manager.reserve(viewType, count);
+        } else if (count > DEFAULT_MAX_SCRAP) {
+            pool.setMaxRecycledViews(viewType, count);
+        }
+        if (mainThreadOnly.get(viewType)) {
+            prewarmOnIdle(recyclerView, adapter, viewType, count, generation);
+        } else {
+            EXECUTOR.execute(new BackgroundTask(recyclerView, adapter, viewType, count, generation));
+        }
+    }
+
+    void cancel() {
+        generation++;
+    }
+
+    boolean isCreatingOnMain() {
+        return creatingOnMain;
+    }
+
+    int getPrewarmedCount() {
+        return prewarmedCount;
+    }
+
+    private void seed(RecyclerView recyclerView, BaseRvHolder holder, int taskGeneration) {
+        if (taskGeneration != generation) {
+            return;
+        }
+        holder.setPrewarmed(true);
+        if (putIfRoom(recyclerView.getRecycledViewPool(), holder)) {
+            prewarmedCount++;
+        } else {
+            holder.setPrewarmed(false);
+        }
+    }
+
+    /**
+     * 放入缓存池，该类型已满时putRecycledView()直接丢弃；
+     * 放入的在最后，取出最后一个确认是否放入，再放回
+     *
+     * @return 是否放入
+     */
+    private static boolean putIfRoom(RecyclerView.RecycledViewPool pool, BaseRvHolder holder) {
+        pool.putRecycledView(holder);
+        RecyclerView.ViewHolder last = pool.getRecycledView(holder.getItemViewType());
+        if (last != null) {
+            pool.putRecycledView(last);
+        }
+        return last == holder;
+    }
+
+    private void prewarmOnIdle(final RecyclerView recyclerView, final RecyclerView.Adapter<BaseRvHolder> adapter,
+                               final int viewType, final int count, final int taskGeneration) {
+        final MessageQueue.IdleHandler idleHandler = new MessageQueue.IdleHandler() {
+            private int remaining = count;
+
+            @Override
+            public boolean queueIdle() {
+                if (taskGeneration != generation) {
+                    return false;
+                }
+                long deadline = System.nanoTime() + IDLE_SLICE_NANOS;
+                do {
+                    creatingOnMain = true;
+                    BaseRvHolder holder;
+                    try {
+                        holder = adapter.createViewHolder(recyclerView, viewType);
+                    } finally {
+                        creatingOnMain = false;
+                    }
+                    seed(recyclerView, holder, taskGeneration);
+                    remaining--;
+                } while (remaining > 0 && System.nanoTime() < deadline);
+
+                if (remaining > 0) {
+                    //空闲回调在下一次消息处理后才会再执行，这里发一个消息等下一次空闲
+                    final MessageQueue.IdleHandler self = this;
+                    mainHandler.post(new Runnable() {
+                        @Override
+                        public void run() {
+                            Looper.myQueue().addIdleHandler(self);
+                        }
+                    });
+                }
+                return false;
+            }
+        };
+        Looper.myQueue().addIdleHandler(idleHandler);
+    }
+
+
+    private class BackgroundTask implements Runnable {
+        private final RecyclerView recyclerView;
+        private final RecyclerView.Adapter<BaseRvHolder> adapter;
+        private final int viewType;
+        private final int count;
+        private final int taskGeneration;
+
+        BackgroundTask(RecyclerView recyclerView, RecyclerView.Adapter<BaseRvHolder> adapter, int viewType, int count,
+                       int taskGeneration) {
+            this.recyclerView = recyclerView;
+            this.adapter = adapter;
+            this.viewType = viewType;
+            this.count = count;
+            this.taskGeneration = taskGeneration;
+        }
+
+        @Override
+        public void run() {
+            for (int i = 0; i < count; i++) {
+                if (taskGeneration != generation) {
+                    return;
+                }
+                final BaseRvHolder holder;
+                try {
+                    holder = adapter.createViewHolder(recyclerView, viewType);
+                } catch (RuntimeException e) {
+                    //该布局不能在后台创建，剩下的在主线程空闲时创建
+                    final int remaining = count - i;
+                    mainHandler.post(new Runnable() {
+                        @Override
+                        public void run() {
+                            mainThreadOnly.put(viewType, true);
+                            prewarmOnIdle(recyclerView, adapter, viewType, remaining, taskGeneration);
+                        }
+                    });
+                    return;
+                }
+                mainHandler.post(new Runnable() {
+                    @Override
+                    public void run() {
+                        seed(recyclerView, holder, taskGeneration);
+                    }
+                });
+            }
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.example.admin.recyclerviewdemo.rvadapter;
+
+/**
+ * 比较新旧两个集合的子项，用于计算差量刷新。
+ * 在后台线程调用，实现中不要访问View。
+ */
+public abstract class ItemDiffCallback<T> {
+
+    /**
+     * 是否同一个子项，一般比较id或key
+     *
+     * @param oldItem 旧集合中的子项
+     * @param newItem 新集合中的子项
+     * @return true表示同一个子项
+     */
+    public abstract boolean areItemsTheSame(T oldItem, T newItem);
+
+    /**
+     * 同一个子项的内容是否相同，不同时会刷新该子项
+     *
+     * @param oldItem 旧集合中的子项
+     * @param newItem 新集合中的子项
+     * @return true表示内容相同
+     */
+    public abstract boolean areContentsTheSame(T oldItem, T newItem);
+
+    /**
+     * 内容不同时，返回变化的部分，作为payload传给convert(holder, data, position, payloads)，只刷新变化的控件。
+     * 推荐返回变化字段的掩码（Integer），BaseRvHolder.isFieldDirty()可据此判断。
+     *
+     * @param oldItem 旧集合中的子项
+     * @param newItem 新集合中的子项
+     * @return payload，null表示整项刷新
+     */
+    public Object getChangePayload(T oldItem, T newItem) {
+        return null;
+    }
+
+}
@@ -0,0 +1,16 @@
+package com.example.admin.recyclerviewdemo.rvadapter;
+
+/**
+ * 子项的key提取器：key作为RecyclerView的stable id，同一子项在增删、刷新前后必须返回相同的key
+ */
+public interface ItemKeyProvider<T> {
+
+    /**
+     * 取得子项的key
+     *
+     * @param item 子项
+     * @return 唯一且不变的key
+     */
+    long getItemKey(T item);
+
+}
@@ -0,0 +1,33 @@
+package com.example.admin.recyclerviewdemo.rvadapter;
+
+/**
+ * 多布局的子项委托：一种布局对应一个委托，负责判断子项是否属于该布局并填充数据
+ */
+public interface ItemViewDelegate<T> {
+
+    /**
+     * 布局id，同时作为该委托的viewType，相同布局的子项可以在RecycledViewPool中复用
+     *
+     * @return 布局id
+     */
+    int getItemLayoutId();
+
+    /**
+     * 判断子项是否使用该委托
+     *
+     * @param item     子项
+     * @param position 位置
+     * @return true表示使用该委托
+     */
+    boolean isForViewType(T item, int position);
+
+    /**
+     * 填充数据
+     *
+     * @param holder   ViewHolder
+     * @param data     子项
+     * @param position 位置
+     */
+    void convert(BaseRvHolder holder, T data, int position);
+
+}
@@ -0,0 +1,85 @@
+package com.example.admin.recyclerviewdemo.rvadapter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 委托的注册表：
+ * viewType直接使用布局id，同一布局的子项共用一个viewType，RecycledViewPool才能跨行复用ViewHolder。
+ * 按注册顺序匹配，先注册的委托优先。
+ */
+public class ItemViewDelegateManager<T> {
+    /**
+     * 已注册的委托
+     */
+    private List<ItemViewDelegate<T>> delegates = new ArrayList<>();
+
+
+    /**
+     * 注册委托
+     *
+     * @param delegate 委托
+     * @return 该委托的viewType，即布局id
+     */
+    public int addDelegate(ItemViewDelegate<T> delegate) {
+        if (delegate == null) {
+            throw new IllegalArgumentException("ItemViewDelegate不能为null");
+        }
+        delegates.add(delegate);
+        return delegate.getItemLayoutId();
+    }
+
+    /**
+     * 注销委托
+     *
+     * @param delegate 委托
+     */
+    public void removeDelegate(ItemViewDelegate<T> delegate) {
+        delegates.remove(delegate);
+    }
+
+    public int getDelegateCount() {
+        return delegates.size();
+    }
+
+    /**
+     * 取得子项对应的委托，只注册了一个委托时也检查isForViewType()
+     *
+     * @param item     子项
+     * @param position 位置
+     * @return 委托
+     * @throws IllegalArgumentException 没有匹配的委托
+     */
+    public ItemViewDelegate<T> getDelegate(T item, int position) {
+        int count = delegates.size();
+        for (int i = 0; i < count; i++) {
+            ItemViewDelegate<T> delegate = delegates.get(i);
+            if (delegate.isForViewType(item, position)) {
+                return delegate;
+            }
+        }
+        throw new IllegalArgumentException("没有与position=" + position + "的子项匹配的ItemViewDelegate");
+    }
+
+    /**
+     * 取得子项的viewType
+     *
+     * @param item     子项
+     * @param position 位置
+     * @return viewType，即布局id
+     */
+    public int getItemViewType(T item, int position) {
+        return getDelegate(item, position).getItemLayoutId();
+    }
+
+    /**
+     * 取得viewType对应的布局id
+     *
+     * @param viewType viewType
+     * @return 布局id
+     */
+    public int getItemLayoutId(int viewType) {
+        return viewType;
+    }
+
+}
@@ -0,0 +1,359 @@
+package com.example.admin.recyclerviewdemo.rvadapter;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 计算两个集合的最小差量：
+ * 1、先去掉相同的头部、尾部，再用Myers差分算法（线性空间）求最长公共子序列；
+ * 2、未匹配的新旧子项中是同一个子项的，记为移动；
+ * 3、按删除、移动、插入、修改的顺序输出操作，连续的删除、插入、修改合并为区间。
+ * 计算量较大，应在后台线程调用。
+ */
+public class ListDiffer {
+
+    private ListDiffer() {
+    }
+
+    /**
+     * 计算差量
+     *
+     * @param oldList  旧集合，计算期间不能被修改
+     * @param newList  新集合，计算期间不能被修改
+     * @param callback 比较子项
+     * @return 差量结果
+     */
+    public static <T> DiffResult calculateDiff(List<T> oldList, List<T> newList, ItemDiffCallback<T> callback) {
+        Matcher<T> matcher = new Matcher<>(oldList, newList, callback);
+        matcher.matchCommonSubsequence();
+        matcher.matchMoves();
+        return matcher.buildResult();
+    }
+
+
+    private static class Matcher<T> {
+        private List<T> oldList;
+        private List<T> newList;
+        private ItemDiffCallback<T> callback;
+        /**
+         * 旧位置对应的新位置，-1表示未匹配
+         */
+        private int[] oldToNew;
+        /**
+         * 新位置对应的旧位置，-1表示未匹配
+         */
+        private int[] newToOld;
+        /**
+         * 匹配是否为移动
+         */
+        private boolean[] newMoved;
+
+        private int[] forward;
+        private int[] backward;
+        private int offset;
+
+        Matcher(List<T> oldList, List<T> newList, ItemDiffCallback<T> callback) {
+            this.oldList = oldList;
+            this.newList = newList;
+            this.callback = callback;
+            oldToNew = new int[oldList.size()];
+            newToOld = new int[newList.size()];
+            newMoved = new boolean[newList.size()];
+            Arrays.fill(oldToNew, -1);
+            Arrays.fill(newToOld, -1);
+        }
+
+        private boolean same(int oldPosition, int newPosition) {
+            return callback.areItemsTheSame(oldList.get(oldPosition), newList.get(newPosition));
+        }
+
+        private void link(int oldPosition, int newPosition) {
+            oldToNew[oldPosition] = newPosition;
+            newToOld[newPosition] = oldPosition;
+        }
+
+        void matchCommonSubsequence() {
+            int oldStart = 0;
+            int newStart = 0;
+            int oldEnd = oldList.size();
+            int newEnd = newList.size();
+            //相同的头部
+            while (oldStart < oldEnd && newStart < newEnd && same(oldStart, newStart)) {
+                link(oldStart++, newStart++);
+            }
+            //相同的尾部
+            while (oldEnd > oldStart && newEnd > newStart && same(oldEnd - 1, newEnd - 1)) {
+                link(--oldEnd, --newEnd);
+            }
+
+            int max = (oldEnd - oldStart) + (newEnd - newStart);
+            if (max == 0) {
+                return;
+            }
+            offset = max + 1;
+            forward = new int[2 * max + 3];
+            backward = new int[2 * max + 3];
+
+            //用栈代替递归，避免长集合时栈溢出
+            int[] stack = new int[16];
+            int top = 0;
+            stack[top++] = oldStart;
+            stack[top++] = oldEnd;
+            stack[top++] = newStart;
+            stack[top++] = newEnd;
+            int[] snake = new int[5];
+            while (top > 0) {
+                int n1 = stack[--top];
+                int n0 = stack[--top];
+                int o1 = stack[--top];
+                int o0 = stack[--top];
+                if (o1 <= o0 || n1 <= n0) {
+                    continue;
+                }
+                middleSnake(o0, o1, n0, n1, snake);
+                int d = snake[4];
+                if (d <= 1) {
+                    matchTrivial(o0, o1, n0, n1);
+                    continue;
+                }
+                for (int x = snake[0], y = snake[1]; x < snake[2]; x++, y++) {
+                    link(x, y);
+                }
+                if (top + 8 > stack.length) {
+                    stack = Arrays.copyOf(stack, stack.length * 2);
+                }
+                stack[top++] = o0;
+                stack[top++] = snake[0];
+                stack[top++] = n0;
+                stack[top++] = snake[1];
+                stack[top++] = snake[2];
+                stack[top++] = o1;
+                stack[top++] = snake[3];
+                stack[top++] = n1;
+            }
+        }
+
+        /**
+         * 编辑距离为0或1的区间：较短的一边是较长一边去掉一个子项
+         */
+        private void matchTrivial(int o0, int o1, int n0, int n1) {
+            int oldSize = o1 - o0;
+            int newSize = n1 - n0;
+            int common = Math.min(oldSize, newSize);
+            int i = 0;
+            while (i < common && same(o0 + i, n0 + i)) {
+                link(o0 + i, n0 + i);
+                i++;
+            }
+            if (oldSize > newSize) {
+                for (; i < common; i++) {
+                    link(o0 + i + 1, n0 + i);
+                }
+            } else if (newSize > oldSize) {
+                for (; i < common; i++) {
+                    link(o0 + i, n0 + i + 1);
+                }
+            }
+        }
+
+        /**
+         * 求中间蛇：out依次为起点x、起点y、终点x、终点y（绝对位置）和该区间的编辑距离
+         */
+        private void middleSnake(int o0, int o1, int n0, int n1, int[] out) {
+            int n = o1 - o0;
+            int m = n1 - n0;
+            int delta = n - m;
+            boolean odd = (delta & 1) != 0;
+            int maxD = (n + m + 1) / 2;
+            forward[offset + 1] = 0;
+            backward[offset + 1] = 0;
+            for (int d = 0; d <= maxD; d++) {
+                for (int k = -d; k <= d; k += 2) {
+                    int x;
+                    if (k == -d || (k != d && forward[offset + k - 1] < forward[offset + k + 1])) {
+                        x = forward[offset + k + 1];
+                    } else {
+                        x = forward[offset + k - 1] + 1;
+                    }
+                    int y = x - k;
+                    int startX = x;
+                    int startY = y;
+                    while (x < n && y < m && same(o0 + x, n0 + y)) {
+                        x++;
+                        y++;
+                    }
+                    forward[offset + k] = x;
+                    int reverseK = delta - k;
+                    if (odd && reverseK >= -(d - 1) && reverseK <= d - 1 && x + backward[offset + reverseK] >= n) {
+                        out[0] = o0 + startX;
+                        out[1] = n0 + startY;
+                        out[2] = o0 + x;
+                        out[3] = n0 + y;
+                        out[4] = 2 * d - 1;
+                        return;
+                    }
+                }
+                for (int k = -d; k <= d; k += 2) {
+                    int x;
+                    if (k == -d || (k != d && backward[offset + k - 1] < backward[offset + k + 1])) {
+                        x = backward[offset + k + 1];
+                    } else {
+                        x = backward[offset + k - 1] + 1;
+                    }
+                    int y = x - k;
+                    int startX = x;
+                    int startY = y;
+                    while (x < n && y < m && same(o1 - 1 - x, n1 - 1 - y)) {
+                        x++;
+                        y++;
+                    }
+                    backward[offset + k] = x;
+                    int forwardK = delta - k;
+                    if (!odd && forwardK >= -d && forwardK <= d && forward[offset + forwardK] + x >= n) {
+                        out[0] = o1 - x;
+                        out[1] = n1 - y;
+                        out[2] = o1 - startX;
+                        out[3] = n1 - startY;
+                        out[4] = 2 * d;
+                        return;
+                    }
+                }
+            }
+            throw new IllegalStateException("ListDiffer: 未找到中间蛇");
+        }
+
+        /**
+         * 未匹配的新旧子项中是同一个子项的，记为移动
+         */
+        void matchMoves() {
+            int[] unmatchedOld = new int[oldToNew.length];
+            int unmatchedCount = 0;
+            for (int i = 0; i < oldToNew.length; i++) {
+                if (oldToNew[i] == -1) {
+                    unmatchedOld[unmatchedCount++] = i;
+                }
+            }
+            if (unmatchedCount == 0) {
+                return;
+            }
+            for (int j = 0; j < newToOld.length && unmatchedCount > 0; j++) {
+                if (newToOld[j] != -1) {
+                    continue;
+                }
+                for (int u = 0; u < unmatchedCount; u++) {
+                    int i = unmatchedOld[u];
+                    if (same(i, j)) {
+                        link(i, j);
+                        newMoved[j] = true;
+                        unmatchedOld[u] = unmatchedOld[--unmatchedCount];
+                        break;
+                    }
+                }
+            }
+        }
+
+        DiffResult buildResult() {
+            DiffResult result = new DiffResult();
+            int oldSize = oldToNew.length;
+            int newSize = newToOld.length;
+
+            //1、删除：从后往前，前面的位置不受影响
+            int removeEnd = -1;
+            for (int i = oldSize - 1; i >= -1; i--) {
+                boolean removed = i >= 0 && oldToNew[i] == -1;
+                if (removed && removeEnd == -1) {
+                    removeEnd = i;
+                } else if (!removed && removeEnd != -1) {
+                    result.add(DiffResult.OP_REMOVE, i + 1, removeEnd - i);
+                    removeEnd = -1;
+                }
+            }
+
+            //2、移动：剩下的子项中，把移动的子项依次放到新集合中前一个已就位子项的后面
+            int[] current = new int[oldSize];
+            int currentSize = 0;
+            for (int i = 0; i < oldSize; i++) {
+                if (oldToNew[i] != -1) {
+                    current[currentSize++] = i;
+                }
+            }
+            boolean[] placed = new boolean[newSize];
+            for (int j = 0; j < newSize; j++) {
+                placed[j] = newToOld[j] != -1 && !newMoved[j];
+            }
+            for (int j = 0; j < newSize; j++) {
+                if (!newMoved[j]) {
+                    continue;
+                }
+                int from = indexOf(current, currentSize, newToOld[j]);
+                System.arraycopy(current, from + 1, current, from, currentSize - from - 1);
+                currentSize--;
+                int to = 0;
+                for (int p = j - 1; p >= 0; p--) {
+                    if (placed[p]) {
+                        to = indexOf(current, currentSize, newToOld[p]) + 1;
+                        break;
+                    }
+                }
+                System.arraycopy(current, to, current, to + 1, currentSize - to);
+                current[to] = newToOld[j];
+                currentSize++;
+                placed[j] = true;
+                if (from != to) {
+                    result.add(DiffResult.OP_MOVE, from, to);
+                }
+            }
+
+            //3、插入：从前往后，此时前面的子项已与新集合一致
+            int insertStart = -1;
+            for (int j = 0; j <= newSize; j++) {
+                boolean inserted = j < newSize && newToOld[j] == -1;
+                if (inserted && insertStart == -1) {
+                    insertStart = j;
+                } else if (!inserted && insertStart != -1) {
+                    result.add(DiffResult.OP_INSERT, insertStart, j - insertStart);
+                    insertStart = -1;
+                }
+            }
+
+            //4、修改：位置已是新集合中的位置，payload相同的连续修改合并为区间
+            int changeStart = -1;
+            Object changePayload = null;
+            for (int j = 0; j <= newSize; j++) {
+                boolean changed = false;
+                Object payload = null;
+                if (j < newSize && newToOld[j] != -1) {
+                    T oldItem = oldList.get(newToOld[j]);
+                    T newItem = newList.get(j);
+                    if (!callback.areContentsTheSame(oldItem, newItem)) {
+                        changed = true;
+                        payload = callback.getChangePayload(oldItem, newItem);
+                    }
+                }
+                if (changeStart != -1 && (!changed || !samePayload(changePayload, payload))) {
+                    result.add(DiffResult.OP_CHANGE, changeStart, j - changeStart, changePayload);
+                    changeStart = -1;
+                }
+                if (changed && changeStart == -1) {
+                    changeStart = j;
+                    changePayload = payload;
+                }
+            }
+            return result;
+        }
+
+        private static boolean samePayload(Object a, Object b) {
+            return a == null ? b == null : a.equals(b);
+        }
+
+        private static int indexOf(int[] array, int size, int value) {
+            for (int i = 0; i < size; i++) {
+                if (array[i] == value) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+    }
+
+}
@@ -0,0 +1,16 @@
+package com.example.admin.recyclerviewdemo.rvadapter;
+
+/**
+ * 集合的增、删、移动、修改回调，position为回调时集合中的位置
+ */
+public interface ListUpdateCallback {
+
+    void onInserted(int position, int count);
+
+    void onRemoved(int position, int count);
+
+    void onMoved(int fromPosition, int toPosition);
+
+    void onChanged(int position, int count, Object payload);
+
+}
@@ -0,0 +1,162 @@
+package com.example.admin.recyclerviewdemo.rvadapter;
+
+import java.util.Arrays;
+
+/**
+ * key为long、value为int的哈希表（开放寻址）：
+ * HashMap<Long, Integer>每次查找都要装箱，LongSparseArray是二分查找，
+ * 这里O(1)查找且不装箱，用于key到position的索引。
+ */
+public class LongIntHashMap {
+    /**
+     * 查找不到时的返回值
+     */
+    private int missingValue;
+
+    private long[] keys;
+    private int[] values;
+    private boolean[] used;
+    private int size;
+    private int mask;
+
+
+    public LongIntHashMap(int initialCapacity, int missingValue) {
+        this.missingValue = missingValue;
+        int capacity = 8;
+        while (capacity < initialCapacity * 2) {
+            capacity <<= 1;
+        }
+        allocate(capacity);
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        values = new int[capacity];
+        used = new boolean[capacity];
+        mask = capacity - 1;
+        size = 0;
+    }
+
+    private static int hash(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    /**
+     * 取值
+     *
+     * @param key key
+     * @return 对应的值，没有时返回missingValue
+     */
+    public int get(long key) {
+        int index = hash(key) & mask;
+        while (used[index]) {
+            if (keys[index] == key) {
+                return values[index];
+            }
+            index = (index + 1) & mask;
+        }
+        return missingValue;
+    }
+
+    /**
+     * 存值，key已存在时覆盖
+     */
+    public void put(long key, int value) {
+        if ((size + 1) * 2 > keys.length) {
+            rehash(keys.length * 2);
+        }
+        int index = hash(key) & mask;
+        while (used[index]) {
+            if (keys[index] == key) {
+                values[index] = value;
+                return;
+            }
+            index = (index + 1) & mask;
+        }
+        used[index] = true;
+        keys[index] = key;
+        values[index] = value;
+        size++;
+    }
+
+    /**
+     * key不存在时才存值
+     *
+     * @return true表示存入
+     */
+    public boolean putIfAbsent(long key, int value) {
+        if (contains(key)) {
+            return false;
+        }
+        put(key, value);
+        return true;
+    }
+
+    public boolean contains(long key) {
+        int index = hash(key) & mask;
+        while (used[index]) {
+            if (keys[index] == key) {
+                return true;
+            }
+            index = (index + 1) & mask;
+        }
+        return false;
+    }
+
+    /**
+     * 删除，后面同一探测链上的项前移填补空位
+     *
+     * @return true表示存在并已删除
+     */
+    public boolean remove(long key) {
+        int index = hash(key) & mask;
+        while (used[index]) {
+            if (keys[index] == key) {
+                used[index] = false;
+                size--;
+                int next = (index + 1) & mask;
+                while (used[next]) {
+                    int home = hash(keys[next]) & mask;
+                    //home不在(index, next]之间时，next可以移到空位index
+                    if (((next - home) & mask) >= ((next - index) & mask)) {
+                        keys[index] = keys[next];
+                        values[index] = values[next];
+                        used[index] = true;
+                        used[next] = false;
+                        index = next;
+                    }
+                    next = (next + 1) & mask;
+                }
+                return true;
+            }
+            index = (index + 1) & mask;
+        }
+        return false;
+    }
+
+    private void rehash(int capacity) {
+        long[] oldKeys = keys;
+        int[] oldValues = values;
+        boolean[] oldUsed = used;
+        allocate(capacity);
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldUsed[i]) {
+                put(oldKeys[i], oldValues[i]);
+            }
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * 清空，保留容量以便复用
+     */
+    public void clear() {
+        Arrays.fill(used, false);
+        size = 0;
+    }
+
+}
@@ -0,0 +1,181 @@
+package com.example.admin.recyclerviewdemo.rvadapter;
+
+import java.util.Arrays;
+
+/**
+ * long的集合，按连续区间压缩保存（按起点排序、互不相邻的闭区间）：
+ * 连续选中的一段无论多长只占一个区间，零散的key每个占一个区间。
+ * contains()为二分查找，添加、删除区间时合并或拆分相邻的区间。
+ */
+final class LongRangeSet {
+    private long[] firsts = new long[8];
+    private long[] lasts = new long[8];
+    private int count;
+    private long size;
+
+
+    /**
+     * 元素个数
+     */
+    long size() {
+        return size;
+    }
+
+    /**
+     * 区间个数
+     */
+    int rangeCount() {
+        return count;
+    }
+
+    boolean contains(long value) {
+        int index = lastStartingAtOrBefore(value);
+        return index >= 0 && value <= lasts[index];
+    }
+
+    /**
+     * 添加闭区间[first, last]
+     */
+    void add(long first, long last) {
+        if (first > last) {
+            return;
+        }
+        //与前后相邻（差1）的区间也合并
+        long threshold = first == Long.MIN_VALUE ? first : first - 1;
+        int from = firstEndingAtOrAfter(threshold);
+        int to = from;
+        long newFirst = first;
+        long newLast = last;
+        while (to < count && (last == Long.MAX_VALUE || firsts[to] <= last + 1)) {
+            newFirst = Math.min(newFirst, firsts[to]);
+            newLast = Math.max(newLast, lasts[to]);
+            size -= lasts[to] - firsts[to] + 1;
+            to++;
+        }
+        size += newLast - newFirst + 1;
+        splice(from, to, 1, newFirst, newLast, 0, 0);
+    }
+
+    /**
+     * 删除闭区间[first, last]
+     */
+    void remove(long first, long last) {
+        if (first > last) {
+            return;
+        }
+        int from = firstEndingAtOrAfter(first);
+        int to = from;
+        while (to < count && firsts[to] <= last) {
+            size -= lasts[to] - firsts[to] + 1;
+            to++;
+        }
+        if (to == from) {
+            return;
+        }
+        //两端被部分覆盖的区间保留剩下的部分
+        int pieces = 0;
+        long first1 = 0;
+        long last1 = 0;
+        long first2 = 0;
+        long last2 = 0;
+        if (firsts[from] < first) {
+            first1 = firsts[from];
+            last1 = first - 1;
+            pieces++;
+        }
+        if (lasts[to - 1] > last) {
+            if (pieces == 0) {
+                first1 = last + 1;
+                last1 = lasts[to - 1];
+            } else {
+                first2 = last + 1;
+                last2 = lasts[to - 1];
+            }
+            pieces++;
+        }
+        if (pieces > 0) {
+            size += last1 - first1 + 1;
+        }
+        if (pieces > 1) {
+            size += last2 - first2 + 1;
+        }
+        splice(from, to, pieces, first1, last1, first2, last2);
+    }
+
+    /**
+     * [first, last]中的元素个数
+     */
+    long countInRange(long first, long last) {
+        if (first > last) {
+            return 0;
+        }
+        long total = 0;
+        for (int i = firstEndingAtOrAfter(first); i < count && firsts[i] <= last; i++) {
+            total += Math.min(lasts[i], last) - Math.max(firsts[i], first) + 1;
+        }
+        return total;
+    }
+
+    void clear() {
+        count = 0;
+        size = 0;
+    }
+
+    /**
+     * 用pieces（0~2）个区间替换[from, to)的区间
+     */
+    private void splice(int from, int to, int pieces, long first1, long last1, long first2, long last2) {
+        int newCount = count - (to - from) + pieces;
+        if (newCount > firsts.length) {
+            int capacity = Math.max(newCount, firsts.length * 2);
+            firsts = Arrays.copyOf(firsts, capacity);
+            lasts = Arrays.copyOf(lasts, capacity);
+        }
+        int tail = count - to;
+        System.arraycopy(firsts, to, firsts, from + pieces, tail);
+        System.arraycopy(lasts, to, lasts, from + pieces, tail);
+        if (pieces > 0) {
+            firsts[from] = first1;
+            lasts[from] = last1;
+        }
+        if (pieces > 1) {
+            firsts[from + 1] = first2;
+            lasts[from + 1] = last2;
+        }
+        count = newCount;
+    }
+
+    /**
+     * 起点不大于value的最后一个区间，没有时返回-1
+     */
+    private int lastStartingAtOrBefore(long value) {
+        int low = 0;
+        int high = count - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (firsts[mid] <= value) {
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return high;
+    }
+
+    /**
+     * 终点不小于value的第一个区间，没有时返回count
+     */
+    private int firstEndingAtOrAfter(long value) {
+        int low = 0;
+        int high = count - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (lasts[mid] < value) {
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return low;
+    }
+}
@@ -0,0 +1,355 @@
+package com.example.admin.recyclerviewdemo.rvadapter;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.RandomAccess;
+
+/**
+ * 基于内存映射文件的只读列表，用于日志、导出文件等大文件：
+ * 1、打开时不映射也不读取内容，文件再大也立即打开；
+ *    文件按64MB分段，访问时才映射该段，最多同时保留MAX_MAPPED_SEGMENTS段，32位设备上不会耗尽地址空间；
+ * 2、按分隔符（默认换行）切分记录，每STRIDE条记录保存一个偏移量，索引很小；
+ * 3、get()时才解码该记录，解码结果保存在有限大小的LRU缓存中。
+ * 堆内存只与索引和缓存大小有关，与文件大小无关。
+ * <p>
+ * 索引可分段建立：scanChunk()在后台线程扫描，publish()在主线程发布，size()随之增加。
+ * 除scanChunk()外，所有方法只能在主线程调用。
+ */
+public class MappedFileItemList<T> extends AbstractList<T> implements RandomAccess, Closeable {
+    /**
+     * 每STRIDE条记录保存一个偏移量
+     */
+    private static final int STRIDE = 16;
+    /**
+     * 单个映射段的大小为64MB
+     */
+    private static final int DEFAULT_SEGMENT_SHIFT = 26;
+    /**
+     * 同时映射的段数，其余的段不再引用，由GC解除映射
+     */
+    static final int MAX_MAPPED_SEGMENTS = 4;
+
+    private final int segmentShift;
+    private final long segmentSize;
+    private RandomAccessFile file;
+    private FileChannel channel;
+    private long length;
+    /**
+     * 已映射的段，未映射时为null；扫描线程和主线程都会访问，通过segment()同步
+     */
+    private MappedByteBuffer[] segments;
+    /**
+     * 已映射的段号，按最近使用排序，最后一个为最近使用
+     */
+    private int[] mappedOrder = new int[MAX_MAPPED_SEGMENTS];
+    private int mappedCount;
+    private byte delimiter;
+    private RecordDecoder<T> decoder;
+    private LinkedHashMap<Integer, T> cache;
+
+    /**
+     * 已发布的记录数和稀疏索引
+     */
+    private int recordCount;
+    private long[] sparseOffsets = new long[64];
+
+    /**
+     * 扫描状态，只在扫描线程中访问
+     */
+    private long scanPosition;
+    private int scanRecordCount;
+    private boolean scanAtRecordStart = true;
+
+
+    /**
+     * 按换行切分记录
+     */
+    public MappedFileItemList(File source, RecordDecoder<T> decoder, int cacheSize) throws IOException {
+        this(source, (byte) '\n', decoder, cacheSize);
+    }
+
+    /**
+     * @param source    文件
+     * @param delimiter 记录的分隔符
+     * @param decoder   解码器
+     * @param cacheSize 缓存解码结果的条数
+     * @throws IOException 打开失败
+     */
+    public MappedFileItemList(File source, byte delimiter, RecordDecoder<T> decoder, int cacheSize)
+            throws IOException {
+        this(source, delimiter, decoder, cacheSize, DEFAULT_SEGMENT_SHIFT);
+    }
+
+    /**
+     * @param segmentShift 映射段的大小为2的segmentShift次方，测试时用较小的段
+     */
+    MappedFileItemList(File source, byte delimiter, RecordDecoder<T> decoder, final int cacheSize, int segmentShift)
+            throws IOException {
+        this.segmentShift = segmentShift;
+        this.segmentSize = 1L << segmentShift;
+        this.delimiter = delimiter;
+        this.decoder = decoder;
+        this.cache = new LinkedHashMap<Integer, T>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, T> eldest) {
+                return size() > cacheSize;
+            }
+        };
+
+        file = new RandomAccessFile(source, "r");
+        try {
+            channel = file.getChannel();
+            length = channel.size();
+        } catch (IOException e) {
+            file.close();
+            throw e;
+        }
+        segments = new MappedByteBuffer[(int) ((length + segmentSize - 1) >>> segmentShift)];
+    }
+
+    /**
+     * 取得第index段，未映射时映射，超过MAX_MAPPED_SEGMENTS段时丢弃最久未用的段。
+     * 丢弃的段在调用方不再引用后由GC解除映射，已取出的ByteBuffer仍然有效。
+     */
+    private synchronized MappedByteBuffer segment(int index) {
+        MappedByteBuffer buffer = segments[index];
+        int order = -1;
+        for (int i = 0; i < mappedCount; i++) {
+            if (mappedOrder[i] == index) {
+                order = i;
+                break;
+            }
+        }
+        if (buffer == null) {
+            if (mappedCount == MAX_MAPPED_SEGMENTS) {
+                segments[mappedOrder[0]] = null;
+                order = 0;
+            } else {
+                order = mappedCount++;
+            }
+            long start = (long) index << segmentShift;
+            try {
+                buffer = channel.map(FileChannel.MapMode.READ_ONLY, start, Math.min(segmentSize, length - start));
+            } catch (IOException e) {
+                throw new IllegalStateException("映射文件失败：" + e.getMessage(), e);
+            }
+            segments[index] = buffer;
+        }
+        //移到最后
+        System.arraycopy(mappedOrder, order + 1, mappedOrder, order, mappedCount - order - 1);
+        mappedOrder[mappedCount - 1] = index;
+        return buffer;
+    }
+
+    /**
+     * 当前已映射的段数
+     */
+    synchronized int getMappedSegmentCount() {
+        return mappedCount;
+    }
+
+    /**
+     * 扫描一段文件，找出其中记录的起点，可在后台线程调用，同一时间只能有一个线程扫描
+     *
+     * @param maxBytes 本次最多扫描的字节数
+     * @return 扫描结果，交给publish()发布；已扫描完时返回null
+     */
+    public IndexChunk scanChunk(long maxBytes) {
+        if (scanPosition >= length) {
+            return null;
+        }
+        long end = Math.min(length, scanPosition + maxBytes);
+        IndexChunk chunk = new IndexChunk(scanRecordCount);
+        Reader reader = new Reader();
+        for (long position = scanPosition; position < end; position++) {
+            if (scanAtRecordStart) {
+                if (scanRecordCount % STRIDE == 0) {
+                    chunk.addOffset(position);
+                }
+                scanRecordCount++;
+                scanAtRecordStart = false;
+            }
+            if (reader.byteAt(position) == delimiter) {
+                scanAtRecordStart = true;
+            }
+        }
+        scanPosition = end;
+        chunk.endRecordCount = scanRecordCount;
+        chunk.finished = scanPosition >= length;
+        return chunk;
+    }
+
+    /**
+     * 发布扫描结果，在主线程调用，之后size()增加
+     *
+     * @param chunk scanChunk()的结果，须按扫描顺序发布
+     * @return 新增的记录数
+     */
+    public int publish(IndexChunk chunk) {
+        if (chunk == null || chunk.startRecordCount != recordCount) {
+            throw new IllegalStateException("须按扫描顺序发布");
+        }
+        int sparseCount = (recordCount + STRIDE - 1) / STRIDE;
+        int needed = sparseCount + chunk.offsetCount;
+        if (needed > sparseOffsets.length) {
+            sparseOffsets = Arrays.copyOf(sparseOffsets, Math.max(needed, sparseOffsets.length * 2));
+        }
+        System.arraycopy(chunk.offsets, 0, sparseOffsets, sparseCount, chunk.offsetCount);
+        int added = chunk.endRecordCount - recordCount;
+        recordCount = chunk.endRecordCount;
+        return added;
+    }
+
+    /**
+     * 在当前线程扫描并发布整个文件，适合小文件
+     */
+    public void indexAll() {
+        IndexChunk chunk;
+        while ((chunk = scanChunk(Long.MAX_VALUE)) != null) {
+            publish(chunk);
+        }
+    }
+
+    /**
+     * 已发布的记录数
+     */
+    @Override
+    public int size() {
+        return recordCount;
+    }
+
+    @Override
+    public T get(int index) {
+        if (index < 0 || index >= recordCount) {
+            throw new IndexOutOfBoundsException("index=" + index + "，size=" + recordCount);
+        }
+        T item = cache.get(index);
+        if (item == null) {
+            item = decode(index);
+            if (item != null) {
+                cache.put(index, item);
+            }
+        }
+        return item;
+    }
+
+    private T decode(int index) {
+        //从最近的索引点往后数分隔符
+        Reader reader = new Reader();
+        long start = sparseOffsets[index / STRIDE];
+        for (int skip = index % STRIDE; skip > 0; skip--) {
+            while (reader.byteAt(start) != delimiter) {
+                start++;
+            }
+            start++;
+        }
+        long end = start;
+        while (end < length && reader.byteAt(end) != delimiter) {
+            end++;
+        }
+        return decoder.decode(recordBuffer(reader, start, end));
+    }
+
+    private ByteBuffer recordBuffer(Reader reader, long start, long end) {
+        if (end <= start) {
+            return ByteBuffer.allocate(0);
+        }
+        int startSegment = (int) (start >>> segmentShift);
+        int endSegment = (int) ((end - 1) >>> segmentShift);
+        if (startSegment == endSegment) {
+            ByteBuffer buffer = segment(startSegment).duplicate();
+            int offset = (int) (start & (segmentSize - 1));
+            buffer.limit(offset + (int) (end - start));
+            buffer.position(offset);
+            return buffer.slice();
+        }
+        //记录跨越映射段，复制出来
+        byte[] bytes = new byte[(int) (end - start)];
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = reader.byteAt(start + i);
+        }
+        return ByteBuffer.wrap(bytes);
+    }
+
+    /**
+     * 清空解码缓存，如内存不足时
+     */
+    public void trimCache() {
+        cache.clear();
+    }
+
+    /**
+     * 关闭文件。映射的内存在被GC回收前不会释放，关闭后不要再访问
+     */
+    @Override
+    public void close() throws IOException {
+        cache.clear();
+        synchronized (this) {
+            Arrays.fill(segments, null);
+            mappedCount = 0;
+        }
+        file.close();
+    }
+
+    public boolean isClosed() {
+        return !channel.isOpen();
+    }
+
+
+    /**
+     * 顺序读取字节，只在跨段时取一次映射段，不必每个字节都同步
+     */
+    private final class Reader {
+        private int segmentIndex = -1;
+        private MappedByteBuffer buffer;
+
+        byte byteAt(long position) {
+            int index = (int) (position >>> segmentShift);
+            if (index != segmentIndex) {
+                buffer = segment(index);
+                segmentIndex = index;
+            }
+            return buffer.get((int) (position & (segmentSize - 1)));
+        }
+    }
+
+
+    /**
+     * 一段扫描结果
+     */
+    public static final class IndexChunk {
+        private final int startRecordCount;
+        private int endRecordCount;
+        private long[] offsets = new long[16];
+        private int offsetCount;
+        private boolean finished;
+
+        private IndexChunk(int startRecordCount) {
+            this.startRecordCount = startRecordCount;
+        }
+
+        private void addOffset(long offset) {
+            if (offsetCount == offsets.length) {
+                offsets = Arrays.copyOf(offsets, offsetCount * 2);
+            }
+            offsets[offsetCount++] = offset;
+        }
+
+        /**
+         * 是否已扫描到文件末尾
+         */
+        public boolean isFinished() {
+            return finished;
+        }
+    }
+
+}
@@ -0,0 +1,141 @@
+package com.example.admin.recyclerviewdemo.rvadapter;
+
+import android.content.Context;
+import android.os.Handler;
+import android.os.Looper;
+
+import java.io.IOException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * 绑定MappedFileItemList的Adapter：
+ * startIndexing()在后台分段建立索引，每段完成后在主线程notifyItemRangeInserted()，
+ * 打开大文件后第一屏马上可以显示。
+ * 数据源只读，addItem()、edit()等修改方法抛出UnsupportedOperationException。
+ * 文件不会自动关闭（脱离RecyclerView后可能再次使用，如ViewPager中的页面），页面销毁时调用close()。
+ */
+public abstract class MappedFileRvAdapter<T> extends BaseRvAdapter<T> {
+    /**
+     * 每段扫描的字节数
+     */
+    private static final long CHUNK_BYTES = 4L * 1024 * 1024;
+
+    private static final Executor INDEX_EXECUTOR = Executors.newSingleThreadExecutor(new ThreadFactory() {
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "MappedFileRvAdapter-index");
+            thread.setDaemon(true);
+            thread.setPriority(Thread.MIN_PRIORITY);
+            return thread;
+        }
+    });
+
+    private MappedFileItemList<T> items;
+    private Handler mainHandler = new Handler(Looper.getMainLooper());
+    private boolean indexing;
+    private boolean closed;
+    /**
+     * 每次startIndexing()加一，后台任务发现与自己的不同时停止
+     */
+    private volatile int indexGeneration;
+
+
+    public MappedFileRvAdapter(Context context, MappedFileItemList<T> items, int itemLayoutId) {
+        super(context, items, itemLayoutId);
+        this.items = items;
+    }
+
+    public MappedFileItemList<T> getItems() {
+        return items;
+    }
+
+    /**
+     * 开始在后台建立索引，正在建立时调用无效；stopIndexing()后可再次调用，从停止处继续
+     */
+    public void startIndexing() {
+        if (closed) {
+            throw new IllegalStateException("MappedFileRvAdapter已关闭");
+        }
+        if (indexing) {
+            return;
+        }
+        indexing = true;
+        final int generation = ++indexGeneration;
+        INDEX_EXECUTOR.execute(new Runnable() {
+            @Override
+            public void run() {
+                MappedFileItemList.IndexChunk chunk;
+                while (generation == indexGeneration && (chunk = items.scanChunk(CHUNK_BYTES)) != null) {
+                    final MappedFileItemList.IndexChunk published = chunk;
+                    mainHandler.post(new Runnable() {
+                        @Override
+                        public void run() {
+                            if (closed) {
+                                return;
+                            }
+                            //已扫描的段都要按顺序发布，停止后也发布，否则继续建立索引时顺序对不上
+                            int start = items.size();
+                            int added = items.publish(published);
+                            if (added > 0) {
+                                invalidateKeyIndex();
+                                notifyItemRangeInserted(start, added);
+                            }
+                            if (published.isFinished() && generation == indexGeneration) {
+                                indexing = false;
+                            }
+                        }
+                    });
+                }
+            }
+        });
+    }
+
+    /**
+     * 停止建立索引，如页面销毁时
+     */
+    public void stopIndexing() {
+        if (!indexing) {
+            return;
+        }
+        indexing = false;
+        indexGeneration++;
+    }
+
+    public boolean isIndexing() {
+        return indexing;
+    }
+
+    /**
+     * 停止建立索引并关闭MappedFileItemList，如Activity.onDestroy()时；之后不要再访问数据，也不能再startIndexing()。
+     * 正在扫描的段可能仍在使用文件，所以在索引线程中等它结束后关闭。
+     */
+    public void close() {
+        if (closed) {
+            return;
+        }
+        stopIndexing();
+        closed = true;
+        INDEX_EXECUTOR.execute(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    items.close();
+                } catch (IOException e) {
+                    //只读打开的文件，关闭失败不影响数据
+                }
+            }
+        });
+    }
+
+    public boolean isClosed() {
+        return closed;
+    }
+
+    @Override
+    String getReadOnlyMessage() {
+        return "MappedFileRvAdapter的数据源只读";
+    }
+
+}
@@ -0,0 +1,28 @@
+package com.example.admin.recyclerviewdemo.rvadapter;
+
+import java.util.List;
+
+/**
+ * 分页加载器，方法都在后台线程调用
+ */
+public interface PageLoader<T> {
+
+    /**
+     * 加载一页数据
+     *
+     * @param page     页码，从0开始
+     * @param pageSize 每页的数量
+     * @return 该页的数据，少于pageSize表示已是最后一页
+     * @throws Exception 加载失败，下次绑定到该页附近时重试
+     */
+    List<T> loadPage(int page, int pageSize) throws Exception;
+
+    /**
+     * 数据总数，仅在开启占位符时调用
+     *
+     * @return 总数，未知时返回-1（此时不显示占位符）
+     * @throws Exception 加载失败
+     */
+    int loadTotalCount() throws Exception;
+
+}
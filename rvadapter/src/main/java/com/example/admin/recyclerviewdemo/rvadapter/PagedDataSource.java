@@ -0,0 +1,351 @@
+package com.example.admin.recyclerviewdemo.rvadapter;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+/**
+ * 分页数据源：
+ * 1、绑定的位置距离已加载数据的边界小于prefetchDistance时，在后台加载下一页（或上一页）；
+ * 2、常驻内存的页数超过maxPages时，丢弃离当前位置最远的一页，无限列表的内存不再无限增长；
+ * 3、开启占位符时，先加载总数，未加载的位置为null，滚动条和位置保持不变。
+ * 除加载器外，所有方法和回调都在主线程（mainExecutor）执行。
+ */
+public class PagedDataSource<T> {
+    private static final int PAGE_NONE = 0;
+    private static final int PAGE_LOADING = 1;
+    private static final int PAGE_LOADED = 2;
+
+    private PageLoader<T> loader;
+    private int pageSize;
+    private Executor fetchExecutor;
+    private Executor mainExecutor;
+    private ListUpdateCallback callback;
+
+    /**
+     * 预加载距离，默认一页
+     */
+    private int prefetchDistance;
+    /**
+     * 最多常驻的页数，0表示不限制
+     */
+    private int maxPages;
+    private boolean placeholdersEnabled;
+
+    /**
+     * 当前数据，交给Adapter绑定
+     */
+    private List<T> items = new ArrayList<>();
+    private boolean started;
+    /**
+     * 版本号，invalidate()后旧的加载结果作废
+     */
+    private int generation;
+    private int lastBoundPosition;
+
+    /**
+     * 无占位符：常驻的页为[firstPage, firstPage + pageCounts.size())，pageCounts为每页的数量
+     */
+    private int firstPage;
+    private List<Integer> pageCounts = new ArrayList<>();
+    private boolean endReached;
+    private boolean loadingBefore;
+    private boolean loadingAfter;
+
+    /**
+     * 有占位符：每页的状态
+     */
+    private int[] pageStates;
+    private int loadedPageCount;
+
+
+    public PagedDataSource(PageLoader<T> loader, int pageSize, Executor fetchExecutor, Executor mainExecutor) {
+        if (pageSize <= 0) {
+            throw new IllegalArgumentException("pageSize必须大于0");
+        }
+        this.loader = loader;
+        this.pageSize = pageSize;
+        this.fetchExecutor = fetchExecutor;
+        this.mainExecutor = mainExecutor;
+        this.prefetchDistance = pageSize;
+    }
+
+    /**
+     * 数据变化的回调，一般为AdapterListUpdateCallback
+     */
+    public void setListUpdateCallback(ListUpdateCallback callback) {
+        this.callback = callback;
+    }
+
+    public void setPrefetchDistance(int prefetchDistance) {
+        this.prefetchDistance = Math.max(0, prefetchDistance);
+    }
+
+    /**
+     * @param maxPages 最多常驻的页数，0表示不限制；应大于一屏加上两倍预加载距离所占的页数
+     */
+    public void setMaxPages(int maxPages) {
+        this.maxPages = Math.max(0, maxPages);
+    }
+
+    /**
+     * 需在start()之前调用
+     */
+    public void setPlaceholdersEnabled(boolean placeholdersEnabled) {
+        this.placeholdersEnabled = placeholdersEnabled;
+    }
+
+    public List<T> getItems() {
+        return items;
+    }
+
+    public int getPageSize() {
+        return pageSize;
+    }
+
+    /**
+     * 常驻内存的页数
+     */
+    public int getResidentPageCount() {
+        return placeholdersEnabled && pageStates != null ? loadedPageCount : pageCounts.size();
+    }
+
+    /**
+     * 开始加载第一页，重复调用无效
+     */
+    public void start() {
+        if (started) {
+            return;
+        }
+        started = true;
+        final int requestGeneration = generation;
+        if (placeholdersEnabled) {
+            fetchExecutor.execute(new Runnable() {
+                @Override
+                public void run() {
+                    int count;
+                    try {
+                        count = loader.loadTotalCount();
+                    } catch (Exception e) {
+                        count = -1;
+                    }
+                    final int totalCount = count;
+                    mainExecutor.execute(new Runnable() {
+                        @Override
+                        public void run() {
+                            onTotalCountLoaded(requestGeneration, totalCount);
+                        }
+                    });
+                }
+            });
+        } else {
+            loadingAfter = true;
+            fetchPage(requestGeneration, 0, false);
+        }
+    }
+
+    /**
+     * 清空数据并从第一页重新加载，正在加载的结果作废
+     */
+    public void invalidate() {
+        generation++;
+        int size = items.size();
+        items.clear();
+        firstPage = 0;
+        pageCounts.clear();
+        endReached = false;
+        loadingBefore = false;
+        loadingAfter = false;
+        pageStates = null;
+        loadedPageCount = 0;
+        lastBoundPosition = 0;
+        started = false;
+        if (size > 0 && callback != null) {
+            callback.onRemoved(0, size);
+        }
+        start();
+    }
+
+    /**
+     * 某个位置被绑定，由Adapter在onBindViewHolder()中调用，按需预加载
+     *
+     * @param position 位置
+     */
+    public void onItemBound(int position) {
+        lastBoundPosition = position;
+        if (!started) {
+            return;
+        }
+        if (pageStates != null) {
+            if (items.isEmpty()) {
+                return;
+            }
+            int firstNeeded = Math.max(0, position - prefetchDistance) / pageSize;
+            int lastNeeded = Math.min(items.size() - 1, position + prefetchDistance) / pageSize;
+            for (int page = firstNeeded; page <= lastNeeded; page++) {
+                if (pageStates[page] == PAGE_NONE) {
+                    pageStates[page] = PAGE_LOADING;
+                    fetchPage(generation, page, false);
+                }
+            }
+            return;
+        }
+        if (placeholdersEnabled) {
+            //总数还在加载
+            return;
+        }
+        if (!loadingAfter && !endReached && position >= items.size() - 1 - prefetchDistance) {
+            loadingAfter = true;
+            fetchPage(generation, firstPage + pageCounts.size(), false);
+        }
+        if (!loadingBefore && firstPage > 0 && position <= prefetchDistance) {
+            loadingBefore = true;
+            fetchPage(generation, firstPage - 1, true);
+        }
+    }
+
+    private void fetchPage(final int requestGeneration, final int page, final boolean before) {
+        fetchExecutor.execute(new Runnable() {
+            @Override
+            public void run() {
+                List<T> result;
+                try {
+                    result = loader.loadPage(page, pageSize);
+                } catch (Exception e) {
+                    result = null;
+                }
+                final List<T> data = result;
+                mainExecutor.execute(new Runnable() {
+                    @Override
+                    public void run() {
+                        onPageLoaded(requestGeneration, page, before, data);
+                    }
+                });
+            }
+        });
+    }
+
+    private void onTotalCountLoaded(int requestGeneration, int totalCount) {
+        if (requestGeneration != generation) {
+            return;
+        }
+        if (totalCount < 0) {
+            //总数未知，退回无占位符模式
+            placeholdersEnabled = false;
+            loadingAfter = true;
+            fetchPage(generation, 0, false);
+            return;
+        }
+        pageStates = new int[(totalCount + pageSize - 1) / pageSize];
+        items.addAll(Collections.<T>nCopies(totalCount, null));
+        if (totalCount > 0 && callback != null) {
+            callback.onInserted(0, totalCount);
+        }
+        onItemBound(lastBoundPosition);
+    }
+
+    private void onPageLoaded(int requestGeneration, int page, boolean before, List<T> data) {
+        if (requestGeneration != generation) {
+            return;
+        }
+        if (pageStates != null) {
+            onPlaceholderPageLoaded(page, data);
+            return;
+        }
+        if (before) {
+            loadingBefore = false;
+        } else {
+            loadingAfter = false;
+        }
+        if (data == null) {
+            //加载失败，下次绑定时重试
+            return;
+        }
+
+        if (before) {
+            items.addAll(0, data);
+            pageCounts.add(0, data.size());
+            firstPage = page;
+            dispatchInserted(0, data.size());
+            if (maxPages > 0 && pageCounts.size() > maxPages) {
+                //丢弃末尾的一页
+                int count = pageCounts.remove(pageCounts.size() - 1);
+                int start = items.size() - count;
+                items.subList(start, items.size()).clear();
+                endReached = false;
+                dispatchRemoved(start, count);
+            }
+        } else {
+            if (data.size() < pageSize) {
+                endReached = true;
+            }
+            if (data.isEmpty()) {
+                return;
+            }
+            int start = items.size();
+            items.addAll(data);
+            pageCounts.add(data.size());
+            dispatchInserted(start, data.size());
+            if (maxPages > 0 && pageCounts.size() > maxPages) {
+                //丢弃开头的一页
+                int count = pageCounts.remove(0);
+                items.subList(0, count).clear();
+                firstPage++;
+                dispatchRemoved(0, count);
+            }
+        }
+    }
+
+    private void onPlaceholderPageLoaded(int page, List<T> data) {
+        if (data == null) {
+            pageStates[page] = PAGE_NONE;
+            return;
+        }
+        int start = page * pageSize;
+        int count = Math.min(Math.min(data.size(), pageSize), items.size() - start);
+        for (int i = 0; i < count; i++) {
+            items.set(start + i, data.get(i));
+        }
+        pageStates[page] = PAGE_LOADED;
+        loadedPageCount++;
+        if (count > 0 && callback != null) {
+            callback.onChanged(start, count, null);
+        }
+
+        //丢弃离当前位置最远的页，恢复为占位符
+        int currentPage = Math.min(lastBoundPosition / pageSize, pageStates.length - 1);
+        while (maxPages > 0 && loadedPageCount > maxPages) {
+            int farthest = -1;
+            for (int p = 0; p < pageStates.length; p++) {
+                if (pageStates[p] == PAGE_LOADED
+                        && (farthest == -1 || Math.abs(p - currentPage) > Math.abs(farthest - currentPage))) {
+                    farthest = p;
+                }
+            }
+            int evictStart = farthest * pageSize;
+            int evictCount = Math.min(pageSize, items.size() - evictStart);
+            for (int i = 0; i < evictCount; i++) {
+                items.set(evictStart + i, null);
+            }
+            pageStates[farthest] = PAGE_NONE;
+            loadedPageCount--;
+            if (callback != null) {
+                callback.onChanged(evictStart, evictCount, null);
+            }
+        }
+    }
+
+    private void dispatchInserted(int position, int count) {
+        if (callback != null) {
+            callback.onInserted(position, count);
+        }
+    }
+
+    private void dispatchRemoved(int position, int count) {
+        if (callback != null) {
+            callback.onRemoved(position, count);
+        }
+    }
+
+}
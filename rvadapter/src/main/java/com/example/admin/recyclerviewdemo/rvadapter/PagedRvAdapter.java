@@ -0,0 +1,123 @@
+package com.example.admin.recyclerviewdemo.rvadapter;
+
+import android.content.Context;
+import android.os.Handler;
+import android.os.Looper;
+
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * 分页的Adapter：数据由PagedDataSource按绑定的位置分页加载，
+ * 只通知新增、丢弃的页，不再notifyDataSetChanged()。
+ * 开启占位符时，未加载的位置data为null，调用convertPlaceholder()；
+ * 设置了ItemKeyProvider时，占位符的stable id为BaseRvAdapter.PLACEHOLDER_ID_BASE + position，不调用getItemKey()。
+ */
+public abstract class PagedRvAdapter<T> extends BaseRvAdapter<T> {
+    /**
+     * 加载分页的后台线程，所有PagedRvAdapter共用
+     */
+    private static final Executor LOAD_EXECUTOR = Executors.newSingleThreadExecutor(new ThreadFactory() {
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "PagedRvAdapter-loader");
+            thread.setDaemon(true);
+            return thread;
+        }
+    });
+
+    private PagedDataSource<T> dataSource;
+
+
+    public PagedRvAdapter(Context context, int itemLayoutId, PageLoader<T> loader, int pageSize) {
+        this(context, itemLayoutId, new PagedDataSource<>(loader, pageSize, LOAD_EXECUTOR, new MainThreadExecutor()));
+    }
+
+    public PagedRvAdapter(Context context, int itemLayoutId, PagedDataSource<T> dataSource) {
+        super(context, dataSource.getItems(), itemLayoutId);
+        this.dataSource = dataSource;
+        dataSource.setListUpdateCallback(new AdapterListUpdateCallback(this) {
+            @Override
+            public void onInserted(int position, int count) {
+                invalidateKeyIndex();
+                super.onInserted(position, count);
+            }
+
+            @Override
+            public void onRemoved(int position, int count) {
+                invalidateKeyIndex();
+                super.onRemoved(position, count);
+            }
+
+            @Override
+            public void onChanged(int position, int count, Object payload) {
+                invalidateKeyIndex();
+                super.onChanged(position, count, payload);
+            }
+        });
+    }
+
+    public PagedDataSource<T> getDataSource() {
+        return dataSource;
+    }
+
+    /**
+     * 开始加载第一页，设置好预加载距离、最大页数、占位符后调用
+     */
+    public void start() {
+        dataSource.start();
+    }
+
+    /**
+     * 从第一页重新加载，如下拉刷新
+     */
+    public void invalidate() {
+        dataSource.invalidate();
+    }
+
+    @Override
+    public void onBindViewHolder(BaseRvHolder holder, int position) {
+        dataSource.onItemBound(position);
+        if (getData().get(position) == null) {
+            onHolderBinding(holder);
+            holder.setDirtyFields(BaseRvHolder.ALL_FIELDS);
+            convertPlaceholder(holder, position);
+            return;
+        }
+        super.onBindViewHolder(holder, position);
+    }
+
+    @Override
+    public void onBindViewHolder(BaseRvHolder holder, int position, List<Object> payloads) {
+        if (getData().get(position) == null) {
+            onBindViewHolder(holder, position);
+            return;
+        }
+        super.onBindViewHolder(holder, position, payloads);
+    }
+
+    /**
+     * 填充占位符，如显示灰色的骨架，默认不处理
+     *
+     * @param holder   ViewHolder
+     * @param position 位置
+     */
+    public void convertPlaceholder(BaseRvHolder holder, int position) {
+    }
+
+
+    /**
+     * 在主线程执行
+     */
+    private static class MainThreadExecutor implements Executor {
+        private final Handler handler = new Handler(Looper.getMainLooper());
+
+        @Override
+        public void execute(Runnable command) {
+            handler.post(command);
+        }
+    }
+
+}
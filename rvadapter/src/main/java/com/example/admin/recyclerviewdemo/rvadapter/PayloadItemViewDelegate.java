@@ -0,0 +1,20 @@
+package com.example.admin.recyclerviewdemo.rvadapter;
+
+import java.util.List;
+
+/**
+ * 支持局部刷新的委托：payloads不为空时只刷新变化的控件
+ */
+public interface PayloadItemViewDelegate<T> extends ItemViewDelegate<T> {
+
+    /**
+     * 局部刷新
+     *
+     * @param holder   ViewHolder，getDirtyFields()为payloads中的字段掩码
+     * @param data     子项
+     * @param position 位置
+     * @param payloads 不为空，notifyItemChanged(position, payload)传入的payload
+     */
+    void convert(BaseRvHolder holder, T data, int position, List<Object> payloads);
+
+}
@@ -0,0 +1,389 @@
+package com.example.admin.recyclerviewdemo.rvadapter;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * 不可变的持久化列表（每个节点最多32个元素或子节点的B+树，分支记录各子树的元素数）：
+ * 修改返回新的版本，只复制从根到被修改位置的路径（每层一个最多32个元素的数组），其余节点与旧版本共用。
+ * get()、with()、plus()、minus()、pop()、truncate()都为O(log n)，在中间插入、删除也不重建之后的部分；
+ * plusAll()、of()按32个一组整体建树，为O(n/32 + k)，不逐个追加。
+ * 任何版本都不会再改变，可以不加锁地在多个线程中读取。
+ */
+public final class PersistentVector<T> extends AbstractList<T> implements RandomAccess {
+    private static final int BITS = 5;
+    private static final int WIDTH = 1 << BITS;
+    private static final Object[] EMPTY_LEAF = new Object[0];
+    private static final PersistentVector<Object> EMPTY = new PersistentVector<>(0, 0, EMPTY_LEAF);
+
+    private final int size;
+    /**
+     * 树高，为0时根节点即叶子；所有叶子在同一层
+     */
+    private final int height;
+    /**
+     * 叶子为Object[]，分支为Branch
+     */
+    private final Object root;
+
+
+    @SuppressWarnings("unchecked")
+    public static <T> PersistentVector<T> empty() {
+        return (PersistentVector<T>) EMPTY;
+    }
+
+    public static <T> PersistentVector<T> of(Collection<? extends T> items) {
+        PersistentVector<T> vector = empty();
+        return vector.plusAll(items);
+    }
+
+    private PersistentVector(int size, int height, Object root) {
+        this.size = size;
+        this.height = height;
+        this.root = root;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public T get(int index) {
+        checkIndex(index);
+        Object node = root;
+        for (int level = height; level > 0; level--) {
+            Branch branch = (Branch) node;
+            int child = branch.childIndex(index, level);
+            index -= branch.startOf(child);
+            node = branch.children[child];
+        }
+        return (T) ((Object[]) node)[index];
+    }
+
+    /**
+     * 追加到末尾
+     */
+    public PersistentVector<T> plus(T item) {
+        return plus(size, item);
+    }
+
+    /**
+     * 追加多个元素：已有的叶子直接共用，新元素按32个一组建叶子，再整体建分支
+     */
+    public PersistentVector<T> plusAll(Collection<? extends T> items) {
+        if (items.size() <= WIDTH) {
+            PersistentVector<T> vector = this;
+            for (T item : items) {
+                vector = vector.plus(item);
+            }
+            return vector;
+        }
+        List<Object> leaves = new ArrayList<>(size / WIDTH + items.size() / WIDTH + 2);
+        collectLeaves(root, height, leaves);
+        //最后一个叶子不满时与新元素一起重新分组
+        Object[] buffer = null;
+        int filled = 0;
+        if (!leaves.isEmpty()) {
+            Object[] last = (Object[]) leaves.get(leaves.size() - 1);
+            if (last.length < WIDTH) {
+                leaves.remove(leaves.size() - 1);
+                buffer = Arrays.copyOf(last, WIDTH);
+                filled = last.length;
+            }
+        }
+        int newSize = size;
+        for (T item : items) {
+            if (buffer == null) {
+                buffer = new Object[WIDTH];
+            }
+            buffer[filled++] = item;
+            newSize++;
+            if (filled == WIDTH) {
+                leaves.add(buffer);
+                buffer = null;
+                filled = 0;
+            }
+        }
+        if (filled > 0) {
+            leaves.add(Arrays.copyOf(buffer, filled));
+        }
+
+        List<Object> nodes = leaves;
+        int newHeight = 0;
+        while (nodes.size() > 1) {
+            List<Object> parents = new ArrayList<>((nodes.size() + WIDTH - 1) / WIDTH);
+            for (int i = 0; i < nodes.size(); i += WIDTH) {
+                parents.add(Branch.of(nodes.subList(i, Math.min(i + WIDTH, nodes.size())).toArray()));
+            }
+            nodes = parents;
+            newHeight++;
+        }
+        return new PersistentVector<>(newSize, newHeight, nodes.get(0));
+    }
+
+    private static void collectLeaves(Object node, int level, List<Object> out) {
+        if (level == 0) {
+            if (((Object[]) node).length > 0) {
+                out.add(node);
+            }
+            return;
+        }
+        Object[] children = ((Branch) node).children;
+        for (Object child : children) {
+            collectLeaves(child, level - 1, out);
+        }
+    }
+
+    /**
+     * 替换index处的元素
+     */
+    public PersistentVector<T> with(int index, T item) {
+        checkIndex(index);
+        return new PersistentVector<>(size, height, set(root, height, index, item));
+    }
+
+    private static Object set(Object node, int level, int index, Object item) {
+        if (level == 0) {
+            Object[] copy = ((Object[]) node).clone();
+            copy[index] = item;
+            return copy;
+        }
+        Branch branch = (Branch) node;
+        int child = branch.childIndex(index, level);
+        Object[] children = branch.children.clone();
+        children[child] = set(children[child], level - 1, index - branch.startOf(child), item);
+        //元素数不变，共用ends
+        return new Branch(children, branch.ends);
+    }
+
+    /**
+     * 在index处插入，只复制根到该位置的路径
+     */
+    public PersistentVector<T> plus(int index, T item) {
+        if (index < 0 || index > size) {
+            throw new IndexOutOfBoundsException("index=" + index + "，size=" + size);
+        }
+        Object[] nodes = insert(root, height, index, item);
+        if (nodes.length == 1) {
+            return new PersistentVector<>(size + 1, height, nodes[0]);
+        }
+        //根节点分裂，树高加1
+        return new PersistentVector<>(size + 1, height + 1, Branch.of(nodes));
+    }
+
+    /**
+     * 插入后的节点；超过32个时分裂为两个。
+     * 在末尾插入时左边保持满的，连续追加得到的节点都是满的
+     */
+    private static Object[] insert(Object node, int level, int index, Object item) {
+        if (level == 0) {
+            Object[] leaf = (Object[]) node;
+            Object[] grown = new Object[leaf.length + 1];
+            System.arraycopy(leaf, 0, grown, 0, index);
+            grown[index] = item;
+            System.arraycopy(leaf, index, grown, index + 1, leaf.length - index);
+            if (grown.length <= WIDTH) {
+                return new Object[]{grown};
+            }
+            int split = index == leaf.length ? WIDTH : grown.length / 2;
+            return new Object[]{Arrays.copyOf(grown, split), Arrays.copyOfRange(grown, split, grown.length)};
+        }
+        Branch branch = (Branch) node;
+        int count = branch.children.length;
+        //在末尾插入时落在最后一个子节点
+        int child = index == branch.size() ? count - 1 : branch.childIndex(index, level);
+        Object[] result = insert(branch.children[child], level - 1, index - branch.startOf(child), item);
+        if (result.length == 1) {
+            Object[] children = branch.children.clone();
+            children[child] = result[0];
+            int[] ends = branch.ends.clone();
+            for (int i = child; i < count; i++) {
+                ends[i]++;
+            }
+            return new Object[]{new Branch(children, ends)};
+        }
+        Object[] children = new Object[count + 1];
+        System.arraycopy(branch.children, 0, children, 0, child);
+        children[child] = result[0];
+        children[child + 1] = result[1];
+        System.arraycopy(branch.children, child + 1, children, child + 2, count - child - 1);
+        if (children.length <= WIDTH) {
+            return new Object[]{Branch.of(children)};
+        }
+        int split = child == count - 1 ? WIDTH : children.length / 2;
+        return new Object[]{Branch.of(Arrays.copyOf(children, split)),
+                Branch.of(Arrays.copyOfRange(children, split, children.length))};
+    }
+
+    /**
+     * 删除index处的元素，只复制根到该位置的路径。
+     * 节点删空时从父节点中移除；不合并相邻的节点，树高不会增加
+     */
+    public PersistentVector<T> minus(int index) {
+        checkIndex(index);
+        return shrink(size - 1, remove(root, height, index));
+    }
+
+    /**
+     * @return 删除后的节点，删空时为null
+     */
+    private static Object remove(Object node, int level, int index) {
+        if (level == 0) {
+            Object[] leaf = (Object[]) node;
+            if (leaf.length == 1) {
+                return null;
+            }
+            Object[] copy = new Object[leaf.length - 1];
+            System.arraycopy(leaf, 0, copy, 0, index);
+            System.arraycopy(leaf, index + 1, copy, index, copy.length - index);
+            return copy;
+        }
+        Branch branch = (Branch) node;
+        int count = branch.children.length;
+        int child = branch.childIndex(index, level);
+        Object result = remove(branch.children[child], level - 1, index - branch.startOf(child));
+        if (result != null) {
+            Object[] children = branch.children.clone();
+            children[child] = result;
+            int[] ends = branch.ends.clone();
+            for (int i = child; i < count; i++) {
+                ends[i]--;
+            }
+            return new Branch(children, ends);
+        }
+        if (count == 1) {
+            return null;
+        }
+        Object[] children = new Object[count - 1];
+        System.arraycopy(branch.children, 0, children, 0, child);
+        System.arraycopy(branch.children, child + 1, children, child, count - child - 1);
+        return Branch.of(children);
+    }
+
+    /**
+     * 删除最后一个元素
+     */
+    public PersistentVector<T> pop() {
+        if (size == 0) {
+            throw new IllegalStateException("列表为空");
+        }
+        return minus(size - 1);
+    }
+
+    /**
+     * 只保留前count个元素
+     */
+    public PersistentVector<T> truncate(int count) {
+        if (count < 0 || count > size) {
+            throw new IndexOutOfBoundsException("count=" + count + "，size=" + size);
+        }
+        if (count == size) {
+            return this;
+        }
+        if (count == 0) {
+            return empty();
+        }
+        return shrink(count, keepFirst(root, height, count));
+    }
+
+    private static Object keepFirst(Object node, int level, int count) {
+        if (level == 0) {
+            return Arrays.copyOf((Object[]) node, count);
+        }
+        Branch branch = (Branch) node;
+        int child = branch.childIndex(count - 1, level);
+        Object[] children = Arrays.copyOf(branch.children, child + 1);
+        int remaining = count - branch.startOf(child);
+        if (remaining < branch.sizeOf(child)) {
+            children[child] = keepFirst(children[child], level - 1, remaining);
+        }
+        return Branch.of(children);
+    }
+
+    /**
+     * 删除后去掉只有一个子节点的根，降低树高
+     */
+    private PersistentVector<T> shrink(int newSize, Object newRoot) {
+        if (newRoot == null || newSize == 0) {
+            return empty();
+        }
+        int newHeight = height;
+        while (newHeight > 0 && ((Branch) newRoot).children.length == 1) {
+            newRoot = ((Branch) newRoot).children[0];
+            newHeight--;
+        }
+        return new PersistentVector<>(newSize, newHeight, newRoot);
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("index=" + index + "，size=" + size);
+        }
+    }
+
+
+    /**
+     * 分支节点，创建后不再修改
+     */
+    private static final class Branch {
+        /**
+         * 子节点：下一层为叶子时为Object[]，否则为Branch
+         */
+        final Object[] children;
+        /**
+         * ends[i]为前i+1个子节点的元素总数
+         */
+        final int[] ends;
+
+        Branch(Object[] children, int[] ends) {
+            this.children = children;
+            this.ends = ends;
+        }
+
+        static Branch of(Object[] children) {
+            int[] ends = new int[children.length];
+            int total = 0;
+            for (int i = 0; i < children.length; i++) {
+                Object child = children[i];
+                total += child instanceof Branch ? ((Branch) child).size() : ((Object[]) child).length;
+                ends[i] = total;
+            }
+            return new Branch(children, ends);
+        }
+
+        int size() {
+            return ends[ends.length - 1];
+        }
+
+        int startOf(int child) {
+            return child == 0 ? 0 : ends[child - 1];
+        }
+
+        int sizeOf(int child) {
+            return ends[child] - startOf(child);
+        }
+
+        /**
+         * index所在的子节点：节点都满时按位计算即为结果，插入、删除过的节点再向两侧调整
+         *
+         * @param level 本节点的高度，子树最多有32^level个元素
+         */
+        int childIndex(int index, int level) {
+            int shift = BITS * level;
+            int child = shift < 32 ? Math.min(index >>> shift, ends.length - 1) : 0;
+            while (child > 0 && ends[child - 1] > index) {
+                child--;
+            }
+            while (ends[child] <= index) {
+                child++;
+            }
+            return child;
+        }
+    }
+}
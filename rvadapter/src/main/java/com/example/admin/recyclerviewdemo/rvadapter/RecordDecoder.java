@@ -0,0 +1,18 @@
+package com.example.admin.recyclerviewdemo.rvadapter;
+
+import java.nio.ByteBuffer;
+
+/**
+ * 把文件中的一条记录解码为子项
+ */
+public interface RecordDecoder<T> {
+
+    /**
+     * 解码
+     *
+     * @param record 一条记录的字节，position到limit之间，不含分隔符；只在本次调用中有效
+     * @return 子项
+     */
+    T decode(ByteBuffer record);
+
+}
@@ -0,0 +1,31 @@
+package com.example.admin.recyclerviewdemo.rvadapter;
+
+/**
+ * 两阶段绑定（见BaseRvAdapter.setRenderModelBinder()）：
+ * prepare()在后台线程提前把子项转换成显示用的不可变对象（格式化后的文本、日期、Span等），
+ * bind()在主线程只把准备好的值设置到控件上。
+ *
+ * @param <T> 子项
+ * @param <M> 显示用的对象，创建后不能再修改
+ */
+public interface RenderModelBinder<T, M> {
+
+    /**
+     * 准备显示用的对象，一般在后台线程调用，缓存未命中时也会在主线程调用。
+     * 不能访问控件，只能读取子项。
+     *
+     * @param item 子项
+     * @return 不能为null
+     */
+    M prepare(T item);
+
+    /**
+     * 把准备好的值设置到控件上，在主线程调用
+     *
+     * @param holder   ViewHolder
+     * @param model    prepare()的结果，占位符（子项为null）时为null
+     * @param position 位置
+     */
+    void bind(BaseRvHolder holder, M model, int position);
+
+}
@@ -0,0 +1,98 @@
+package com.example.admin.recyclerviewdemo.rvadapter;
+
+/**
+ * 按子项key缓存的显示对象，容量固定，满了按时钟算法淘汰最近未使用的。
+ * 同时记录准备时的子项，子项被替换成另一个对象后视为未命中。
+ * 查找不分配对象，只能在主线程使用。
+ */
+final class RenderModelCache {
+    private final LongIntHashMap index;
+    private final long[] keys;
+    private final Object[] items;
+    private final Object[] models;
+    private final boolean[] referenced;
+    private int count;
+    private int hand;
+
+    RenderModelCache(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity=" + capacity);
+        }
+        index = new LongIntHashMap(capacity, -1);
+        keys = new long[capacity];
+        items = new Object[capacity];
+        models = new Object[capacity];
+        referenced = new boolean[capacity];
+    }
+
+    /**
+     * @param item 当前的子项，与准备时不是同一个对象时返回null
+     */
+    Object get(long key, Object item) {
+        int slot = index.get(key);
+        if (slot < 0 || items[slot] != item || models[slot] == null) {
+            return null;
+        }
+        referenced[slot] = true;
+        return models[slot];
+    }
+
+    boolean contains(long key, Object item) {
+        int slot = index.get(key);
+        return slot >= 0 && items[slot] == item && models[slot] != null;
+    }
+
+    void put(long key, Object item, Object model) {
+        int slot = index.get(key);
+        if (slot < 0) {
+            if (count < keys.length) {
+                slot = count++;
+            } else {
+                slot = evict();
+                index.remove(keys[slot]);
+            }
+            keys[slot] = key;
+            index.put(key, slot);
+        }
+        items[slot] = item;
+        models[slot] = model;
+        referenced[slot] = true;
+    }
+
+    /**
+     * 使key的缓存失效，位置留给之后淘汰
+     */
+    void invalidate(long key) {
+        int slot = index.get(key);
+        if (slot >= 0) {
+            items[slot] = null;
+            models[slot] = null;
+            referenced[slot] = false;
+        }
+    }
+
+    void clear() {
+        index.clear();
+        for (int i = 0; i < count; i++) {
+            items[i] = null;
+            models[i] = null;
+            referenced[i] = false;
+        }
+        count = 0;
+        hand = 0;
+    }
+
+    int size() {
+        return count;
+    }
+
+    private int evict() {
+        while (referenced[hand]) {
+            referenced[hand] = false;
+            hand = (hand + 1) % keys.length;
+        }
+        int slot = hand;
+        hand = (hand + 1) % keys.length;
+        return slot;
+    }
+}
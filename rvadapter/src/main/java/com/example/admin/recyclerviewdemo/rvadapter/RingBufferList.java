@@ -0,0 +1,110 @@
+package com.example.admin.recyclerviewdemo.rvadapter;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.RandomAccess;
+
+/**
+ * 固定容量的环形列表：只能在末尾追加，满了自动丢弃最早的子项，追加和丢弃都是O(1)，不移动元素。
+ * 用作StreamingRvAdapter的数据源。不是线程安全的，只在主线程修改。
+ */
+public class RingBufferList<T> extends AbstractList<T> implements RandomAccess {
+    private final Object[] elements;
+    private int head;
+    private int size;
+
+
+    /**
+     * @param capacity 最多保留的子项数
+     */
+    public RingBufferList(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity=" + capacity);
+        }
+        elements = new Object[capacity];
+    }
+
+    public int capacity() {
+        return elements.length;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public T get(int index) {
+        checkIndex(index);
+        return (T) elements[(head + index) % elements.length];
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public T set(int index, T element) {
+        checkIndex(index);
+        int slot = (head + index) % elements.length;
+        T previous = (T) elements[slot];
+        elements[slot] = element;
+        return previous;
+    }
+
+    /**
+     * 只支持在末尾追加，满了丢弃最早的子项
+     */
+    @Override
+    public void add(int index, T element) {
+        if (index != size) {
+            throw new UnsupportedOperationException("只能在末尾追加");
+        }
+        append(element);
+    }
+
+    /**
+     * 追加到末尾
+     *
+     * @return 满了时丢弃最早的子项，返回1，否则返回0
+     */
+    public int append(T element) {
+        if (size < elements.length) {
+            elements[(head + size) % elements.length] = element;
+            size++;
+            modCount++;
+            return 0;
+        }
+        elements[head] = element;
+        head = (head + 1) % elements.length;
+        modCount++;
+        return 1;
+    }
+
+    /**
+     * 丢弃最早的count个子项
+     */
+    public void removeOldest(int count) {
+        if (count < 0 || count > size) {
+            throw new IndexOutOfBoundsException("count=" + count + "，size=" + size);
+        }
+        for (int i = 0; i < count; i++) {
+            elements[(head + i) % elements.length] = null;
+        }
+        head = (head + count) % elements.length;
+        size -= count;
+        modCount++;
+    }
+
+    @Override
+    public void clear() {
+        Arrays.fill(elements, null);
+        head = 0;
+        size = 0;
+        modCount++;
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("index=" + index + "，size=" + size);
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.example.admin.recyclerviewdemo.rvadapter;
+
+import android.content.Context;
+import android.view.View;
+
+/**
+ * 按布局创建ViewHolder，@RvHolder生成的ViewHolder提供FACTORY，通过BaseRvAdapter.registerHolderFactory()注册
+ */
+public interface RvHolderFactory {
+
+    BaseRvHolder create(Context context, View itemView);
+}
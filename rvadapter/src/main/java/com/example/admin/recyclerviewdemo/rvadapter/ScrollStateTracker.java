@@ -0,0 +1,162 @@
+package com.example.admin.recyclerviewdemo.rvadapter;
+
+import android.support.v7.widget.RecyclerView;
+
+import com.example.admin.recyclerviewdemo.rvadapter.image.ImagePipeline;
+
+/**
+ * 跟踪Adapter所在RecyclerView的滑动状态和速度。
+ * 速度由相邻两次onScrolled()的位移和时间间隔估算并平滑，单位为像素/秒，沿位移较大的方向，向下、向右为正。
+ * 超过阈值进入快速滑动，降到阈值的一半以下或停止滑动时退出，避免在阈值附近来回切换。
+ * 单独使用的BaseRvAdapter、CompositeRvAdapter各有一个，CompositeRvAdapter的各段共用它的。
+ */
+final class ScrollStateTracker extends RecyclerView.OnScrollListener {
+    /**
+     * 默认每秒滑过3屏视为快速滑动
+     */
+    static final float DEFAULT_FAST_SCREENS_PER_SECOND = 3f;
+
+    private final Callback callback;
+    private RecyclerView recyclerView;
+    private int scrollState = RecyclerView.SCROLL_STATE_IDLE;
+    private float velocity;
+    private long lastScrolledNanos;
+    private boolean fast;
+    private float fastScreensPerSecond = DEFAULT_FAST_SCREENS_PER_SECOND;
+    /**
+     * pauseWork()时暂停的ImagePipeline，resumeWork()只恢复它
+     */
+    private ImagePipeline pausedPipeline;
+
+    /**
+     * 进入、退出快速滑动时回调
+     */
+    interface Callback {
+        void onFastScrollChanged(RecyclerView recyclerView, boolean fast);
+    }
+
+    ScrollStateTracker(Callback callback) {
+        this.callback = callback;
+    }
+
+    void attach(RecyclerView recyclerView) {
+        if (this.recyclerView == recyclerView) {
+            return;
+        }
+        if (this.recyclerView != null) {
+            detach(this.recyclerView);
+        }
+        this.recyclerView = recyclerView;
+        recyclerView.addOnScrollListener(this);
+        scrollState = recyclerView.getScrollState();
+    }
+
+    void detach(RecyclerView recyclerView) {
+        if (this.recyclerView != recyclerView) {
+            return;
+        }
+        recyclerView.removeOnScrollListener(this);
+        reset();
+        //已暂停的工作需要恢复
+        setFast(false);
+        this.recyclerView = null;
+    }
+
+    RecyclerView getRecyclerView() {
+        return recyclerView;
+    }
+
+    void setFastScreensPerSecond(float fastScreensPerSecond) {
+        this.fastScreensPerSecond = fastScreensPerSecond;
+    }
+
+    int getScrollState() {
+        return scrollState;
+    }
+
+    float getVelocity() {
+        return velocity;
+    }
+
+    boolean isFast() {
+        return fast;
+    }
+
+    /**
+     * 快速滑动时暂停图片加载（默认实例已创建时，没有使用图片加载的列表不创建）和延后的任务，需与resumeWork()成对
+     */
+    void pauseWork() {
+        pausedPipeline = ImagePipeline.peek();
+        if (pausedPipeline != null) {
+            pausedPipeline.pause();
+        }
+        FrameBudgetScheduler.get().pause();
+    }
+
+    void resumeWork() {
+        if (pausedPipeline != null) {
+            pausedPipeline.resume();
+            pausedPipeline = null;
+        }
+        FrameBudgetScheduler.get().resume();
+    }
+
+    @Override
+    public void onScrollStateChanged(RecyclerView recyclerView, int newState) {
+        scrollState = newState;
+        if (newState == RecyclerView.SCROLL_STATE_IDLE) {
+            reset();
+            setFast(false);
+        }
+    }
+
+    @Override
+    public void onScrolled(RecyclerView recyclerView, int dx, int dy) {
+        onScrolled(recyclerView, dx, dy, System.nanoTime());
+    }
+
+    void onScrolled(RecyclerView recyclerView, int dx, int dy, long now) {
+        boolean vertical = Math.abs(dy) >= Math.abs(dx);
+        int delta = vertical ? dy : dx;
+        if (lastScrolledNanos != 0) {
+            long elapsed = now - lastScrolledNanos;
+            if (elapsed > 0) {
+                float instant = delta * 1e9f / elapsed;
+                velocity = velocity * 0.5f + instant * 0.5f;
+            }
+        }
+        lastScrolledNanos = now;
+        //scrollToPosition()、布局变化也会回调，此时不是滑动
+        if (scrollState == RecyclerView.SCROLL_STATE_IDLE) {
+            return;
+        }
+
+        int extent = vertical ? recyclerView.getHeight() : recyclerView.getWidth();
+        if (extent <= 0) {
+            return;
+        }
+        float threshold = extent * fastScreensPerSecond;
+        float speed = Math.abs(velocity);
+        if (!fast && speed > threshold) {
+            setFast(true);
+        } else if (fast && speed < threshold / 2) {
+            setFast(false);
+        }
+    }
+
+    private void reset() {
+        velocity = 0;
+        lastScrolledNanos = 0;
+        scrollState = RecyclerView.SCROLL_STATE_IDLE;
+    }
+
+    private void setFast(boolean fast) {
+        if (this.fast == fast) {
+            return;
+        }
+        this.fast = fast;
+        if (recyclerView != null) {
+            callback.onFastScrollChanged(recyclerView, fast);
+        }
+    }
+}
@@ -0,0 +1,220 @@
+package com.example.admin.recyclerviewdemo.rvadapter;
+
+import java.util.Arrays;
+
+/**
+ * 多选状态，不需要在子项中保存boolean：
+ * 选中的key（stable id或position）按连续区间压缩保存，再加一个“反选”标志，
+ * 全选、全不选、反选只修改标志，与子项个数无关，100万个子项也只需几微秒、几十字节。
+ * 状态变化后以payload FIELD_SELECTION通知，RecyclerView只重新绑定已绑定的子项，convert()中：
+ * <pre>
+ * if (holder.isFieldDirty(SelectionTracker.FIELD_SELECTION)) {
+ *     holder.setChecked(R.id.cb, tracker.isSelected(position));
+ * }
+ * </pre>
+ * 只在主线程使用。
+ */
+public final class SelectionTracker {
+    /**
+     * 选中状态的字段掩码，占用最高位，自定义的字段请使用其他位
+     */
+    public static final int FIELD_SELECTION = 1 << 31;
+    private static final Integer PAYLOAD_SELECTION = FIELD_SELECTION;
+
+    /**
+     * 选中状态变化
+     */
+    public interface OnSelectionChangedListener {
+        void onSelectionChanged(SelectionTracker tracker);
+    }
+
+    private final BaseRvAdapter<?> adapter;
+    private final boolean byStableId;
+    /**
+     * inverted为false时set中为选中的key，为true时set中为未选中的key
+     */
+    private LongRangeSet set = new LongRangeSet();
+    private boolean inverted;
+    private OnSelectionChangedListener listener;
+
+
+    /**
+     * 按position记录，增删子项后position会错位，需clearSelection()
+     */
+    public static SelectionTracker byPosition(BaseRvAdapter<?> adapter) {
+        return new SelectionTracker(adapter, false);
+    }
+
+    /**
+     * 按stable id记录，增删、移动子项后仍然正确，需先setItemKeyProvider()
+     */
+    public static SelectionTracker byStableId(BaseRvAdapter<?> adapter) {
+        if (!adapter.hasStableIds()) {
+            throw new IllegalStateException("需先调用setItemKeyProvider()");
+        }
+        return new SelectionTracker(adapter, true);
+    }
+
+    private SelectionTracker(BaseRvAdapter<?> adapter, boolean byStableId) {
+        this.adapter = adapter;
+        this.byStableId = byStableId;
+    }
+
+    public void setOnSelectionChangedListener(OnSelectionChangedListener listener) {
+        this.listener = listener;
+    }
+
+    private long keyOf(int position) {
+        return byStableId ? adapter.getItemId(position) : position;
+    }
+
+    public boolean isSelected(int position) {
+        return isKeySelected(keyOf(position));
+    }
+
+    /**
+     * @param key 按stable id记录时为id，按position记录时为position
+     */
+    public boolean isKeySelected(long key) {
+        return inverted != set.contains(key);
+    }
+
+    public void setSelected(int position, boolean selected) {
+        if (isSelected(position) == selected) {
+            return;
+        }
+        long key = keyOf(position);
+        if (selected != inverted) {
+            set.add(key, key);
+        } else {
+            set.remove(key, key);
+        }
+        adapter.notifyItemChanged(position, PAYLOAD_SELECTION);
+        dispatchChanged();
+    }
+
+    public void toggle(int position) {
+        setSelected(position, !isSelected(position));
+    }
+
+    /**
+     * 选中或取消[fromPosition, toPosition)。按position记录时与范围大小无关；按stable id记录时逐个取得id。
+     */
+    public void setRangeSelected(int fromPosition, int toPosition, boolean selected) {
+        int itemCount = adapter.getItemCount();
+        if (fromPosition < 0 || toPosition > itemCount || fromPosition > toPosition) {
+            throw new IndexOutOfBoundsException("[" + fromPosition + ", " + toPosition + ")，size=" + itemCount);
+        }
+        if (fromPosition == toPosition) {
+            return;
+        }
+        boolean addToSet = selected != inverted;
+        if (byStableId) {
+            for (int position = fromPosition; position < toPosition; position++) {
+                long key = keyOf(position);
+                if (addToSet) {
+                    set.add(key, key);
+                } else {
+                    set.remove(key, key);
+                }
+            }
+        } else if (addToSet) {
+            set.add(fromPosition, toPosition - 1);
+        } else {
+            set.remove(fromPosition, toPosition - 1);
+        }
+        adapter.notifyItemRangeChanged(fromPosition, toPosition - fromPosition, PAYLOAD_SELECTION);
+        dispatchChanged();
+    }
+
+    public void selectAll() {
+        set.clear();
+        inverted = true;
+        notifyAllChanged();
+    }
+
+    public void clearSelection() {
+        set.clear();
+        inverted = false;
+        notifyAllChanged();
+    }
+
+    /**
+     * 反选
+     */
+    public void invert() {
+        inverted = !inverted;
+        notifyAllChanged();
+    }
+
+    /**
+     * 选中的个数。按position记录时与子项个数无关；
+     * 按stable id记录时逐个取得id，同时去掉已删除子项的id，删除过的子项不会被计算
+     */
+    public int getSelectedCount() {
+        int itemCount = adapter.getItemCount();
+        long inSet = byStableId ? retainLiveKeys() : set.countInRange(0, itemCount - 1);
+        long selected = inverted ? itemCount - inSet : inSet;
+        return (int) Math.max(0, Math.min(itemCount, selected));
+    }
+
+    /**
+     * 按stable id记录时，set中只保留仍存在的子项的id
+     *
+     * @return 保留的id个数
+     */
+    private long retainLiveKeys() {
+        if (set.size() == 0) {
+            return 0;
+        }
+        LongRangeSet live = new LongRangeSet();
+        long count = 0;
+        for (int position = 0, itemCount = adapter.getItemCount(); position < itemCount; position++) {
+            long key = keyOf(position);
+            if (set.contains(key) && !live.contains(key)) {
+                live.add(key, key);
+                count++;
+            }
+        }
+        if (count < set.size()) {
+            set = live;
+        }
+        return count;
+    }
+
+    /**
+     * 选中的position，逐个检查子项，用于执行批量操作
+     */
+    public int[] getSelectedPositions() {
+        int itemCount = adapter.getItemCount();
+        //不依赖getSelectedCount()预先确定长度，结果不会被截断
+        int[] positions = new int[Math.min(itemCount, 16)];
+        int count = 0;
+        for (int position = 0; position < itemCount; position++) {
+            if (isSelected(position)) {
+                if (count == positions.length) {
+                    positions = Arrays.copyOf(positions, Math.min(itemCount, count * 2));
+                }
+                positions[count++] = position;
+            }
+        }
+        return count == positions.length ? positions : Arrays.copyOf(positions, count);
+    }
+
+    /**
+     * 通知全部子项：RecyclerView只处理一个区间操作，只有显示中和缓存中的ViewHolder会被重新绑定
+     */
+    private void notifyAllChanged() {
+        int itemCount = adapter.getItemCount();
+        if (itemCount > 0) {
+            adapter.notifyItemRangeChanged(0, itemCount, PAYLOAD_SELECTION);
+        }
+        dispatchChanged();
+    }
+
+    private void dispatchChanged() {
+        if (listener != null) {
+            listener.onSelectionChanged(this);
+        }
+    }
+}
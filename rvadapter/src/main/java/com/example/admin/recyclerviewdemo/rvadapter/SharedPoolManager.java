@@ -0,0 +1,302 @@
+package com.example.admin.recyclerviewdemo.rvadapter;
+
+import android.content.ComponentCallbacks2;
+import android.content.Context;
+import android.content.res.Configuration;
+import android.support.v7.widget.LinearLayoutManager;
+import android.support.v7.widget.RecyclerView;
+import android.util.SparseIntArray;
+import android.view.View;
+
+import java.lang.ref.WeakReference;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * 多个RecyclerView共用一个RecycledViewPool（如多个Tab、嵌套的横向列表使用相同的子项布局），
+ * 切换Tab时直接复用其他列表回收的ViewHolder，不再重新inflate。
+ * 1、viewType须为布局id（BaseRvAdapter如此），不同布局不会混用；
+ *    同一布局的ViewHolder须能被每个列表的Adapter绑定，所以一个缓存池只能给同一种Adapter使用：
+ *    BaseRvAdapter及其子类、CompositeRvAdapter为一种（都使用BaseRvHolder，CompositeRvAdapter的viewType全局唯一），
+ *    其他Adapter按类区分，可通过attach(RecyclerView, Object)声明为同一种；attach()时检查，不一致时抛出异常；
+ * 2、每种布局的容量按观察到的同时显示的最大个数自动调整，不超过maxPerType；
+ *    预创建（BaseRvAdapter.prewarm()）的个数作为容量的下限，不会因之后自动调整而丢弃；
+ * 3、内存不足时（onTrimMemory）收缩或清空缓存池，包括预创建的布局。
+ * ViewHolder引用创建它的Activity，所以按Activity共用，不要跨Activity共用。
+ * 共用缓存池的Adapter对同一布局应注册相同的RvHolderFactory。只在主线程使用。
+ * <pre>
+ * SharedPoolManager.get(activity).attach(recyclerView);
+ * </pre>
+ */
+public class SharedPoolManager {
+    /**
+     * 在最大显示个数之外多缓存的个数
+     */
+    private static final int EXTRA_PER_TYPE = 2;
+    private static final int DEFAULT_MAX_PER_TYPE = 20;
+
+    private static final Map<Context, WeakReference<SharedPoolManager>> MANAGERS = new WeakHashMap<>();
+    /**
+     * 缓存池对应的SharedPoolManager，预创建时据此登记容量
+     */
+    private static final Map<RecyclerView.RecycledViewPool, WeakReference<SharedPoolManager>> POOL_OWNERS = new WeakHashMap<>();
+
+    private final RecyclerView.RecycledViewPool pool = new RecyclerView.RecycledViewPool();
+    private final Map<RecyclerView, AttachTracker> trackers = new WeakHashMap<>();
+    /**
+     * 使用本缓存池的Adapter种类，第一次attach()时确定
+     */
+    private Object holderFamily;
+    private int maxPerType = DEFAULT_MAX_PER_TYPE;
+    /**
+     * 每种布局当前显示的个数（所有RecyclerView合计）、最大显示个数、预创建的个数、缓存池容量
+     */
+    private final SparseIntArray attachedCounts = new SparseIntArray();
+    private final SparseIntArray peakCounts = new SparseIntArray();
+    private final SparseIntArray reservedCounts = new SparseIntArray();
+    private final SparseIntArray capacities = new SparseIntArray();
+
+    /**
+     * 取得context（一般为Activity）对应的SharedPoolManager
+     */
+    public static SharedPoolManager get(Context context) {
+        WeakReference<SharedPoolManager> reference = MANAGERS.get(context);
+        SharedPoolManager manager = reference != null ? reference.get() : null;
+        if (manager == null) {
+            manager = new SharedPoolManager(context);
+            MANAGERS.put(context, new WeakReference<>(manager));
+        }
+        return manager;
+    }
+
+    /**
+     * 管理该缓存池的SharedPoolManager，不是共用的缓存池时返回null
+     */
+    static SharedPoolManager of(RecyclerView.RecycledViewPool pool) {
+        WeakReference<SharedPoolManager> reference = POOL_OWNERS.get(pool);
+        return reference != null ? reference.get() : null;
+    }
+
+    /**
+     * 范围更小时（如只在一个Fragment内共用）可以直接创建
+     */
+    public SharedPoolManager(Context context) {
+        //只弱引用本对象，Activity销毁后不会因为注册在Application上而泄漏
+        context.getApplicationContext().registerComponentCallbacks(new TrimCallbacks(this, context.getApplicationContext()));
+        POOL_OWNERS.put(pool, new WeakReference<>(this));
+    }
+
+    public RecyclerView.RecycledViewPool getPool() {
+        return pool;
+    }
+
+    /**
+     * 每种布局最多缓存的个数
+     */
+    public void setMaxPerType(int maxPerType) {
+        this.maxPerType = maxPerType;
+        for (int i = 0; i < capacities.size(); i++) {
+            int viewType = capacities.keyAt(i);
+            updateCapacity(viewType, peakCounts.get(viewType));
+        }
+    }
+
+    /**
+     * 使用共用的缓存池，需在setLayoutManager()、setAdapter()之后调用，之后不要再更换Adapter。
+     * LinearLayoutManager会设置setRecycleChildrenOnDetach(true)，列表离开窗口（如切换Tab）时子项回收到缓存池供其他列表使用。
+     *
+     * @throws IllegalStateException    还没有设置Adapter
+     * @throws IllegalArgumentException Adapter与已共用的列表不是同一种，ViewHolder不能互相绑定
+     */
+    public void attach(RecyclerView recyclerView) {
+        attach(recyclerView, familyOf(recyclerView.getAdapter()));
+    }
+
+    /**
+     * 使用共用的缓存池，并声明Adapter的种类：不同类的Adapter创建的ViewHolder可以互相绑定时，传入相同的holderFamily
+     *
+     * @param holderFamily 种类，如ViewHolder的类
+     */
+    public void attach(RecyclerView recyclerView, Object holderFamily) {
+        if (trackers.containsKey(recyclerView)) {
+            return;
+        }
+        if (recyclerView.getAdapter() == null) {
+            throw new IllegalStateException("attach()需在setAdapter()之后调用");
+        }
+        if (this.holderFamily == null) {
+            this.holderFamily = holderFamily;
+        } else if (!this.holderFamily.equals(holderFamily)) {
+            throw new IllegalArgumentException("缓存池已被" + this.holderFamily + "使用，"
+                    + holderFamily + "的ViewHolder不能与之混用");
+        }
+        recyclerView.setRecycledViewPool(pool);
+        RecyclerView.LayoutManager layoutManager = recyclerView.getLayoutManager();
+        if (layoutManager instanceof LinearLayoutManager) {
+            ((LinearLayoutManager) layoutManager).setRecycleChildrenOnDetach(true);
+        }
+        AttachTracker tracker = new AttachTracker(recyclerView);
+        recyclerView.addOnChildAttachStateChangeListener(tracker);
+        trackers.put(recyclerView, tracker);
+    }
+
+    /**
+     * Adapter的种类：本库的Adapter都使用BaseRvHolder，其他按类区分（匿名子类按父类）
+     */
+    private static Object familyOf(RecyclerView.Adapter<?> adapter) {
+        if (adapter == null) {
+            throw new IllegalStateException("attach()需在setAdapter()之后调用");
+        }
+        if (adapter instanceof BaseRvAdapter || adapter instanceof CompositeRvAdapter) {
+            return BaseRvHolder.class;
+        }
+        Class<?> type = adapter.getClass();
+        while (type.isAnonymousClass()) {
+            type = type.getSuperclass();
+        }
+        return type;
+    }
+
+    /**
+     * 不再统计该列表，缓存池仍保留
+     */
+    public void detach(RecyclerView recyclerView) {
+        AttachTracker tracker = trackers.remove(recyclerView);
+        if (tracker == null) {
+            return;
+        }
+        recyclerView.removeOnChildAttachStateChangeListener(tracker);
+        for (int i = 0; i < tracker.counts.size(); i++) {
+            int viewType = tracker.counts.keyAt(i);
+            attachedCounts.put(viewType, attachedCounts.get(viewType) - tracker.counts.valueAt(i));
+        }
+    }
+
+    /**
+     * 某种布局观察到的最大同时显示个数
+     */
+    public int getPeakCount(int viewType) {
+        return peakCounts.get(viewType);
+    }
+
+    /**
+     * 某种布局当前的缓存池容量
+     */
+    public int getCapacity(int viewType) {
+        return capacities.get(viewType);
+    }
+
+    /**
+     * 预创建count个viewType的ViewHolder前调用，容量不小于count（不受maxPerType限制），之后按显示个数调整时也不会变小
+     */
+    void reserve(int viewType, int count) {
+        if (count > reservedCounts.get(viewType)) {
+            reservedCounts.put(viewType, count);
+            updateCapacity(viewType, peakCounts.get(viewType));
+        }
+    }
+
+    /**
+     * 按内存紧张程度收缩缓存池：后台或内存严重不足时清空，界面隐藏或内存不足时每种布局只保留1个
+     */
+    public void trimMemory(int level) {
+        if (level >= ComponentCallbacks2.TRIM_MEMORY_BACKGROUND
+                || level == ComponentCallbacks2.TRIM_MEMORY_RUNNING_CRITICAL) {
+            pool.clear();
+        } else if (level >= ComponentCallbacks2.TRIM_MEMORY_RUNNING_LOW) {
+            for (int i = 0; i < capacities.size(); i++) {
+                //setMaxRecycledViews()会丢弃超出的部分，再恢复容量
+                pool.setMaxRecycledViews(capacities.keyAt(i), 1);
+                pool.setMaxRecycledViews(capacities.keyAt(i), capacities.valueAt(i));
+            }
+        }
+    }
+
+    private void onChildAttached(int viewType) {
+        int attached = attachedCounts.get(viewType) + 1;
+        attachedCounts.put(viewType, attached);
+        if (attached > peakCounts.get(viewType)) {
+            peakCounts.put(viewType, attached);
+            updateCapacity(viewType, attached);
+        }
+    }
+
+    private void onChildDetached(int viewType) {
+        attachedCounts.put(viewType, Math.max(0, attachedCounts.get(viewType) - 1));
+    }
+
+    private void updateCapacity(int viewType, int peak) {
+        int capacity = Math.max(Math.min(peak + EXTRA_PER_TYPE, maxPerType), reservedCounts.get(viewType));
+        if (capacity != capacities.get(viewType)) {
+            capacities.put(viewType, capacity);
+            pool.setMaxRecycledViews(viewType, capacity);
+        }
+    }
+
+
+    /**
+     * 统计一个RecyclerView中各布局显示的个数
+     */
+    private class AttachTracker implements RecyclerView.OnChildAttachStateChangeListener {
+        private final WeakReference<RecyclerView> recyclerView;
+        private final SparseIntArray counts = new SparseIntArray();
+
+        AttachTracker(RecyclerView recyclerView) {
+            this.recyclerView = new WeakReference<>(recyclerView);
+        }
+
+        @Override
+        public void onChildViewAttachedToWindow(View view) {
+            int viewType = viewTypeOf(view);
+            if (viewType != RecyclerView.INVALID_TYPE) {
+                counts.put(viewType, counts.get(viewType) + 1);
+                onChildAttached(viewType);
+            }
+        }
+
+        @Override
+        public void onChildViewDetachedFromWindow(View view) {
+            int viewType = viewTypeOf(view);
+            if (viewType != RecyclerView.INVALID_TYPE && counts.get(viewType) > 0) {
+                counts.put(viewType, counts.get(viewType) - 1);
+                onChildDetached(viewType);
+            }
+        }
+
+        private int viewTypeOf(View view) {
+            RecyclerView parent = recyclerView.get();
+            RecyclerView.ViewHolder holder = parent != null ? parent.getChildViewHolder(view) : null;
+            return holder != null ? holder.getItemViewType() : RecyclerView.INVALID_TYPE;
+        }
+    }
+
+
+    private static class TrimCallbacks implements ComponentCallbacks2 {
+        private final WeakReference<SharedPoolManager> manager;
+        private final Context applicationContext;
+
+        TrimCallbacks(SharedPoolManager manager, Context applicationContext) {
+            this.manager = new WeakReference<>(manager);
+            this.applicationContext = applicationContext;
+        }
+
+        @Override
+        public void onTrimMemory(int level) {
+            SharedPoolManager target = manager.get();
+            if (target == null) {
+                applicationContext.unregisterComponentCallbacks(this);
+                return;
+            }
+            target.trimMemory(level);
+        }
+
+        @Override
+        public void onLowMemory() {
+            onTrimMemory(ComponentCallbacks2.TRIM_MEMORY_COMPLETE);
+        }
+
+        @Override
+        public void onConfigurationChanged(Configuration newConfig) {
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.admin.recyclerviewdemo.rvadapter;
+
+import android.content.Context;
+
+import java.util.ArrayList;
+
+/**
+ * 只有一个子项的Adapter，用作CompositeRvAdapter的头部、尾部、加载更多。
+ * setVisible(false)时没有子项，显示、隐藏以单项插入、删除通知。
+ * 需要填充内容时重写convert()（默认不处理），data为占位对象，没有意义。
+ */
+public class SingleItemAdapter extends BaseRvAdapter<Object> {
+    private static final Object ITEM = new Object();
+
+    public SingleItemAdapter(Context context, int layoutId) {
+        super(context, newItems(), layoutId);
+    }
+
+    private static ArrayList<Object> newItems() {
+        ArrayList<Object> items = new ArrayList<>(1);
+        items.add(ITEM);
+        return items;
+    }
+
+    /**
+     * 布局内容固定时不需要填充，默认不处理
+     */
+    @Override
+    public void convert(BaseRvHolder holder, Object data, int position) {
+    }
+
+    public void setVisible(boolean visible) {
+        if (visible == isVisible()) {
+            return;
+        }
+        if (visible) {
+            getData().add(ITEM);
+            notifyItemInserted(0);
+        } else {
+            getData().clear();
+            notifyItemRemoved(0);
+        }
+    }
+
+    public boolean isVisible() {
+        return !getData().isEmpty();
+    }
+}
@@ -0,0 +1,166 @@
+package com.example.admin.recyclerviewdemo.rvadapter;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * 线程安全的快照数据源：
+ * 数据保存在PersistentVector中，任意线程的修改通过CAS产生新版本，共用未修改的部分，不复制整个列表；
+ * snapshot()不加锁取得一个一致的版本，之后的修改不影响它。
+ * 每个版本记录相对上一版本的修改，SnapshotRvAdapter在主线程发布最新版本时依次通知RecyclerView。
+ * 版本链最多保留MAX_REPLAY个之前的版本，没有Adapter发布时（如绑定前在后台填充）中间版本也可以被回收。
+ */
+public final class SnapshotDataSource<T> {
+    static final int OP_NONE = 0;
+    static final int OP_INSERT = 1;
+    static final int OP_REMOVE = 2;
+    static final int OP_CHANGE = 3;
+    static final int OP_RESET = 4;
+    /**
+     * 版本链的最大长度，更早的修改不再逐个通知，发布时整体刷新
+     */
+    static final int MAX_REPLAY = 64;
+
+    /**
+     * 产生了新版本，在修改所在的线程回调
+     */
+    interface Listener {
+        void onVersionCreated();
+    }
+
+    private final AtomicReference<Version<T>> current;
+    private volatile Listener listener;
+
+
+    public SnapshotDataSource() {
+        this(PersistentVector.<T>empty());
+    }
+
+    public SnapshotDataSource(Collection<? extends T> items) {
+        this(PersistentVector.<T>of(items));
+    }
+
+    private SnapshotDataSource(PersistentVector<T> initial) {
+        current = new AtomicReference<>(new Version<>(initial, null, OP_NONE, 0, 0, 0));
+    }
+
+    void setListener(Listener listener) {
+        this.listener = listener;
+    }
+
+    Version<T> currentVersion() {
+        return current.get();
+    }
+
+    /**
+     * 当前版本，可在任意线程调用
+     */
+    public PersistentVector<T> snapshot() {
+        return current.get().vector;
+    }
+
+    public int size() {
+        return snapshot().size();
+    }
+
+    public void add(T item) {
+        Version<T> base;
+        do {
+            base = current.get();
+        } while (!commit(base, base.vector.plus(item), OP_INSERT, base.vector.size(), 1));
+    }
+
+    public void add(int position, T item) {
+        Version<T> base;
+        do {
+            base = current.get();
+        } while (!commit(base, base.vector.plus(position, item), OP_INSERT, position, 1));
+    }
+
+    public void addAll(Collection<? extends T> items) {
+        if (items == null || items.isEmpty()) {
+            return;
+        }
+        Version<T> base;
+        do {
+            base = current.get();
+        } while (!commit(base, base.vector.plusAll(items), OP_INSERT, base.vector.size(), items.size()));
+    }
+
+    public void set(int position, T item) {
+        Version<T> base;
+        do {
+            base = current.get();
+        } while (!commit(base, base.vector.with(position, item), OP_CHANGE, position, 1));
+    }
+
+    public void remove(int position) {
+        Version<T> base;
+        do {
+            base = current.get();
+        } while (!commit(base, base.vector.minus(position), OP_REMOVE, position, 1));
+    }
+
+    /**
+     * 替换全部数据，RecyclerView整体刷新
+     */
+    public void setAll(Collection<? extends T> items) {
+        PersistentVector<T> vector = PersistentVector.of(items);
+        Version<T> base;
+        do {
+            base = current.get();
+        } while (!commit(base, vector, OP_RESET, 0, 0));
+    }
+
+    public void clear() {
+        setAll(Collections.<T>emptyList());
+    }
+
+    private boolean commit(Version<T> base, PersistentVector<T> vector, int op, int position, int count) {
+        Version<T> next = new Version<>(vector, base, op, position, count, base.sequence + 1);
+        if (next.depth > MAX_REPLAY) {
+            //断开版本链，之前的版本不再被引用；跨过断点发布时找不到中间版本，整体刷新
+            next.previous = null;
+            next.depth = 0;
+        }
+        if (!current.compareAndSet(base, next)) {
+            return false;
+        }
+        Listener l = listener;
+        if (l != null) {
+            l.onVersionCreated();
+        }
+        return true;
+    }
+
+
+    /**
+     * 一个版本及其相对上一版本的修改
+     */
+    static final class Version<T> {
+        final PersistentVector<T> vector;
+        final int op;
+        final int position;
+        final int count;
+        final long sequence;
+        /**
+         * 上一版本，主线程发布后或版本链超过MAX_REPLAY时置为null，之前的版本可以被回收
+         */
+        Version<T> previous;
+        /**
+         * 创建时previous链上的版本数（发布时断开不会更新，只会偏大）
+         */
+        int depth;
+
+        Version(PersistentVector<T> vector, Version<T> previous, int op, int position, int count, long sequence) {
+            this.vector = vector;
+            this.previous = previous;
+            this.depth = previous != null ? previous.depth + 1 : 0;
+            this.op = op;
+            this.position = position;
+            this.count = count;
+            this.sequence = sequence;
+        }
+    }
+}
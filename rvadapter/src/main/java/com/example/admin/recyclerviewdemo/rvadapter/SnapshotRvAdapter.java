@@ -0,0 +1,170 @@
+package com.example.admin.recyclerviewdemo.rvadapter;
+
+import android.content.Context;
+import android.os.Handler;
+import android.os.Looper;
+
+import java.util.AbstractList;
+import java.util.RandomAccess;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 绑定SnapshotDataSource的Adapter：
+ * 后台线程直接修改SnapshotDataSource，Adapter在主线程发布最新版本，并按版本记录的修改通知RecyclerView；
+ * 绑定只读取已发布的不可变版本，不加锁，也不会读到修改到一半的数据。
+ * 数据源只能通过SnapshotDataSource修改，refreshData()、loadMoreData()、addItem()、edit()等方法抛出异常。
+ * 一个SnapshotDataSource只能绑定一个Adapter。
+ */
+public abstract class SnapshotRvAdapter<T> extends BaseRvAdapter<T> {
+    /**
+     * 两次发布之间的修改超过此数时整体刷新，不再逐个通知；与数据源保留的版本链长度一致
+     */
+    private static final int MAX_REPLAY = SnapshotDataSource.MAX_REPLAY;
+
+    private final SnapshotDataSource<T> source;
+    private final SnapshotList<T> snapshot;
+    private SnapshotDataSource.Version<T> displayed;
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+    private final AtomicBoolean publishScheduled = new AtomicBoolean();
+    private final Runnable publishRunnable = new Runnable() {
+        @Override
+        public void run() {
+            publish();
+        }
+    };
+
+
+    public SnapshotRvAdapter(Context context, SnapshotDataSource<T> source, int itemLayoutId) {
+        this(context, source, new SnapshotList<T>(), itemLayoutId);
+    }
+
+    private SnapshotRvAdapter(Context context, SnapshotDataSource<T> source, SnapshotList<T> snapshot, int itemLayoutId) {
+        super(context, snapshot, itemLayoutId);
+        this.source = source;
+        this.snapshot = snapshot;
+        attach();
+    }
+
+    /**
+     * 多布局，通过addItemViewDelegate()注册各布局的委托
+     */
+    public SnapshotRvAdapter(Context context, SnapshotDataSource<T> source) {
+        this(context, source, new SnapshotList<T>());
+    }
+
+    private SnapshotRvAdapter(Context context, SnapshotDataSource<T> source, SnapshotList<T> snapshot) {
+        super(context, snapshot);
+        this.source = source;
+        this.snapshot = snapshot;
+        attach();
+    }
+
+    private void attach() {
+        displayed = source.currentVersion();
+        displayed.previous = null;
+        snapshot.vector = displayed.vector;
+        source.setListener(new SnapshotDataSource.Listener() {
+            @Override
+            public void onVersionCreated() {
+                //同一时间只排一次，发布时取最新版本
+                if (publishScheduled.compareAndSet(false, true)) {
+                    mainHandler.post(publishRunnable);
+                }
+            }
+        });
+    }
+
+    public SnapshotDataSource<T> getSource() {
+        return source;
+    }
+
+    @Override
+    String getReadOnlyMessage() {
+        return "SnapshotRvAdapter的数据源只能通过SnapshotDataSource修改";
+    }
+
+    /**
+     * 已发布、正在显示的版本
+     */
+    public PersistentVector<T> getSnapshot() {
+        return snapshot.vector;
+    }
+
+    /**
+     * 立即发布最新版本，只能在主线程调用；一般不需要调用，修改后自动发布
+     */
+    public void publish() {
+        publishScheduled.set(false);
+        SnapshotDataSource.Version<T> latest = source.currentVersion();
+        if (latest == displayed) {
+            return;
+        }
+
+        //从最新版本往前找到正在显示的版本，得到两者之间的修改
+        int changes = (int) Math.min(latest.sequence - displayed.sequence, MAX_REPLAY + 1);
+        SnapshotDataSource.Version<T>[] versions = null;
+        boolean reset = changes > MAX_REPLAY;
+        if (!reset) {
+            versions = newVersionArray(changes);
+            SnapshotDataSource.Version<T> version = latest;
+            for (int i = changes - 1; i >= 0; i--) {
+                if (version == null) {
+                    reset = true;
+                    break;
+                }
+                versions[i] = version;
+                reset |= version.op == SnapshotDataSource.OP_RESET;
+                version = version.previous;
+            }
+        }
+        snapshot.vector = latest.vector;
+        displayed = latest;
+        latest.previous = null;
+        invalidateKeyIndex();
+
+        if (reset) {
+            notifyDataSetChanged();
+            return;
+        }
+        BatchingListUpdateCallback callback = new BatchingListUpdateCallback(new AdapterListUpdateCallback(this));
+        for (SnapshotDataSource.Version<T> version : versions) {
+            switch (version.op) {
+                case SnapshotDataSource.OP_INSERT:
+                    callback.onInserted(version.position, version.count);
+                    break;
+                case SnapshotDataSource.OP_REMOVE:
+                    callback.onRemoved(version.position, version.count);
+                    break;
+                case SnapshotDataSource.OP_CHANGE:
+                    callback.onChanged(version.position, version.count, null);
+                    break;
+                default:
+                    break;
+            }
+        }
+        callback.dispatchLastEvent();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> SnapshotDataSource.Version<T>[] newVersionArray(int length) {
+        return new SnapshotDataSource.Version[length];
+    }
+
+
+    /**
+     * 主线程看到的数据：已发布的版本，只在publish()中替换
+     */
+    private static final class SnapshotList<T> extends AbstractList<T> implements RandomAccess {
+        PersistentVector<T> vector = PersistentVector.empty();
+
+        @Override
+        public T get(int index) {
+            return vector.get(index);
+        }
+
+        @Override
+        public int size() {
+            return vector.size();
+        }
+    }
+}
@@ -0,0 +1,279 @@
+package com.example.admin.recyclerviewdemo.rvadapter;
+
+import android.annotation.TargetApi;
+import android.content.Context;
+import android.os.Build;
+import android.os.Handler;
+import android.os.Looper;
+import android.support.v7.widget.RecyclerView;
+import android.view.Choreographer;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * 流式追加的Adapter，用于实时日志、聊天等每秒收到大量子项的列表：
+ * 1、append()、appendAll()可以在任意线程调用，不需要切换到主线程；
+ * 2、数据源为RingBufferList，超过容量时丢弃最早的子项；
+ * 3、一帧内追加的子项合并，每帧最多通知一次区间删除（丢弃的旧子项）和一次区间插入；
+ * 4、setStickToBottom(true)时，已在底部的列表追加后保持在底部，用户向上翻看时不跳动。
+ * 数据源只能通过append()修改：loadMoreData()等同于appendAll()，refreshData()、addItem()、edit()等方法抛出异常。
+ */
+public abstract class StreamingRvAdapter<T> extends BaseRvAdapter<T> {
+    private static final long LEGACY_FRAME_DELAY_MILLIS = 16;
+
+    private final RingBufferList<T> items;
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+
+    /**
+     * 生产者追加、尚未显示的子项，flush()时与drained交换，不每帧创建集合
+     */
+    private final Object lock = new Object();
+    private ArrayList<T> pending = new ArrayList<>();
+    private ArrayList<T> drained = new ArrayList<>();
+    private boolean flushScheduled;
+    private long droppedCount;
+
+    private RecyclerView recyclerView;
+    private boolean stickToBottom;
+
+    private Object frameCallback;
+    private final Runnable flushRunnable = new Runnable() {
+        @Override
+        public void run() {
+            flush();
+        }
+    };
+    private final Runnable postFrameRunnable = new Runnable() {
+        @Override
+        public void run() {
+            postFrame();
+        }
+    };
+
+
+    /**
+     * 单布局
+     *
+     * @param capacity 最多保留的子项数
+     */
+    public StreamingRvAdapter(Context context, int capacity, int itemLayoutId) {
+        this(context, new RingBufferList<T>(capacity), itemLayoutId);
+    }
+
+    private StreamingRvAdapter(Context context, RingBufferList<T> items, int itemLayoutId) {
+        super(context, items, itemLayoutId);
+        this.items = items;
+    }
+
+    /**
+     * 多布局，通过addItemViewDelegate()注册各布局的委托
+     *
+     * @param capacity 最多保留的子项数
+     */
+    public StreamingRvAdapter(Context context, int capacity) {
+        this(context, new RingBufferList<T>(capacity));
+    }
+
+    private StreamingRvAdapter(Context context, RingBufferList<T> items) {
+        super(context, items);
+        this.items = items;
+    }
+
+    public RingBufferList<T> getItems() {
+        return items;
+    }
+
+    /**
+     * 追加一个子项，可以在任意线程调用，下一帧显示
+     */
+    public void append(T item) {
+        boolean schedule;
+        synchronized (lock) {
+            pending.add(item);
+            trimPendingLocked();
+            schedule = !flushScheduled;
+            flushScheduled = true;
+        }
+        if (schedule) {
+            scheduleFlush();
+        }
+    }
+
+    /**
+     * 追加一批子项，可以在任意线程调用，下一帧显示
+     */
+    public void appendAll(Collection<? extends T> newItems) {
+        if (newItems == null || newItems.isEmpty()) {
+            return;
+        }
+        boolean schedule;
+        synchronized (lock) {
+            pending.addAll(newItems);
+            trimPendingLocked();
+            schedule = !flushScheduled;
+            flushScheduled = true;
+        }
+        if (schedule) {
+            scheduleFlush();
+        }
+    }
+
+    /**
+     * 与appendAll()相同，经过同一把锁和每帧合并，不直接修改数据源
+     */
+    @Override
+    public void loadMoreData(List<T> mList) {
+        appendAll(mList);
+    }
+
+    @Override
+    String getReadOnlyMessage() {
+        return "StreamingRvAdapter的数据源只能通过append()、appendAll()修改";
+    }
+
+    /**
+     * 主线程长时间没有刷新时，待显示的子项最多保留两倍容量，超出的部分不会再被显示
+     */
+    private void trimPendingLocked() {
+        int capacity = items.capacity();
+        int size = pending.size();
+        if (size >= capacity * 2) {
+            pending.subList(0, size - capacity).clear();
+            droppedCount += size - capacity;
+        }
+    }
+
+    /**
+     * 已在底部时，追加后滚动到最后一项
+     */
+    public void setStickToBottom(boolean stickToBottom) {
+        this.stickToBottom = stickToBottom;
+    }
+
+    public boolean isStickToBottom() {
+        return stickToBottom;
+    }
+
+    /**
+     * 因超过容量被丢弃的子项数，包括没有显示过的
+     */
+    public long getDroppedCount() {
+        synchronized (lock) {
+            return droppedCount;
+        }
+    }
+
+    /**
+     * 已追加、尚未显示的子项数
+     */
+    public int getPendingCount() {
+        synchronized (lock) {
+            return pending.size();
+        }
+    }
+
+    /**
+     * 立即显示已追加的子项，只能在主线程调用；一般不需要调用，每帧开始时自动执行
+     */
+    public void flush() {
+        ArrayList<T> batch;
+        synchronized (lock) {
+            flushScheduled = false;
+            batch = pending;
+            pending = drained;
+            drained = batch;
+        }
+        int count = batch.size();
+        if (count == 0) {
+            return;
+        }
+
+        boolean atBottom = stickToBottom && recyclerView != null && !recyclerView.canScrollVertically(1);
+        int capacity = items.capacity();
+        int oldSize = items.size();
+        //一批超过容量时，前面的子项不会被显示
+        int skipped = Math.max(0, count - capacity);
+        int appended = count - skipped;
+        int removed = Math.max(0, oldSize + appended - capacity);
+        items.removeOldest(removed);
+        for (int i = skipped; i < count; i++) {
+            items.append(batch.get(i));
+        }
+        batch.clear();
+        synchronized (lock) {
+            droppedCount += skipped + removed;
+        }
+
+        invalidateKeyIndex();
+        if (removed > 0) {
+            notifyItemRangeRemoved(0, removed);
+        }
+        notifyItemRangeInserted(oldSize - removed, appended);
+        if (atBottom) {
+            recyclerView.scrollToPosition(items.size() - 1);
+        }
+    }
+
+    /**
+     * 清空，包括尚未显示的子项，只能在主线程调用
+     */
+    public void clear() {
+        synchronized (lock) {
+            pending.clear();
+        }
+        int size = items.size();
+        if (size > 0) {
+            items.clear();
+            invalidateKeyIndex();
+            notifyItemRangeRemoved(0, size);
+        }
+    }
+
+    @Override
+    public void onAttachedToRecyclerView(RecyclerView recyclerView) {
+        super.onAttachedToRecyclerView(recyclerView);
+        this.recyclerView = recyclerView;
+    }
+
+    @Override
+    public void onDetachedFromRecyclerView(RecyclerView recyclerView) {
+        if (this.recyclerView == recyclerView) {
+            this.recyclerView = null;
+        }
+        super.onDetachedFromRecyclerView(recyclerView);
+    }
+
+    private void scheduleFlush() {
+        if (Looper.myLooper() == Looper.getMainLooper()) {
+            postFrame();
+        } else {
+            mainHandler.post(postFrameRunnable);
+        }
+    }
+
+    /**
+     * 在下一帧开始时刷新，本帧的布局即包含新子项
+     */
+    private void postFrame() {
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.JELLY_BEAN) {
+            postFrameCallback();
+        } else {
+            mainHandler.postDelayed(flushRunnable, LEGACY_FRAME_DELAY_MILLIS);
+        }
+    }
+
+    @TargetApi(Build.VERSION_CODES.JELLY_BEAN)
+    private void postFrameCallback() {
+        if (frameCallback == null) {
+            frameCallback = new Choreographer.FrameCallback() {
+                @Override
+                public void doFrame(long frameTimeNanos) {
+                    flush();
+                }
+            };
+        }
+        Choreographer.getInstance().postFrameCallback((Choreographer.FrameCallback) frameCallback);
+    }
+}
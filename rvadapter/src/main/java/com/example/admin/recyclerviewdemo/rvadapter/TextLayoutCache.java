@@ -0,0 +1,342 @@
+package com.example.admin.recyclerviewdemo.rvadapter;
+
+import android.os.Build;
+import android.os.Looper;
+import android.text.Layout;
+import android.text.StaticLayout;
+import android.text.TextPaint;
+import android.util.LruCache;
+import android.util.SparseArray;
+import android.widget.TextView;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * 文字预排版的缓存，配合BaseRvHolder.setPrecomputedText()使用：
+ * 在后台线程按TextView的宽度和画笔排版，结果按（文字、样式、宽度）缓存，绑定时交给TextView。
+ * 1、Android 9.0及以上为PrecomputedText，TextView直接使用已测量的结果；
+ * 2、更低的版本在后台构建StaticLayout，字形的测量结果进入系统的文字缓存，TextView测量时命中，主线程只需断行；
+ *    StaticLayout不能交给TextView，构建后即丢弃，缓存中只记录已预热，绑定时计入getWarmCount()而不是命中。
+ * 样式在绑定时从同一布局、同一id的TextView中记录（需已布局，宽度大于0），之后precompute()按该样式排版。
+ * 不同布局中id相同的TextView样式各自记录，不会互相覆盖。
+ */
+public final class TextLayoutCache {
+    private static final int MAX_ENTRIES = 500;
+    /**
+     * 低于9.0时缓存的值：已在后台排版过，系统的文字缓存已预热
+     */
+    private static final Object WARMED = Boolean.TRUE;
+
+    private static final TextLayoutCache INSTANCE = new TextLayoutCache();
+
+    /**
+     * compileSdkVersion低于28，PrecomputedText通过反射调用
+     */
+    private static final Method CREATE_PRECOMPUTED;
+    private static final Method GET_TEXT_METRICS_PARAMS;
+
+    static {
+        Method create = null;
+        Method getParams = null;
+        if (Build.VERSION.SDK_INT >= 28) {
+            try {
+                Class<?> precomputedClass = Class.forName("android.text.PrecomputedText");
+                Class<?> paramsClass = Class.forName("android.text.PrecomputedText$Params");
+                create = precomputedClass.getMethod("create", CharSequence.class, paramsClass);
+                getParams = TextView.class.getMethod("getTextMetricsParams");
+            } catch (Exception e) {
+                create = null;
+                getParams = null;
+            }
+        }
+        CREATE_PRECOMPUTED = create;
+        GET_TEXT_METRICS_PARAMS = getParams;
+    }
+
+    private final Executor executor = Executors.newSingleThreadExecutor(new ThreadFactory() {
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "TextLayoutCache");
+            thread.setDaemon(true);
+            thread.setPriority(Thread.MIN_PRIORITY);
+            return thread;
+        }
+    });
+    private final LruCache<Key, Object> cache = new LruCache<>(MAX_ENTRIES);
+    /**
+     * 每个布局中每个控件id最近一次的样式：布局id -> (控件id -> 样式)
+     */
+    private final SparseArray<SparseArray<Spec>> specs = new SparseArray<>();
+    private int nextSpecId;
+    /**
+     * 主线程查找时复用，不分配对象
+     */
+    private final Key probe = new Key(0, null);
+    private int hitCount;
+    private int warmCount;
+    private int missCount;
+
+
+    public static TextLayoutCache get() {
+        return INSTANCE;
+    }
+
+    private TextLayoutCache() {
+    }
+
+    /**
+     * 按布局中该控件id最近一次绑定时的样式预排版，一般在RenderModelBinder.prepare()中调用。
+     * 在后台线程调用时直接排版，在主线程调用时提交到后台。该控件还没有绑定过时忽略。
+     *
+     * @param layoutId 子项的布局id，即ItemViewDelegate.getItemViewLayoutId()
+     * @param viewId   TextView的id
+     * @param text     文字
+     */
+    public void precompute(int layoutId, int viewId, final String text) {
+        if (text == null || text.isEmpty()) {
+            return;
+        }
+        final Spec spec;
+        synchronized (this) {
+            SparseArray<Spec> layoutSpecs = specs.get(layoutId);
+            spec = layoutSpecs != null ? layoutSpecs.get(viewId) : null;
+        }
+        if (spec == null) {
+            return;
+        }
+        if (Looper.myLooper() == Looper.getMainLooper()) {
+            executor.execute(new Runnable() {
+                @Override
+                public void run() {
+                    compute(spec, text);
+                }
+            });
+        } else {
+            compute(spec, text);
+        }
+    }
+
+    private void compute(Spec spec, String text) {
+        Key key = new Key(spec.id, text);
+        if (cache.get(key) != null) {
+            return;
+        }
+        Object result = null;
+        if (spec.params != null) {
+            try {
+                result = CREATE_PRECOMPUTED.invoke(null, text, spec.params);
+            } catch (Exception e) {
+                result = null;
+            }
+        }
+        if (result == null) {
+            //只为预热系统的文字缓存，每次复制画笔，StaticLayout排版时会修改画笔的状态
+            new StaticLayout(text, new TextPaint(spec.paint), spec.width, Layout.Alignment.ALIGN_NORMAL,
+                    spec.spacingMult, spec.spacingAdd, spec.includePad);
+            result = WARMED;
+        }
+        cache.put(key, result);
+    }
+
+    /**
+     * 绑定时调用，记录TextView的样式并查找预排版的结果，只能在主线程调用
+     *
+     * @return 交给TextView.setText()的内容：PrecomputedText，或没有可直接使用的结果（包括只预热过）时为text本身
+     */
+    CharSequence lookup(int layoutId, int viewId, TextView view, String text) {
+        Spec spec = specFor(layoutId, viewId, view);
+        if (spec == null) {
+            return text;
+        }
+        probe.specId = spec.id;
+        probe.text = text;
+        Object result = cache.get(probe);
+        probe.text = null;
+        if (result == null) {
+            missCount++;
+            return text;
+        }
+        if (result == WARMED) {
+            warmCount++;
+            return text;
+        }
+        hitCount++;
+        return (CharSequence) result;
+    }
+
+    private synchronized Spec specFor(int layoutId, int viewId, TextView view) {
+        int width = view.getWidth() - view.getCompoundPaddingLeft() - view.getCompoundPaddingRight();
+        if (width <= 0) {
+            return null;
+        }
+        SparseArray<Spec> layoutSpecs = specs.get(layoutId);
+        if (layoutSpecs == null) {
+            layoutSpecs = new SparseArray<>();
+            specs.put(layoutId, layoutSpecs);
+        }
+        Spec spec = layoutSpecs.get(viewId);
+        if (spec != null && spec.matches(view, width)) {
+            return spec;
+        }
+        spec = new Spec(nextSpecId++, view, width);
+        layoutSpecs.put(viewId, spec);
+        return spec;
+    }
+
+    /**
+     * 绑定时命中预排版结果（PrecomputedText，9.0及以上）的次数
+     */
+    public int getHitCount() {
+        return hitCount;
+    }
+
+    /**
+     * 绑定时文字已在后台排版过、系统的文字缓存已预热的次数（低于9.0）
+     */
+    public int getWarmCount() {
+        return warmCount;
+    }
+
+    public int getMissCount() {
+        return missCount;
+    }
+
+    /**
+     * 清空缓存，内存不足时调用
+     */
+    public void clear() {
+        cache.evictAll();
+    }
+
+
+    /**
+     * 排版用的样式，创建后不再修改
+     */
+    private static final class Spec {
+        final int id;
+        final TextPaint paint;
+        final int width;
+        final float spacingMult;
+        final float spacingAdd;
+        final boolean includePad;
+        /**
+         * 以下与PrecomputedText.Params一致：断行策略、断字频率、文字方向（由textDirection和layoutDirection决定）
+         */
+        final int breakStrategy;
+        final int hyphenationFrequency;
+        final int textDirection;
+        final int layoutDirection;
+        /**
+         * PrecomputedText.Params，低于9.0时为null
+         */
+        final Object params;
+
+        Spec(int id, TextView view, int width) {
+            this.id = id;
+            this.paint = new TextPaint(view.getPaint());
+            this.width = width;
+            if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.JELLY_BEAN) {
+                spacingMult = view.getLineSpacingMultiplier();
+                spacingAdd = view.getLineSpacingExtra();
+                includePad = view.getIncludeFontPadding();
+            } else {
+                spacingMult = 1f;
+                spacingAdd = 0f;
+                includePad = true;
+            }
+            if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.M) {
+                breakStrategy = view.getBreakStrategy();
+                hyphenationFrequency = view.getHyphenationFrequency();
+            } else {
+                breakStrategy = 0;
+                hyphenationFrequency = 0;
+            }
+            if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.JELLY_BEAN_MR1) {
+                textDirection = view.getTextDirection();
+                layoutDirection = view.getLayoutDirection();
+            } else {
+                textDirection = 0;
+                layoutDirection = 0;
+            }
+            Object textParams = null;
+            if (GET_TEXT_METRICS_PARAMS != null) {
+                try {
+                    textParams = GET_TEXT_METRICS_PARAMS.invoke(view);
+                } catch (Exception e) {
+                    textParams = null;
+                }
+            }
+            this.params = textParams;
+        }
+
+        /**
+         * TextView的样式与记录时是否相同，只比较影响排版的属性，颜色不影响。
+         * 覆盖PrecomputedText.Params的全部属性，相同时TextView.setText()不会因参数不一致而抛出异常
+         */
+        boolean matches(TextView view, int width) {
+            TextPaint current = view.getPaint();
+            if (width != this.width
+                    || current.getTextSize() != paint.getTextSize()
+                    || !equal(current.getTypeface(), paint.getTypeface())
+                    || current.getFlags() != paint.getFlags()
+                    || current.getTextScaleX() != paint.getTextScaleX()
+                    || current.getTextSkewX() != paint.getTextSkewX()) {
+                return false;
+            }
+            if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.JELLY_BEAN_MR1
+                    && (!equal(current.getTextLocale(), paint.getTextLocale())
+                    || view.getTextDirection() != textDirection
+                    || view.getLayoutDirection() != layoutDirection)) {
+                return false;
+            }
+            if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.LOLLIPOP
+                    && (current.getLetterSpacing() != paint.getLetterSpacing()
+                    || current.isElegantTextHeight() != paint.isElegantTextHeight()
+                    || !equal(current.getFontFeatureSettings(), paint.getFontFeatureSettings()))) {
+                return false;
+            }
+            if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.M
+                    && (view.getBreakStrategy() != breakStrategy
+                    || view.getHyphenationFrequency() != hyphenationFrequency)) {
+                return false;
+            }
+            if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.JELLY_BEAN) {
+                return view.getLineSpacingMultiplier() == spacingMult
+                        && view.getLineSpacingExtra() == spacingAdd
+                        && view.getIncludeFontPadding() == includePad;
+            }
+            return true;
+        }
+
+        private static boolean equal(Object a, Object b) {
+            return a == null ? b == null : a.equals(b);
+        }
+    }
+
+    private static final class Key {
+        int specId;
+        String text;
+
+        Key(int specId, String text) {
+            this.specId = specId;
+            this.text = text;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) o;
+            return specId == other.specId && text.equals(other.text);
+        }
+
+        @Override
+        public int hashCode() {
+            return specId * 31 + text.hashCode();
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.example.admin.recyclerviewdemo.rvadapter;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * TreeRvAdapter的节点。
+ * 设置给Adapter之后修改子节点，需调用TreeRvAdapter.notifyTreeChanged()；展开、折叠通过Adapter进行。
+ */
+public class TreeNode<T> {
+    private T value;
+    private TreeNode<T> parent;
+    private List<TreeNode<T>> children;
+    private boolean expanded;
+    private int depth;
+    /**
+     * 在先序遍历中的下标，由TreeRvAdapter设置
+     */
+    int index = -1;
+
+
+    public TreeNode(T value) {
+        this.value = value;
+    }
+
+    public T getValue() {
+        return value;
+    }
+
+    public void setValue(T value) {
+        this.value = value;
+    }
+
+    public TreeNode<T> getParent() {
+        return parent;
+    }
+
+    /**
+     * 层级，根节点为0
+     */
+    public int getDepth() {
+        return depth;
+    }
+
+    public List<TreeNode<T>> getChildren() {
+        return children == null ? Collections.<TreeNode<T>>emptyList() : Collections.unmodifiableList(children);
+    }
+
+    int getChildCount() {
+        return children == null ? 0 : children.size();
+    }
+
+    TreeNode<T> getChildAt(int i) {
+        return children.get(i);
+    }
+
+    public boolean isLeaf() {
+        return children == null || children.isEmpty();
+    }
+
+    public boolean isExpanded() {
+        return expanded;
+    }
+
+    /**
+     * 初始的展开状态，设置给Adapter之后请使用TreeRvAdapter.expand()、collapse()
+     */
+    public void setExpanded(boolean expanded) {
+        this.expanded = expanded;
+    }
+
+    /**
+     * 添加子节点
+     *
+     * @return 子节点，便于链式建树
+     */
+    public TreeNode<T> addChild(TreeNode<T> child) {
+        if (child.parent != null) {
+            child.parent.removeChild(child);
+        }
+        if (children == null) {
+            children = new ArrayList<>();
+        }
+        children.add(child);
+        child.parent = this;
+        child.updateDepth(depth + 1);
+        return child;
+    }
+
+    public TreeNode<T> addChild(T value) {
+        return addChild(new TreeNode<>(value));
+    }
+
+    public boolean removeChild(TreeNode<T> child) {
+        if (children == null || !children.remove(child)) {
+            return false;
+        }
+        child.parent = null;
+        child.updateDepth(0);
+        return true;
+    }
+
+    private void updateDepth(int depth) {
+        this.depth = depth;
+        for (int i = 0, count = getChildCount(); i < count; i++) {
+            children.get(i).updateDepth(depth + 1);
+        }
+    }
+}
@@ -0,0 +1,242 @@
+package com.example.admin.recyclerviewdemo.rvadapter;
+
+import android.content.Context;
+import android.support.v7.widget.RecyclerView;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * 可展开的树形列表：
+ * 所有节点按先序遍历排列，显示的节点权重为1、被折叠的为0，保存在树状数组中，
+ * position到节点、节点到position都是O(log n)，不需要把树展开成List。
+ * 展开、折叠只修改变化的节点，并通知一次区间插入或删除，节点本身以payload FIELD_EXPANSION刷新（箭头等）。
+ * 数据源只读，refreshData()、addItem()、edit()等方法抛出异常；修改树结构后调用notifyTreeChanged()。
+ */
+public abstract class TreeRvAdapter<T> extends BaseRvAdapter<TreeNode<T>> {
+    /**
+     * 展开状态的字段掩码，SelectionTracker.FIELD_SELECTION之外的最高位
+     */
+    public static final int FIELD_EXPANSION = 1 << 30;
+    private static final Integer PAYLOAD_EXPANSION = FIELD_EXPANSION;
+
+    private final VisibleNodeList<T> visibleNodes;
+    private List<TreeNode<T>> roots = new ArrayList<>();
+    /**
+     * 先序遍历的全部节点及其是否显示
+     */
+    private TreeNode<T>[] nodes;
+    private boolean[] visible;
+    private FenwickTree fenwick;
+    private int visibleCount;
+
+
+    public TreeRvAdapter(Context context, int itemLayoutId) {
+        this(context, new VisibleNodeList<T>(), itemLayoutId);
+    }
+
+    private TreeRvAdapter(Context context, VisibleNodeList<T> visibleNodes, int itemLayoutId) {
+        super(context, visibleNodes, itemLayoutId);
+        this.visibleNodes = visibleNodes;
+        visibleNodes.adapter = this;
+        rebuild();
+    }
+
+    /**
+     * 多布局，通过addItemViewDelegate()注册各布局的委托，可按node.getDepth()区分
+     */
+    public TreeRvAdapter(Context context) {
+        this(context, new VisibleNodeList<T>());
+    }
+
+    private TreeRvAdapter(Context context, VisibleNodeList<T> visibleNodes) {
+        super(context, visibleNodes);
+        this.visibleNodes = visibleNodes;
+        visibleNodes.adapter = this;
+        rebuild();
+    }
+
+    /**
+     * 设置根节点，O(n)
+     */
+    public void setRoots(List<TreeNode<T>> roots) {
+        this.roots = new ArrayList<>(roots);
+        notifyTreeChanged();
+    }
+
+    public List<TreeNode<T>> getRoots() {
+        return roots;
+    }
+
+    @Override
+    String getReadOnlyMessage() {
+        return "TreeRvAdapter的数据源只读，请通过setRoots()或修改节点后调用notifyTreeChanged()";
+    }
+
+    /**
+     * 树的结构（增删节点）变化后调用，重新编号并整体刷新，O(n)
+     */
+    public void notifyTreeChanged() {
+        rebuild();
+        invalidateKeyIndex();
+        notifyDataSetChanged();
+    }
+
+    @SuppressWarnings("unchecked")
+    private void rebuild() {
+        List<TreeNode<T>> order = new ArrayList<>();
+        for (int i = 0; i < roots.size(); i++) {
+            collect(roots.get(i), order);
+        }
+        nodes = order.toArray(new TreeNode[order.size()]);
+        visible = new boolean[nodes.length];
+        visibleCount = 0;
+        int[] weights = new int[nodes.length];
+        for (int i = 0; i < nodes.length; i++) {
+            TreeNode<T> node = nodes[i];
+            node.index = i;
+            TreeNode<T> parent = node.getParent();
+            visible[i] = parent == null || (parent.isExpanded() && visible[parent.index]);
+            weights[i] = visible[i] ? 1 : 0;
+            visibleCount += weights[i];
+        }
+        fenwick = new FenwickTree(weights);
+    }
+
+    /**
+     * 先序遍历，不用递归，深层的树也不会栈溢出
+     */
+    private static <T> void collect(TreeNode<T> root, List<TreeNode<T>> order) {
+        List<TreeNode<T>> stack = new ArrayList<>();
+        stack.add(root);
+        while (!stack.isEmpty()) {
+            TreeNode<T> node = stack.remove(stack.size() - 1);
+            order.add(node);
+            for (int i = node.getChildCount() - 1; i >= 0; i--) {
+                stack.add(node.getChildAt(i));
+            }
+        }
+    }
+
+    /**
+     * 节点的position，O(log n)
+     *
+     * @return 被折叠或不在树中时返回RecyclerView.NO_POSITION
+     */
+    public int getPosition(TreeNode<T> node) {
+        if (!contains(node) || !visible[node.index]) {
+            return RecyclerView.NO_POSITION;
+        }
+        return fenwick.prefixSum(node.index);
+    }
+
+    /**
+     * position处的节点，O(log n)
+     */
+    public TreeNode<T> getNode(int position) {
+        return visibleNodes.get(position);
+    }
+
+    private boolean contains(TreeNode<T> node) {
+        return node.index >= 0 && node.index < nodes.length && nodes[node.index] == node;
+    }
+
+    public void toggle(TreeNode<T> node) {
+        if (node.isExpanded()) {
+            collapse(node);
+        } else {
+            expand(node);
+        }
+    }
+
+    /**
+     * 展开节点，显示的子孙节点以一次区间插入通知；节点本身被折叠时只记录状态
+     */
+    public void expand(TreeNode<T> node) {
+        if (node.isExpanded()) {
+            return;
+        }
+        node.setExpanded(true);
+        int position = getPosition(node);
+        if (position == RecyclerView.NO_POSITION) {
+            return;
+        }
+        int count = setDescendantsVisible(node, true);
+        invalidateKeyIndex();
+        notifyItemChanged(position, PAYLOAD_EXPANSION);
+        if (count > 0) {
+            notifyItemRangeInserted(position + 1, count);
+        }
+    }
+
+    /**
+     * 折叠节点，原来显示的子孙节点以一次区间删除通知，子节点的展开状态保留
+     */
+    public void collapse(TreeNode<T> node) {
+        if (!node.isExpanded()) {
+            return;
+        }
+        int position = getPosition(node);
+        int count = position != RecyclerView.NO_POSITION ? setDescendantsVisible(node, false) : 0;
+        node.setExpanded(false);
+        if (position == RecyclerView.NO_POSITION) {
+            return;
+        }
+        invalidateKeyIndex();
+        notifyItemChanged(position, PAYLOAD_EXPANSION);
+        if (count > 0) {
+            notifyItemRangeRemoved(position + 1, count);
+        }
+    }
+
+    /**
+     * 修改展开的子孙节点（到被折叠的节点为止）的显示状态，它们在先序中连续，O(k log n)
+     *
+     * @return 修改的节点数
+     */
+    private int setDescendantsVisible(TreeNode<T> node, boolean show) {
+        int count = 0;
+        List<TreeNode<T>> stack = new ArrayList<>();
+        stack.add(node);
+        while (!stack.isEmpty()) {
+            TreeNode<T> current = stack.remove(stack.size() - 1);
+            if (!current.isExpanded()) {
+                continue;
+            }
+            for (int i = current.getChildCount() - 1; i >= 0; i--) {
+                TreeNode<T> child = current.getChildAt(i);
+                if (visible[child.index] != show) {
+                    visible[child.index] = show;
+                    fenwick.add(child.index, show ? 1 : -1);
+                    count++;
+                }
+                stack.add(child);
+            }
+        }
+        visibleCount += show ? count : -count;
+        return count;
+    }
+
+
+    /**
+     * 显示中的节点，BaseRvAdapter通过它按position取得节点
+     */
+    private static final class VisibleNodeList<T> extends AbstractList<TreeNode<T>> implements RandomAccess {
+        TreeRvAdapter<T> adapter;
+
+        @Override
+        public TreeNode<T> get(int index) {
+            if (index < 0 || index >= size()) {
+                throw new IndexOutOfBoundsException("index=" + index + "，size=" + size());
+            }
+            return adapter.nodes[adapter.fenwick.find(index)];
+        }
+
+        @Override
+        public int size() {
+            return adapter.visibleCount;
+        }
+    }
+}
@@ -0,0 +1,216 @@
+package com.example.admin.recyclerviewdemo.rvadapter;
+
+/**
+ * 记录每个控件每个属性最后一次设置的值，值未变化时BaseRvHolder跳过对控件的调用。
+ * 只记录控件无法读回或读回后比较代价较高的属性（文字、资源id、颜色）。
+ * 前提是这些属性只通过BaseRvHolder的方法设置：直接修改控件后需调用invalidateView()，ViewHolder被回收时全部清除。
+ * 以(控件id, 属性)为key的开放寻址表，基本类型的值存在long中，查找和更新不创建对象。
+ * 只在主线程使用。
+ */
+final class ViewStateMemo {
+    static final int TEXT = 1;
+    static final int TEXT_COLOR = 2;
+    static final int IMAGE = 3;
+    static final int BACKGROUND = 4;
+
+    /**
+     * 值的种类，同一属性不同种类的值（如文字和文字资源id）互不相等
+     */
+    static final byte NONE = 0;
+    static final byte VALUE = 1;
+    static final byte RESOURCE = 2;
+    static final byte STRING = 3;
+    /**
+     * 预排版的文字，与STRING共用TEXT属性：内容相同但交给控件的对象不同，互相切换时不跳过
+     */
+    static final byte PRECOMPUTED = 4;
+
+    private static final int MIN_CAPACITY = 16;
+
+    private long[] keys = new long[MIN_CAPACITY];
+    private byte[] kinds = new byte[MIN_CAPACITY];
+    private long[] values = new long[MIN_CAPACITY];
+    private String[] strings = new String[MIN_CAPACITY];
+    private boolean[] used = new boolean[MIN_CAPACITY];
+    private int size;
+
+    private long skipped;
+    private long written;
+    /**
+     * 所有ViewHolder的合计
+     */
+    private static long totalSkipped;
+    private static long totalWritten;
+
+    private static long key(int viewId, int property) {
+        return ((long) viewId << 32) | (property & 0xFFFFFFFFL);
+    }
+
+    private int indexOf(long key) {
+        int mask = keys.length - 1;
+        int index = (int) (key ^ (key >>> 32)) * 0x9E3779B9 & mask;
+        while (used[index] && keys[index] != key) {
+            index = (index + 1) & mask;
+        }
+        return index;
+    }
+
+    /**
+     * 记录基本类型的值
+     *
+     * @return true表示值变化了，需要设置到控件上
+     */
+    boolean update(int viewId, int property, byte kind, long value) {
+        int index = slot(key(viewId, property));
+        if (kinds[index] == kind && values[index] == value) {
+            skipped++;
+            totalSkipped++;
+            return false;
+        }
+        kinds[index] = kind;
+        values[index] = value;
+        strings[index] = null;
+        written++;
+        totalWritten++;
+        return true;
+    }
+
+    /**
+     * 记录字符串，String不可变，可以按内容比较
+     *
+     * @return true表示值变化了，需要设置到控件上
+     */
+    boolean update(int viewId, int property, String value) {
+        return update(viewId, property, STRING, value);
+    }
+
+    /**
+     * 记录指定种类的字符串
+     *
+     * @return true表示值变化了，需要设置到控件上
+     */
+    boolean update(int viewId, int property, byte kind, String value) {
+        int index = slot(key(viewId, property));
+        if (kinds[index] == kind && (value == null ? strings[index] == null : value.equals(strings[index]))) {
+            skipped++;
+            totalSkipped++;
+            return false;
+        }
+        kinds[index] = kind;
+        values[index] = 0;
+        strings[index] = value;
+        written++;
+        totalWritten++;
+        return true;
+    }
+
+    /**
+     * 与控件当前值比较的属性只计数
+     *
+     * @param changed 值是否变化
+     * @return changed
+     */
+    boolean check(boolean changed) {
+        if (changed) {
+            written++;
+            totalWritten++;
+        } else {
+            skipped++;
+            totalSkipped++;
+        }
+        return changed;
+    }
+
+    /**
+     * 属性被设置为无法比较的值（如Drawable、Spannable），下次设置时不跳过
+     */
+    void invalidate(int viewId, int property) {
+        long key = key(viewId, property);
+        int index = indexOf(key);
+        if (used[index]) {
+            kinds[index] = NONE;
+            strings[index] = null;
+        }
+        written++;
+        totalWritten++;
+    }
+
+    /**
+     * 控件被外部直接修改后调用，清除该控件所有属性的记录
+     */
+    void invalidateView(int viewId) {
+        for (int i = 0; i < keys.length; i++) {
+            if (used[i] && (int) (keys[i] >>> 32) == viewId) {
+                kinds[i] = NONE;
+                strings[i] = null;
+            }
+        }
+    }
+
+    void invalidateAll() {
+        for (int i = 0; i < keys.length; i++) {
+            kinds[i] = NONE;
+            strings[i] = null;
+        }
+    }
+
+    long getSkippedCount() {
+        return skipped;
+    }
+
+    long getWrittenCount() {
+        return written;
+    }
+
+    static long getTotalSkippedCount() {
+        return totalSkipped;
+    }
+
+    static long getTotalWrittenCount() {
+        return totalWritten;
+    }
+
+    static void resetTotalCounts() {
+        totalSkipped = 0;
+        totalWritten = 0;
+    }
+
+    private int slot(long key) {
+        int index = indexOf(key);
+        if (!used[index]) {
+            if ((size + 1) * 4 > keys.length * 3) {
+                grow();
+                index = indexOf(key);
+            }
+            used[index] = true;
+            keys[index] = key;
+            kinds[index] = NONE;
+            size++;
+        }
+        return index;
+    }
+
+    private void grow() {
+        long[] oldKeys = keys;
+        byte[] oldKinds = kinds;
+        long[] oldValues = values;
+        String[] oldStrings = strings;
+        boolean[] oldUsed = used;
+        int capacity = oldKeys.length * 2;
+        keys = new long[capacity];
+        kinds = new byte[capacity];
+        values = new long[capacity];
+        strings = new String[capacity];
+        used = new boolean[capacity];
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldUsed[i]) {
+                int index = indexOf(oldKeys[i]);
+                used[index] = true;
+                keys[index] = oldKeys[i];
+                kinds[index] = oldKinds[i];
+                values[index] = oldValues[i];
+                strings[index] = oldStrings[i];
+            }
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.example.admin.recyclerviewdemo.rvadapter.image;
+
+import android.annotation.TargetApi;
+import android.graphics.Bitmap;
+import android.os.Build;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 可复用的Bitmap，解码时作为BitmapFactory.Options.inBitmap，避免频繁分配大块内存。
+ * Android 4.4起只要内存足够即可复用，之前的版本要求尺寸完全相同，这里只在4.4及以上复用。
+ * 可在多个线程中使用。
+ */
+public class BitmapPool {
+    private long maxBytes;
+    private long size;
+    private List<Bitmap> bitmaps = new ArrayList<>();
+
+
+    public BitmapPool(long maxBytes) {
+        this.maxBytes = maxBytes;
+    }
+
+    public static boolean isReuseSupported() {
+        return Build.VERSION.SDK_INT >= Build.VERSION_CODES.KITKAT;
+    }
+
+    @TargetApi(Build.VERSION_CODES.KITKAT)
+    private static int byteCountOf(Bitmap bitmap) {
+        return bitmap.getAllocationByteCount();
+    }
+
+    /**
+     * 放入不再显示的Bitmap
+     */
+    public synchronized void put(Bitmap bitmap) {
+        if (!isReuseSupported() || bitmap == null || bitmap.isRecycled() || !bitmap.isMutable()) {
+            return;
+        }
+        int bytes = byteCountOf(bitmap);
+        if (bytes > maxBytes) {
+            return;
+        }
+        bitmaps.add(bitmap);
+        size += bytes;
+        while (size > maxBytes) {
+            size -= byteCountOf(bitmaps.remove(0));
+        }
+    }
+
+    /**
+     * 取出内存不小于bytes、且不超过两倍的Bitmap
+     *
+     * @param bytes 解码需要的字节数
+     * @return Bitmap，没有时返回null
+     */
+    public synchronized Bitmap get(int bytes) {
+        if (!isReuseSupported()) {
+            return null;
+        }
+        int best = -1;
+        for (int i = 0; i < bitmaps.size(); i++) {
+            int candidate = byteCountOf(bitmaps.get(i));
+            if (candidate >= bytes && candidate <= bytes * 2
+                    && (best == -1 || candidate < byteCountOf(bitmaps.get(best)))) {
+                best = i;
+            }
+        }
+        if (best == -1) {
+            return null;
+        }
+        Bitmap bitmap = bitmaps.remove(best);
+        size -= byteCountOf(bitmap);
+        return bitmap;
+    }
+
+    public synchronized void clear() {
+        bitmaps.clear();
+        size = 0;
+    }
+
+}
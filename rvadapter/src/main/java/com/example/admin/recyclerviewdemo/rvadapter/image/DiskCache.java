@@ -0,0 +1,160 @@
+package com.example.admin.recyclerviewdemo.rvadapter.image;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Comparator;
+
+/**
+ * 按字节数限制大小的磁盘缓存：文件名为key的MD5，超出上限时按最后访问时间删除最旧的文件。
+ * 可在多个线程中使用。
+ */
+public class DiskCache {
+    private File directory;
+    private long maxBytes;
+    /**
+     * 当前大小，-1表示尚未统计
+     */
+    private long size = -1;
+
+
+    public DiskCache(File directory, long maxBytes) {
+        this.directory = directory;
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * 取得缓存文件
+     *
+     * @param key key，一般为地址
+     * @return 缓存文件，没有时返回null
+     */
+    public synchronized File get(String key) {
+        File file = new File(directory, hash(key));
+        if (!file.exists()) {
+            return null;
+        }
+        //记录访问时间，作为删除顺序
+        file.setLastModified(System.currentTimeMillis());
+        return file;
+    }
+
+    /**
+     * 写入缓存，先写临时文件再改名，写入失败不会留下不完整的文件
+     *
+     * @param key    key
+     * @param source 数据，由调用方关闭
+     * @return 缓存文件
+     * @throws IOException 写入失败
+     */
+    public File put(String key, InputStream source) throws IOException {
+        String name = hash(key);
+        if (!directory.exists() && !directory.mkdirs() && !directory.exists()) {
+            throw new IOException("无法创建缓存目录：" + directory);
+        }
+        File temp = new File(directory, name + "." + Thread.currentThread().getId() + ".tmp");
+        long written = 0;
+        OutputStream out = new FileOutputStream(temp);
+        try {
+            byte[] buffer = new byte[8192];
+            int read;
+            while ((read = source.read(buffer)) != -1) {
+                out.write(buffer, 0, read);
+                written += read;
+            }
+        } catch (IOException e) {
+            out.close();
+            temp.delete();
+            throw e;
+        }
+        out.close();
+
+        synchronized (this) {
+            File file = new File(directory, name);
+            long oldLength = file.length();
+            if (!temp.renameTo(file)) {
+                temp.delete();
+                throw new IOException("无法写入缓存：" + file);
+            }
+            ensureSize();
+            size += written - oldLength;
+            trimToSize();
+            return file;
+        }
+    }
+
+    /**
+     * 清空缓存
+     */
+    public synchronized void clear() {
+        File[] files = directory.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                file.delete();
+            }
+        }
+        size = 0;
+    }
+
+    private void ensureSize() {
+        if (size >= 0) {
+            return;
+        }
+        size = 0;
+        File[] files = directory.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                size += file.length();
+            }
+        }
+    }
+
+    private void trimToSize() {
+        if (size <= maxBytes) {
+            return;
+        }
+        File[] files = directory.listFiles();
+        if (files == null) {
+            return;
+        }
+        Arrays.sort(files, new Comparator<File>() {
+            @Override
+            public int compare(File a, File b) {
+                long diff = a.lastModified() - b.lastModified();
+                return diff < 0 ? -1 : (diff == 0 ? 0 : 1);
+            }
+        });
+        //删到上限的90%，避免每次写入都要排序
+        long target = maxBytes * 9 / 10;
+        for (int i = 0; i < files.length && size > target; i++) {
+            if (files[i].getName().endsWith(".tmp")) {
+                continue;
+            }
+            long length = files[i].length();
+            if (files[i].delete()) {
+                size -= length;
+            }
+        }
+    }
+
+    private static String hash(String key) {
+        try {
+            byte[] digest = MessageDigest.getInstance("MD5").digest(key.getBytes("UTF-8"));
+            StringBuilder builder = new StringBuilder(digest.length * 2);
+            for (byte b : digest) {
+                builder.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+            }
+            return builder.toString();
+        } catch (NoSuchAlgorithmException e) {
+            return String.valueOf(key.hashCode());
+        } catch (IOException e) {
+            return String.valueOf(key.hashCode());
+        }
+    }
+
+}
@@ -0,0 +1,51 @@
+package com.example.admin.recyclerviewdemo.rvadapter.image;
+
+import android.content.Context;
+import android.net.Uri;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+
+/**
+ * 网络图片：http://、https://，下载结果存入磁盘缓存
+ */
+public class HttpImageFetcher implements ImageFetcher {
+    private static final int TIMEOUT_MILLIS = 15000;
+
+    @Override
+    public boolean canFetch(Uri uri) {
+        String scheme = uri.getScheme();
+        return "http".equals(scheme) || "https".equals(scheme);
+    }
+
+    @Override
+    public boolean isRemote() {
+        return true;
+    }
+
+    @Override
+    public InputStream open(Context context, Uri uri) throws IOException {
+        final HttpURLConnection connection = (HttpURLConnection) new URL(uri.toString()).openConnection();
+        connection.setConnectTimeout(TIMEOUT_MILLIS);
+        connection.setReadTimeout(TIMEOUT_MILLIS);
+        int code = connection.getResponseCode();
+        if (code < 200 || code >= 300) {
+            connection.disconnect();
+            throw new IOException("HTTP " + code + "：" + uri);
+        }
+        return new FilterInputStream(connection.getInputStream()) {
+            @Override
+            public void close() throws IOException {
+                try {
+                    super.close();
+                } finally {
+                    connection.disconnect();
+                }
+            }
+        };
+    }
+
+}
@@ -0,0 +1,37 @@
+package com.example.admin.recyclerviewdemo.rvadapter.image;
+
+import android.content.Context;
+import android.net.Uri;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * 图片来源，在后台线程调用。内置file、content、http(s)，可通过ImagePipeline.addFetcher()扩展。
+ */
+public interface ImageFetcher {
+
+    /**
+     * 是否能加载该地址
+     *
+     * @param uri 地址
+     * @return true表示由该来源加载
+     */
+    boolean canFetch(Uri uri);
+
+    /**
+     * 是否为远程来源：远程来源先下载到磁盘缓存再解码，本地来源直接解码
+     */
+    boolean isRemote();
+
+    /**
+     * 打开输入流，本地来源解码时会打开两次（先读尺寸，再解码）
+     *
+     * @param context 上下文
+     * @param uri     地址
+     * @return 输入流，由调用方关闭
+     * @throws IOException 打开失败
+     */
+    InputStream open(Context context, Uri uri) throws IOException;
+
+}
@@ -0,0 +1,490 @@
+package com.example.admin.recyclerviewdemo.rvadapter.image;
+
+import android.annotation.TargetApi;
+import android.content.ComponentCallbacks2;
+import android.content.Context;
+import android.graphics.Bitmap;
+import android.graphics.BitmapFactory;
+import android.graphics.drawable.Drawable;
+import android.net.Uri;
+import android.os.Build;
+import android.os.Handler;
+import android.os.Looper;
+import android.util.DisplayMetrics;
+import android.util.LruCache;
+import android.view.ViewGroup;
+import android.widget.ImageView;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.WeakHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 列表用的图片加载：
+ * 1、内存缓存按字节数限制大小；网络图片下载后存入磁盘缓存；
+ * 2、按ImageView的尺寸降采样解码，不解码原图；
+ * 3、不再显示的Bitmap放入BitmapPool，解码时通过inBitmap复用；
+ * 4、同一个ImageView再次加载、改为直接设置图片（detach()）或ViewHolder被回收时，取消之前的请求，
+ *    不会把旧图片显示到复用的子项上；
+ * 5、快速滑动时可以pause()，只显示占位图，停下后resume()只加载仍在显示的图片。
+ * load()、cancel()等方法只能在主线程调用。
+ */
+public class ImagePipeline {
+    private static final int THREAD_COUNT = 3;
+
+    private static volatile ImagePipeline instance;
+
+    private Context context;
+    private Handler mainHandler = new Handler(Looper.getMainLooper());
+    private ThreadPoolExecutor executor;
+    private LruCache<String, Bitmap> memoryCache;
+    private DiskCache diskCache;
+    private BitmapPool bitmapPool;
+    /**
+     * addFetcher()可在任意线程调用，解码线程遍历时不加锁
+     */
+    private final List<ImageFetcher> fetchers = new CopyOnWriteArrayList<>();
+
+    /**
+     * 正在加载的请求，Request只弱引用ImageView，不会使键无法回收
+     */
+    private WeakHashMap<ImageView, Request> requests = new WeakHashMap<>();
+    /**
+     * 每个ImageView显示的由本类加载的Bitmap。
+     * 不另外记录引用计数：ImageView未经回收就被释放（如Activity重建）时，其条目随之消失，Bitmap不会一直被视为显示中
+     */
+    private WeakHashMap<ImageView, Bitmap> displayed = new WeakHashMap<>();
+    /**
+     * 内存缓存中的Bitmap
+     */
+    private IdentityHashMap<Bitmap, Boolean> cachedBitmaps = new IdentityHashMap<>();
+    /**
+     * pause()的次数，大于0时新的请求只显示占位图，全部resume()后再加载
+     */
+    private int pauseCount;
+    private List<Request> pausedRequests = new ArrayList<>();
+
+
+    /**
+     * 默认实例：内存缓存为最大堆内存的1/8，磁盘缓存50MB
+     */
+    public static ImagePipeline get(Context context) {
+        if (instance == null) {
+            synchronized (ImagePipeline.class) {
+                if (instance == null) {
+                    Context appContext = context.getApplicationContext();
+                    instance = new ImagePipeline(appContext, (int) (Runtime.getRuntime().maxMemory() / 8),
+                            new File(appContext.getCacheDir(), "rv-images"), 50L * 1024 * 1024);
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * 默认实例，尚未通过get()创建时返回null，不会创建
+     */
+    public static ImagePipeline peek() {
+        return instance;
+    }
+
+    /**
+     * @param context          上下文
+     * @param memoryCacheBytes 内存缓存的字节数
+     * @param diskCacheDir     磁盘缓存目录
+     * @param diskCacheBytes   磁盘缓存的字节数
+     */
+    public ImagePipeline(Context context, int memoryCacheBytes, File diskCacheDir, long diskCacheBytes) {
+        this.context = context.getApplicationContext();
+        this.diskCache = new DiskCache(diskCacheDir, diskCacheBytes);
+        this.bitmapPool = new BitmapPool(memoryCacheBytes / 4);
+        this.memoryCache = new LruCache<String, Bitmap>(memoryCacheBytes) {
+            @Override
+            protected int sizeOf(String key, Bitmap bitmap) {
+                return byteCountOf(bitmap);
+            }
+
+            @Override
+            protected void entryRemoved(boolean evicted, String key, Bitmap oldValue, Bitmap newValue) {
+                if (oldValue == newValue) {
+                    return;
+                }
+                cachedBitmaps.remove(oldValue);
+                if (!isDisplayed(oldValue)) {
+                    bitmapPool.put(oldValue);
+                }
+            }
+        };
+
+        //后进先出：快速滑动时优先加载最新的子项
+        executor = new ThreadPoolExecutor(THREAD_COUNT, THREAD_COUNT, 30, TimeUnit.SECONDS,
+                new LinkedBlockingDeque<Runnable>() {
+                    @Override
+                    public boolean offer(Runnable runnable) {
+                        return offerFirst(runnable);
+                    }
+                }, new ThreadFactory() {
+            @Override
+            public Thread newThread(Runnable runnable) {
+                Thread thread = new Thread(runnable, "ImagePipeline");
+                thread.setDaemon(true);
+                thread.setPriority(Thread.MIN_PRIORITY);
+                return thread;
+            }
+        });
+        executor.allowCoreThreadTimeOut(true);
+
+        fetchers.add(new HttpImageFetcher());
+        fetchers.add(new LocalImageFetcher());
+    }
+
+    @TargetApi(Build.VERSION_CODES.KITKAT)
+    private static int byteCountOf(Bitmap bitmap) {
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.KITKAT) {
+            return bitmap.getAllocationByteCount();
+        }
+        return bitmap.getByteCount();
+    }
+
+    /**
+     * 添加图片来源，优先于内置来源
+     */
+    public void addFetcher(ImageFetcher fetcher) {
+        fetchers.add(0, fetcher);
+    }
+
+    public void load(String url, ImageView view) {
+        load(url, view, null);
+    }
+
+    /**
+     * 加载图片到ImageView
+     *
+     * @param url         地址，null时只显示占位图
+     * @param view        ImageView
+     * @param placeholder 加载完成前显示的占位图，null时清空
+     */
+    public void load(String url, ImageView view, Drawable placeholder) {
+        Request current = requests.get(view);
+        if (current != null && url != null && url.equals(current.url) && !current.cancelled) {
+            //同一地址正在加载
+            return;
+        }
+        cancel(view);
+        if (url == null) {
+            showDrawable(view, placeholder);
+            return;
+        }
+
+        int[] size = targetSize(view);
+        String key = url + "@" + size[0] + "x" + size[1];
+        Bitmap cached = memoryCache.get(key);
+        if (cached != null) {
+            showBitmap(view, cached);
+            return;
+        }
+
+        showDrawable(view, placeholder);
+        Request request = new Request(url, key, view, size[0], size[1]);
+        requests.put(view, request);
+        if (pauseCount > 0) {
+            pausedRequests.add(request);
+        } else {
+            request.future = executor.submit(request);
+        }
+    }
+
+    /**
+     * 暂停加载，快速滑动时调用：之后的请求只显示占位图，不占用解码线程和带宽。
+     * 内存缓存中已有的图片仍然立即显示。可以嵌套调用，需与resume()成对。
+     */
+    public void pause() {
+        pauseCount++;
+    }
+
+    /**
+     * 恢复加载，暂停期间仍在显示的ImageView的请求开始加载
+     */
+    public void resume() {
+        if (pauseCount == 0 || --pauseCount > 0) {
+            return;
+        }
+        //后进先出，最后提交的请求先加载
+        for (int i = 0, size = pausedRequests.size(); i < size; i++) {
+            Request request = pausedRequests.get(i);
+            if (request.isCurrent()) {
+                request.future = executor.submit(request);
+            }
+        }
+        pausedRequests.clear();
+    }
+
+    public boolean isPaused() {
+        return pauseCount > 0;
+    }
+
+    /**
+     * 取消ImageView正在加载的请求
+     */
+    public void cancel(ImageView view) {
+        Request request = requests.remove(view);
+        if (request != null) {
+            request.cancelled = true;
+            if (request.future != null) {
+                request.future.cancel(false);
+            } else if (pauseCount > 0) {
+                //暂停期间的请求，被回收的子项不再保留，列表长度约为一屏的子项数
+                pausedRequests.remove(request);
+            }
+        }
+    }
+
+    /**
+     * ImageView有未完成（含暂停中）的请求
+     */
+    public boolean isLoading(ImageView view) {
+        return requests.containsKey(view);
+    }
+
+    /**
+     * ImageView改为显示其他来源的图片前调用，如setImageResource()之前：
+     * 取消请求，之前由本类显示的Bitmap不再计入，可被复用
+     */
+    public void detach(ImageView view) {
+        cancel(view);
+        release(view);
+    }
+
+    /**
+     * 取消请求并清空图片，ViewHolder被回收时调用，释放的Bitmap可被复用
+     */
+    public void clear(ImageView view) {
+        cancel(view);
+        if (displayed.containsKey(view)) {
+            showDrawable(view, null);
+        }
+    }
+
+    /**
+     * 内存不足时释放缓存，在Application或Activity的onTrimMemory()中调用
+     */
+    public void trimMemory(int level) {
+        if (level >= ComponentCallbacks2.TRIM_MEMORY_MODERATE) {
+            memoryCache.evictAll();
+            bitmapPool.clear();
+        } else if (level >= ComponentCallbacks2.TRIM_MEMORY_BACKGROUND) {
+            memoryCache.trimToSize(memoryCache.maxSize() / 2);
+            bitmapPool.clear();
+        }
+    }
+
+    private int[] targetSize(ImageView view) {
+        int width = view.getWidth();
+        int height = view.getHeight();
+        ViewGroup.LayoutParams params = view.getLayoutParams();
+        if (width <= 0 && params != null && params.width > 0) {
+            width = params.width;
+        }
+        if (height <= 0 && params != null && params.height > 0) {
+            height = params.height;
+        }
+        //尚未测量且为wrap_content、match_parent时，以屏幕尺寸为上限
+        DisplayMetrics metrics = context.getResources().getDisplayMetrics();
+        if (width <= 0) {
+            width = metrics.widthPixels;
+        }
+        if (height <= 0) {
+            height = metrics.heightPixels;
+        }
+        return new int[]{width, height};
+    }
+
+    private void showBitmap(ImageView view, Bitmap bitmap) {
+        release(view);
+        view.setImageBitmap(bitmap);
+        displayed.put(view, bitmap);
+    }
+
+    private void showDrawable(ImageView view, Drawable drawable) {
+        release(view);
+        view.setImageDrawable(drawable);
+    }
+
+    /**
+     * ImageView不再显示之前的Bitmap，没有其他ImageView显示且已不在内存缓存中时放入BitmapPool
+     */
+    private void release(ImageView view) {
+        Bitmap previous = displayed.remove(view);
+        if (previous != null && !cachedBitmaps.containsKey(previous) && !isDisplayed(previous)) {
+            bitmapPool.put(previous);
+        }
+    }
+
+    /**
+     * 是否还有未被回收的ImageView显示该Bitmap；displayed的大小约为屏幕上的图片数，遍历的开销很小
+     */
+    private boolean isDisplayed(Bitmap bitmap) {
+        return displayed.containsValue(bitmap);
+    }
+
+    private ImageFetcher fetcherFor(Uri uri) throws IOException {
+        for (int i = 0; i < fetchers.size(); i++) {
+            if (fetchers.get(i).canFetch(uri)) {
+                return fetchers.get(i);
+            }
+        }
+        throw new IOException("不支持的地址：" + uri);
+    }
+
+    /**
+     * 在后台线程解码
+     */
+    private Bitmap decode(Request request) throws IOException {
+        Uri uri = Uri.parse(request.url);
+        ImageFetcher fetcher = fetcherFor(uri);
+        File file = null;
+        if (fetcher.isRemote()) {
+            file = diskCache.get(request.url);
+            if (file == null) {
+                InputStream stream = fetcher.open(context, uri);
+                try {
+                    file = diskCache.put(request.url, stream);
+                } finally {
+                    stream.close();
+                }
+            }
+        }
+        if (request.cancelled) {
+            return null;
+        }
+
+        //第一遍只读尺寸
+        BitmapFactory.Options options = new BitmapFactory.Options();
+        options.inJustDecodeBounds = true;
+        decodeStream(fetcher, uri, file, options);
+        if (options.outWidth <= 0 || options.outHeight <= 0) {
+            throw new IOException("无法解码：" + request.url);
+        }
+        options.inSampleSize = sampleSize(options.outWidth, options.outHeight, request.width, request.height);
+        options.inJustDecodeBounds = false;
+        options.inMutable = true;
+        if (request.cancelled) {
+            return null;
+        }
+
+        //第二遍解码，尽量复用BitmapPool中的Bitmap
+        int sampledWidth = (options.outWidth + options.inSampleSize - 1) / options.inSampleSize;
+        int sampledHeight = (options.outHeight + options.inSampleSize - 1) / options.inSampleSize;
+        options.inBitmap = bitmapPool.get(sampledWidth * sampledHeight * 4);
+        try {
+            return decodeStream(fetcher, uri, file, options);
+        } catch (IllegalArgumentException e) {
+            //inBitmap不满足条件时不复用
+            options.inBitmap = null;
+            return decodeStream(fetcher, uri, file, options);
+        }
+    }
+
+    private Bitmap decodeStream(ImageFetcher fetcher, Uri uri, File file, BitmapFactory.Options options)
+            throws IOException {
+        InputStream stream = file != null ? new FileInputStream(file) : fetcher.open(context, uri);
+        try {
+            return BitmapFactory.decodeStream(stream, null, options);
+        } finally {
+            stream.close();
+        }
+    }
+
+    /**
+     * 不小于目标尺寸的最大2的幂次采样率
+     */
+    static int sampleSize(int width, int height, int targetWidth, int targetHeight) {
+        int sampleSize = 1;
+        while (width / (sampleSize * 2) >= targetWidth && height / (sampleSize * 2) >= targetHeight) {
+            sampleSize *= 2;
+        }
+        return sampleSize;
+    }
+
+    private void deliver(Request request, Bitmap bitmap) {
+        ImageView view = request.view.get();
+        boolean current = request.isCurrent();
+        if (current) {
+            requests.remove(view);
+        }
+        if (bitmap == null) {
+            return;
+        }
+        //先显示再放入缓存，避免缓存已满时新Bitmap被立即回收到BitmapPool
+        if (current) {
+            showBitmap(view, bitmap);
+        }
+        cachedBitmaps.put(bitmap, Boolean.TRUE);
+        memoryCache.put(request.key, bitmap);
+    }
+
+
+    private class Request implements Runnable {
+        final String url;
+        final String key;
+        /**
+         * 弱引用：requests的值强引用ImageView会使WeakHashMap的键无法回收，暂停中的请求会泄露整个子项
+         */
+        final WeakReference<ImageView> view;
+        final int width;
+        final int height;
+        volatile boolean cancelled;
+        Future<?> future;
+
+        Request(String url, String key, ImageView view, int width, int height) {
+            this.url = url;
+            this.key = key;
+            this.view = new WeakReference<>(view);
+            this.width = width;
+            this.height = height;
+        }
+
+        /**
+         * 未取消且仍是ImageView的当前请求，只在主线程调用
+         */
+        boolean isCurrent() {
+            ImageView target = view.get();
+            return !cancelled && target != null && requests.get(target) == this;
+        }
+
+        @Override
+        public void run() {
+            if (cancelled) {
+                return;
+            }
+            Bitmap result;
+            try {
+                result = decode(this);
+            } catch (IOException e) {
+                result = null;
+            } catch (OutOfMemoryError e) {
+                result = null;
+            }
+            final Bitmap bitmap = result;
+            mainHandler.post(new Runnable() {
+                @Override
+                public void run() {
+                    deliver(Request.this, bitmap);
+                }
+            });
+        }
+    }
+
+}
@@ -0,0 +1,44 @@
+package com.example.admin.recyclerviewdemo.rvadapter.image;
+
+import android.content.ContentResolver;
+import android.content.Context;
+import android.net.Uri;
+
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * 本地图片：文件路径、file://、content://、android.resource://
+ */
+public class LocalImageFetcher implements ImageFetcher {
+
+    @Override
+    public boolean canFetch(Uri uri) {
+        String scheme = uri.getScheme();
+        return scheme == null
+                || ContentResolver.SCHEME_FILE.equals(scheme)
+                || ContentResolver.SCHEME_CONTENT.equals(scheme)
+                || ContentResolver.SCHEME_ANDROID_RESOURCE.equals(scheme);
+    }
+
+    @Override
+    public boolean isRemote() {
+        return false;
+    }
+
+    @Override
+    public InputStream open(Context context, Uri uri) throws IOException {
+        String scheme = uri.getScheme();
+        if (scheme == null || ContentResolver.SCHEME_FILE.equals(scheme)) {
+            return new FileInputStream(uri.getPath());
+        }
+        InputStream stream = context.getContentResolver().openInputStream(uri);
+        if (stream == null) {
+            throw new FileNotFoundException(uri.toString());
+        }
+        return stream;
+    }
+
+}
@@ -0,0 +1,56 @@
+package com.example.admin.recyclerviewdemo.rvadapter;
+
+import android.view.View;
+
+import org.junit.Test;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * onBindViewHolder()稳定状态下不应分配对象
+ */
+public class BaseRvAdapterAllocationTest {
+    private static final int LAYOUT_ID = 1;
+    private static final int WARM_UP = 20000;
+    private static final int ITERATIONS = 200000;
+
+    private int checksum;
+
+    @Test
+    public void steadyStateBind_allocatesNothing() throws Exception {
+        com.sun.management.ThreadMXBean threadBean =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        assertTrue(threadBean.isThreadAllocatedMemorySupported());
+
+        List<String> data = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            data.add("数据项目" + "<" + i + ">");
+        }
+        BaseRvAdapter<String> adapter = new BaseRvAdapter<String>(null, data, LAYOUT_ID) {
+            @Override
+            public void convert(BaseRvHolder holder, String data, int position) {
+                checksum += data.length();
+            }
+        };
+        BaseRvHolder holder = BaseRvHolder.getRvHolder(null, new View(null));
+
+        for (int i = 0; i < WARM_UP; i++) {
+            adapter.onBindViewHolder(holder, i % data.size());
+        }
+
+        long threadId = Thread.currentThread().getId();
+        long before = threadBean.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < ITERATIONS; i++) {
+            adapter.onBindViewHolder(holder, i % data.size());
+        }
+        long allocated = threadBean.getThreadAllocatedBytes(threadId) - before;
+
+        //测量本身会分配少量字节，平均到每次绑定应远小于一个对象
+        assertTrue("每次绑定分配了" + ((double) allocated / ITERATIONS) + "字节", allocated < ITERATIONS / 10);
+        assertTrue(checksum > 0);
+    }
+}
@@ -0,0 +1,94 @@
+package com.example.admin.recyclerviewdemo.rvadapter;
+
+import android.view.View;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * 多布局委托的匹配和分发：按注册顺序匹配，只有一个委托时也检查isForViewType()；单布局没有重写convert()时抛出异常
+ */
+public class BaseRvAdapterDelegateTest {
+    private static final int TEXT_LAYOUT_ID = 1;
+    private static final int NUMBER_LAYOUT_ID = 2;
+
+    private final List<String> converted = new ArrayList<>();
+
+    private ItemViewDelegate<String> newDelegate(final int layoutId, final boolean number) {
+        return new ItemViewDelegate<String>() {
+            @Override
+            public int getItemLayoutId() {
+                return layoutId;
+            }
+
+            @Override
+            public boolean isForViewType(String item, int position) {
+                return number == Character.isDigit(item.charAt(0));
+            }
+
+            @Override
+            public void convert(BaseRvHolder holder, String data, int position) {
+                converted.add(layoutId + ":" + data);
+            }
+        };
+    }
+
+    @Test
+    public void multipleDelegates_dispatchByItem() {
+        BaseRvAdapter<String> adapter = new BaseRvAdapter<String>(null, new ArrayList<>(Arrays.asList("a", "1", "b"))) {
+        };
+        assertEquals(TEXT_LAYOUT_ID, adapter.addItemViewDelegate(newDelegate(TEXT_LAYOUT_ID, false)));
+        assertEquals(NUMBER_LAYOUT_ID, adapter.addItemViewDelegate(newDelegate(NUMBER_LAYOUT_ID, true)));
+        BaseRvHolder holder = BaseRvHolder.getRvHolder(null, new View(null));
+
+        assertEquals(TEXT_LAYOUT_ID, adapter.getItemViewType(0));
+        assertEquals(NUMBER_LAYOUT_ID, adapter.getItemViewType(1));
+        for (int i = 0; i < 3; i++) {
+            adapter.onBindViewHolder(holder, i);
+        }
+        assertEquals(Arrays.asList("1:a", "2:1", "1:b"), converted);
+    }
+
+    @Test
+    public void firstRegisteredDelegate_wins() {
+        ItemViewDelegateManager<String> manager = new ItemViewDelegateManager<>();
+        ItemViewDelegate<String> first = newDelegate(TEXT_LAYOUT_ID, false);
+        manager.addDelegate(first);
+        manager.addDelegate(newDelegate(NUMBER_LAYOUT_ID, false));
+
+        assertSame(first, manager.getDelegate("a", 0));
+        manager.removeDelegate(first);
+        assertEquals(NUMBER_LAYOUT_ID, manager.getItemViewType("a", 0));
+    }
+
+    @Test
+    public void singleDelegate_stillMatched() {
+        ItemViewDelegateManager<String> manager = new ItemViewDelegateManager<>();
+        manager.addDelegate(newDelegate(TEXT_LAYOUT_ID, false));
+
+        assertEquals(TEXT_LAYOUT_ID, manager.getItemViewType("a", 0));
+        try {
+            manager.getDelegate("1", 3);
+            fail();
+        } catch (IllegalArgumentException expected) {
+        }
+    }
+
+    @Test
+    public void singleLayoutWithoutConvert_throws() {
+        BaseRvAdapter<String> adapter = new BaseRvAdapter<String>(null, new ArrayList<>(Arrays.asList("a")), TEXT_LAYOUT_ID) {
+        };
+        BaseRvHolder holder = BaseRvHolder.getRvHolder(null, new View(null));
+
+        try {
+            adapter.onBindViewHolder(holder, 0);
+            fail();
+        } catch (IllegalStateException expected) {
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.admin.recyclerviewdemo.rvadapter;
+
+import android.support.v7.widget.RecyclerView;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * 设置ItemKeyProvider时，null子项（分页的占位符）按位置取stable id，不调用getItemKey()
+ */
+public class BaseRvAdapterKeyTest {
+
+    @Test
+    public void placeholders_usePositionIds() throws Exception {
+        List<String> data = new ArrayList<>(Arrays.asList("a", null, "c", null));
+        BaseRvAdapter<String> adapter = new BaseRvAdapter<String>(null, data, 1) {
+        };
+        adapter.setItemKeyProvider(new ItemKeyProvider<String>() {
+            @Override
+            public long getItemKey(String item) {
+                return item.charAt(0);
+            }
+        });
+
+        assertEquals('a', adapter.getItemId(0));
+        assertEquals(BaseRvAdapter.PLACEHOLDER_ID_BASE + 1, adapter.getItemId(1));
+        assertEquals(BaseRvAdapter.PLACEHOLDER_ID_BASE + 3, adapter.getItemId(3));
+        assertEquals(2, adapter.getPositionForKey('c'));
+        assertEquals(RecyclerView.NO_POSITION, adapter.getPositionForKey('b'));
+
+        //占位符加载后换为子项的key
+        data.set(1, "b");
+        adapter.invalidateKeyIndex();
+        assertEquals('b', adapter.getItemId(1));
+        assertEquals(1, adapter.getPositionForKey('b'));
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.admin.recyclerviewdemo.rvadapter;
+
+import android.view.View;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * 两阶段绑定中占位符（子项为null）的处理
+ */
+public class BaseRvAdapterRenderModelTest {
+    private static final int LAYOUT_ID = 1;
+
+    private final List<Object> boundModels = new ArrayList<>();
+    private int prepareCount;
+
+    private BaseRvAdapter<String> newAdapter(List<String> data) {
+        BaseRvAdapter<String> adapter = new BaseRvAdapter<String>(null, data, LAYOUT_ID) {
+            @Override
+            public void convert(BaseRvHolder holder, String data, int position) {
+                fail("设置binder后不应调用convert()");
+            }
+        };
+        adapter.setItemKeyProvider(new ItemKeyProvider<String>() {
+            @Override
+            public long getItemKey(String item) {
+                return item.hashCode();
+            }
+        });
+        adapter.setRenderModelBinder(new RenderModelBinder<String, String>() {
+            @Override
+            public String prepare(String item) {
+                prepareCount++;
+                return item.toUpperCase();
+            }
+
+            @Override
+            public void bind(BaseRvHolder holder, String model, int position) {
+                boundModels.add(model);
+            }
+        }, 16, 0);
+        return adapter;
+    }
+
+    @Test
+    public void placeholder_boundWithNullModel() {
+        BaseRvAdapter<String> adapter = newAdapter(new ArrayList<>(Arrays.asList("a", null, "c")));
+        BaseRvHolder holder = BaseRvHolder.getRvHolder(null, new View(null));
+
+        adapter.onBindViewHolder(holder, 1);
+        adapter.onBindViewHolder(holder, 0);
+
+        assertEquals(Arrays.<Object>asList(null, "A"), boundModels);
+        assertEquals(1, prepareCount);
+        assertEquals(0, adapter.getRenderModelHitCount());
+        assertEquals(1, adapter.getRenderModelMissCount());
+    }
+
+    @Test
+    public void invalidatePlaceholder_ignored() {
+        BaseRvAdapter<String> adapter = newAdapter(new ArrayList<>(Arrays.asList("a", null)));
+        BaseRvHolder holder = BaseRvHolder.getRvHolder(null, new View(null));
+
+        adapter.invalidateRenderModel(1);
+        adapter.onBindViewHolder(holder, 0);
+        adapter.invalidateRenderModel(0);
+        adapter.onBindViewHolder(holder, 0);
+
+        assertEquals(Arrays.<Object>asList("A", "A"), boundModels);
+        assertEquals(2, prepareCount);
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.admin.recyclerviewdemo.rvadapter;
+
+import android.content.Context;
+import android.widget.EditText;
+import android.widget.FrameLayout;
+import android.widget.TextView;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.annotation.Config;
+
+import static org.junit.Assert.*;
+
+/**
+ * BaseRvHolder跳过未变化的设置时，控件被用户或convert()直接修改的内容不会残留
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 23, manifest = Config.NONE)
+public class BaseRvHolderViewStateTest {
+    private static final int TEXT_ID = 1;
+    private static final int EDIT_ID = 2;
+
+    private TextView textView;
+    private EditText editText;
+    private BaseRvHolder holder;
+
+    @Before
+    public void setUp() throws Exception {
+        Context context = RuntimeEnvironment.application;
+        FrameLayout root = new FrameLayout(context);
+        textView = new TextView(context);
+        textView.setId(TEXT_ID);
+        root.addView(textView);
+        editText = new EditText(context);
+        editText.setId(EDIT_ID);
+        root.addView(editText);
+        holder = BaseRvHolder.getRvHolder(context, root);
+    }
+
+    @Test
+    public void editText_userInputOverwrittenOnRebind() throws Exception {
+        holder.setText(EDIT_ID, "a");
+        editText.setText("typed");
+        holder.setText(EDIT_ID, "a");
+        assertEquals("a", editText.getText().toString());
+    }
+
+    @Test
+    public void directWrite_clearedOnRecycle() throws Exception {
+        holder.setText(TEXT_ID, "a");
+        //convert()中直接修改控件
+        holder.<TextView>getView(TEXT_ID).setText("b");
+        holder.onRecycled();
+        holder.setText(TEXT_ID, "a");
+        assertEquals("a", textView.getText().toString());
+    }
+
+    @Test
+    public void directWrite_invalidated() throws Exception {
+        holder.setText(TEXT_ID, "a");
+        textView.setText("b");
+        holder.invalidateViewState(TEXT_ID);
+        holder.setText(TEXT_ID, "a");
+        assertEquals("a", textView.getText().toString());
+    }
+
+    @Test
+    public void precomputedText_writtenAfterPlainText() throws Exception {
+        holder.setText(TEXT_ID, "a");
+        long written = holder.getPerformedWriteCount();
+        holder.setPrecomputedText(TEXT_ID, "a");
+        assertEquals(written + 1, holder.getPerformedWriteCount());
+        holder.setPrecomputedText(TEXT_ID, "a");
+        assertEquals(written + 1, holder.getPerformedWriteCount());
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.admin.recyclerviewdemo.rvadapter;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * BatchingListUpdateCallback：相邻的同类操作合并为一次区间通知
+ */
+public class BatchingListUpdateCallbackTest {
+
+    @Test
+    public void consecutiveInserts_mergedIntoOneRange() throws Exception {
+        Recorder recorder = new Recorder();
+        BatchingListUpdateCallback callback = new BatchingListUpdateCallback(recorder);
+        for (int i = 0; i < 50; i++) {
+            callback.onInserted(3 + i, 1);
+        }
+        callback.dispatchLastEvent();
+        assertEquals(Arrays.asList("insert 3,50"), recorder.events);
+    }
+
+    @Test
+    public void removesAtSamePosition_mergedIntoOneRange() throws Exception {
+        Recorder recorder = new Recorder();
+        BatchingListUpdateCallback callback = new BatchingListUpdateCallback(recorder);
+        callback.onRemoved(10, 1);
+        callback.onRemoved(10, 2);
+        callback.onRemoved(9, 1);
+        callback.dispatchLastEvent();
+        assertEquals(Arrays.asList("remove 9,4"), recorder.events);
+    }
+
+    @Test
+    public void mixedOperations_keepOrder() throws Exception {
+        Recorder recorder = new Recorder();
+        BatchingListUpdateCallback callback = new BatchingListUpdateCallback(recorder);
+        callback.onInserted(0, 1);
+        callback.onInserted(1, 1);
+        callback.onRemoved(5, 1);
+        callback.onMoved(2, 4);
+        callback.onChanged(1, 1, "p");
+        callback.onChanged(2, 1, "p");
+        callback.onChanged(3, 1, null);
+        callback.dispatchLastEvent();
+        assertEquals(Arrays.asList("insert 0,2", "remove 5,1", "move 2,4", "change 1,2,p", "change 3,1,null"),
+                recorder.events);
+    }
+
+    private static class Recorder implements ListUpdateCallback {
+        List<String> events = new ArrayList<>();
+
+        @Override
+        public void onInserted(int position, int count) {
+            events.add("insert " + position + "," + count);
+        }
+
+        @Override
+        public void onRemoved(int position, int count) {
+            events.add("remove " + position + "," + count);
+        }
+
+        @Override
+        public void onMoved(int fromPosition, int toPosition) {
+            events.add("move " + fromPosition + "," + toPosition);
+        }
+
+        @Override
+        public void onChanged(int position, int count, Object payload) {
+            events.add("change " + position + "," + count + "," + payload);
+        }
+    }
+}
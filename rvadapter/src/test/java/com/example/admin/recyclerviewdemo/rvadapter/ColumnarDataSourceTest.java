@@ -0,0 +1,139 @@
+package com.example.admin.recyclerviewdemo.rvadapter;
+
+import android.view.View;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * ColumnarDataSource：按列读写、字符串去重，游标绑定在行上，ColumnarRvAdapter的数据只读
+ */
+public class ColumnarDataSourceTest {
+
+    @Test
+    public void columns_roundTripAcrossGrowth() throws Exception {
+        ColumnarDataSource source = new ColumnarDataSource(2);
+        int id = source.addLongColumn();
+        int count = source.addIntColumn();
+        int score = source.addFloatColumn();
+        int name = source.addStringColumn();
+        for (int i = 0; i < 100; i++) {
+            int row = source.appendRow();
+            source.setLong(row, id, 1000L + i);
+            source.setInt(row, count, i * 2);
+            source.setFloat(row, score, i / 4f);
+            source.setString(row, name, i % 3 == 0 ? null : "name" + (i % 5));
+        }
+        assertEquals(100, source.getRowCount());
+        //null不进入字符串表
+        assertEquals(5, source.getStringTableSize());
+        for (int i = 0; i < 100; i++) {
+            ColumnarDataSource.Cursor cursor = source.cursorAt(i);
+            assertEquals(1000L + i, cursor.getLong(id));
+            assertEquals(i * 2, cursor.getInt(count));
+            assertEquals(i / 4f, cursor.getFloat(score), 0f);
+            assertEquals(i % 3 == 0 ? null : "name" + (i % 5), cursor.getString(name));
+        }
+    }
+
+    @Test
+    public void cursorList_returnsRowBoundCursors() throws Exception {
+        ColumnarDataSource source = new ColumnarDataSource();
+        int value = source.addIntColumn();
+        for (int i = 0; i < 1000; i++) {
+            source.setInt(source.appendRow(), value, i);
+        }
+        List<ColumnarDataSource.Cursor> list = source.asCursorList();
+        ColumnarDataSource.Cursor held = list.get(3);
+        //之后的读取不移动已取出的游标
+        for (int i = 0; i < list.size(); i++) {
+            assertEquals(i, list.get(i).getInt(value));
+        }
+        assertEquals(3, held.getRow());
+        assertEquals(3, held.getInt(value));
+        assertSame(list.get(999), list.get(999));
+
+        //后台差量刷新等需要保存子项的用法拿到的是各行的游标
+        List<ColumnarDataSource.Cursor> copy = new ArrayList<>(list.subList(0, 10));
+        for (int i = 0; i < copy.size(); i++) {
+            assertEquals(i, copy.get(i).getRow());
+        }
+
+        source.clear();
+        try {
+            held.getInt(value);
+            fail("清除后的行不可读");
+        } catch (IndexOutOfBoundsException expected) {
+        }
+
+        //重新追加到原来的行号，旧游标仍然失效，列表返回新的游标
+        for (int i = 0; i < 10; i++) {
+            source.setInt(source.appendRow(), value, 100 + i);
+        }
+        assertFalse(held.isValid());
+        try {
+            held.getInt(value);
+            fail("clear()之前的游标不可读");
+        } catch (IndexOutOfBoundsException expected) {
+        }
+        ColumnarDataSource.Cursor fresh = list.get(3);
+        assertNotSame(held, fresh);
+        assertTrue(fresh.isValid());
+        assertEquals(103, fresh.getInt(value));
+        assertFalse(copy.get(0).isValid());
+    }
+
+    @Test
+    public void adapter_rejectsMutatorsAndBackgroundPrepare() throws Exception {
+        ColumnarDataSource source = new ColumnarDataSource();
+        final int value = source.addIntColumn();
+        for (int i = 0; i < 20; i++) {
+            source.setInt(source.appendRow(), value, i);
+        }
+        ColumnarRvAdapter adapter = new ColumnarRvAdapter(null, source, 1) {
+        };
+        try {
+            adapter.addItem(0, source.cursorAt(0));
+            fail();
+        } catch (UnsupportedOperationException expected) {
+        }
+        try {
+            adapter.refreshDataAsync(Collections.singletonList(source.cursorAt(0)));
+            fail();
+        } catch (UnsupportedOperationException expected) {
+        }
+        try {
+            adapter.edit();
+            fail();
+        } catch (UnsupportedOperationException expected) {
+        }
+
+        final List<Integer> prepared = new ArrayList<>();
+        final List<Integer> bound = new ArrayList<>();
+        adapter.setRenderModelBinder(new RenderModelBinder<ColumnarDataSource.Cursor, Integer>() {
+            @Override
+            public Integer prepare(ColumnarDataSource.Cursor item) {
+                prepared.add(item.getInt(value));
+                return item.getInt(value);
+            }
+
+            @Override
+            public void bind(BaseRvHolder holder, Integer model, int position) {
+                bound.add(model);
+            }
+        });
+        //不提前准备，只在绑定时于当前线程准备
+        assertTrue(prepared.isEmpty());
+        BaseRvHolder holder = BaseRvHolder.getRvHolder(null, new View(null));
+        adapter.onBindViewHolder(holder, 5);
+        adapter.onBindViewHolder(holder, 5);
+        assertEquals(Collections.singletonList(5), prepared);
+        assertEquals(2, bound.size());
+        assertEquals(1, adapter.getRenderModelHitCount());
+    }
+}
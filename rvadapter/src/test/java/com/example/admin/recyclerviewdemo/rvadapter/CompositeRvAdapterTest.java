@@ -0,0 +1,265 @@
+package com.example.admin.recyclerviewdemo.rvadapter;
+
+import android.content.Context;
+import android.support.v7.widget.RecyclerView;
+import android.view.View;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.annotation.Config;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * CompositeRvAdapter：全局position与段内position的换算，各段的通知换算为全局区间，
+ * 相同布局的段共用viewType，id互不相同，滑动状态统一跟踪
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 23, manifest = Config.NONE)
+public class CompositeRvAdapterTest {
+
+    @Test
+    public void sectionNotifications_translateToGlobalRanges() throws Exception {
+        List<String> first = new ArrayList<>(Arrays.asList("a", "b", "c"));
+        List<String> second = new ArrayList<>(Arrays.asList("d", "e"));
+        BaseRvAdapter<String> firstAdapter = new BaseRvAdapter<String>(null, first, 1) {
+        };
+        BaseRvAdapter<String> secondAdapter = new BaseRvAdapter<String>(null, second, 1) {
+        };
+
+        CompositeRvAdapter composite = new CompositeRvAdapter(null);
+        composite.addSection(firstAdapter);
+        composite.addFooter(20);
+        composite.setLoadMoreView(30);
+        composite.addSection(secondAdapter);
+        composite.addHeader(10);
+        final List<String> events = new ArrayList<>();
+        composite.registerAdapterDataObserver(new RecyclerView.AdapterDataObserver() {
+            @Override
+            public void onChanged() {
+                events.add("reset");
+            }
+
+            @Override
+            public void onItemRangeChanged(int positionStart, int itemCount) {
+                events.add("change " + positionStart + " " + itemCount);
+            }
+
+            @Override
+            public void onItemRangeInserted(int positionStart, int itemCount) {
+                events.add("insert " + positionStart + " " + itemCount);
+            }
+
+            @Override
+            public void onItemRangeRemoved(int positionStart, int itemCount) {
+                events.add("remove " + positionStart + " " + itemCount);
+            }
+        });
+
+        //头部、两段内容、尾部，加载更多默认隐藏
+        assertEquals(7, composite.getItemCount());
+        assertSame(firstAdapter, composite.getAdapterAt(1));
+        assertEquals(2, composite.getLocalPosition(3));
+        assertSame(secondAdapter, composite.getAdapterAt(4));
+        assertEquals(0, composite.getLocalPosition(4));
+        assertEquals(5, composite.getGlobalPosition(secondAdapter, 1));
+
+        //相同布局的两段共用viewType，由先使用的段创建ViewHolder
+        int firstType = composite.getItemViewType(1);
+        int secondType = composite.getItemViewType(4);
+        assertEquals(firstType, secondType);
+        assertTrue(firstType != composite.getItemViewType(0));
+        assertSame(firstAdapter, composite.getAdapterForViewType(firstType));
+        //预创建时用的viewType与绑定时一致
+        assertEquals(firstType, composite.getGlobalViewType(firstAdapter, 1));
+        assertEquals(secondType, composite.getGlobalViewType(secondAdapter, 1));
+        try {
+            //setAdapter()之前预创建的会被清空
+            secondAdapter.prewarm(new RecyclerView(RuntimeEnvironment.application), 1, 3);
+            fail();
+        } catch (IllegalStateException expected) {
+        }
+
+        second.add("f");
+        secondAdapter.notifyItemInserted(2);
+        composite.setLoadMoreVisible(true);
+        assertEquals(Arrays.asList("insert 6 1", "insert 8 1"), events);
+        assertEquals(9, composite.getItemCount());
+
+        events.clear();
+        first.remove(0);
+        firstAdapter.notifyDataSetChanged();
+        assertEquals(Arrays.asList("change 1 2", "remove 3 1"), events);
+        assertSame(secondAdapter, composite.getAdapterAt(3));
+
+        events.clear();
+        composite.removeSection(firstAdapter);
+        assertEquals(Arrays.asList("remove 1 2"), events);
+        assertEquals(6, composite.getItemCount());
+        assertEquals(RecyclerView.NO_POSITION, composite.getGlobalPosition(firstAdapter, 0));
+        //移除的段创建的viewType改由仍在使用的段创建
+        assertSame(secondAdapter, composite.getAdapterForViewType(secondType));
+
+        //移除前面的段后，后面的段的通知仍换算到正确的区间
+        events.clear();
+        second.add("g");
+        secondAdapter.notifyItemInserted(3);
+        assertEquals(Arrays.asList("insert 4 1"), events);
+    }
+
+    @Test
+    public void viewTypes_sharedAcrossComposites() throws Exception {
+        CompositeRvAdapter first = new CompositeRvAdapter(null);
+        SingleItemAdapter firstHeader = first.addHeader(10);
+        CompositeRvAdapter second = new CompositeRvAdapter(null);
+        SingleItemAdapter secondHeader = second.addHeader(10);
+
+        int firstType = first.getItemViewType(0);
+        int secondType = second.getItemViewType(0);
+        //共用缓存池时可以使用另一个CompositeRvAdapter的ViewHolder，不会与布局id、INVALID_TYPE冲突
+        assertEquals(firstType, secondType);
+        assertTrue(firstType < RecyclerView.INVALID_TYPE);
+        assertSame(firstHeader, first.getAdapterForViewType(firstType));
+        assertSame(secondHeader, second.getAdapterForViewType(firstType));
+    }
+
+    @Test
+    public void differentHolderFactory_separateViewType() throws Exception {
+        BaseRvAdapter<String> plain = new BaseRvAdapter<String>(null, new ArrayList<>(Arrays.asList("a")), 1) {
+        };
+        BaseRvAdapter<String> custom = new BaseRvAdapter<String>(null, new ArrayList<>(Arrays.asList("b")), 1) {
+        };
+        custom.registerHolderFactory(1, new RvHolderFactory() {
+            @Override
+            public BaseRvHolder create(Context context, View itemView) {
+                return new BaseRvHolder(context, itemView);
+            }
+        });
+        CompositeRvAdapter composite = new CompositeRvAdapter(null);
+        composite.addSection(plain);
+        composite.addSection(custom);
+
+        //布局相同但ViewHolder的种类不同，不能互相绑定
+        assertTrue(composite.getItemViewType(0) != composite.getItemViewType(1));
+        assertSame(custom, composite.getAdapterForViewType(composite.getItemViewType(1)));
+    }
+
+    @Test
+    public void sharedHolder_callbacksGoToBindingSection() throws Exception {
+        final List<String> recycled = new ArrayList<>();
+        BaseRvAdapter<String> first = new BaseRvAdapter<String>(null, new ArrayList<>(Arrays.asList("a")), 1) {
+            @Override
+            public void convert(BaseRvHolder holder, String data, int position) {
+            }
+
+            @Override
+            public void onViewRecycled(BaseRvHolder holder) {
+                recycled.add("first");
+                super.onViewRecycled(holder);
+            }
+        };
+        BaseRvAdapter<String> second = new BaseRvAdapter<String>(null, new ArrayList<>(Arrays.asList("b")), 1) {
+            @Override
+            public void convert(BaseRvHolder holder, String data, int position) {
+            }
+
+            @Override
+            public void onViewRecycled(BaseRvHolder holder) {
+                recycled.add("second");
+                super.onViewRecycled(holder);
+            }
+        };
+        CompositeRvAdapter composite = new CompositeRvAdapter(null);
+        composite.addSection(first);
+        composite.addSection(second);
+        BaseRvHolder holder = BaseRvHolder.getRvHolder(null, new View(RuntimeEnvironment.application));
+
+        composite.onBindViewHolder(holder, 1);
+        assertSame(second, composite.ownerOf(holder));
+        composite.onViewRecycled(holder);
+
+        composite.onBindViewHolder(holder, 0);
+        assertSame(first, composite.ownerOf(holder));
+        composite.onViewRecycled(holder);
+
+        assertEquals(Arrays.asList("second", "first"), recycled);
+    }
+
+    @Test
+    public void fastScroll_sectionsShareOnePause() throws Exception {
+        BaseRvAdapter<String> first = new BaseRvAdapter<String>(null, new ArrayList<>(Arrays.asList("a")), 1) {
+        };
+        BaseRvAdapter<String> second = new BaseRvAdapter<String>(null, new ArrayList<>(Arrays.asList("b")), 2) {
+        };
+        first.setScrollThrottling(true);
+        second.setScrollThrottling(true);
+        CompositeRvAdapter composite = new CompositeRvAdapter(null);
+        composite.addSection(first);
+        composite.addSection(second);
+        RecyclerView recyclerView = new RecyclerView(RuntimeEnvironment.application);
+        recyclerView.layout(0, 0, 100, 1000);
+        composite.onAttachedToRecyclerView(recyclerView);
+        ScrollStateTracker tracker = composite.getScrollTracker();
+
+        tracker.onScrollStateChanged(recyclerView, RecyclerView.SCROLL_STATE_SETTLING);
+        tracker.onScrolled(recyclerView, 0, 0, 10000000L);
+        tracker.onScrolled(recyclerView, 0, 200, 20000000L);
+
+        assertTrue(composite.isScrollingFast());
+        assertTrue(first.isScrollingFast());
+        assertTrue(second.isScrollingFast());
+        //只暂停一次：恢复一次即不再暂停
+        FrameBudgetScheduler scheduler = FrameBudgetScheduler.get();
+        assertTrue(scheduler.isPaused());
+        scheduler.resume();
+        assertFalse(scheduler.isPaused());
+        scheduler.pause();
+
+        composite.onDetachedFromRecyclerView(recyclerView);
+        assertFalse(scheduler.isPaused());
+        assertFalse(first.isScrollingFast());
+    }
+
+    @Test
+    public void stableIds_saltedPerSection() throws Exception {
+        ItemKeyProvider<String> keys = new ItemKeyProvider<String>() {
+            @Override
+            public long getItemKey(String item) {
+                return item.length();
+            }
+        };
+        List<String> first = new ArrayList<>(Arrays.asList("a", "bb"));
+        List<String> second = new ArrayList<>(Arrays.asList("c", "dd"));
+        BaseRvAdapter<String> firstAdapter = new BaseRvAdapter<String>(null, first, 1) {
+        };
+        firstAdapter.setItemKeyProvider(keys);
+        BaseRvAdapter<String> secondAdapter = new BaseRvAdapter<String>(null, second, 1) {
+        };
+        secondAdapter.setItemKeyProvider(keys);
+
+        CompositeRvAdapter composite = new CompositeRvAdapter(null);
+        composite.setHasStableIds(true);
+        composite.addHeader(10);
+        composite.addSection(firstAdapter);
+        composite.addSection(secondAdapter);
+
+        //两段的key相同，全局id不同
+        long firstId = composite.getItemId(1);
+        long secondId = composite.getItemId(3);
+        assertTrue(firstId != secondId);
+        assertTrue(composite.getItemId(2) != composite.getItemId(4));
+        assertTrue(composite.getItemId(0) != firstId);
+
+        //前面插入子项后，同一子项的id不变
+        first.add(0, "eee");
+        firstAdapter.notifyItemInserted(0);
+        assertEquals(firstId, composite.getItemId(2));
+        assertEquals(secondId, composite.getItemId(4));
+    }
+}
@@ -0,0 +1,142 @@
+package com.example.admin.recyclerviewdemo.rvadapter;
+
+import android.view.View;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+import static org.junit.Assert.*;
+
+/**
+ * DefaultMetricsSink：按布局分开统计，百分位数取桶上限，多线程计数不丢失；
+ * 刷新通知按种类统计次数和子项个数；其他Adapter回收到共用缓存池的ViewHolder计为命中
+ */
+public class DefaultMetricsSinkTest {
+    private static final int TYPE_A = 0x7f040001;
+    private static final int TYPE_B = 0x7f040002;
+
+    @Test
+    public void countsPerViewType() throws Exception {
+        DefaultMetricsSink sink = new DefaultMetricsSink();
+        sink.onCreateViewHolder(TYPE_A, 1000000);
+        sink.onHolderAcquired(TYPE_A, false);
+        sink.onHolderAcquired(TYPE_A, true);
+        sink.onHolderAcquired(TYPE_A, true);
+        sink.onBindViewHolder(TYPE_B, 5000);
+        sink.onNotify(AdapterMetricsSink.NOTIFY_FULL, -1);
+        sink.onNotify(AdapterMetricsSink.NOTIFY_RANGE, 10);
+
+        assertEquals(1, sink.getCreateCount(TYPE_A));
+        assertEquals(0, sink.getCreateCount(TYPE_B));
+        assertEquals(2, sink.getPoolHitCount(TYPE_A));
+        assertEquals(1, sink.getPoolMissCount(TYPE_A));
+        assertEquals(1, sink.getBindCount(TYPE_B));
+        assertEquals(1, sink.getNotifyCount(AdapterMetricsSink.NOTIFY_FULL));
+        assertEquals(0, sink.getNotifyCount(AdapterMetricsSink.NOTIFY_ITEM));
+        assertTrue(sink.dump().contains("viewType 0x7f040001"));
+
+        sink.reset();
+        assertEquals(0, sink.getCreateCount(TYPE_A));
+        assertEquals(0, sink.getNotifyCount(AdapterMetricsSink.NOTIFY_FULL));
+    }
+
+    @Test
+    public void notify_countsItemsPerKindAndRejectsUnknownKind() throws Exception {
+        DefaultMetricsSink sink = new DefaultMetricsSink();
+        sink.onNotify(AdapterMetricsSink.NOTIFY_FULL, -1);
+        sink.onNotify(AdapterMetricsSink.NOTIFY_ITEM, 1);
+        sink.onNotify(AdapterMetricsSink.NOTIFY_RANGE, 10);
+        sink.onNotify(AdapterMetricsSink.NOTIFY_RANGE, 5);
+
+        assertEquals(0, sink.getNotifyItemCount(AdapterMetricsSink.NOTIFY_FULL));
+        assertEquals(1, sink.getNotifyItemCount(AdapterMetricsSink.NOTIFY_ITEM));
+        assertEquals(15, sink.getNotifyItemCount(AdapterMetricsSink.NOTIFY_RANGE));
+        assertEquals(2, sink.getNotifyCount(AdapterMetricsSink.NOTIFY_RANGE));
+        try {
+            sink.onNotify(3, 1);
+            fail();
+        } catch (IllegalArgumentException expected) {
+        }
+        try {
+            sink.getNotifyCount(-1);
+            fail();
+        } catch (IllegalArgumentException expected) {
+        }
+
+        sink.reset();
+        assertEquals(0, sink.getNotifyItemCount(AdapterMetricsSink.NOTIFY_RANGE));
+    }
+
+    @Test
+    public void holderFromAnotherAdapter_countsAsPoolHit() throws Exception {
+        DefaultMetricsSink sink = new DefaultMetricsSink();
+        BaseRvAdapter<String> other = newAdapter();
+        BaseRvAdapter<String> adapter = newAdapter();
+        adapter.setMetricsSink(sink);
+        BaseRvHolder holder = BaseRvHolder.getRvHolder(null, new View(null));
+        holder.setLayoutId(TYPE_A);
+
+        //另一个Adapter绑定后回收到共用的缓存池
+        other.onBindViewHolder(holder, 0);
+        other.onViewRecycled(holder);
+        adapter.onBindViewHolder(holder, 1);
+        //同一个ViewHolder再次绑定不是新取得的
+        adapter.onBindViewHolder(holder, 0);
+
+        assertEquals(1, sink.getPoolHitCount(TYPE_A));
+        assertEquals(0, sink.getPoolMissCount(TYPE_A));
+        assertEquals(2, sink.getBindCount(TYPE_A));
+    }
+
+    private static BaseRvAdapter<String> newAdapter() {
+        return new BaseRvAdapter<String>(null, new ArrayList<>(Arrays.asList("a", "b")), TYPE_A) {
+            @Override
+            public void convert(BaseRvHolder holder, String data, int position) {
+            }
+        };
+    }
+
+    @Test
+    public void percentiles_bucketUpperBound() throws Exception {
+        DefaultMetricsSink sink = new DefaultMetricsSink();
+        for (int i = 0; i < 90; i++) {
+            sink.onBindViewHolder(TYPE_A, 100 * 1000);
+        }
+        for (int i = 0; i < 10; i++) {
+            sink.onBindViewHolder(TYPE_A, 3000 * 1000);
+        }
+        //100us在[64, 128)，3000us在[2048, 4096)
+        assertEquals(128, sink.getBindPercentileMicros(TYPE_A, 50));
+        assertEquals(128, sink.getBindPercentileMicros(TYPE_A, 90));
+        assertEquals(4096, sink.getBindPercentileMicros(TYPE_A, 99));
+        assertEquals(0, DefaultMetricsSink.bucketOf(999));
+    }
+
+    @Test
+    public void concurrentRecords_notLost() throws Exception {
+        final DefaultMetricsSink sink = new DefaultMetricsSink();
+        final int perThread = 20000;
+        Thread[] threads = new Thread[4];
+        for (int t = 0; t < threads.length; t++) {
+            final int type = t % 2 == 0 ? TYPE_A : TYPE_B;
+            threads[t] = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    for (int i = 0; i < perThread; i++) {
+                        sink.onCreateViewHolder(type, i);
+                    }
+                }
+            });
+        }
+        for (Thread thread : threads) {
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertEquals(2 * perThread, sink.getCreateCount(TYPE_A));
+        assertEquals(2 * perThread, sink.getCreateCount(TYPE_B));
+    }
+}
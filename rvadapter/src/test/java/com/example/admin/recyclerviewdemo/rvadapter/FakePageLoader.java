@@ -0,0 +1,36 @@
+package com.example.admin.recyclerviewdemo.rvadapter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 本地的假分页加载器：共totalCount条数据"item-i"，记录加载的页码
+ */
+public class FakePageLoader implements PageLoader<String> {
+    private final int totalCount;
+    final List<Integer> loadedPages = new ArrayList<>();
+    boolean failNext;
+
+    public FakePageLoader(int totalCount) {
+        this.totalCount = totalCount;
+    }
+
+    @Override
+    public List<String> loadPage(int page, int pageSize) throws Exception {
+        if (failNext) {
+            failNext = false;
+            throw new Exception("模拟加载失败");
+        }
+        loadedPages.add(page);
+        List<String> items = new ArrayList<>();
+        for (int i = page * pageSize; i < Math.min(totalCount, (page + 1) * pageSize); i++) {
+            items.add("item-" + i);
+        }
+        return items;
+    }
+
+    @Override
+    public int loadTotalCount() throws Exception {
+        return totalCount;
+    }
+}
@@ -0,0 +1,150 @@
+package com.example.admin.recyclerviewdemo.rvadapter;
+
+import android.content.Context;
+import android.support.v7.widget.RecyclerView;
+import android.view.View;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.annotation.Config;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * 延后任务的调度：空闲时的截止时间按预计的下一帧计算，重新绑定、Adapter脱离后任务不再执行，暂停可嵌套
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 23, manifest = Config.NONE)
+public class FrameBudgetSchedulerTest {
+    private static final long MS = 1000000L;
+
+    private final List<String> ran = new ArrayList<>();
+    private Context context;
+    private FrameBudgetScheduler scheduler;
+
+    @Before
+    public void setUp() throws Exception {
+        context = RuntimeEnvironment.application;
+        scheduler = FrameBudgetScheduler.get();
+        while (scheduler.isPaused()) {
+            scheduler.resume();
+        }
+        scheduler.flush();
+    }
+
+    private BaseRvAdapter<String> newAdapter(List<String> data) {
+        return new BaseRvAdapter<String>(context, data, 1) {
+            @Override
+            public void convert(BaseRvHolder holder, final String data, int position) {
+                holder.defer(new Runnable() {
+                    @Override
+                    public void run() {
+                        ran.add(data);
+                    }
+                });
+            }
+        };
+    }
+
+    private BaseRvHolder newHolder() {
+        return BaseRvHolder.getRvHolder(context, new View(context));
+    }
+
+    private Runnable record(final String name) {
+        return new Runnable() {
+            @Override
+            public void run() {
+                ran.add(name);
+            }
+        };
+    }
+
+    @Test
+    public void idleDeadline_endsBeforeNextExpectedFrame() {
+        long interval = 16 * MS;
+        long margin = 4 * MS;
+        //上一帧开始后5ms空闲，下一帧在116ms
+        assertEquals(112 * MS, FrameBudgetScheduler.idleDeadline(100 * MS, interval, margin, 105 * MS));
+        //已过去两帧没有绘制，下一帧按间隔推算在148ms
+        assertEquals(144 * MS, FrameBudgetScheduler.idleDeadline(100 * MS, interval, margin, 135 * MS));
+        //还没有帧时按一整帧
+        assertEquals(212 * MS, FrameBudgetScheduler.idleDeadline(0, interval, margin, 200 * MS));
+    }
+
+    @Test
+    public void rebind_cancelsEarlierTask() {
+        BaseRvHolder holder = newHolder();
+        scheduler.post(holder, record("first"));
+        holder.cancelDeferred();
+        scheduler.post(holder, record("second"));
+
+        scheduler.flush();
+        assertEquals(Arrays.asList("second"), ran);
+        assertEquals(0, scheduler.getPendingCount());
+    }
+
+    @Test
+    public void cancelAdapter_keepsOtherTasksInOrder() {
+        BaseRvAdapter<String> first = newAdapter(new ArrayList<String>());
+        BaseRvAdapter<String> second = newAdapter(new ArrayList<String>());
+        //先移动队首，使之后的任务跨过数组末尾
+        for (int i = 0; i < 20; i++) {
+            scheduler.post(newHolder(), record("skip"));
+        }
+        scheduler.flush();
+        ran.clear();
+
+        List<String> expected = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            BaseRvHolder holder = newHolder();
+            holder.setBoundAdapter(i % 2 == 0 ? first : second);
+            scheduler.post(holder, record(String.valueOf(i)));
+            if (i % 2 == 1) {
+                expected.add(String.valueOf(i));
+            }
+        }
+        scheduler.cancel(first);
+        assertEquals(20, scheduler.getPendingCount());
+
+        scheduler.flush();
+        assertEquals(expected, ran);
+    }
+
+    @Test
+    public void detachedAdapter_dropsDeferredBinding() {
+        BaseRvAdapter<String> adapter = newAdapter(new ArrayList<>(Arrays.asList("a", "b")));
+        adapter.setStagedBinding(true);
+        RecyclerView recyclerView = new RecyclerView(context);
+        adapter.onAttachedToRecyclerView(recyclerView);
+        adapter.onBindViewHolder(newHolder(), 0);
+        adapter.onBindViewHolder(newHolder(), 1);
+        assertEquals(2, scheduler.getPendingCount());
+
+        adapter.onDetachedFromRecyclerView(recyclerView);
+        assertEquals(0, scheduler.getPendingCount());
+        scheduler.flush();
+        assertTrue(ran.isEmpty());
+    }
+
+    @Test
+    public void pause_nests() {
+        scheduler.pause();
+        scheduler.pause();
+        scheduler.resume();
+        assertTrue(scheduler.isPaused());
+        scheduler.resume();
+        assertFalse(scheduler.isPaused());
+        //多余的resume()不会使计数为负
+        scheduler.resume();
+        scheduler.pause();
+        assertTrue(scheduler.isPaused());
+        scheduler.resume();
+    }
+}
@@ -0,0 +1,114 @@
+package com.example.admin.recyclerviewdemo.rvadapter;
+
+import android.content.Context;
+import android.os.Looper;
+import android.support.v7.widget.RecyclerView;
+import android.util.AttributeSet;
+import android.view.ContextThemeWrapper;
+import android.view.LayoutInflater;
+import android.view.View;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.Robolectric;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.annotation.Config;
+
+import java.util.ArrayList;
+
+import static org.junit.Assert.*;
+
+/**
+ * 预创建：缓存池已满时丢弃的不计数；后台创建不经过Activity的LayoutInflater.Factory
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 23, manifest = Config.NONE)
+public class HolderPrewarmerTest {
+    private static final int LAYOUT_ID = android.R.layout.simple_list_item_1;
+    private static final long TIMEOUT_MILLIS = 5000;
+
+    private static BaseRvAdapter<String> newAdapter(Context context) {
+        return new BaseRvAdapter<String>(context, new ArrayList<String>(), LAYOUT_ID) {
+            @Override
+            public void convert(BaseRvHolder holder, String data, int position) {
+            }
+        };
+    }
+
+    /**
+     * 等待后台创建完成、主线程放入缓存池
+     */
+    private static void awaitPrewarmed(BaseRvAdapter<?> adapter, int count) throws Exception {
+        long deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+        while (adapter.getPrewarmedCount() < count && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+            Robolectric.flushForegroundThreadScheduler();
+        }
+        assertEquals(count, adapter.getPrewarmedCount());
+    }
+
+    private static int drain(RecyclerView.RecycledViewPool pool, int viewType) {
+        int count = 0;
+        while (pool.getRecycledView(viewType) != null) {
+            count++;
+        }
+        return count;
+    }
+
+    @Test
+    public void fullPool_droppedHoldersNotCounted() throws Exception {
+        RecyclerView recyclerView = new RecyclerView(RuntimeEnvironment.application);
+        BaseRvAdapter<String> adapter = newAdapter(RuntimeEnvironment.application);
+        recyclerView.setAdapter(adapter);
+        recyclerView.getRecycledViewPool().setMaxRecycledViews(LAYOUT_ID, 2);
+
+        adapter.prewarm(recyclerView, 5);
+        awaitPrewarmed(adapter, 2);
+        //其余3个也已处理完
+        Thread.sleep(300);
+        Robolectric.flushForegroundThreadScheduler();
+
+        assertEquals(2, adapter.getPrewarmedCount());
+        assertEquals(2, drain(recyclerView.getRecycledViewPool(), LAYOUT_ID));
+    }
+
+    @Test
+    public void backgroundInflation_skipsActivityFactory() throws Exception {
+        Context context = new ContextThemeWrapper(RuntimeEnvironment.application, android.R.style.Theme_DeviceDefault);
+        RecordingFactory factory = new RecordingFactory();
+        LayoutInflater.from(context).setFactory2(factory);
+        RecyclerView recyclerView = new RecyclerView(context);
+        BaseRvAdapter<String> adapter = newAdapter(context);
+        recyclerView.setAdapter(adapter);
+
+        adapter.prewarm(recyclerView, 3);
+        awaitPrewarmed(adapter, 3);
+        assertEquals(0, factory.backgroundCalls);
+
+        //主线程创建仍经过Factory
+        adapter.onCreateViewHolder(recyclerView, LAYOUT_ID);
+        assertTrue(factory.mainCalls > 0);
+        assertEquals(0, factory.backgroundCalls);
+    }
+
+    private static final class RecordingFactory implements LayoutInflater.Factory2 {
+        volatile int mainCalls;
+        volatile int backgroundCalls;
+
+        @Override
+        public View onCreateView(View parent, String name, Context context, AttributeSet attrs) {
+            return onCreateView(name, context, attrs);
+        }
+
+        @Override
+        public View onCreateView(String name, Context context, AttributeSet attrs) {
+            if (Looper.myLooper() == Looper.getMainLooper()) {
+                mainCalls++;
+            } else {
+                backgroundCalls++;
+            }
+            return null;
+        }
+    }
+}
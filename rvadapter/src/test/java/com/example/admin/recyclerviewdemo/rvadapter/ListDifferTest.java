@@ -0,0 +1,159 @@
+package com.example.admin.recyclerviewdemo.rvadapter;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * ListDiffer：回放差量后旧集合应与新集合一致
+ */
+public class ListDifferTest {
+
+    private static final ItemDiffCallback<String> CALLBACK = new ItemDiffCallback<String>() {
+        @Override
+        public boolean areItemsTheSame(String oldItem, String newItem) {
+            return oldItem.charAt(0) == newItem.charAt(0);
+        }
+
+        @Override
+        public boolean areContentsTheSame(String oldItem, String newItem) {
+            return oldItem.equals(newItem);
+        }
+    };
+
+    @Test
+    public void identicalLists_noOperations() throws Exception {
+        List<String> list = Arrays.asList("a", "b", "c");
+        DiffResult result = ListDiffer.calculateDiff(list, new ArrayList<>(list), CALLBACK);
+        assertEquals(0, result.getOperationCount());
+    }
+
+    @Test
+    public void insertRemoveMoveChange_replayEqualsNewList() throws Exception {
+        List<String> oldList = Arrays.asList("a", "b", "c", "d", "e");
+        List<String> newList = Arrays.asList("x", "b", "e", "c2", "d", "a");
+        Recorder recorder = replay(oldList, newList);
+        assertEquals(newList, recorder.list);
+        assertEquals(1, recorder.changed);
+    }
+
+    @Test
+    public void insertAtHead_singleRangeInsert() throws Exception {
+        List<String> oldList = Arrays.asList("c", "d", "e");
+        List<String> newList = Arrays.asList("a", "b", "c", "d", "e");
+        Recorder recorder = replay(oldList, newList);
+        assertEquals(newList, recorder.list);
+        assertEquals(1, recorder.operations);
+    }
+
+    @Test
+    public void changedItems_carryPayload() throws Exception {
+        final List<Object> payloads = new ArrayList<>();
+        ItemDiffCallback<String> callback = new ItemDiffCallback<String>() {
+            @Override
+            public boolean areItemsTheSame(String oldItem, String newItem) {
+                return CALLBACK.areItemsTheSame(oldItem, newItem);
+            }
+
+            @Override
+            public boolean areContentsTheSame(String oldItem, String newItem) {
+                return CALLBACK.areContentsTheSame(oldItem, newItem);
+            }
+
+            @Override
+            public Object getChangePayload(String oldItem, String newItem) {
+                return 1 << 2;
+            }
+        };
+        ListDiffer.calculateDiff(Arrays.asList("a", "b1", "c1"), Arrays.asList("a", "b2", "c2"), callback)
+                .dispatchUpdatesTo(new Recorder(Arrays.asList("a", "b1", "c1"), Arrays.asList("a", "b2", "c2")) {
+                    @Override
+                    public void onChanged(int position, int count, Object payload) {
+                        assertEquals(1, position);
+                        assertEquals(2, count);
+                        payloads.add(payload);
+                    }
+                });
+        assertEquals(Arrays.<Object>asList(1 << 2), payloads);
+    }
+
+    @Test
+    public void randomLists_replayEqualsNewList() throws Exception {
+        Random random = new Random(7);
+        for (int i = 0; i < 2000; i++) {
+            List<String> oldList = randomList(random);
+            List<String> newList = randomList(random);
+            assertEquals(newList, replay(oldList, newList).list);
+        }
+    }
+
+    private static List<String> randomList(Random random) {
+        //同一字母只出现一次，保证同一子项唯一
+        List<String> list = new ArrayList<>();
+        for (char c = 'a'; c <= 'p'; c++) {
+            if (random.nextBoolean()) {
+                list.add(c + (random.nextInt(4) == 0 ? "2" : ""));
+            }
+        }
+        for (int i = list.size() - 1; i > 0; i--) {
+            if (random.nextInt(3) == 0) {
+                list.add(random.nextInt(i + 1), list.remove(i));
+            }
+        }
+        return list;
+    }
+
+    private static Recorder replay(List<String> oldList, List<String> newList) {
+        Recorder recorder = new Recorder(oldList, newList);
+        ListDiffer.calculateDiff(oldList, newList, CALLBACK).dispatchUpdatesTo(recorder);
+        return recorder;
+    }
+
+    private static class Recorder implements ListUpdateCallback {
+        List<String> list;
+        List<String> newList;
+        int operations;
+        int changed;
+
+        Recorder(List<String> oldList, List<String> newList) {
+            this.list = new ArrayList<>(oldList);
+            this.newList = newList;
+        }
+
+        @Override
+        public void onInserted(int position, int count) {
+            operations++;
+            for (int i = 0; i < count; i++) {
+                list.add(position + i, newList.get(position + i));
+            }
+        }
+
+        @Override
+        public void onRemoved(int position, int count) {
+            operations++;
+            for (int i = 0; i < count; i++) {
+                list.remove(position);
+            }
+        }
+
+        @Override
+        public void onMoved(int fromPosition, int toPosition) {
+            operations++;
+            list.add(toPosition, list.remove(fromPosition));
+        }
+
+        @Override
+        public void onChanged(int position, int count, Object payload) {
+            operations++;
+            for (int i = 0; i < count; i++) {
+                changed++;
+                list.set(position + i, newList.get(position + i));
+            }
+        }
+    }
+}
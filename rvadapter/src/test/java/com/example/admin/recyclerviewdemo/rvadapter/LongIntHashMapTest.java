@@ -0,0 +1,88 @@
+package com.example.admin.recyclerviewdemo.rvadapter;
+
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * 开放寻址哈希表：覆盖、扩容，删除后同一探测链上的项前移仍可查到
+ */
+public class LongIntHashMapTest {
+    private static final int MISSING = -1;
+
+    @Test
+    public void put_overwritesAndGrows() {
+        LongIntHashMap map = new LongIntHashMap(2, MISSING);
+        for (int i = 0; i < 100; i++) {
+            map.put(i * 31L, i);
+        }
+        map.put(31L, 1000);
+
+        assertEquals(100, map.size());
+        assertEquals(1000, map.get(31L));
+        assertEquals(99, map.get(99 * 31L));
+        assertEquals(MISSING, map.get(7L));
+        assertFalse(map.putIfAbsent(0L, 5));
+        assertEquals(0, map.get(0L));
+        assertTrue(map.putIfAbsent(7L, 5));
+        assertEquals(5, map.get(7L));
+    }
+
+    @Test
+    public void remove_shiftsProbeChain() {
+        //容量16放入8个，必然有冲突和跨过数组末尾的探测链
+        LongIntHashMap map = new LongIntHashMap(8, MISSING);
+        for (int i = 0; i < 8; i++) {
+            map.put(i, i);
+        }
+        for (int removed = 0; removed < 8; removed += 2) {
+            assertTrue(map.remove(removed));
+            assertFalse(map.remove(removed));
+            for (int i = 0; i < 8; i++) {
+                boolean present = i > removed || i % 2 == 1;
+                assertEquals("key " + i, present ? i : MISSING, map.get(i));
+                assertEquals(present, map.contains(i));
+            }
+        }
+        assertEquals(4, map.size());
+    }
+
+    @Test
+    public void randomOperations_matchHashMap() {
+        Random random = new Random(42);
+        LongIntHashMap map = new LongIntHashMap(4, MISSING);
+        Map<Long, Integer> expected = new HashMap<>();
+        for (int i = 0; i < 20000; i++) {
+            //key范围小，删除、重复插入频繁
+            long key = random.nextInt(64) - 32;
+            if (random.nextInt(3) == 0) {
+                assertEquals(expected.remove(key) != null, map.remove(key));
+            } else {
+                map.put(key, i);
+                expected.put(key, i);
+            }
+            assertEquals(expected.size(), map.size());
+        }
+        for (long key = -32; key < 32; key++) {
+            Integer value = expected.get(key);
+            assertEquals(value != null ? value : MISSING, map.get(key));
+        }
+    }
+
+    @Test
+    public void clear_keepsMapUsable() {
+        LongIntHashMap map = new LongIntHashMap(4, MISSING);
+        map.put(1L, 1);
+        map.put(Long.MIN_VALUE, 2);
+        map.clear();
+
+        assertEquals(0, map.size());
+        assertEquals(MISSING, map.get(1L));
+        map.put(Long.MIN_VALUE, 3);
+        assertEquals(3, map.get(Long.MIN_VALUE));
+    }
+}
@@ -0,0 +1,156 @@
+package com.example.admin.recyclerviewdemo.rvadapter;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+
+import static org.junit.Assert.*;
+
+/**
+ * MappedFileItemList：分段扫描、跨映射段的记录、同时映射的段数，MappedFileRvAdapter可重新开始建立索引
+ */
+public class MappedFileItemListTest {
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+    private static final int RECORDS = 300;
+    /**
+     * 16字节一段，大部分记录会跨段
+     */
+    private static final int SEGMENT_SHIFT = 4;
+
+    private static final RecordDecoder<String> DECODER = new RecordDecoder<String>() {
+        @Override
+        public String decode(ByteBuffer record) {
+            byte[] bytes = new byte[record.remaining()];
+            record.get(bytes);
+            return new String(bytes, UTF_8);
+        }
+    };
+
+    private File file;
+
+    @Before
+    public void setUp() throws Exception {
+        file = File.createTempFile("mapped", ".txt");
+        StringBuilder content = new StringBuilder();
+        for (int i = 0; i < RECORDS; i++) {
+            //第10条为空记录
+            content.append(i == 10 ? "" : "记录" + i).append('\n');
+        }
+        FileOutputStream out = new FileOutputStream(file);
+        try {
+            out.write(content.toString().getBytes(UTF_8));
+        } finally {
+            out.close();
+        }
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        file.delete();
+    }
+
+    private MappedFileItemList<String> open() throws IOException {
+        return new MappedFileItemList<>(file, (byte) '\n', DECODER, 8, SEGMENT_SHIFT);
+    }
+
+    private static String expected(int index) {
+        return index == 10 ? "" : "记录" + index;
+    }
+
+    @Test
+    public void chunkedScan_decodesEveryRecord() throws Exception {
+        MappedFileItemList<String> items = open();
+        try {
+            assertEquals(0, items.size());
+            assertEquals(0, items.getMappedSegmentCount());
+            MappedFileItemList.IndexChunk chunk;
+            int published = 0;
+            while ((chunk = items.scanChunk(7)) != null) {
+                published += items.publish(chunk);
+                assertEquals(published, items.size());
+            }
+            assertEquals(RECORDS, items.size());
+            //倒序访问，解码缓存基本不命中
+            for (int i = RECORDS - 1; i >= 0; i--) {
+                assertEquals(expected(i), items.get(i));
+            }
+            assertTrue(items.getMappedSegmentCount() <= MappedFileItemList.MAX_MAPPED_SEGMENTS);
+        } finally {
+            items.close();
+        }
+    }
+
+    @Test
+    public void publishOutOfOrder_throws() throws Exception {
+        MappedFileItemList<String> items = open();
+        try {
+            MappedFileItemList.IndexChunk first = items.scanChunk(100);
+            MappedFileItemList.IndexChunk second = items.scanChunk(100);
+            try {
+                items.publish(second);
+                fail();
+            } catch (IllegalStateException expected) {
+            }
+            items.publish(first);
+            items.publish(second);
+            assertEquals("记录0", items.get(0));
+        } finally {
+            items.close();
+        }
+    }
+
+    @Test
+    public void adapter_restartsIndexingAfterStop() throws Exception {
+        MappedFileItemList<String> items = open();
+        try {
+            MappedFileRvAdapter<String> adapter = new MappedFileRvAdapter<String>(null, items, 1) {
+            };
+            adapter.startIndexing();
+            assertTrue(adapter.isIndexing());
+            adapter.stopIndexing();
+            assertFalse(adapter.isIndexing());
+            adapter.startIndexing();
+            assertTrue(adapter.isIndexing());
+            adapter.stopIndexing();
+            try {
+                adapter.removeItem(0);
+                fail();
+            } catch (UnsupportedOperationException expected) {
+            }
+        } finally {
+            items.close();
+        }
+    }
+
+    @Test
+    public void adapter_closeStopsIndexingAndClosesFile() throws Exception {
+        MappedFileItemList<String> items = open();
+        try {
+            MappedFileRvAdapter<String> adapter = new MappedFileRvAdapter<String>(null, items, 1) {
+            };
+            adapter.startIndexing();
+            adapter.close();
+            assertTrue(adapter.isClosed());
+            assertFalse(adapter.isIndexing());
+            //在索引线程中等正在扫描的段结束后关闭
+            long deadline = System.currentTimeMillis() + 5000;
+            while (!items.isClosed() && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+            assertTrue(items.isClosed());
+            try {
+                adapter.startIndexing();
+                fail();
+            } catch (IllegalStateException expected) {
+            }
+        } finally {
+            items.close();
+        }
+    }
+}
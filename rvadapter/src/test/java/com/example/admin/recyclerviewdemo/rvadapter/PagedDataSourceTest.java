@@ -0,0 +1,102 @@
+package com.example.admin.recyclerviewdemo.rvadapter;
+
+import org.junit.Test;
+
+import java.util.concurrent.Executor;
+
+import static org.junit.Assert.*;
+
+/**
+ * PagedDataSource：预加载、丢弃远处的页、占位符
+ */
+public class PagedDataSourceTest {
+    private static final Executor DIRECT = new Executor() {
+        @Override
+        public void execute(Runnable command) {
+            command.run();
+        }
+    };
+
+    private static PagedDataSource<String> create(FakePageLoader loader) {
+        return new PagedDataSource<>(loader, 10, DIRECT, DIRECT);
+    }
+
+    @Test
+    public void bindNearEnd_prefetchesNextPage() throws Exception {
+        FakePageLoader loader = new FakePageLoader(100);
+        PagedDataSource<String> source = create(loader);
+        source.setPrefetchDistance(3);
+        source.start();
+        assertEquals(10, source.getItems().size());
+
+        source.onItemBound(5);
+        assertEquals(10, source.getItems().size());
+        source.onItemBound(6);
+        assertEquals(20, source.getItems().size());
+        assertEquals("item-19", source.getItems().get(19));
+    }
+
+    @Test
+    public void lastPage_stopsLoading() throws Exception {
+        FakePageLoader loader = new FakePageLoader(15);
+        PagedDataSource<String> source = create(loader);
+        source.start();
+        source.onItemBound(9);
+        source.onItemBound(14);
+        source.onItemBound(14);
+        assertEquals(15, source.getItems().size());
+        assertEquals(2, loader.loadedPages.size());
+    }
+
+    @Test
+    public void failedLoad_retriedOnNextBind() throws Exception {
+        FakePageLoader loader = new FakePageLoader(100);
+        PagedDataSource<String> source = create(loader);
+        source.start();
+        loader.failNext = true;
+        source.onItemBound(9);
+        assertEquals(10, source.getItems().size());
+        source.onItemBound(9);
+        assertEquals(20, source.getItems().size());
+    }
+
+    @Test
+    public void maxPages_evictsFarPagesAndReloadsThem() throws Exception {
+        FakePageLoader loader = new FakePageLoader(1000);
+        PagedDataSource<String> source = create(loader);
+        source.setPrefetchDistance(2);
+        source.setMaxPages(3);
+        source.start();
+        for (int page = 0; page < 10; page++) {
+            source.onItemBound(source.getItems().size() - 1);
+        }
+        assertEquals(3, source.getResidentPageCount());
+        assertEquals(30, source.getItems().size());
+        assertEquals("item-80", source.getItems().get(0));
+
+        //滚回顶部，重新加载前面的页
+        source.onItemBound(0);
+        assertEquals(3, source.getResidentPageCount());
+        assertEquals("item-70", source.getItems().get(0));
+    }
+
+    @Test
+    public void placeholders_keepTotalCountAndEvictToNull() throws Exception {
+        FakePageLoader loader = new FakePageLoader(100);
+        PagedDataSource<String> source = create(loader);
+        source.setPlaceholdersEnabled(true);
+        source.setPrefetchDistance(0);
+        source.setMaxPages(2);
+        source.start();
+        assertEquals(100, source.getItems().size());
+        assertEquals("item-0", source.getItems().get(0));
+        assertNull(source.getItems().get(10));
+
+        source.onItemBound(55);
+        source.onItemBound(95);
+        assertEquals(2, source.getResidentPageCount());
+        assertEquals("item-55", source.getItems().get(55));
+        assertEquals("item-95", source.getItems().get(95));
+        assertNull(source.getItems().get(0));
+    }
+}
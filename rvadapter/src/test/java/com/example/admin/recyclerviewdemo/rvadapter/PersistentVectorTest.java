@@ -0,0 +1,117 @@
+package com.example.admin.recyclerviewdemo.rvadapter;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * PersistentVector：与ArrayList执行相同的随机修改后内容一致，旧版本不受新版本的修改影响
+ */
+public class PersistentVectorTest {
+
+    @Test
+    public void randomEdits_matchArrayList() throws Exception {
+        Random random = new Random(42);
+        List<Integer> expected = new ArrayList<>();
+        PersistentVector<Integer> vector = PersistentVector.empty();
+        for (int i = 0; i < 5000; i++) {
+            int action = random.nextInt(10);
+            if (action < 6 || expected.isEmpty()) {
+                expected.add(i);
+                vector = vector.plus(i);
+            } else if (action < 8) {
+                int index = random.nextInt(expected.size());
+                expected.set(index, -i);
+                vector = vector.with(index, -i);
+            } else if (action < 9) {
+                expected.remove(expected.size() - 1);
+                vector = vector.pop();
+            } else if (expected.size() < 200) {
+                int index = random.nextInt(expected.size() + 1);
+                expected.add(index, i);
+                vector = vector.plus(index, i);
+            } else {
+                int index = random.nextInt(expected.size());
+                expected.remove(index);
+                vector = vector.minus(index);
+            }
+        }
+        assertEquals(expected, vector);
+    }
+
+    @Test
+    public void middleEditsAndBulkAppends_matchArrayList() throws Exception {
+        Random random = new Random(7);
+        List<Integer> expected = new ArrayList<>();
+        for (int i = 0; i < 3000; i++) {
+            expected.add(i);
+        }
+        PersistentVector<Integer> vector = PersistentVector.of(expected);
+        assertEquals(expected, vector);
+        for (int i = 0; i < 20000; i++) {
+            int action = random.nextInt(10);
+            if (action < 4) {
+                int index = random.nextInt(expected.size() + 1);
+                expected.add(index, -i);
+                vector = vector.plus(index, -i);
+            } else if (action < 8 && !expected.isEmpty()) {
+                int index = random.nextInt(expected.size());
+                expected.remove(index);
+                vector = vector.minus(index);
+            } else if (action < 9) {
+                List<Integer> batch = new ArrayList<>();
+                for (int j = random.nextInt(100); j > 0; j--) {
+                    batch.add(i * 1000 + j);
+                }
+                expected.addAll(batch);
+                vector = vector.plusAll(batch);
+            } else {
+                int count = random.nextInt(expected.size() + 1);
+                expected.subList(count, expected.size()).clear();
+                vector = vector.truncate(count);
+            }
+            if (i % 1000 == 0) {
+                assertEquals(expected, vector);
+            }
+        }
+        assertEquals(expected, vector);
+    }
+
+    @Test
+    public void removeFromFront_untilEmpty() throws Exception {
+        List<Integer> expected = new ArrayList<>();
+        for (int i = 0; i < 5000; i++) {
+            expected.add(i);
+        }
+        PersistentVector<Integer> vector = PersistentVector.of(expected);
+        while (!expected.isEmpty()) {
+            expected.remove(0);
+            vector = vector.minus(0);
+            assertEquals(expected.size(), vector.size());
+            if (!expected.isEmpty()) {
+                assertEquals(expected.get(0), vector.get(0));
+            }
+        }
+        assertEquals(0, vector.plus(1).minus(0).size());
+    }
+
+    @Test
+    public void oldVersion_unchanged() throws Exception {
+        PersistentVector<Integer> vector = PersistentVector.empty();
+        for (int i = 0; i < 2000; i++) {
+            vector = vector.plus(i);
+        }
+        PersistentVector<Integer> changed = vector.with(100, -1).with(1999, -2).pop().plus(7);
+        for (int i = 0; i < 2000; i++) {
+            assertEquals(Integer.valueOf(i), vector.get(i));
+        }
+        assertEquals(Integer.valueOf(-1), changed.get(100));
+        assertEquals(Integer.valueOf(7), changed.get(1999));
+        assertEquals(0, vector.truncate(0).size());
+        assertEquals(1024, vector.truncate(1024).size());
+    }
+}
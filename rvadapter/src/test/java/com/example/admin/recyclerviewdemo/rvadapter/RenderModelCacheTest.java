@@ -0,0 +1,58 @@
+package com.example.admin.recyclerviewdemo.rvadapter;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * RenderModelCache：子项被替换后不命中，满了淘汰最近未使用的；LongIntHashMap删除后探测链仍然完整
+ */
+public class RenderModelCacheTest {
+
+    @Test
+    public void replacedItem_misses() throws Exception {
+        RenderModelCache cache = new RenderModelCache(4);
+        String item = new String("a");
+        cache.put(1, item, "model");
+        assertEquals("model", cache.get(1, item));
+        assertNull(cache.get(1, new String("a")));
+        cache.invalidate(1);
+        assertNull(cache.get(1, item));
+        assertFalse(cache.contains(1, item));
+    }
+
+    @Test
+    public void full_evictsUnreferenced() throws Exception {
+        RenderModelCache cache = new RenderModelCache(3);
+        Object[] items = {new Object(), new Object(), new Object(), new Object()};
+        for (int i = 0; i < 3; i++) {
+            cache.put(i, items[i], "m" + i);
+        }
+        //时钟转一圈清除引用位后淘汰0；之后再次访问的2保留，未访问的1被淘汰
+        cache.put(3, items[3], "m3");
+        assertNull(cache.get(0, items[0]));
+        cache.get(2, items[2]);
+        cache.put(0, items[0], "m0");
+        assertEquals(3, cache.size());
+        assertNull(cache.get(1, items[1]));
+        assertEquals("m2", cache.get(2, items[2]));
+        assertEquals("m3", cache.get(3, items[3]));
+        assertEquals("m0", cache.get(0, items[0]));
+    }
+
+    @Test
+    public void longIntHashMap_removeKeepsProbeChain() throws Exception {
+        LongIntHashMap map = new LongIntHashMap(4, -1);
+        for (int i = 0; i < 1000; i++) {
+            map.put(i * 16L, i);
+        }
+        for (int i = 0; i < 1000; i += 2) {
+            assertTrue(map.remove(i * 16L));
+        }
+        assertFalse(map.remove(0));
+        assertEquals(500, map.size());
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(i % 2 == 0 ? -1 : i, map.get(i * 16L));
+        }
+    }
+}
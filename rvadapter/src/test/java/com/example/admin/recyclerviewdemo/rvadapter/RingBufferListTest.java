@@ -0,0 +1,45 @@
+package com.example.admin.recyclerviewdemo.rvadapter;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+
+import static org.junit.Assert.*;
+
+/**
+ * RingBufferList：满了丢弃最早的子项，回绕后顺序不变
+ */
+public class RingBufferListTest {
+
+    @Test
+    public void append_dropsOldestWhenFull() throws Exception {
+        RingBufferList<Integer> list = new RingBufferList<>(3);
+        assertEquals(0, list.append(1));
+        list.add(2);
+        list.add(3);
+        assertEquals(1, list.append(4));
+        assertEquals(1, list.append(5));
+        assertEquals(Arrays.asList(3, 4, 5), list);
+    }
+
+    @Test
+    public void removeOldest_keepsOrderAcrossWrap() throws Exception {
+        RingBufferList<Integer> list = new RingBufferList<>(4);
+        for (int i = 0; i < 6; i++) {
+            list.append(i);
+        }
+        list.removeOldest(3);
+        assertEquals(Arrays.asList(5), list);
+        list.append(6);
+        list.append(7);
+        list.set(0, 50);
+        assertEquals(Arrays.asList(50, 6, 7), list);
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void insertInMiddle_unsupported() throws Exception {
+        RingBufferList<Integer> list = new RingBufferList<>(4);
+        list.append(1);
+        list.add(0, 2);
+    }
+}
@@ -0,0 +1,134 @@
+package com.example.admin.recyclerviewdemo.rvadapter;
+
+import android.support.v7.widget.RecyclerView;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.annotation.Config;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * 快速滑动的进入、退出（阈值的一半以下才退出），以及快速滑动中脱离RecyclerView
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 23, manifest = Config.NONE)
+public class ScrollStateTrackerTest {
+    private static final long FRAME_NANOS = 10000000L;
+    /**
+     * 高1000像素，默认阈值3000像素/秒，退出阈值1500像素/秒
+     */
+    private static final int HEIGHT = 1000;
+
+    private final List<Boolean> changes = new ArrayList<>();
+    private RecyclerView recyclerView;
+    private BaseRvAdapter<String> adapter;
+    private ScrollStateTracker tracker;
+    private long now;
+
+    @Before
+    public void setUp() throws Exception {
+        recyclerView = new RecyclerView(RuntimeEnvironment.application);
+        recyclerView.layout(0, 0, 100, HEIGHT);
+        adapter = new BaseRvAdapter<String>(RuntimeEnvironment.application, new ArrayList<String>(), 1) {
+            @Override
+            public void convert(BaseRvHolder holder, String data, int position) {
+            }
+        };
+        tracker = new ScrollStateTracker(new ScrollStateTracker.Callback() {
+            @Override
+            public void onFastScrollChanged(RecyclerView recyclerView, boolean fast) {
+                changes.add(fast);
+                adapter.onFastScrollChanged(recyclerView, fast);
+            }
+        });
+        tracker.attach(recyclerView);
+        tracker.onScrollStateChanged(recyclerView, RecyclerView.SCROLL_STATE_SETTLING);
+        now = 1;
+        scroll(0);
+    }
+
+    /**
+     * 每帧（10ms）滑动dy像素
+     */
+    private void scroll(int dy) {
+        now += FRAME_NANOS;
+        tracker.onScrolled(recyclerView, 0, dy, now);
+    }
+
+    @Test
+    public void betweenHalfAndThreshold_staysInCurrentState() {
+        //2000像素/秒，低于阈值，不进入
+        for (int i = 0; i < 10; i++) {
+            scroll(20);
+        }
+        assertFalse(tracker.isFast());
+
+        //10000像素/秒，进入
+        scroll(100);
+        assertTrue(tracker.isFast());
+
+        //回到2000像素/秒，仍高于阈值的一半，不退出
+        for (int i = 0; i < 10; i++) {
+            scroll(20);
+        }
+        assertTrue(tracker.isFast());
+
+        //500像素/秒，退出
+        for (int i = 0; i < 10; i++) {
+            scroll(5);
+        }
+        assertFalse(tracker.isFast());
+        assertEquals(Arrays.asList(true, false), changes);
+    }
+
+    @Test
+    public void upwardFling_usesSpeed() {
+        scroll(-100);
+        assertTrue(tracker.isFast());
+        assertTrue(tracker.getVelocity() < 0);
+    }
+
+    @Test
+    public void idle_exitsImmediately() {
+        scroll(100);
+        assertTrue(tracker.isFast());
+        tracker.onScrollStateChanged(recyclerView, RecyclerView.SCROLL_STATE_IDLE);
+        assertFalse(tracker.isFast());
+        assertEquals(0f, tracker.getVelocity(), 0f);
+        assertEquals(Arrays.asList(true, false), changes);
+    }
+
+    @Test
+    public void detachMidFling_resumesPausedWork() {
+        adapter.setScrollThrottling(true);
+        scroll(100);
+        assertTrue(tracker.isFast());
+        assertTrue(FrameBudgetScheduler.get().isPaused());
+
+        tracker.detach(recyclerView);
+        assertFalse(tracker.isFast());
+        assertNull(tracker.getRecyclerView());
+        assertFalse(FrameBudgetScheduler.get().isPaused());
+        assertEquals(Arrays.asList(true, false), changes);
+
+        //脱离后的回调不再影响状态
+        tracker.onScrolled(recyclerView, 0, 100, now + FRAME_NANOS);
+        assertEquals(2, changes.size());
+    }
+
+    @Test
+    public void throttlingOffByDefault_schedulerNotPaused() {
+        assertFalse(adapter.isScrollThrottling());
+        scroll(100);
+        assertTrue(tracker.isFast());
+        assertFalse(FrameBudgetScheduler.get().isPaused());
+    }
+}
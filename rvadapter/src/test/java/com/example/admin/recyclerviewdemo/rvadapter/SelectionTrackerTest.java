@@ -0,0 +1,106 @@
+package com.example.admin.recyclerviewdemo.rvadapter;
+
+import org.junit.Test;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+
+import static org.junit.Assert.*;
+
+/**
+ * SelectionTracker：全选、反选与子项个数无关；LongRangeSet的区间合并、拆分与TreeSet一致
+ */
+public class SelectionTrackerTest {
+
+    @Test
+    public void selectAllAndInvert_onMillionRows() throws Exception {
+        final int size = 1000000;
+        BaseRvAdapter<Integer> adapter = new BaseRvAdapter<Integer>(null, new AbstractList<Integer>() {
+            @Override
+            public Integer get(int index) {
+                return index;
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        }, 1) {
+        };
+        SelectionTracker tracker = SelectionTracker.byPosition(adapter);
+        tracker.selectAll();
+        tracker.setSelected(10, false);
+        tracker.setRangeSelected(100, 200, false);
+        assertEquals(size - 101, tracker.getSelectedCount());
+        assertFalse(tracker.isSelected(150));
+        assertTrue(tracker.isSelected(999999));
+
+        tracker.invert();
+        assertEquals(101, tracker.getSelectedCount());
+        assertTrue(tracker.isSelected(10));
+        assertEquals(101, tracker.getSelectedPositions().length);
+
+        tracker.clearSelection();
+        assertEquals(0, tracker.getSelectedCount());
+    }
+
+    @Test
+    public void byStableId_deletedSelectionNotCounted() throws Exception {
+        List<Integer> data = new ArrayList<>(Arrays.asList(1, 2, 3, 4));
+        BaseRvAdapter<Integer> adapter = new BaseRvAdapter<Integer>(null, data, 1) {
+        };
+        adapter.setItemKeyProvider(new ItemKeyProvider<Integer>() {
+            @Override
+            public long getItemKey(Integer item) {
+                return item;
+            }
+        });
+        SelectionTracker tracker = SelectionTracker.byStableId(adapter);
+        //全选、取消A、删除A：最后一个选中的子项不能丢失
+        tracker.selectAll();
+        tracker.setSelected(0, false);
+        adapter.removeItem(0);
+        assertEquals(3, tracker.getSelectedCount());
+        assertArrayEquals(new int[]{0, 1, 2}, tracker.getSelectedPositions());
+
+        //删除选中的子项后也不再计算
+        tracker.clearSelection();
+        tracker.setSelected(1, true);
+        adapter.removeItem(1);
+        assertEquals(0, tracker.getSelectedCount());
+        assertEquals(0, tracker.getSelectedPositions().length);
+    }
+
+    @Test
+    public void longRangeSet_matchesTreeSet() throws Exception {
+        Random random = new Random(7);
+        LongRangeSet set = new LongRangeSet();
+        TreeSet<Long> expected = new TreeSet<>();
+        for (int i = 0; i < 2000; i++) {
+            long first = random.nextInt(500);
+            long last = first + random.nextInt(20);
+            if (random.nextBoolean()) {
+                set.add(first, last);
+                for (long v = first; v <= last; v++) {
+                    expected.add(v);
+                }
+            } else {
+                set.remove(first, last);
+                for (long v = first; v <= last; v++) {
+                    expected.remove(v);
+                }
+            }
+            assertEquals(expected.size(), set.size());
+        }
+        for (long v = -1; v <= 520; v++) {
+            assertEquals(expected.contains(v), set.contains(v));
+        }
+        assertEquals(expected.subSet(100L, true, 300L, true).size(), set.countInRange(100, 300));
+        set.add(Long.MAX_VALUE, Long.MAX_VALUE);
+        assertTrue(set.contains(Long.MAX_VALUE));
+    }
+}
@@ -0,0 +1,173 @@
+package com.example.admin.recyclerviewdemo.rvadapter;
+
+import android.content.ComponentCallbacks2;
+import android.content.Context;
+import android.support.v7.widget.LinearLayoutManager;
+import android.support.v7.widget.RecyclerView;
+import android.view.View;
+import android.view.ViewGroup;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.Robolectric;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.annotation.Config;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+import static org.junit.Assert.*;
+
+/**
+ * 共用缓存池：容量按显示个数调整，Adapter种类检查，预创建的容量不被自动调整缩小、收缩内存时一并处理
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 23, manifest = Config.NONE)
+public class SharedPoolManagerTest {
+    private static final int VIEW_TYPE = 7;
+    private static final int ITEM_HEIGHT = 100;
+    private static final int LAYOUT_ID = android.R.layout.simple_list_item_1;
+    private static final long TIMEOUT_MILLIS = 5000;
+
+    private Context context;
+    private SharedPoolManager manager;
+
+    @Before
+    public void setUp() throws Exception {
+        context = RuntimeEnvironment.application;
+        manager = new SharedPoolManager(context);
+    }
+
+    private RecyclerView newRecyclerView(RecyclerView.Adapter<?> adapter) {
+        RecyclerView recyclerView = new RecyclerView(context);
+        recyclerView.setLayoutManager(new LinearLayoutManager(context));
+        recyclerView.setAdapter(adapter);
+        return recyclerView;
+    }
+
+    private static void layout(RecyclerView recyclerView, int height) {
+        recyclerView.measure(View.MeasureSpec.makeMeasureSpec(100, View.MeasureSpec.EXACTLY),
+                View.MeasureSpec.makeMeasureSpec(height, View.MeasureSpec.EXACTLY));
+        recyclerView.layout(0, 0, 100, height);
+    }
+
+    private static int drain(RecyclerView.RecycledViewPool pool, int viewType) {
+        int count = 0;
+        while (pool.getRecycledView(viewType) != null) {
+            count++;
+        }
+        return count;
+    }
+
+    @Test
+    public void capacity_followsPeakAcrossRecyclerViews() throws Exception {
+        RecyclerView first = newRecyclerView(new FixedHeightAdapter(30));
+        manager.attach(first);
+        assertSame(manager.getPool(), first.getRecycledViewPool());
+        layout(first, 10 * ITEM_HEIGHT);
+        assertEquals(10, manager.getPeakCount(VIEW_TYPE));
+        assertEquals(12, manager.getCapacity(VIEW_TYPE));
+
+        //两个列表同时显示的个数合计
+        RecyclerView second = newRecyclerView(new FixedHeightAdapter(30));
+        manager.attach(second);
+        layout(second, 5 * ITEM_HEIGHT);
+        assertEquals(15, manager.getPeakCount(VIEW_TYPE));
+        assertEquals(17, manager.getCapacity(VIEW_TYPE));
+
+        manager.setMaxPerType(12);
+        assertEquals(12, manager.getCapacity(VIEW_TYPE));
+    }
+
+    @Test
+    public void attach_checksHolderFamily() throws Exception {
+        manager.attach(newRecyclerView(new BaseRvAdapter<String>(context, new ArrayList<String>(), LAYOUT_ID) {
+        }));
+        //都使用BaseRvHolder
+        manager.attach(newRecyclerView(new CompositeRvAdapter(context)));
+        manager.attach(newRecyclerView(new FixedHeightAdapter(1)), BaseRvHolder.class);
+
+        try {
+            manager.attach(newRecyclerView(new FixedHeightAdapter(1)));
+            fail();
+        } catch (IllegalArgumentException expected) {
+        }
+        try {
+            manager.attach(new RecyclerView(context));
+            fail();
+        } catch (IllegalStateException expected) {
+        }
+    }
+
+    @Test
+    public void prewarm_reservesCapacityAndIsTrimmed() throws Exception {
+        BaseRvAdapter<String> adapter = new BaseRvAdapter<String>(context, new ArrayList<>(Arrays.asList("a", "b", "c")), LAYOUT_ID) {
+            @Override
+            public void convert(BaseRvHolder holder, String data, int position) {
+            }
+        };
+        RecyclerView recyclerView = newRecyclerView(adapter);
+        manager.attach(recyclerView);
+        RecyclerView.RecycledViewPool pool = manager.getPool();
+        assertSame(manager, SharedPoolManager.of(pool));
+        assertNull(SharedPoolManager.of(new RecyclerView.RecycledViewPool()));
+
+        adapter.prewarm(recyclerView, 8);
+        assertEquals(8, manager.getCapacity(LAYOUT_ID));
+        long deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+        while (adapter.getPrewarmedCount() < 8 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+            Robolectric.flushForegroundThreadScheduler();
+        }
+        assertEquals(8, adapter.getPrewarmedCount());
+
+        //显示3个，按显示个数调整的容量小于预创建的个数，不缩小
+        layout(recyclerView, 1000);
+        assertEquals(3, manager.getPeakCount(LAYOUT_ID));
+        assertEquals(8, manager.getCapacity(LAYOUT_ID));
+
+        //预创建的布局同样只保留1个，容量恢复
+        manager.trimMemory(ComponentCallbacks2.TRIM_MEMORY_RUNNING_LOW);
+        assertEquals(1, drain(pool, LAYOUT_ID));
+        assertEquals(8, manager.getCapacity(LAYOUT_ID));
+
+        pool.putRecycledView(adapter.createViewHolder(recyclerView, LAYOUT_ID));
+        manager.trimMemory(ComponentCallbacks2.TRIM_MEMORY_BACKGROUND);
+        assertEquals(0, drain(pool, LAYOUT_ID));
+    }
+
+    /**
+     * 子项高ITEM_HEIGHT，viewType为VIEW_TYPE
+     */
+    private static final class FixedHeightAdapter extends RecyclerView.Adapter<RecyclerView.ViewHolder> {
+        private final int count;
+
+        FixedHeightAdapter(int count) {
+            this.count = count;
+        }
+
+        @Override
+        public RecyclerView.ViewHolder onCreateViewHolder(ViewGroup parent, int viewType) {
+            View view = new View(parent.getContext());
+            view.setLayoutParams(new RecyclerView.LayoutParams(ViewGroup.LayoutParams.MATCH_PARENT, ITEM_HEIGHT));
+            return new RecyclerView.ViewHolder(view) {
+            };
+        }
+
+        @Override
+        public void onBindViewHolder(RecyclerView.ViewHolder holder, int position) {
+        }
+
+        @Override
+        public int getItemViewType(int position) {
+            return VIEW_TYPE;
+        }
+
+        @Override
+        public int getItemCount() {
+            return count;
+        }
+    }
+}
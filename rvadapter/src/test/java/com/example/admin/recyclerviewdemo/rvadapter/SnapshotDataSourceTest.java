@@ -0,0 +1,31 @@
+package com.example.admin.recyclerviewdemo.rvadapter;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * SnapshotDataSource：没有Adapter发布时，版本链不超过MAX_REPLAY，中间版本可以被回收
+ */
+public class SnapshotDataSourceTest {
+
+    @Test
+    public void versionChain_capped() throws Exception {
+        SnapshotDataSource<Integer> source = new SnapshotDataSource<>();
+        for (int i = 0; i < 1000; i++) {
+            source.add(i);
+        }
+        assertEquals(1000, source.size());
+
+        int chain = 0;
+        SnapshotDataSource.Version<Integer> version = source.currentVersion();
+        while (version.previous != null) {
+            version = version.previous;
+            chain++;
+        }
+        assertTrue("版本链长度" + chain, chain <= SnapshotDataSource.MAX_REPLAY);
+        //最新的修改仍可逐个通知
+        assertEquals(SnapshotDataSource.OP_INSERT, source.currentVersion().op);
+        assertEquals(999, source.currentVersion().position);
+    }
+}
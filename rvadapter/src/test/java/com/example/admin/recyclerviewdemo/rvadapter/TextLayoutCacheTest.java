@@ -0,0 +1,154 @@
+package com.example.admin.recyclerviewdemo.rvadapter;
+
+import android.widget.TextView;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.annotation.Config;
+
+import static org.junit.Assert.*;
+
+/**
+ * 样式按（布局id、控件id）记录，样式变化后不使用旧样式的结果；
+ * 低于9.0时只预热，计入getWarmCount()而不是命中
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 23, manifest = Config.NONE)
+public class TextLayoutCacheTest {
+    private static final int VIEW_ID = 1;
+    /**
+     * 单例在测试间共享，每个测试使用不同的布局id
+     */
+    private static int nextLayoutId = 1000;
+
+    private final TextLayoutCache cache = TextLayoutCache.get();
+    private int layoutId;
+    private TextView view;
+    private int hits;
+    private int warms;
+    private int misses;
+
+    @Before
+    public void setUp() throws Exception {
+        layoutId = nextLayoutId++;
+        view = new TextView(RuntimeEnvironment.application);
+        view.setTextSize(14);
+        view.layout(0, 0, 200, 50);
+        hits = cache.getHitCount();
+        warms = cache.getWarmCount();
+        misses = cache.getMissCount();
+    }
+
+    /**
+     * 在后台线程调用precompute()，直接排版完成后返回
+     */
+    private void precomputeOffMainThread(final int layoutId, final String text) throws Exception {
+        Thread thread = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                cache.precompute(layoutId, VIEW_ID, text);
+            }
+        });
+        thread.start();
+        thread.join();
+    }
+
+    private void assertCounts(int hits, int warms, int misses) {
+        assertEquals(hits, cache.getHitCount() - this.hits);
+        assertEquals(warms, cache.getWarmCount() - this.warms);
+        assertEquals(misses, cache.getMissCount() - this.misses);
+    }
+
+    @Test
+    public void beforeApi28_warmedNotCountedAsHit() throws Exception {
+        assertEquals("a", cache.lookup(layoutId, VIEW_ID, view, "a"));
+        precomputeOffMainThread(layoutId, "hello");
+
+        CharSequence result = cache.lookup(layoutId, VIEW_ID, view, "hello");
+
+        assertEquals("hello", result);
+        assertCounts(0, 1, 1);
+    }
+
+    @Test
+    public void notLaidOut_notRecorded() throws Exception {
+        TextView unmeasured = new TextView(RuntimeEnvironment.application);
+        assertEquals("a", cache.lookup(layoutId, VIEW_ID, unmeasured, "a"));
+        precomputeOffMainThread(layoutId, "a");
+
+        cache.lookup(layoutId, VIEW_ID, view, "a");
+
+        assertCounts(0, 0, 1);
+    }
+
+    @Test
+    public void styleChanged_previousResultNotUsed() throws Exception {
+        cache.lookup(layoutId, VIEW_ID, view, "a");
+        precomputeOffMainThread(layoutId, "hello");
+
+        view.setTextSize(20);
+        cache.lookup(layoutId, VIEW_ID, view, "hello");
+        assertCounts(0, 0, 2);
+
+        //按新样式重新排版后命中
+        precomputeOffMainThread(layoutId, "hello");
+        cache.lookup(layoutId, VIEW_ID, view, "hello");
+        assertCounts(0, 1, 2);
+    }
+
+    @Test
+    public void widthChanged_previousResultNotUsed() throws Exception {
+        cache.lookup(layoutId, VIEW_ID, view, "a");
+        precomputeOffMainThread(layoutId, "hello");
+
+        view.layout(0, 0, 300, 50);
+        cache.lookup(layoutId, VIEW_ID, view, "hello");
+
+        assertCounts(0, 0, 2);
+    }
+
+    @Test
+    public void sameStyle_specReused() throws Exception {
+        TextView other = new TextView(RuntimeEnvironment.application);
+        other.setTextSize(14);
+        other.layout(0, 0, 200, 50);
+        cache.lookup(layoutId, VIEW_ID, view, "a");
+        precomputeOffMainThread(layoutId, "hello");
+
+        //同一布局的另一个ViewHolder，样式相同
+        cache.lookup(layoutId, VIEW_ID, other, "hello");
+
+        assertCounts(0, 1, 1);
+    }
+
+    @Test
+    public void sameViewIdInOtherLayout_separateSpec() throws Exception {
+        int otherLayoutId = nextLayoutId++;
+        cache.lookup(layoutId, VIEW_ID, view, "a");
+
+        //另一个布局中同一id的控件还没有绑定过，按它的样式预排版被忽略
+        precomputeOffMainThread(otherLayoutId, "hello");
+        cache.lookup(layoutId, VIEW_ID, view, "hello");
+        assertCounts(0, 0, 2);
+
+        //按本布局的样式预排版的结果不会被另一个布局使用
+        precomputeOffMainThread(layoutId, "world");
+        TextView wide = new TextView(RuntimeEnvironment.application);
+        wide.setTextSize(14);
+        wide.layout(0, 0, 300, 50);
+        cache.lookup(otherLayoutId, VIEW_ID, wide, "world");
+        cache.lookup(layoutId, VIEW_ID, view, "world");
+        assertCounts(0, 1, 3);
+    }
+
+    @Test
+    public void emptyText_ignored() throws Exception {
+        cache.lookup(layoutId, VIEW_ID, view, "a");
+        precomputeOffMainThread(layoutId, "");
+        precomputeOffMainThread(layoutId, null);
+        assertCounts(0, 0, 1);
+    }
+}
@@ -0,0 +1,90 @@
+package com.example.admin.recyclerviewdemo.rvadapter;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * TreeRvAdapter：随机展开、折叠后，position与节点的对应与直接展开树的结果一致
+ */
+public class TreeRvAdapterTest {
+
+    @Test
+    public void randomToggles_matchFlattenedTree() throws Exception {
+        Random random = new Random(3);
+        List<TreeNode<Integer>> all = new ArrayList<>();
+        List<TreeNode<Integer>> roots = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            TreeNode<Integer> root = new TreeNode<>(all.size());
+            roots.add(root);
+            all.add(root);
+        }
+        for (int i = 0; i < 500; i++) {
+            TreeNode<Integer> parent = all.get(random.nextInt(all.size()));
+            all.add(parent.addChild(all.size()));
+        }
+        TreeRvAdapter<Integer> adapter = new TreeRvAdapter<Integer>(null, 1) {
+        };
+        adapter.setRoots(roots);
+        assertEquals(5, adapter.getItemCount());
+
+        for (int i = 0; i < 2000; i++) {
+            adapter.toggle(all.get(random.nextInt(all.size())));
+            if (i % 100 == 0) {
+                assertMatches(adapter, roots);
+            }
+        }
+        assertMatches(adapter, roots);
+    }
+
+    @Test
+    public void inheritedMutators_failFast() throws Exception {
+        List<TreeNode<Integer>> roots = new ArrayList<>();
+        roots.add(new TreeNode<>(0));
+        TreeRvAdapter<Integer> adapter = new TreeRvAdapter<Integer>(null, 1) {
+        };
+        adapter.setRoots(roots);
+        try {
+            adapter.addItem(0, new TreeNode<>(1));
+            fail();
+        } catch (UnsupportedOperationException expected) {
+        }
+        try {
+            adapter.refreshData(roots);
+            fail();
+        } catch (UnsupportedOperationException expected) {
+        }
+        try {
+            adapter.edit();
+            fail();
+        } catch (UnsupportedOperationException expected) {
+        }
+        assertEquals(1, adapter.getItemCount());
+        assertSame(roots.get(0), adapter.getNode(0));
+    }
+
+    private static void assertMatches(TreeRvAdapter<Integer> adapter, List<TreeNode<Integer>> roots) {
+        List<TreeNode<Integer>> expected = new ArrayList<>();
+        for (TreeNode<Integer> root : roots) {
+            flatten(root, expected);
+        }
+        assertEquals(expected.size(), adapter.getItemCount());
+        for (int position = 0; position < expected.size(); position++) {
+            assertSame(expected.get(position), adapter.getNode(position));
+            assertEquals(position, adapter.getPosition(expected.get(position)));
+        }
+    }
+
+    private static void flatten(TreeNode<Integer> node, List<TreeNode<Integer>> out) {
+        out.add(node);
+        if (node.isExpanded()) {
+            for (TreeNode<Integer> child : node.getChildren()) {
+                flatten(child, out);
+            }
+        }
+    }
+}
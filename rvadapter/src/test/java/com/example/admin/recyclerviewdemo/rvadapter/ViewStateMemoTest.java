@@ -0,0 +1,68 @@
+package com.example.admin.recyclerviewdemo.rvadapter;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * ViewStateMemo：值不变时跳过，不同种类的值互不相等，失效后不跳过
+ */
+public class ViewStateMemoTest {
+
+    @Test
+    public void sameValue_skipped() throws Exception {
+        ViewStateMemo memo = new ViewStateMemo();
+        assertTrue(memo.update(1, ViewStateMemo.TEXT, new String("a")));
+        assertFalse(memo.update(1, ViewStateMemo.TEXT, new String("a")));
+        assertTrue(memo.update(1, ViewStateMemo.TEXT, "b"));
+        assertTrue(memo.update(1, ViewStateMemo.TEXT, (String) null));
+        assertFalse(memo.update(1, ViewStateMemo.TEXT, (String) null));
+        assertEquals(2, memo.getSkippedCount());
+        assertEquals(3, memo.getWrittenCount());
+    }
+
+    @Test
+    public void differentKinds_notEqual() throws Exception {
+        ViewStateMemo memo = new ViewStateMemo();
+        assertTrue(memo.update(1, ViewStateMemo.BACKGROUND, ViewStateMemo.RESOURCE, 7));
+        assertTrue(memo.update(1, ViewStateMemo.BACKGROUND, ViewStateMemo.VALUE, 7));
+        assertFalse(memo.update(1, ViewStateMemo.BACKGROUND, ViewStateMemo.VALUE, 7));
+        //同一控件的其他属性、其他控件的同一属性互不影响
+        assertTrue(memo.update(1, ViewStateMemo.IMAGE, ViewStateMemo.RESOURCE, 7));
+        assertTrue(memo.update(2, ViewStateMemo.BACKGROUND, ViewStateMemo.VALUE, 7));
+    }
+
+    @Test
+    public void invalidate_nextWriteNotSkipped() throws Exception {
+        ViewStateMemo memo = new ViewStateMemo();
+        memo.update(1, ViewStateMemo.IMAGE, ViewStateMemo.RESOURCE, 5);
+        memo.update(2, ViewStateMemo.TEXT, "x");
+        memo.invalidate(1, ViewStateMemo.IMAGE);
+        assertTrue(memo.update(1, ViewStateMemo.IMAGE, ViewStateMemo.RESOURCE, 5));
+        memo.invalidateView(2);
+        assertTrue(memo.update(2, ViewStateMemo.TEXT, "x"));
+        memo.invalidateAll();
+        assertTrue(memo.update(1, ViewStateMemo.IMAGE, ViewStateMemo.RESOURCE, 5));
+    }
+
+    @Test
+    public void precomputedAndPlainText_notEqual() throws Exception {
+        ViewStateMemo memo = new ViewStateMemo();
+        assertTrue(memo.update(1, ViewStateMemo.TEXT, "a"));
+        //同样的文字改为预排版结果时仍需设置
+        assertTrue(memo.update(1, ViewStateMemo.TEXT, ViewStateMemo.PRECOMPUTED, "a"));
+        assertFalse(memo.update(1, ViewStateMemo.TEXT, ViewStateMemo.PRECOMPUTED, "a"));
+        assertTrue(memo.update(1, ViewStateMemo.TEXT, "a"));
+    }
+
+    @Test
+    public void manyViews_surviveGrowth() throws Exception {
+        ViewStateMemo memo = new ViewStateMemo();
+        for (int id = 0; id < 200; id++) {
+            assertTrue(memo.update(0x7f000000 + id, ViewStateMemo.TEXT_COLOR, ViewStateMemo.VALUE, id));
+        }
+        for (int id = 0; id < 200; id++) {
+            assertFalse(memo.update(0x7f000000 + id, ViewStateMemo.TEXT_COLOR, ViewStateMemo.VALUE, id));
+        }
+    }
+}
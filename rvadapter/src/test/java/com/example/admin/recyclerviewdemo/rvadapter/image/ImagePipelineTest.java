@@ -0,0 +1,209 @@
+package com.example.admin.recyclerviewdemo.rvadapter.image;
+
+import android.content.Context;
+import android.graphics.Bitmap;
+import android.widget.FrameLayout;
+import android.widget.ImageView;
+
+import com.example.admin.recyclerviewdemo.rvadapter.BaseRvHolder;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.Robolectric;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.annotation.Config;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.imageio.ImageIO;
+
+import static org.junit.Assert.*;
+
+/**
+ * ImagePipeline：本地HTTP服务代替网络，
+ * 加载中改为直接设置图片时旧请求不再显示；暂停期间不下载，恢复后只加载仍在显示的地址
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 23, manifest = Config.NONE)
+public class ImagePipelineTest {
+    private static final int IMAGE_ID = 1;
+    private static final long TIMEOUT_MILLIS = 5000;
+
+    private HttpServer server;
+    private byte[] png;
+    private final ConcurrentHashMap<String, AtomicInteger> hits = new ConcurrentHashMap<>();
+    /**
+     * 关闭时下载停在响应之前，模拟慢速网络
+     */
+    private volatile CountDownLatch gate = new CountDownLatch(0);
+    /**
+     * 单例的缓存在测试之间保留，每次使用不同的地址
+     */
+    private String prefix;
+
+    private Context context;
+    private ImagePipeline pipeline;
+
+    @Before
+    public void setUp() throws Exception {
+        BufferedImage image = new BufferedImage(8, 8, BufferedImage.TYPE_INT_ARGB);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        ImageIO.write(image, "png", bytes);
+        png = bytes.toByteArray();
+
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        //多个下载同时停在gate上，不能用默认的单线程
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.createContext("/", new HttpHandler() {
+            @Override
+            public void handle(HttpExchange exchange) throws IOException {
+                String path = exchange.getRequestURI().getPath();
+                AtomicInteger count = hits.putIfAbsent(path, new AtomicInteger(1));
+                if (count != null) {
+                    count.incrementAndGet();
+                }
+                try {
+                    gate.await(TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                exchange.sendResponseHeaders(200, png.length);
+                OutputStream body = exchange.getResponseBody();
+                body.write(png);
+                body.close();
+            }
+        });
+        server.start();
+        prefix = "/" + System.nanoTime();
+
+        context = RuntimeEnvironment.application;
+        pipeline = ImagePipeline.get(context);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        gate.countDown();
+        server.stop(0);
+        while (pipeline.isPaused()) {
+            pipeline.resume();
+        }
+    }
+
+    private String url(String name) {
+        return "http://127.0.0.1:" + server.getAddress().getPort() + prefix + "/" + name + ".png";
+    }
+
+    private int hitsOf(String name) {
+        AtomicInteger count = hits.get(prefix + "/" + name + ".png");
+        return count == null ? 0 : count.get();
+    }
+
+    private BaseRvHolder newHolder(RecordingImageView view) {
+        FrameLayout root = new FrameLayout(context);
+        view.setId(IMAGE_ID);
+        root.addView(view);
+        return BaseRvHolder.getRvHolder(context, root);
+    }
+
+    /**
+     * 等待后台任务把结果post到主线程，再在主线程交付。取消的请求也会post（结果为null）
+     */
+    private void awaitDeliveries(int count) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+        while (Robolectric.getForegroundThreadScheduler().size() < count
+                && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(count, Robolectric.getForegroundThreadScheduler().size());
+        Robolectric.flushForegroundThreadScheduler();
+    }
+
+    private void awaitHits(String name, int expectedHits) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+        while (hitsOf(name) < expectedHits && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(expectedHits, hitsOf(name));
+    }
+
+    @Test
+    public void rebindToResource_dropsInFlightBitmap() throws Exception {
+        gate = new CountDownLatch(1);
+        RecordingImageView rebound = new RecordingImageView(context);
+        BaseRvHolder reboundHolder = newHolder(rebound);
+        RecordingImageView untouched = new RecordingImageView(context);
+        BaseRvHolder untouchedHolder = newHolder(untouched);
+
+        reboundHolder.setImageByUrl(IMAGE_ID, url("old"));
+        untouchedHolder.setImageByUrl(IMAGE_ID, url("kept"));
+        awaitHits("old", 1);
+        awaitHits("kept", 1);
+        assertTrue(pipeline.isLoading(rebound));
+
+        //下载中复用为没有图片地址的子项
+        reboundHolder.setImageResource(IMAGE_ID, android.R.drawable.ic_delete);
+        assertFalse(pipeline.isLoading(rebound));
+
+        gate.countDown();
+        awaitDeliveries(2);
+        assertEquals(1, untouched.bitmapCount);
+        assertEquals(0, rebound.bitmapCount);
+        assertFalse(pipeline.isLoading(untouched));
+    }
+
+    @Test
+    public void pausedRequests_loadOnlyCurrentUrlOnResume() throws Exception {
+        RecordingImageView view = new RecordingImageView(context);
+        BaseRvHolder holder = newHolder(view);
+
+        pipeline.pause();
+        holder.setImageByUrl(IMAGE_ID, url("skipped"));
+        assertTrue(pipeline.isLoading(view));
+        //暂停期间同一个控件绑定到新的地址，之前的请求被取消
+        holder.setImageByUrl(IMAGE_ID, url("shown"));
+        Thread.sleep(100);
+        assertEquals(0, hitsOf("skipped"));
+        assertEquals(0, hitsOf("shown"));
+        assertEquals(0, view.bitmapCount);
+
+        pipeline.resume();
+        awaitDeliveries(1);
+        assertEquals(0, hitsOf("skipped"));
+        assertEquals(1, hitsOf("shown"));
+        assertEquals(1, view.bitmapCount);
+        assertFalse(pipeline.isLoading(view));
+    }
+
+
+    /**
+     * 记录交付的Bitmap
+     */
+    private static class RecordingImageView extends ImageView {
+        int bitmapCount;
+
+        RecordingImageView(Context context) {
+            super(context);
+        }
+
+        @Override
+        public void setImageBitmap(Bitmap bitmap) {
+            bitmapCount++;
+            super.setImageBitmap(bitmap);
+        }
+    }
+}